@@ -0,0 +1,28 @@
+package com.dotflix.application;
+
+/**
+ * Resultado de um item em uma operação em lote, na mesma posição do item na entrada
+ * @param id
+ * @param status
+ * @param error
+ */
+public record BatchItemResult(String id, Status status, String error) {
+
+    public enum Status {
+        CREATED,
+        UPDATED,
+        FAILED
+    }
+
+    public static BatchItemResult created(final String id) {
+        return new BatchItemResult(id, Status.CREATED, null);
+    }
+
+    public static BatchItemResult updated(final String id) {
+        return new BatchItemResult(id, Status.UPDATED, null);
+    }
+
+    public static BatchItemResult failed(final String id, final String error) {
+        return new BatchItemResult(id, Status.FAILED, error);
+    }
+}
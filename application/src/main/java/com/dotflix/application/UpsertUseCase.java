@@ -0,0 +1,87 @@
+package com.dotflix.application;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cria ou atualiza uma lista de itens de uma vez: valida tudo em memória, consulta os ids existentes em um único
+ * select e grava os válidos em uma única escrita em lote. Devolve um resultado por item, na ordem da entrada.
+ * @param <IN>
+ * @param <T>
+ */
+public abstract class UpsertUseCase<IN, T> extends UseCase<List<IN>, List<BatchItemResult>> {
+
+    @Override
+    public List<BatchItemResult> execute(final List<IN> items) {
+        final List<BatchItemResult> results = new ArrayList<>(Collections.nCopies(items.size(), null));
+        final List<T> valid = new ArrayList<>();
+        final List<Integer> positions = new ArrayList<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            try {
+                valid.add(toDomain(items.get(i)));
+                positions.add(i);
+            } catch (Exception e) {
+                results.set(i, BatchItemResult.failed(idOf(items.get(i)), e.getMessage()));
+            }
+        }
+
+        final Map<T, String> rejected = validate(valid);
+
+        for (int i = valid.size() - 1; i >= 0; i--) {
+            final String error = rejected.get(valid.get(i));
+
+            if (error != null) {
+                results.set(positions.get(i), BatchItemResult.failed(domainIdOf(valid.get(i)), error));
+                valid.remove(i);
+                positions.remove(i);
+            }
+        }
+
+        if (valid.isEmpty()) {
+            return results;
+        }
+
+        final List<String> ids = valid.stream().map(this::domainIdOf).toList();
+        final Set<String> existing = new HashSet<>(existsByIds(ids));
+
+        try {
+            upsertAll(valid);
+        } catch (Exception e) {
+            for (int i = 0; i < valid.size(); i++) {
+                results.set(positions.get(i), BatchItemResult.failed(ids.get(i), e.getMessage()));
+            }
+
+            return results;
+        }
+
+        // Um id repetido no mesmo lote é criado na primeira ocorrência e atualizado nas seguintes
+        for (int i = 0; i < valid.size(); i++) {
+            final String id = ids.get(i);
+            results.set(positions.get(i), existing.add(id) ? BatchItemResult.created(id) : BatchItemResult.updated(id));
+        }
+
+        return results;
+    }
+
+    protected abstract T toDomain(IN anItem) throws Exception;
+
+    protected abstract String idOf(IN anItem);
+
+    protected abstract String domainIdOf(T aDomain);
+
+    protected abstract List<String> existsByIds(List<String> ids);
+
+    protected abstract void upsertAll(List<T> items);
+
+    /**
+     * Validações que dependem do lote inteiro (ex.: referências a outros agregados). Retorna o erro de cada item rejeitado.
+     */
+    protected Map<T, String> validate(final List<T> items) {
+        return Map.of();
+    }
+}
@@ -0,0 +1,21 @@
+package com.dotflix.application.castmember;
+
+import com.dotflix.application.UseCase;
+import com.dotflix.domain.ChangeFeed;
+import com.dotflix.domain.ChangeQuery;
+import com.dotflix.domain.castmember.CastMember;
+import com.dotflix.domain.castmember.CastMemberGateway;
+import java.util.Objects;
+
+public class GetCastMemberChangesUseCase extends UseCase<ChangeQuery, ChangeFeed<CastMember>> {
+    private final CastMemberGateway castMemberGateway;
+
+    public GetCastMemberChangesUseCase(final CastMemberGateway castMemberGateway) {
+        this.castMemberGateway = Objects.requireNonNull(castMemberGateway);
+    }
+
+    @Override
+    public ChangeFeed<CastMember> execute(final ChangeQuery aQuery) {
+        return this.castMemberGateway.changes(aQuery);
+    }
+}
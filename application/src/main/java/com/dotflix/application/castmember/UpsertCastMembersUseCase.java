@@ -0,0 +1,48 @@
+package com.dotflix.application.castmember;
+
+import com.dotflix.application.UpsertUseCase;
+import com.dotflix.application.castmember.dto.UpsertCastMemberDTO;
+import com.dotflix.domain.castmember.CastMember;
+import com.dotflix.domain.castmember.CastMemberGateway;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+
+public class UpsertCastMembersUseCase extends UpsertUseCase<UpsertCastMemberDTO, CastMember> {
+    private final CastMemberGateway castMemberGateway;
+
+    public UpsertCastMembersUseCase(final CastMemberGateway castMemberGateway) {
+        this.castMemberGateway = Objects.requireNonNull(castMemberGateway);
+    }
+
+    @Override
+    protected CastMember toDomain(final UpsertCastMemberDTO anItem) throws Exception {
+        if (anItem.id() == null) {
+            return CastMember.newMember(anItem.name(), anItem.type());
+        }
+
+        final Instant now = Instant.now();
+
+        return CastMember.with(anItem.id(), anItem.name(), anItem.type(), now, now);
+    }
+
+    @Override
+    protected String idOf(final UpsertCastMemberDTO anItem) {
+        return anItem.id();
+    }
+
+    @Override
+    protected String domainIdOf(final CastMember aMember) {
+        return aMember.getId();
+    }
+
+    @Override
+    protected List<String> existsByIds(final List<String> ids) {
+        return this.castMemberGateway.existsByIds(ids);
+    }
+
+    @Override
+    protected void upsertAll(final List<CastMember> members) {
+        this.castMemberGateway.upsertAll(members);
+    }
+}
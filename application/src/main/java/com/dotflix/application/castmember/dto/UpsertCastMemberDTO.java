@@ -0,0 +1,6 @@
+package com.dotflix.application.castmember.dto;
+
+import com.dotflix.domain.castmember.CastMemberType;
+
+public record UpsertCastMemberDTO(String id, String name, CastMemberType type) {
+}
@@ -0,0 +1,21 @@
+package com.dotflix.application.category;
+
+import com.dotflix.application.UseCase;
+import com.dotflix.domain.ChangeFeed;
+import com.dotflix.domain.ChangeQuery;
+import com.dotflix.domain.category.Category;
+import com.dotflix.domain.category.CategoryGateway;
+import java.util.Objects;
+
+public class GetCategoryChangesUseCase extends UseCase<ChangeQuery, ChangeFeed<Category>> {
+    private final CategoryGateway categoryGateway;
+
+    public GetCategoryChangesUseCase(final CategoryGateway categoryGateway) {
+        this.categoryGateway = Objects.requireNonNull(categoryGateway);
+    }
+
+    @Override
+    public ChangeFeed<Category> execute(final ChangeQuery aQuery) {
+        return this.categoryGateway.changes(aQuery);
+    }
+}
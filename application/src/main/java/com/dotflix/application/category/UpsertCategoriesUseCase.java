@@ -0,0 +1,55 @@
+package com.dotflix.application.category;
+
+import com.dotflix.application.UpsertUseCase;
+import com.dotflix.application.category.dto.UpsertCategoryDTO;
+import com.dotflix.domain.category.Category;
+import com.dotflix.domain.category.CategoryGateway;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+
+public class UpsertCategoriesUseCase extends UpsertUseCase<UpsertCategoryDTO, Category> {
+    private final CategoryGateway categoryGateway;
+
+    public UpsertCategoriesUseCase(final CategoryGateway categoryGateway) {
+        this.categoryGateway = Objects.requireNonNull(categoryGateway);
+    }
+
+    @Override
+    protected Category toDomain(final UpsertCategoryDTO anItem) throws Exception {
+        if (anItem.id() == null) {
+            // newCategory engole o erro de validação e retorna null
+            final Category category = Category.newCategory(anItem.name(), anItem.description(), anItem.isActive());
+
+            if (category == null) {
+                throw new Exception("Invalid category");
+            }
+
+            return category;
+        }
+
+        final Instant now = Instant.now();
+
+        return Category.with(anItem.id(), anItem.name(), anItem.description(), anItem.isActive(), now, now, anItem.isActive() ? null : now);
+    }
+
+    @Override
+    protected String idOf(final UpsertCategoryDTO anItem) {
+        return anItem.id();
+    }
+
+    @Override
+    protected String domainIdOf(final Category aCategory) {
+        return aCategory.getId();
+    }
+
+    @Override
+    protected List<String> existsByIds(final List<String> ids) {
+        return this.categoryGateway.existsByIds(ids);
+    }
+
+    @Override
+    protected void upsertAll(final List<Category> categories) {
+        this.categoryGateway.upsertAll(categories);
+    }
+}
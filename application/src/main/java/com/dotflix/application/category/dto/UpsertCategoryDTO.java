@@ -0,0 +1,4 @@
+package com.dotflix.application.category.dto;
+
+public record UpsertCategoryDTO(String id, String name, String description, boolean isActive) {
+}
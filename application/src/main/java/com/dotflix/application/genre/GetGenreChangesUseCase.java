@@ -0,0 +1,21 @@
+package com.dotflix.application.genre;
+
+import com.dotflix.application.UseCase;
+import com.dotflix.domain.ChangeFeed;
+import com.dotflix.domain.ChangeQuery;
+import com.dotflix.domain.genre.Genre;
+import com.dotflix.domain.genre.GenreGateway;
+import java.util.Objects;
+
+public class GetGenreChangesUseCase extends UseCase<ChangeQuery, ChangeFeed<Genre>> {
+    private final GenreGateway genreGateway;
+
+    public GetGenreChangesUseCase(final GenreGateway genreGateway) {
+        this.genreGateway = Objects.requireNonNull(genreGateway);
+    }
+
+    @Override
+    public ChangeFeed<Genre> execute(final ChangeQuery aQuery) {
+        return this.genreGateway.changes(aQuery);
+    }
+}
@@ -0,0 +1,86 @@
+package com.dotflix.application.genre;
+
+import com.dotflix.application.UpsertUseCase;
+import com.dotflix.application.genre.dto.UpsertGenreDTO;
+import com.dotflix.domain.category.CategoryGateway;
+import com.dotflix.domain.genre.Genre;
+import com.dotflix.domain.genre.GenreGateway;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+public class UpsertGenresUseCase extends UpsertUseCase<UpsertGenreDTO, Genre> {
+    private final CategoryGateway categoryGateway;
+    private final GenreGateway genreGateway;
+
+    public UpsertGenresUseCase(final CategoryGateway categoryGateway, final GenreGateway genreGateway) {
+        this.categoryGateway = Objects.requireNonNull(categoryGateway);
+        this.genreGateway = Objects.requireNonNull(genreGateway);
+    }
+
+    @Override
+    protected Genre toDomain(final UpsertGenreDTO anItem) throws Exception {
+        final List<String> categoriesIds = Objects.requireNonNull(anItem.categories(), "Categories ids can not be null or empty");
+
+        if (anItem.id() == null) {
+            final Genre genre = Genre.newGenre(anItem.name(), anItem.isActive());
+            genre.addCategories(categoriesIds);
+
+            return genre;
+        }
+
+        final Instant now = Instant.now();
+
+        return Genre.with(anItem.id(), anItem.name(), anItem.isActive(), new ArrayList<>(categoriesIds), now, now, anItem.isActive() ? null : now);
+    }
+
+    // As categorias de todos os gêneros do lote são conferidas em um único existsByIds
+    @Override
+    protected Map<Genre, String> validate(final List<Genre> genres) {
+        final Set<String> categoriesIds = new HashSet<>();
+        genres.forEach(it -> categoriesIds.addAll(it.getCategories()));
+
+        if (categoriesIds.isEmpty()) {
+            return Map.of();
+        }
+
+        final Set<String> found = new HashSet<>(this.categoryGateway.existsByIds(categoriesIds));
+        final Map<Genre, String> rejected = new IdentityHashMap<>();
+
+        for (final Genre genre : genres) {
+            final List<String> missingIds = new ArrayList<>(genre.getCategories());
+            missingIds.removeAll(found);
+
+            if (!missingIds.isEmpty()) {
+                rejected.put(genre, "Some categories could not be found: " + missingIds);
+            }
+        }
+
+        return rejected;
+    }
+
+    @Override
+    protected String idOf(final UpsertGenreDTO anItem) {
+        return anItem.id();
+    }
+
+    @Override
+    protected String domainIdOf(final Genre aGenre) {
+        return aGenre.getId();
+    }
+
+    @Override
+    protected List<String> existsByIds(final List<String> ids) {
+        return this.genreGateway.existsByIds(ids);
+    }
+
+    @Override
+    protected void upsertAll(final List<Genre> genres) {
+        this.genreGateway.upsertAll(genres);
+    }
+}
@@ -0,0 +1,6 @@
+package com.dotflix.application.genre.dto;
+
+import java.util.List;
+
+public record UpsertGenreDTO(String id, String name, boolean isActive, List<String> categories) {
+}
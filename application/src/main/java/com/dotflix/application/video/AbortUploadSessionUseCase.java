@@ -0,0 +1,20 @@
+package com.dotflix.application.video;
+
+import com.dotflix.application.UseCase;
+import com.dotflix.application.video.dto.UploadSessionDTO;
+import com.dotflix.domain.video.UploadSessionGateway;
+import java.util.Objects;
+
+public class AbortUploadSessionUseCase extends UseCase<UploadSessionDTO, Void> {
+    private final UploadSessionGateway uploadSessionGateway;
+
+    public AbortUploadSessionUseCase(final UploadSessionGateway uploadSessionGateway) {
+        this.uploadSessionGateway = Objects.requireNonNull(uploadSessionGateway);
+    }
+
+    @Override
+    public Void execute(final UploadSessionDTO aCmd) throws Exception {
+        this.uploadSessionGateway.delete(UploadSessions.find(this.uploadSessionGateway, aCmd.videoId(), aCmd.sessionId()).id());
+        return null;
+    }
+}
@@ -0,0 +1,61 @@
+package com.dotflix.application.video;
+
+import com.dotflix.application.UseCase;
+import com.dotflix.application.video.dto.UploadMediaOutputDTO;
+import com.dotflix.application.video.dto.UploadSessionDTO;
+import com.dotflix.application.video.exceptions.InvalidUploadException;
+import com.dotflix.application.video.exceptions.VideoNotFoundException;
+import com.dotflix.domain.video.*;
+import java.util.Objects;
+
+/**
+ * Finaliza o upload: confere que os pedaços cobrem o arquivo inteiro e grava a mídia lendo o conteúdo concatenado uma
+ * única vez; o gateway calcula o checksum enquanto grava e só associa a mídia ao vídeo se ele bater com o da sessão.
+ * Se o checksum não bate a sessão é mantida, para o cliente reenviar os pedaços.
+ */
+public class CompleteUploadSessionUseCase extends UseCase<UploadSessionDTO, UploadMediaOutputDTO> {
+    private final UploadSessionGateway uploadSessionGateway;
+    private final MediaResourceGateway mediaResourceGateway;
+    private final VideoGateway videoGateway;
+
+    public CompleteUploadSessionUseCase(final UploadSessionGateway uploadSessionGateway, final MediaResourceGateway mediaResourceGateway, final VideoGateway videoGateway) {
+        this.uploadSessionGateway = Objects.requireNonNull(uploadSessionGateway);
+        this.mediaResourceGateway = Objects.requireNonNull(mediaResourceGateway);
+        this.videoGateway = Objects.requireNonNull(videoGateway);
+    }
+
+    @Override
+    public UploadMediaOutputDTO execute(final UploadSessionDTO aCmd) throws Exception {
+        final UploadSession aSession = UploadSessions.find(this.uploadSessionGateway, aCmd.videoId(), aCmd.sessionId());
+
+        if (!aSession.isComplete(this.uploadSessionGateway.chunks(aSession.id()))) {
+            throw new InvalidUploadException("The upload " + aSession.id() + " is missing chunks");
+        }
+
+        final Video aVideo = this.videoGateway.findById(aSession.videoId()).orElseThrow(() -> new VideoNotFoundException("Video with ID " + aSession.videoId() + " was not found"));
+
+        // Conteúdo já armazenado (ex.: o mesmo trailer em outro vídeo) só é lido para conferir o hash e ganha uma nova referência
+        final AudioVideoMedia aMedia;
+        try {
+            aMedia = this.mediaResourceGateway.storeAudioVideo(
+                    aSession.videoId(),
+                    aSession.type(),
+                    StreamResource.with(this.uploadSessionGateway.content(aSession.id()).content(), aSession.length(), aSession.contentType(), aSession.name(), aSession.checksum())
+            );
+        } catch (ChecksumMismatchException e) {
+            throw new InvalidUploadException("The upload " + aSession.id() + " checksum " + e.actual() + " doesn't match the expected " + aSession.checksum());
+        }
+
+        switch (aSession.type()) {
+            case VIDEO -> aVideo.updateVideoMedia(aMedia);
+            case TRAILER -> aVideo.updateTrailerMedia(aMedia);
+            default -> throw new InvalidUploadException("Media type " + aSession.type() + " doesn't support resumable uploads");
+        }
+
+        final UploadMediaOutputDTO output = UploadMediaOutputDTO.with(this.videoGateway.update(aVideo), aSession.type());
+
+        this.uploadSessionGateway.delete(aSession.id());
+
+        return output;
+    }
+}
@@ -0,0 +1,37 @@
+package com.dotflix.application.video;
+
+import com.dotflix.application.UseCase;
+import com.dotflix.application.video.dto.CreateUploadSessionDTO;
+import com.dotflix.application.video.dto.UploadSessionOutputDTO;
+import com.dotflix.application.video.exceptions.MediaNotFoundException;
+import com.dotflix.application.video.exceptions.VideoNotFoundException;
+import com.dotflix.domain.video.UploadSession;
+import com.dotflix.domain.video.UploadSessionGateway;
+import com.dotflix.domain.video.VideoGateway;
+import com.dotflix.domain.video.VideoMediaType;
+import java.util.List;
+import java.util.Objects;
+
+public class CreateUploadSessionUseCase extends UseCase<CreateUploadSessionDTO, UploadSessionOutputDTO> {
+    private final VideoGateway videoGateway;
+    private final UploadSessionGateway uploadSessionGateway;
+
+    public CreateUploadSessionUseCase(final VideoGateway videoGateway, final UploadSessionGateway uploadSessionGateway) {
+        this.videoGateway = Objects.requireNonNull(videoGateway);
+        this.uploadSessionGateway = Objects.requireNonNull(uploadSessionGateway);
+    }
+
+    @Override
+    public UploadSessionOutputDTO execute(final CreateUploadSessionDTO aCmd) throws Exception {
+        final String anId = aCmd.videoId();
+        final VideoMediaType aType = VideoMediaType.of(aCmd.mediaType()).orElseThrow(() -> new MediaNotFoundException("Media type" + aCmd.mediaType() + " doesn't exists"));
+
+        if (this.videoGateway.findById(anId).isEmpty()) {
+            throw new VideoNotFoundException("Video with ID " + anId + " was not found");
+        }
+
+        final UploadSession aSession = UploadSession.newSession(anId, aType, aCmd.name(), aCmd.contentType(), aCmd.length(), aCmd.checksum());
+
+        return UploadSessionOutputDTO.with(this.uploadSessionGateway.create(aSession), List.of());
+    }
+}
@@ -8,9 +8,14 @@ import com.dotflix.domain.genre.GenreGateway;
 import com.dotflix.domain.video.*;
 import java.time.Year;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
 public class CreateVideoUseCase extends UseCase<CreateVideoDTO, Video> {
@@ -19,13 +24,20 @@ public class CreateVideoUseCase extends UseCase<CreateVideoDTO, Video> {
     private final GenreGateway genreGateway;
     private final MediaResourceGateway mediaResourceGateway;
     private final VideoGateway videoGateway;
+    // Cada consulta de existência ocupa uma conexão do pool do banco enquanto roda, então quem cria o use case limita
+    // este executor pelo tamanho do pool
+    private final Executor referenceChecks;
+    // Gravação das mídias, limitada por I/O de disco; separado das consultas para uma gravação lenta não segurar conexões
+    private final Executor mediaStorage;
 
-    public CreateVideoUseCase(final CategoryGateway categoryGateway, final CastMemberGateway castMemberGateway, final GenreGateway genreGateway, final MediaResourceGateway mediaResourceGateway, final VideoGateway videoGateway) {
+    public CreateVideoUseCase(final CategoryGateway categoryGateway, final CastMemberGateway castMemberGateway, final GenreGateway genreGateway, final MediaResourceGateway mediaResourceGateway, final VideoGateway videoGateway, final Executor referenceChecks, final Executor mediaStorage) {
         this.categoryGateway = Objects.requireNonNull(categoryGateway);
         this.castMemberGateway = Objects.requireNonNull(castMemberGateway);
         this.genreGateway = Objects.requireNonNull(genreGateway);
         this.mediaResourceGateway = Objects.requireNonNull(mediaResourceGateway);
         this.videoGateway = Objects.requireNonNull(videoGateway);
+        this.referenceChecks = Objects.requireNonNull(referenceChecks);
+        this.mediaStorage = Objects.requireNonNull(mediaStorage);
     }
 
     @Override
@@ -49,44 +61,36 @@ public class CreateVideoUseCase extends UseCase<CreateVideoDTO, Video> {
                 members
         );
 
-        validate("cast members", members, castMemberGateway::existsByIds);
-        validate("genres", genres, genreGateway::existsByIds);
-        validate("categories", categories, categoryGateway::existsByIds);
+        validate(
+                reference("cast members", members, castMemberGateway::existsByIds),
+                reference("genres", genres, genreGateway::existsByIds),
+                reference("categories", categories, categoryGateway::existsByIds)
+        );
 
         return create(aCommand, aVideo);
     }
 
+    // As mídias são gravadas ao mesmo tempo; só depois que todas terminaram (com sucesso ou não) é que uma falha limpa
+    // os arquivos, para nenhuma gravação ainda em andamento escrever depois do clearResources
     private Video create(final CreateVideoDTO aCommand, final Video aVideo) {
         final String anId = aVideo.getId();
 
-        try {
-            final AudioVideoMedia aVideoMedia = aCommand.getVideo()
-                    .map(it -> this.mediaResourceGateway.storeAudioVideo(anId, VideoResource.with(VideoMediaType.VIDEO, it)))
-                    .orElse(null);
-
-            final AudioVideoMedia aTrailerMedia = aCommand.getTrailer()
-                    .map(it -> this.mediaResourceGateway.storeAudioVideo(anId, VideoResource.with(VideoMediaType.TRAILER, it)))
-                    .orElse(null);
-
-            final ImageMedia aBannerMedia = aCommand.getBanner()
-                    .map(it -> this.mediaResourceGateway.storeImage(anId, VideoResource.with(VideoMediaType.BANNER, it)))
-                    .orElse(null);
+        final CompletableFuture<AudioVideoMedia> aVideoMedia = store(aCommand.getVideo(), it -> this.mediaResourceGateway.storeAudioVideo(anId, VideoMediaType.VIDEO, it));
+        final CompletableFuture<AudioVideoMedia> aTrailerMedia = store(aCommand.getTrailer(), it -> this.mediaResourceGateway.storeAudioVideo(anId, VideoMediaType.TRAILER, it));
+        final CompletableFuture<ImageMedia> aBannerMedia = store(aCommand.getBanner(), it -> this.mediaResourceGateway.storeImage(anId, VideoMediaType.BANNER, it));
+        final CompletableFuture<ImageMedia> aThumbnailMedia = store(aCommand.getThumbnail(), it -> this.mediaResourceGateway.storeImage(anId, VideoMediaType.THUMBNAIL, it));
+        final CompletableFuture<ImageMedia> aThumbHalfMedia = store(aCommand.getThumbnailHalf(), it -> this.mediaResourceGateway.storeImage(anId, VideoMediaType.THUMBNAIL_HALF, it));
 
-            final ImageMedia aThumbnailMedia = aCommand.getThumbnail()
-                    .map(it -> this.mediaResourceGateway.storeImage(anId, VideoResource.with(VideoMediaType.THUMBNAIL, it)))
-                    .orElse(null);
-
-            final ImageMedia aThumbHalfMedia = aCommand.getThumbnailHalf()
-                    .map(it -> this.mediaResourceGateway.storeImage(anId, VideoResource.with(VideoMediaType.THUMBNAIL_HALF, it)))
-                    .orElse(null);
+        try {
+            CompletableFuture.allOf(aVideoMedia, aTrailerMedia, aBannerMedia, aThumbnailMedia, aThumbHalfMedia).join();
 
             return this.videoGateway.create(
                     aVideo
-                        .updateVideoMedia(aVideoMedia)
-                        .updateTrailerMedia(aTrailerMedia)
-                        .updateBannerMedia(aBannerMedia)
-                        .updateThumbnailMedia(aThumbnailMedia)
-                        .updateThumbnailHalfMedia(aThumbHalfMedia)
+                        .updateVideoMedia(aVideoMedia.join())
+                        .updateTrailerMedia(aTrailerMedia.join())
+                        .updateBannerMedia(aBannerMedia.join())
+                        .updateThumbnailMedia(aThumbnailMedia.join())
+                        .updateThumbnailHalfMedia(aThumbHalfMedia.join())
             );
         } catch (final Throwable t) {
             this.mediaResourceGateway.clearResources(anId);
@@ -94,18 +98,60 @@ public class CreateVideoUseCase extends UseCase<CreateVideoDTO, Video> {
         }
     }
 
-    private <T> void validate(final String aggregate, final Set<T> ids, final Function<Iterable<T>, List<T>> existsByIds) throws Exception {
-        if (ids == null || ids.isEmpty()) {
-            throw new Exception(aggregate + " ids is empty or null");
+    private <R, M> CompletableFuture<M> store(final Optional<R> aResource, final Function<R, M> store) {
+        return aResource
+                .map(it -> CompletableFuture.supplyAsync(() -> store.apply(it), this.mediaStorage))
+                .orElseGet(() -> CompletableFuture.completedFuture(null));
+    }
+
+    private <T> Reference<T> reference(final String aggregate, final Set<T> ids, final Function<Iterable<T>, List<T>> existsByIds) {
+        return new Reference<>(aggregate, ids, existsByIds);
+    }
+
+    // As três consultas rodam ao mesmo tempo (uma ida ao banco de latência em vez de três) e todos os ids que faltam
+    // aparecem na mesma mensagem
+    @SafeVarargs
+    private void validate(final Reference<String>... references) throws Exception {
+        for (final Reference<String> reference : references) {
+            if (reference.ids() == null || reference.ids().isEmpty()) {
+                throw new Exception(reference.aggregate() + " ids is empty or null");
+            }
+        }
+
+        final List<CompletableFuture<String>> checks = Arrays.stream(references)
+                .map(reference -> CompletableFuture.supplyAsync(reference::missing, this.referenceChecks))
+                .toList();
+
+        final List<String> errors = new ArrayList<>();
+        for (final CompletableFuture<String> check : checks) {
+            try {
+                final String error = check.join();
+                if (error != null) {
+                    errors.add(error);
+                }
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
         }
 
-        final List<T> retrievedIds = existsByIds.apply(ids);
+        if (!errors.isEmpty()) {
+            throw new Exception(String.join("; ", errors));
+        }
+    }
+
+    private record Reference<T>(String aggregate, Set<T> ids, Function<Iterable<T>, List<T>> existsByIds) {
+        // Mensagem com os ids que não existem, ou null se todos existem
+        String missing() {
+            final List<T> retrievedIds = existsByIds.apply(ids);
+
+            if (ids.size() == retrievedIds.size()) {
+                return null;
+            }
 
-        if (ids.size() != retrievedIds.size()) {
             final ArrayList<T> missingIds = new ArrayList<>(ids);
             missingIds.removeAll(retrievedIds);
 
-            throw new Exception("Some %s could not be found: %s".formatted(aggregate, missingIds));
+            return "Some %s could not be found: %s".formatted(aggregate, missingIds);
         }
     }
 }
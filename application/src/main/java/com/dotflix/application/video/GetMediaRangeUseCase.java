@@ -0,0 +1,64 @@
+package com.dotflix.application.video;
+
+import com.dotflix.application.UseCase;
+import com.dotflix.application.video.dto.ByteRange;
+import com.dotflix.application.video.dto.GetMediaRangeDTO;
+import com.dotflix.application.video.dto.MediaRangeOutputDTO;
+import com.dotflix.application.video.exceptions.MediaNotFoundException;
+import com.dotflix.application.video.exceptions.RangeNotSatisfiableException;
+import com.dotflix.application.video.exceptions.ResourceNotFoundException;
+import com.dotflix.domain.video.MediaFile;
+import com.dotflix.domain.video.MediaResourceGateway;
+import com.dotflix.domain.video.VideoMediaType;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Variante do {@link GetMediaUseCase} para requisições com Range. Se o If-Range não bate com o checksum da mídia, ou se
+ * vierem intervalos demais, os intervalos são ignorados e o arquivo vai inteiro (como manda a RFC 9110).
+ */
+public class GetMediaRangeUseCase extends UseCase<GetMediaRangeDTO, MediaRangeOutputDTO> {
+    static final int MAX_RANGES = 32;
+
+    private final MediaResourceGateway mediaResourceGateway;
+
+    public GetMediaRangeUseCase(final MediaResourceGateway mediaResourceGateway) {
+        this.mediaResourceGateway = Objects.requireNonNull(mediaResourceGateway);
+    }
+
+    @Override
+    public MediaRangeOutputDTO execute(final GetMediaRangeDTO aCmd) throws Exception {
+        final String anId = aCmd.videoId();
+        final VideoMediaType aType = VideoMediaType.of(aCmd.mediaType()).orElseThrow(() -> new MediaNotFoundException("Media type" + aCmd.mediaType() + " doesn't exists"));
+
+        final MediaFile aFile = this.mediaResourceGateway.getMediaFile(anId, aType).orElseThrow(() -> new ResourceNotFoundException("A resource with ID " + aCmd.videoId() + " and type " + aCmd.mediaType() + " was not found"));
+
+        final List<ByteRange> ranges = aCmd.ranges() == null ? List.of() : aCmd.ranges();
+        if (ranges.isEmpty() || ranges.size() > MAX_RANGES || !matches(aCmd.ifRange(), aFile)) {
+            return MediaRangeOutputDTO.full(aFile);
+        }
+
+        final List<ByteRange> satisfiable = ranges.stream()
+                .map(it -> it.resolve(aFile.length()))
+                .flatMap(Optional::stream)
+                .toList();
+
+        if (satisfiable.isEmpty()) {
+            throw new RangeNotSatisfiableException("None of the requested ranges is inside the " + aFile.length() + " bytes of the media", aFile.length());
+        }
+
+        return MediaRangeOutputDTO.partial(aFile, satisfiable);
+    }
+
+    // If-Range exige comparação forte: ETag fraca (W/) ou data nunca batem, já que a mídia não expõe Last-Modified
+    private static boolean matches(final String ifRange, final MediaFile aFile) {
+        if (ifRange == null) {
+            return true;
+        }
+
+        final String tag = ifRange.trim();
+        return tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")
+                && tag.substring(1, tag.length() - 1).equals(aFile.checksum());
+    }
+}
@@ -0,0 +1,26 @@
+package com.dotflix.application.video;
+
+import com.dotflix.application.UseCase;
+import com.dotflix.application.video.dto.UploadSessionDTO;
+import com.dotflix.application.video.dto.UploadSessionOutputDTO;
+import com.dotflix.domain.video.UploadSession;
+import com.dotflix.domain.video.UploadSessionGateway;
+import java.util.Objects;
+
+/**
+ * Estado do upload, para o cliente saber quais pedaços ainda faltam ao retomar
+ */
+public class GetUploadSessionUseCase extends UseCase<UploadSessionDTO, UploadSessionOutputDTO> {
+    private final UploadSessionGateway uploadSessionGateway;
+
+    public GetUploadSessionUseCase(final UploadSessionGateway uploadSessionGateway) {
+        this.uploadSessionGateway = Objects.requireNonNull(uploadSessionGateway);
+    }
+
+    @Override
+    public UploadSessionOutputDTO execute(final UploadSessionDTO aCmd) throws Exception {
+        final UploadSession aSession = UploadSessions.find(this.uploadSessionGateway, aCmd.videoId(), aCmd.sessionId());
+
+        return UploadSessionOutputDTO.with(aSession, this.uploadSessionGateway.chunks(aSession.id()));
+    }
+}
@@ -0,0 +1,26 @@
+package com.dotflix.application.video;
+
+import com.dotflix.application.video.dto.UpdateMediaStatusDTO;
+import com.dotflix.domain.video.MediaStatus;
+import com.dotflix.domain.video.MediaStatusChange;
+import java.util.Optional;
+
+/**
+ * Conversão de um callback do encoder em alteração de status, compartilhada pelos use cases de status de mídia
+ */
+final class MediaStatusUpdates {
+
+    private MediaStatusUpdates() {
+    }
+
+    // PENDING é o status inicial, um callback com ele não altera nada
+    static Optional<MediaStatusChange> toChange(final UpdateMediaStatusDTO aCmd) {
+        if (aCmd.status() == MediaStatus.PENDING) {
+            return Optional.empty();
+        }
+
+        final String encodedPath = aCmd.status() == MediaStatus.COMPLETED ? "%s/%s".formatted(aCmd.folder(), aCmd.filename()) : null;
+
+        return Optional.of(MediaStatusChange.with(aCmd.videoId(), aCmd.resourceId(), aCmd.status(), encodedPath));
+    }
+}
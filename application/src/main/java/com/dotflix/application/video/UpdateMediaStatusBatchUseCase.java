@@ -0,0 +1,60 @@
+package com.dotflix.application.video;
+
+import com.dotflix.application.UseCase;
+import com.dotflix.application.video.dto.UpdateMediaStatusDTO;
+import com.dotflix.domain.video.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Processa vários callbacks do encoder de uma vez: agrupa por vídeo, mantendo a ordem de chegada dentro de cada vídeo, e
+ * grava todas as alterações em um único lote de UPDATEs condicionais, sem carregar os vídeos.
+ * <p>
+ * O resultado tem uma posição por callback, como no {@link UpdateMediaStatusUseCase}: "ok" quando aplicado e "" quando a
+ * mídia não existe ou o status não avançou.
+ */
+public class UpdateMediaStatusBatchUseCase extends UseCase<List<UpdateMediaStatusDTO>, List<String>> {
+    private final VideoGateway videoGateway;
+
+    public UpdateMediaStatusBatchUseCase(final VideoGateway videoGateway) {
+        this.videoGateway = Objects.requireNonNull(videoGateway);
+    }
+
+    @Override
+    public List<String> execute(final List<UpdateMediaStatusDTO> aCmd) {
+        final String[] results = new String[aCmd.size()];
+        Arrays.fill(results, "");
+
+        // Índices dos callbacks de cada vídeo, na ordem de chegada
+        final Map<String, List<Integer>> byVideo = new LinkedHashMap<>();
+        for (int i = 0; i < aCmd.size(); i++) {
+            byVideo.computeIfAbsent(aCmd.get(i).videoId(), id -> new ArrayList<>()).add(i);
+        }
+
+        final List<Integer> indexes = new ArrayList<>();
+        final List<MediaStatusChange> changes = new ArrayList<>();
+        byVideo.values().forEach(videoIndexes -> videoIndexes.forEach(i ->
+                MediaStatusUpdates.toChange(aCmd.get(i)).ifPresent(change -> {
+                    indexes.add(i);
+                    changes.add(change);
+                })
+        ));
+
+        if (changes.isEmpty()) {
+            return List.of(results);
+        }
+
+        final List<Boolean> applied = this.videoGateway.updateMediaStatuses(changes);
+        for (int i = 0; i < applied.size(); i++) {
+            if (applied.get(i)) {
+                results[indexes.get(i)] = "ok";
+            }
+        }
+
+        return List.of(results);
+    }
+}
@@ -54,23 +54,23 @@ public class UpdateVideoUseCase extends UseCase<UpdateVideoDTO, Video> {
 
         try {
             final AudioVideoMedia aVideoMedia = aCommand.getVideo()
-                    .map(it -> this.mediaResourceGateway.storeAudioVideo(anId, VideoResource.with(VideoMediaType.VIDEO, it)))
+                    .map(it -> this.mediaResourceGateway.storeAudioVideo(anId, VideoMediaType.VIDEO, it))
                     .orElse(null);
 
             final AudioVideoMedia aTrailerMedia = aCommand.getTrailer()
-                    .map(it -> this.mediaResourceGateway.storeAudioVideo(anId, VideoResource.with(VideoMediaType.TRAILER, it)))
+                    .map(it -> this.mediaResourceGateway.storeAudioVideo(anId, VideoMediaType.TRAILER, it))
                     .orElse(null);
 
             final ImageMedia aBannerMedia = aCommand.getBanner()
-                    .map(it -> this.mediaResourceGateway.storeImage(anId, VideoResource.with(VideoMediaType.BANNER, it)))
+                    .map(it -> this.mediaResourceGateway.storeImage(anId, VideoMediaType.BANNER, it))
                     .orElse(null);
 
             final ImageMedia aThumbnailMedia = aCommand.getThumbnail()
-                    .map(it -> this.mediaResourceGateway.storeImage(anId, VideoResource.with(VideoMediaType.THUMBNAIL, it)))
+                    .map(it -> this.mediaResourceGateway.storeImage(anId, VideoMediaType.THUMBNAIL, it))
                     .orElse(null);
 
             final ImageMedia aThumbHalfMedia = aCommand.getThumbnailHalf()
-                    .map(it -> this.mediaResourceGateway.storeImage(anId, VideoResource.with(VideoMediaType.THUMBNAIL_HALF, it)))
+                    .map(it -> this.mediaResourceGateway.storeImage(anId, VideoMediaType.THUMBNAIL_HALF, it))
                     .orElse(null);
 
             return this.videoGateway.update(
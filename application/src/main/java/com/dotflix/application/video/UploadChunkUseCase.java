@@ -0,0 +1,41 @@
+package com.dotflix.application.video;
+
+import com.dotflix.application.UseCase;
+import com.dotflix.application.video.dto.UploadChunkDTO;
+import com.dotflix.application.video.dto.UploadSessionOutputDTO;
+import com.dotflix.application.video.exceptions.InvalidUploadException;
+import com.dotflix.domain.video.OverlappingChunkException;
+import com.dotflix.domain.video.UploadSession;
+import com.dotflix.domain.video.UploadSessionGateway;
+import java.util.Objects;
+
+/**
+ * Grava um pedaço do upload. Cada pedaço vai para o seu próprio arquivo de staging, então vários podem ser enviados em
+ * paralelo sem disputar lock.
+ */
+public class UploadChunkUseCase extends UseCase<UploadChunkDTO, UploadSessionOutputDTO> {
+    private final UploadSessionGateway uploadSessionGateway;
+
+    public UploadChunkUseCase(final UploadSessionGateway uploadSessionGateway) {
+        this.uploadSessionGateway = Objects.requireNonNull(uploadSessionGateway);
+    }
+
+    @Override
+    public UploadSessionOutputDTO execute(final UploadChunkDTO aCmd) throws Exception {
+        final UploadSession aSession = UploadSessions.find(this.uploadSessionGateway, aCmd.videoId(), aCmd.sessionId());
+
+        if (aCmd.offset() < 0 || aCmd.offset() >= aSession.length()) {
+            throw new InvalidUploadException("'offset' must be between 0 and " + (aSession.length() - 1));
+        }
+
+        try {
+            this.uploadSessionGateway.writeChunk(aSession.id(), aCmd.offset(), aCmd.content(), aSession.length() - aCmd.offset());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidUploadException("The chunk at offset " + aCmd.offset() + " goes past the " + aSession.length() + " bytes of the upload");
+        } catch (OverlappingChunkException e) {
+            throw new InvalidUploadException("The chunk at offset " + aCmd.offset() + " overlaps the chunk at offset " + e.existing().offset());
+        }
+
+        return UploadSessionOutputDTO.with(aSession, this.uploadSessionGateway.chunks(aSession.id()));
+    }
+}
@@ -19,18 +19,19 @@ public class UploadMediaUseCase extends UseCase<UploadMediaDTO, UploadMediaOutpu
     @Override
     public UploadMediaOutputDTO execute(final UploadMediaDTO aCmd) throws Exception {
         final String anId = aCmd.videoId();
-        final VideoResource aResource = aCmd.videoResource();
+        final VideoMediaType aType = aCmd.type();
+        final StreamResource aResource = aCmd.resource();
 
         final var aVideo = this.videoGateway.findById(anId).orElseThrow(() -> new VideoNotFoundException("Genre with ID " + anId + " was not found"));
 
-        switch (aResource.type()) {
-            case VIDEO -> aVideo.updateVideoMedia(mediaResourceGateway.storeAudioVideo(anId, aResource));
-            case TRAILER -> aVideo.updateTrailerMedia(mediaResourceGateway.storeAudioVideo(anId, aResource));
-            case BANNER -> aVideo.updateBannerMedia(mediaResourceGateway.storeImage(anId, aResource));
-            case THUMBNAIL -> aVideo.updateThumbnailMedia(mediaResourceGateway.storeImage(anId, aResource));
-            case THUMBNAIL_HALF -> aVideo.updateThumbnailHalfMedia(mediaResourceGateway.storeImage(anId, aResource));
+        switch (aType) {
+            case VIDEO -> aVideo.updateVideoMedia(mediaResourceGateway.storeAudioVideo(anId, aType, aResource));
+            case TRAILER -> aVideo.updateTrailerMedia(mediaResourceGateway.storeAudioVideo(anId, aType, aResource));
+            case BANNER -> aVideo.updateBannerMedia(mediaResourceGateway.storeImage(anId, aType, aResource));
+            case THUMBNAIL -> aVideo.updateThumbnailMedia(mediaResourceGateway.storeImage(anId, aType, aResource));
+            case THUMBNAIL_HALF -> aVideo.updateThumbnailHalfMedia(mediaResourceGateway.storeImage(anId, aType, aResource));
         }
 
-        return UploadMediaOutputDTO.with(videoGateway.update(aVideo), aResource.type());
+        return UploadMediaOutputDTO.with(videoGateway.update(aVideo), aType);
     }
 }
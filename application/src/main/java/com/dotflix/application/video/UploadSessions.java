@@ -0,0 +1,21 @@
+package com.dotflix.application.video;
+
+import com.dotflix.application.video.exceptions.UploadSessionNotFoundException;
+import com.dotflix.domain.video.UploadSession;
+import com.dotflix.domain.video.UploadSessionGateway;
+
+/**
+ * Busca de sessão de upload compartilhada pelos use cases de upload retomável
+ */
+final class UploadSessions {
+
+    private UploadSessions() {
+    }
+
+    // Uma sessão de outro vídeo é tratada como inexistente
+    static UploadSession find(final UploadSessionGateway gateway, final String videoId, final String sessionId) throws UploadSessionNotFoundException {
+        return gateway.findById(sessionId)
+                .filter(it -> it.videoId().equals(videoId))
+                .orElseThrow(() -> new UploadSessionNotFoundException("Upload session with ID " + sessionId + " was not found"));
+    }
+}
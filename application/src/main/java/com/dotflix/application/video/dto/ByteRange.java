@@ -0,0 +1,45 @@
+package com.dotflix.application.video.dto;
+
+import java.util.Optional;
+
+/**
+ * Intervalo de bytes pedido pelo cliente, com as posições inclusivas. {@code start} nulo é um sufixo (os últimos
+ * {@code end} bytes) e {@code end} nulo vai até o fim do arquivo.
+ */
+public record ByteRange(Long start, Long end) {
+
+    public static ByteRange of(final long start, final long end) {
+        return new ByteRange(start, end);
+    }
+
+    public static ByteRange from(final long start) {
+        return new ByteRange(start, null);
+    }
+
+    public static ByteRange last(final long count) {
+        return new ByteRange(null, count);
+    }
+
+    public long length() {
+        return end - start + 1;
+    }
+
+    /**
+     * Resolve o intervalo para um arquivo de {@code length} bytes; vazio quando nenhum byte do intervalo existe
+     */
+    public Optional<ByteRange> resolve(final long length) {
+        if (start == null) {
+            if (end == 0 || length == 0) {
+                return Optional.empty();
+            }
+
+            return Optional.of(of(Math.max(0, length - end), length - 1));
+        }
+
+        if (start >= length) {
+            return Optional.empty();
+        }
+
+        return Optional.of(of(start, end == null ? length - 1 : Math.min(end, length - 1)));
+    }
+}
@@ -0,0 +1,7 @@
+package com.dotflix.application.video.dto;
+
+public record CreateUploadSessionDTO(String videoId, String mediaType, String name, String contentType, long length, String checksum) {
+    public static CreateUploadSessionDTO with(final String anId, final String aType, final String aName, final String aContentType, final long aLength, final String aChecksum) {
+        return new CreateUploadSessionDTO(anId, aType, aName, aContentType, aLength, aChecksum);
+    }
+}
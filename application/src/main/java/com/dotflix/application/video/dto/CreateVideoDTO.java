@@ -1,6 +1,6 @@
 package com.dotflix.application.video.dto;
 
-import com.dotflix.domain.video.Resource;
+import com.dotflix.domain.video.StreamResource;
 import java.util.Optional;
 import java.util.Set;
 
@@ -15,11 +15,11 @@ public record CreateVideoDTO(
         Set<String> categories,
         Set<String> genres,
         Set<String> members,
-        Resource video,
-        Resource trailer,
-        Resource banner,
-        Resource thumbnail,
-        Resource thumbnailHalf
+        StreamResource video,
+        StreamResource trailer,
+        StreamResource banner,
+        StreamResource thumbnail,
+        StreamResource thumbnailHalf
 ) {
 
     public static CreateVideoDTO with(
@@ -33,11 +33,11 @@ public record CreateVideoDTO(
             final Set<String> categories,
             final Set<String> genres,
             final Set<String> members,
-            final Resource video,
-            final Resource trailer,
-            final Resource banner,
-            final Resource thumbnail,
-            final Resource thumbnailHalf
+            final StreamResource video,
+            final StreamResource trailer,
+            final StreamResource banner,
+            final StreamResource thumbnail,
+            final StreamResource thumbnailHalf
     ) {
         return new CreateVideoDTO(
                 title,
@@ -89,23 +89,23 @@ public record CreateVideoDTO(
         );
     }
 
-    public Optional<Resource> getVideo() {
+    public Optional<StreamResource> getVideo() {
         return Optional.ofNullable(video);
     }
 
-    public Optional<Resource> getTrailer() {
+    public Optional<StreamResource> getTrailer() {
         return Optional.ofNullable(trailer);
     }
 
-    public Optional<Resource> getBanner() {
+    public Optional<StreamResource> getBanner() {
         return Optional.ofNullable(banner);
     }
 
-    public Optional<Resource> getThumbnail() {
+    public Optional<StreamResource> getThumbnail() {
         return Optional.ofNullable(thumbnail);
     }
 
-    public Optional<Resource> getThumbnailHalf() {
+    public Optional<StreamResource> getThumbnailHalf() {
         return Optional.ofNullable(thumbnailHalf);
     }
 }
@@ -0,0 +1,9 @@
+package com.dotflix.application.video.dto;
+
+import java.util.List;
+
+public record GetMediaRangeDTO(String videoId, String mediaType, List<ByteRange> ranges, String ifRange) {
+    public static GetMediaRangeDTO with(final String anId, final String aType, final List<ByteRange> ranges, final String ifRange) {
+        return new GetMediaRangeDTO(anId, aType, ranges, ifRange);
+    }
+}
@@ -0,0 +1,21 @@
+package com.dotflix.application.video.dto;
+
+import com.dotflix.domain.video.MediaFile;
+import java.util.List;
+
+/**
+ * Mídia e os intervalos a enviar. Sem intervalos a resposta é o arquivo inteiro.
+ */
+public record MediaRangeOutputDTO(MediaFile file, List<ByteRange> ranges) {
+    public static MediaRangeOutputDTO full(final MediaFile aFile) {
+        return new MediaRangeOutputDTO(aFile, List.of());
+    }
+
+    public static MediaRangeOutputDTO partial(final MediaFile aFile, final List<ByteRange> ranges) {
+        return new MediaRangeOutputDTO(aFile, List.copyOf(ranges));
+    }
+
+    public boolean isPartial() {
+        return !ranges.isEmpty();
+    }
+}
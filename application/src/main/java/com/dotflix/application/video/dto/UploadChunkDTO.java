@@ -0,0 +1,9 @@
+package com.dotflix.application.video.dto;
+
+import java.io.InputStream;
+
+public record UploadChunkDTO(String videoId, String sessionId, long offset, InputStream content) {
+    public static UploadChunkDTO with(final String anId, final String aSessionId, final long anOffset, final InputStream aContent) {
+        return new UploadChunkDTO(anId, aSessionId, anOffset, aContent);
+    }
+}
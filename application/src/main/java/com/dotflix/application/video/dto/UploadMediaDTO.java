@@ -1,9 +1,15 @@
 package com.dotflix.application.video.dto;
 
+import com.dotflix.domain.video.StreamResource;
+import com.dotflix.domain.video.VideoMediaType;
 import com.dotflix.domain.video.VideoResource;
 
-public record UploadMediaDTO(String videoId, VideoResource videoResource) {
+public record UploadMediaDTO(String videoId, VideoMediaType type, StreamResource resource) {
+    public static UploadMediaDTO with(final String anId, final VideoMediaType aType, final StreamResource aResource) {
+        return new UploadMediaDTO(anId, aType, aResource);
+    }
+
     public static UploadMediaDTO with(final String anId, final VideoResource aResource) {
-        return new UploadMediaDTO(anId, aResource);
+        return new UploadMediaDTO(anId, aResource.type(), StreamResource.with(aResource.resource()));
     }
 }
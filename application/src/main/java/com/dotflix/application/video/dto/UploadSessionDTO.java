@@ -0,0 +1,7 @@
+package com.dotflix.application.video.dto;
+
+public record UploadSessionDTO(String videoId, String sessionId) {
+    public static UploadSessionDTO with(final String anId, final String aSessionId) {
+        return new UploadSessionDTO(anId, aSessionId);
+    }
+}
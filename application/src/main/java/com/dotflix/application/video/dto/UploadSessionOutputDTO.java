@@ -0,0 +1,12 @@
+package com.dotflix.application.video.dto;
+
+import com.dotflix.domain.video.UploadChunk;
+import com.dotflix.domain.video.UploadSession;
+import com.dotflix.domain.video.VideoMediaType;
+import java.util.List;
+
+public record UploadSessionOutputDTO(String id, String videoId, VideoMediaType type, long length, long received, List<UploadChunk> chunks) {
+    public static UploadSessionOutputDTO with(final UploadSession aSession, final List<UploadChunk> chunks) {
+        return new UploadSessionOutputDTO(aSession.id(), aSession.videoId(), aSession.type(), aSession.length(), aSession.received(chunks), chunks);
+    }
+}
@@ -0,0 +1,8 @@
+package com.dotflix.application.video.exceptions;
+
+public class InvalidUploadException extends Exception {
+    public InvalidUploadException(final String msg){
+        super(msg);
+        System.out.println(getMessage());
+    }
+}
@@ -0,0 +1,15 @@
+package com.dotflix.application.video.exceptions;
+
+public class RangeNotSatisfiableException extends Exception {
+    private final long length;
+
+    public RangeNotSatisfiableException(final String msg, final long length){
+        super(msg);
+        this.length = length;
+        System.out.println(getMessage());
+    }
+
+    public long length() {
+        return length;
+    }
+}
@@ -0,0 +1,8 @@
+package com.dotflix.application.video.exceptions;
+
+public class UploadSessionNotFoundException extends Exception {
+    public UploadSessionNotFoundException(final String msg){
+        super(msg);
+        System.out.println(getMessage());
+    }
+}
@@ -1,10 +1,15 @@
 package com.dotflix.application.category;
 
+import com.dotflix.application.BatchItemResult;
 import com.dotflix.application.category.dto.CreateCategoryDTO;
 import com.dotflix.application.category.dto.DeleteCategoryDTO;
 import com.dotflix.application.category.dto.GetCategoryByIdDTO;
 import com.dotflix.application.category.dto.UpdateCategoryDTO;
+import com.dotflix.application.category.dto.UpsertCategoryDTO;
 import com.dotflix.application.category.exceptions.CategoryNotFoundException;
+import com.dotflix.domain.Change;
+import com.dotflix.domain.ChangeFeed;
+import com.dotflix.domain.ChangeQuery;
 import com.dotflix.domain.Pagination;
 import com.dotflix.domain.category.Category;
 import com.dotflix.domain.category.CategoryGateway;
@@ -17,6 +22,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -271,4 +277,84 @@ public class CategoryUseCasesTest {
 //
 //    }
 
+
+    /* UPSERT TESTS */
+
+    @InjectMocks
+    private UpsertCategoriesUseCase upsertCategoriesUseCase;
+
+    @Test
+    public void upsertCategoriesUseCaseTest() {
+        // Arrange
+        final List<UpsertCategoryDTO> items = List.of(
+                new UpsertCategoryDTO("existing-id", "Filmes", "Description", true),
+                new UpsertCategoryDTO(null, "Séries", null, true),
+                new UpsertCategoryDTO("invalid-id", "", null, true)
+        );
+
+        Mockito.when(categoryGateway.existsByIds(Mockito.any())).thenReturn(List.of("existing-id"));
+
+        // Act
+        final List<BatchItemResult> actualResults = upsertCategoriesUseCase.execute(items);
+
+        // Assert
+        Assertions.assertEquals(3, actualResults.size());
+        Assertions.assertEquals(BatchItemResult.updated("existing-id"), actualResults.get(0));
+        Assertions.assertEquals(BatchItemResult.Status.CREATED, actualResults.get(1).status());
+        Assertions.assertNotNull(actualResults.get(1).id());
+        Assertions.assertEquals(BatchItemResult.failed("invalid-id", "'name' should not be empty"), actualResults.get(2));
+
+        Mockito.verify(categoryGateway, Mockito.times(1)).upsertAll(Mockito.argThat(categories -> categories.size() == 2));
+    }
+
+    @Test
+    public void upsertCategoriesWhenGatewayThrowsExceptionTest() {
+        // Arrange
+        final List<UpsertCategoryDTO> items = List.of(new UpsertCategoryDTO("an-id", "Filmes", null, true));
+
+        Mockito.doThrow(new IllegalStateException("Gateway error")).when(categoryGateway).upsertAll(Mockito.any());
+
+        // Act
+        final List<BatchItemResult> actualResults = upsertCategoriesUseCase.execute(items);
+
+        // Assert
+        Assertions.assertEquals(List.of(BatchItemResult.failed("an-id", "Gateway error")), actualResults);
+    }
+
+    /* CHANGES TESTS */
+
+    @InjectMocks
+    private GetCategoryChangesUseCase getCategoryChangesUseCase;
+
+    @Test
+    public void getCategoryChangesUseCaseTest() {
+        // Arrange
+        final Category aCategory = Category.newCategory("Filmes", null, true);
+        final ChangeQuery query = new ChangeQuery("a-cursor", 100);
+
+        final ChangeFeed<Category> expectedFeed = new ChangeFeed<>(List.of(
+                new Change<>(aCategory.getId(), aCategory.getUpdatedAt(), aCategory),
+                new Change<>("deleted-id", Instant.now(), null)
+        ), "next-cursor", false);
+
+        Mockito.when(categoryGateway.changes(Mockito.eq(query))).thenReturn(expectedFeed);
+
+        // Act
+        final var actualResult = getCategoryChangesUseCase.execute(query);
+
+        // Assert
+        Assertions.assertEquals(expectedFeed, actualResult);
+        Assertions.assertFalse(actualResult.items().get(0).deleted());
+        Assertions.assertTrue(actualResult.items().get(1).deleted());
+    }
+
+    @Test
+    public void changeQueryWithInvalidLimitTest() {
+        // Act
+        final var actualException = Assertions.assertThrows(IllegalArgumentException.class, () -> new ChangeQuery(null, ChangeQuery.MAX_LIMIT + 1));
+
+        // Assert
+        Assertions.assertEquals("'limit' should be between 1 and " + ChangeQuery.MAX_LIMIT, actualException.getMessage());
+        Assertions.assertEquals("", new ChangeQuery(null, 1).since());
+    }
 }
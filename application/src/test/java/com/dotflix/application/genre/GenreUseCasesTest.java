@@ -1,8 +1,10 @@
 package com.dotflix.application.genre;
 
+import com.dotflix.application.BatchItemResult;
 import com.dotflix.application.UseCaseTest;
 import com.dotflix.application.genre.dto.CreateGenreDTO;
 import com.dotflix.application.genre.dto.UpdateGenreDTO;
+import com.dotflix.application.genre.dto.UpsertGenreDTO;
 import com.dotflix.domain.Pagination;
 import com.dotflix.domain.SearchQuery;
 import com.dotflix.domain.category.CategoryGateway;
@@ -33,6 +35,8 @@ public class GenreUseCasesTest extends UseCaseTest {
 
     @InjectMocks UpdateGenreUseCase updateGenreUseCase;
 
+    @InjectMocks UpsertGenresUseCase upsertGenresUseCase;
+
     @Mock
     private CategoryGateway categoryGateway;
 
@@ -436,4 +440,30 @@ public class GenreUseCasesTest extends UseCaseTest {
 
         Mockito.verify(genreGateway, Mockito.times(0)).update(Mockito.any());
     }
+
+    /* UPSERT USE CASE TESTS */
+
+    @Test
+    public void upsertGenresWithNonexistentCategoryTest() {
+        // Arrange
+        final List<UpsertGenreDTO> items = List.of(
+                new UpsertGenreDTO("genre-1", "Ação", true, List.of("123")),
+                new UpsertGenreDTO("genre-2", "Drama", true, List.of("123", "456"))
+        );
+
+        Mockito.when(categoryGateway.existsByIds(Mockito.any())).thenReturn(List.of("123"));
+        Mockito.when(genreGateway.existsByIds(Mockito.any())).thenReturn(List.of());
+
+        // Act
+        final List<BatchItemResult> actualResults = upsertGenresUseCase.execute(items);
+
+        // Assert
+        Assertions.assertEquals(BatchItemResult.created("genre-1"), actualResults.get(0));
+        Assertions.assertEquals(BatchItemResult.failed("genre-2", "Some categories could not be found: [456]"), actualResults.get(1));
+
+        Mockito.verify(categoryGateway, Mockito.times(1)).existsByIds(Mockito.any());
+        Mockito.verify(genreGateway, Mockito.times(1)).upsertAll(Mockito.argThat(genres ->
+                genres.size() == 1 && Objects.equals("genre-1", genres.get(0).getId())
+        ));
+    }
 }
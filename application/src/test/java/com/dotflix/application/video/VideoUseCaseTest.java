@@ -1,7 +1,14 @@
 package com.dotflix.application.video;
 
 import com.dotflix.application.UseCaseTest;
+import com.dotflix.application.video.dto.ByteRange;
 import com.dotflix.application.video.dto.CreateVideoDTO;
+import com.dotflix.application.video.dto.GetMediaRangeDTO;
+import com.dotflix.application.video.dto.UpdateMediaStatusDTO;
+import com.dotflix.application.video.dto.UploadChunkDTO;
+import com.dotflix.application.video.dto.UploadSessionDTO;
+import com.dotflix.application.video.exceptions.InvalidUploadException;
+import com.dotflix.application.video.exceptions.RangeNotSatisfiableException;
 import com.dotflix.domain.castmember.CastMember;
 import com.dotflix.domain.castmember.CastMemberGateway;
 import com.dotflix.domain.castmember.CastMemberType;
@@ -9,20 +16,34 @@ import com.dotflix.domain.category.Category;
 import com.dotflix.domain.category.CategoryGateway;
 import com.dotflix.domain.genre.Genre;
 import com.dotflix.domain.genre.GenreGateway;
-import com.dotflix.domain.utils.IdUtils;
+import com.dotflix.domain.utils.ChecksumInputStream;
 import com.dotflix.domain.video.*;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.AdditionalAnswers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.nio.file.Path;
 import java.time.Year;
 import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * TESTS CHECK IN THIS CLASS
@@ -35,13 +56,47 @@ import java.util.Set;
  *      - CREATE AND SOME CATEGORIES DOES NOT EXISTS -> OK
  *      - CREATE AND SOME GENRES DOES NOT EXISTS -> OK
  *      - CREATE AND SOME CASTMEMBERS DOES NOT EXISTS -> OK
+ *      - CREATE AND SEVERAL REFERENCES DOES NOT EXISTS -> OK
  *      - CREATE AND THROWS EXCEPTION -> OK
+ *      - CREATE STORES MEDIAS CONCURRENTLY AND CLEANS UP ON FAILURE -> OK
+ * GET MEDIA RANGE TESTS:
+ *      - GET RANGES -> OK
+ *      - GET RANGES WITH STALE IF-RANGE -> OK
+ *      - GET UNSATISFIABLE RANGES -> OK
+ * RESUMABLE UPLOAD TESTS:
+ *      - UPLOAD CHUNK PAST THE END -> OK
+ *      - UPLOAD OVERLAPPING CHUNK -> OK
+ *      - COMPLETE UPLOAD -> OK
+ *      - COMPLETE UPLOAD READS CONTENT ONCE -> OK
+ *      - COMPLETE UPLOAD WITH WRONG CHECKSUM -> OK
+ *      - COMPLETE UPLOAD WITH MISSING CHUNKS -> OK
+ * MEDIA STATUS TESTS:
+ *      - UPDATE MEDIA STATUS -> OK
+ *      - UPDATE MEDIA STATUS THAT DOES NOT MOVE FORWARD -> OK
+ *      - UPDATE MEDIA STATUS BATCH -> OK
+ *      - UPDATE MEDIA STATUS BATCH WITH ONLY PENDING -> OK
  *
  */
 public class VideoUseCaseTest extends UseCaseTest {
-    @InjectMocks
     private CreateVideoUseCase useCase;
 
+    private ExecutorService mediaStorage;
+
+    @InjectMocks
+    private GetMediaRangeUseCase getMediaRangeUseCase;
+
+    @InjectMocks
+    private UploadChunkUseCase uploadChunkUseCase;
+
+    @InjectMocks
+    private CompleteUploadSessionUseCase completeUploadSessionUseCase;
+
+    @InjectMocks
+    private UpdateMediaStatusUseCase updateMediaStatusUseCase;
+
+    @InjectMocks
+    private UpdateMediaStatusBatchUseCase updateMediaStatusBatchUseCase;
+
     @Mock
     private VideoGateway videoGateway;
 
@@ -57,9 +112,24 @@ public class VideoUseCaseTest extends UseCaseTest {
     @Mock
     private MediaResourceGateway mediaResourceGateway;
 
+    @Mock
+    private UploadSessionGateway uploadSessionGateway;
+
+    @BeforeEach
+    public void setUp() {
+        // As consultas de existência rodam na thread do teste; as mídias precisam de uma thread cada para serem gravadas ao mesmo tempo
+        mediaStorage = Executors.newFixedThreadPool(5);
+        useCase = new CreateVideoUseCase(categoryGateway, castMemberGateway, genreGateway, mediaResourceGateway, videoGateway, Runnable::run, mediaStorage);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        mediaStorage.shutdownNow();
+    }
+
     @Override
     protected List<Object> getMocks() {
-        return List.of(videoGateway, categoryGateway, genreGateway, castMemberGateway, mediaResourceGateway);
+        return List.of(videoGateway, categoryGateway, genreGateway, castMemberGateway, mediaResourceGateway, uploadSessionGateway);
     }
 
     /* CREATE TESTS */
@@ -82,11 +152,11 @@ public class VideoUseCaseTest extends UseCaseTest {
         final var expectedGenres = Set.of(genre.getId());
         final Set<String> expectedMembers = Set.of(castmember.getId());
 
-        final Resource expectedVideo = resource(VideoMediaType.VIDEO);
-        final Resource expectedTrailer = resource(VideoMediaType.TRAILER);
-        final Resource expectedBanner = resource(VideoMediaType.BANNER);
-        final Resource expectedThumb = resource(VideoMediaType.THUMBNAIL);
-        final Resource expectedThumbHalf = resource(VideoMediaType.THUMBNAIL_HALF);
+        final StreamResource expectedVideo = resource(VideoMediaType.VIDEO);
+        final StreamResource expectedTrailer = resource(VideoMediaType.TRAILER);
+        final StreamResource expectedBanner = resource(VideoMediaType.BANNER);
+        final StreamResource expectedThumb = resource(VideoMediaType.THUMBNAIL);
+        final StreamResource expectedThumbHalf = resource(VideoMediaType.THUMBNAIL_HALF);
 
         final CreateVideoDTO aCommand = new CreateVideoDTO(
                 expectedTitle,
@@ -305,6 +375,46 @@ public class VideoUseCaseTest extends UseCaseTest {
         Mockito.verify(videoGateway, Mockito.times(0)).create(Mockito.any());
     }
 
+    @Test
+    public void createVideoAndSeveralReferencesDoesNotExistsTest() throws Exception {
+        // Arrange
+        final Category aula = Category.newCategory("Aulas", "Some description", true);
+        final Genre genre = Genre.newGenre("Technology", true);
+        final CastMember castmember = CastMember.newMember("Joao", CastMemberType.ACTOR);
+
+        final String expectedErrorMessage = "Some cast members could not be found: [%s]; Some categories could not be found: [%s]"
+                .formatted(castmember.getId(), aula.getId());
+
+        final CreateVideoDTO aCommand = new CreateVideoDTO(
+                "Filme",
+                "Um filme bom!!!",
+                2022,
+                333.3,
+                true,
+                false,
+                Rating.ER.getName(),
+                Set.of(aula.getId()),
+                Set.of(genre.getId()),
+                Set.of(castmember.getId()),
+                null,
+                null,
+                null,
+                null,
+                null
+        );
+
+        Mockito.when(categoryGateway.existsByIds(Mockito.any())).thenReturn(new ArrayList<>());
+        Mockito.when(castMemberGateway.existsByIds(Mockito.any())).thenReturn(new ArrayList<>());
+        Mockito.when(genreGateway.existsByIds(Mockito.any())).thenReturn(new ArrayList<>(Set.of(genre.getId())));
+
+        // Act
+        final var actualException = Assertions.assertThrows(Exception.class, () -> useCase.execute(aCommand));
+
+        // Assert
+        Assertions.assertEquals(expectedErrorMessage, actualException.getMessage());
+        Mockito.verify(videoGateway, Mockito.times(0)).create(Mockito.any());
+    }
+
     @Test
     public void createVideoThrowsExceptionTest() throws Exception {
         // Arrange
@@ -329,11 +439,11 @@ public class VideoUseCaseTest extends UseCaseTest {
         final Set<String> expectedGenres = Set.of(genre.getId(), genre2.getId());
         final Set<String> expectedMembers = Set.of(castmember.getId(), castmember2.getId());
 
-        final Resource expectedVideo = resource(VideoMediaType.VIDEO);
-        final Resource expectedTrailer = resource(VideoMediaType.TRAILER);
-        final Resource expectedBanner = resource(VideoMediaType.BANNER);
-        final Resource expectedThumb = resource(VideoMediaType.THUMBNAIL);
-        final Resource expectedThumbHalf = resource(VideoMediaType.THUMBNAIL_HALF);
+        final StreamResource expectedVideo = resource(VideoMediaType.VIDEO);
+        final StreamResource expectedTrailer = resource(VideoMediaType.TRAILER);
+        final StreamResource expectedBanner = resource(VideoMediaType.BANNER);
+        final StreamResource expectedThumb = resource(VideoMediaType.THUMBNAIL);
+        final StreamResource expectedThumbHalf = resource(VideoMediaType.THUMBNAIL_HALF);
 
         final CreateVideoDTO aCommand = new CreateVideoDTO(expectedTitle, expectedDescription, expectedLaunchYear.getValue(), expectedDuration, expectedOpened, expectedPublished, expectedRating.getName(), expectedCategories, expectedGenres, expectedMembers, expectedVideo, expectedTrailer, expectedBanner, expectedThumb, expectedThumbHalf);
 
@@ -362,27 +472,79 @@ public class VideoUseCaseTest extends UseCaseTest {
         Mockito.verify(mediaResourceGateway).clearResources(Mockito.any());
     }
 
+    @Test
+    public void createVideoStoresMediasConcurrentlyAndCleansUpOnFailureTest() throws Exception {
+        // Arrange
+        final Category aula = Category.newCategory("Aulas", "Some description", true);
+        final Genre genre = Genre.newGenre("Technology", true);
+        final CastMember castmember = CastMember.newMember("Joao", CastMemberType.ACTOR);
+
+        final CreateVideoDTO aCommand = new CreateVideoDTO("Filme", "Um filme bom!!!", 2022, 333.3, true, false, Rating.ER.getName(),
+                Set.of(aula.getId()), Set.of(genre.getId()), Set.of(castmember.getId()),
+                resource(VideoMediaType.VIDEO), resource(VideoMediaType.TRAILER), resource(VideoMediaType.BANNER), resource(VideoMediaType.THUMBNAIL), resource(VideoMediaType.THUMBNAIL_HALF));
+
+        Mockito.when(categoryGateway.existsByIds(Mockito.any())).thenReturn(new ArrayList<>(Set.of(aula.getId())));
+        Mockito.when(castMemberGateway.existsByIds(Mockito.any())).thenReturn(new ArrayList<>(Set.of(castmember.getId())));
+        Mockito.when(genreGateway.existsByIds(Mockito.any())).thenReturn(new ArrayList<>(Set.of(genre.getId())));
+
+        // As cinco gravações só passam da barreira se estiverem rodando ao mesmo tempo
+        final CyclicBarrier allStoring = new CyclicBarrier(5);
+        final AtomicInteger finished = new AtomicInteger();
+        final AtomicInteger finishedBeforeClear = new AtomicInteger(-1);
+
+        Mockito.when(mediaResourceGateway.storeAudioVideo(Mockito.any(), Mockito.any(), Mockito.any(StreamResource.class))).thenAnswer(t -> {
+            allStoring.await(5, TimeUnit.SECONDS);
+            Thread.sleep(50);
+            finished.incrementAndGet();
+            return AudioVideoMedia.with("abc", "video.mp4", "/videos");
+        });
+        Mockito.when(mediaResourceGateway.storeImage(Mockito.any(), Mockito.any(), Mockito.any(StreamResource.class))).thenAnswer(t -> {
+            allStoring.await(5, TimeUnit.SECONDS);
+            finished.incrementAndGet();
+            if (t.getArgument(1) == VideoMediaType.BANNER) {
+                throw new IllegalStateException("disk full");
+            }
+            return ImageMedia.with("def", "image.png", "/img");
+        });
+        Mockito.doAnswer(t -> {
+            finishedBeforeClear.set(finished.get());
+            return null;
+        }).when(mediaResourceGateway).clearResources(Mockito.any());
+
+        // Act
+        Assertions.assertThrows(InternalError.class, () -> useCase.execute(aCommand));
+
+        // Assert
+        Assertions.assertEquals(5, finishedBeforeClear.get());
+        Mockito.verify(mediaResourceGateway, Mockito.times(1)).clearResources(Mockito.any());
+        Mockito.verify(videoGateway, Mockito.never()).create(Mockito.any());
+    }
+
     private void mockImageMedia() {
-        Mockito.when(mediaResourceGateway.storeImage(Mockito.any(),Mockito.any())).thenAnswer(t -> {
-            final var videoResource = t.getArgument(1, VideoResource.class);
-            final var resource = videoResource.resource();
-            return ImageMedia.with(resource.checksum(), resource.name(), "/img");
+        Mockito.when(mediaResourceGateway.storeImage(Mockito.any(), Mockito.any(), Mockito.any(StreamResource.class))).thenAnswer(t -> {
+            final var resource = t.getArgument(2, StreamResource.class);
+            return ImageMedia.with(checksum(resource), resource.name(), "/img");
         });
     }
 
     private void mockAudioVideoMedia() {
-        Mockito.when(mediaResourceGateway.storeAudioVideo(Mockito.any(),Mockito.any())).thenAnswer(t -> {
-            final var videoResource = t.getArgument(1, VideoResource.class);
-            final var resource = videoResource.resource();
+        Mockito.when(mediaResourceGateway.storeAudioVideo(Mockito.any(), Mockito.any(), Mockito.any(StreamResource.class))).thenAnswer(t -> {
+            final var resource = t.getArgument(2, StreamResource.class);
             return AudioVideoMedia.with(
-                    resource.checksum(),
+                    checksum(resource),
                     resource.name(),
                     "/img"
             );
         });
     }
 
-    public Resource resource(final VideoMediaType type){
+    private String checksum(final StreamResource resource) throws IOException {
+        final ChecksumInputStream in = new ChecksumInputStream(resource.content());
+        in.transferTo(OutputStream.nullOutputStream());
+        return in.checksum();
+    }
+
+    public StreamResource resource(final VideoMediaType type){
         String contentType;
 
         if(type == VideoMediaType.VIDEO || type == VideoMediaType.TRAILER)
@@ -390,10 +552,252 @@ public class VideoUseCaseTest extends UseCaseTest {
         else
             contentType = "image/jpg";
 
-        final String checksum = IdUtils.uuid();
         final byte[] content = "Conteudo".getBytes();
 
-        return Resource.with(content, checksum, contentType, type.name().toLowerCase());
+        return StreamResource.with(new ByteArrayInputStream(content), content.length, contentType, type.name().toLowerCase());
+    }
+
+    /* GET MEDIA RANGE TESTS */
+
+    @Test
+    public void getMediaRangesTest() throws Exception {
+        // Arrange
+        final var aFile = MediaFile.with(Path.of("/media/abc"), 1000, "abc", "video/mp4", "video.mp4");
+
+        Mockito.when(mediaResourceGateway.getMediaFile(Mockito.eq("123"), Mockito.eq(VideoMediaType.VIDEO))).thenReturn(Optional.of(aFile));
+
+        final var aCmd = GetMediaRangeDTO.with("123", "video", List.of(ByteRange.of(0, 99), ByteRange.from(900), ByteRange.last(50), ByteRange.of(990, 5000), ByteRange.from(1000)), "\"abc\"");
+
+        // Act
+        final var output = getMediaRangeUseCase.execute(aCmd);
+
+        // Assert
+        Assertions.assertTrue(output.isPartial());
+        Assertions.assertEquals(List.of(ByteRange.of(0, 99), ByteRange.of(900, 999), ByteRange.of(950, 999), ByteRange.of(990, 999)), output.ranges());
+        Assertions.assertSame(aFile, output.file());
+    }
+
+    @Test
+    public void getMediaRangesWithStaleIfRangeTest() throws Exception {
+        // Arrange
+        final var aFile = MediaFile.with(Path.of("/media/abc"), 1000, "abc", "video/mp4", "video.mp4");
+
+        Mockito.when(mediaResourceGateway.getMediaFile(Mockito.eq("123"), Mockito.eq(VideoMediaType.VIDEO))).thenReturn(Optional.of(aFile));
+
+        // Act
+        final var stale = getMediaRangeUseCase.execute(GetMediaRangeDTO.with("123", "video", List.of(ByteRange.of(0, 99)), "\"def\""));
+        final var weak = getMediaRangeUseCase.execute(GetMediaRangeDTO.with("123", "video", List.of(ByteRange.of(0, 99)), "W/\"abc\""));
+
+        // Assert
+        Assertions.assertFalse(stale.isPartial());
+        Assertions.assertFalse(weak.isPartial());
+    }
+
+    @Test
+    public void getUnsatisfiableMediaRangesTest() {
+        // Arrange
+        final var aFile = MediaFile.with(Path.of("/media/abc"), 1000, "abc", "video/mp4", "video.mp4");
+
+        Mockito.when(mediaResourceGateway.getMediaFile(Mockito.eq("123"), Mockito.eq(VideoMediaType.VIDEO))).thenReturn(Optional.of(aFile));
+
+        final var aCmd = GetMediaRangeDTO.with("123", "video", List.of(ByteRange.from(1000), ByteRange.last(0)), null);
+
+        // Act
+        final var exception = Assertions.assertThrows(RangeNotSatisfiableException.class, () -> getMediaRangeUseCase.execute(aCmd));
+
+        // Assert
+        Assertions.assertEquals(1000, exception.length());
+    }
+
+    /* RESUMABLE UPLOAD TESTS */
+
+    @Test
+    public void uploadChunkPastTheEndTest() throws Exception {
+        // Arrange
+        final var aSession = UploadSession.newSession("123", VideoMediaType.VIDEO, "video.mp4", "video/mp4", 10, "a".repeat(64));
+
+        Mockito.when(uploadSessionGateway.findById(aSession.id())).thenReturn(Optional.of(aSession));
+
+        // Act
+        final var exception = Assertions.assertThrows(InvalidUploadException.class, () -> uploadChunkUseCase.execute(UploadChunkDTO.with("123", aSession.id(), 10, new ByteArrayInputStream(new byte[1]))));
+
+        // Assert
+        Assertions.assertEquals("'offset' must be between 0 and 9", exception.getMessage());
+        Mockito.verify(uploadSessionGateway, Mockito.never()).writeChunk(Mockito.any(), Mockito.anyLong(), Mockito.any(), Mockito.anyLong());
+    }
+
+    @Test
+    public void uploadOverlappingChunkTest() throws Exception {
+        // Arrange
+        final var aSession = UploadSession.newSession("123", VideoMediaType.VIDEO, "video.mp4", "video/mp4", 10, "a".repeat(64));
+
+        Mockito.when(uploadSessionGateway.findById(aSession.id())).thenReturn(Optional.of(aSession));
+        Mockito.when(uploadSessionGateway.writeChunk(Mockito.eq(aSession.id()), Mockito.eq(2L), Mockito.any(), Mockito.eq(8L))).thenThrow(new OverlappingChunkException(UploadChunk.with(0, 4)));
+
+        // Act
+        final var exception = Assertions.assertThrows(InvalidUploadException.class, () -> uploadChunkUseCase.execute(UploadChunkDTO.with("123", aSession.id(), 2, new ByteArrayInputStream(new byte[2]))));
+
+        // Assert
+        Assertions.assertEquals("The chunk at offset 2 overlaps the chunk at offset 0", exception.getMessage());
+    }
+
+    @Test
+    public void completeUploadTest() throws Exception {
+        // Arrange
+        final byte[] content = "0123456789".getBytes();
+        final var aVideo = Video.newVideo("Title", "Description", Year.of(2020), 120.0, true, true, Rating.L, Set.of(), Set.of(), Set.of());
+        final var aSession = UploadSession.newSession(aVideo.getId(), VideoMediaType.TRAILER, "trailer.mp4", "video/mp4", content.length, checksum(content));
+        final var aMedia = AudioVideoMedia.with(aSession.checksum(), "trailer.mp4", "/media/trailer");
+
+        Mockito.when(uploadSessionGateway.findById(aSession.id())).thenReturn(Optional.of(aSession));
+        Mockito.when(uploadSessionGateway.chunks(aSession.id())).thenReturn(List.of(UploadChunk.with(0, 4), UploadChunk.with(4, 6)));
+        Mockito.when(uploadSessionGateway.content(aSession.id())).thenAnswer(it -> StreamResource.with(new ByteArrayInputStream(content), content.length, "video/mp4", "trailer.mp4"));
+        Mockito.when(videoGateway.findById(aVideo.getId())).thenReturn(Optional.of(aVideo));
+        Mockito.when(mediaResourceGateway.storeAudioVideo(Mockito.eq(aVideo.getId()), Mockito.eq(VideoMediaType.TRAILER), Mockito.any(StreamResource.class))).thenReturn(aMedia);
+        Mockito.when(videoGateway.update(Mockito.any())).thenAnswer(AdditionalAnswers.returnsFirstArg());
+
+        // Act
+        final var output = completeUploadSessionUseCase.execute(UploadSessionDTO.with(aVideo.getId(), aSession.id()));
+
+        // Assert
+        Assertions.assertEquals(aVideo.getId(), output.videoId());
+        Assertions.assertEquals(VideoMediaType.TRAILER, output.mediaType());
+        Mockito.verify(videoGateway, Mockito.times(1)).update(Mockito.argThat(it -> it.getTrailer().filter(aMedia::equals).isPresent()));
+        Mockito.verify(uploadSessionGateway, Mockito.times(1)).delete(aSession.id());
+    }
+
+    @Test
+    public void completeUploadReadsContentOnceTest() throws Exception {
+        // Arrange
+        final byte[] content = "0123456789".getBytes();
+        final var aVideo = Video.newVideo("Title", "Description", Year.of(2020), 120.0, true, true, Rating.L, Set.of(), Set.of(), Set.of());
+        final var aSession = UploadSession.newSession(aVideo.getId(), VideoMediaType.VIDEO, "video.mp4", "video/mp4", content.length, checksum(content));
+        final var aMedia = AudioVideoMedia.with(aSession.checksum(), "video.mp4", "/media/blob");
+
+        Mockito.when(uploadSessionGateway.findById(aSession.id())).thenReturn(Optional.of(aSession));
+        Mockito.when(uploadSessionGateway.chunks(aSession.id())).thenReturn(List.of(UploadChunk.with(0, 10)));
+        Mockito.when(uploadSessionGateway.content(aSession.id())).thenAnswer(it -> StreamResource.with(new ByteArrayInputStream(content), content.length, "video/mp4", "video.mp4"));
+        Mockito.when(videoGateway.findById(aVideo.getId())).thenReturn(Optional.of(aVideo));
+        Mockito.when(mediaResourceGateway.storeAudioVideo(Mockito.eq(aVideo.getId()), Mockito.eq(VideoMediaType.VIDEO), Mockito.any(StreamResource.class))).thenReturn(aMedia);
+        Mockito.when(videoGateway.update(Mockito.any())).thenAnswer(AdditionalAnswers.returnsFirstArg());
+
+        // Act
+        completeUploadSessionUseCase.execute(UploadSessionDTO.with(aVideo.getId(), aSession.id()));
+
+        // Assert
+        Mockito.verify(uploadSessionGateway, Mockito.times(1)).content(aSession.id());
+        Mockito.verify(mediaResourceGateway, Mockito.times(1)).storeAudioVideo(Mockito.eq(aVideo.getId()), Mockito.eq(VideoMediaType.VIDEO), Mockito.argThat(it -> it.checksum().filter(aSession.checksum()::equals).isPresent()));
+        Mockito.verify(videoGateway, Mockito.times(1)).update(Mockito.argThat(it -> it.getVideo().filter(media -> "/media/blob".equals(media.rawLocation())).isPresent()));
+    }
+
+    @Test
+    public void completeUploadWithWrongChecksumTest() throws Exception {
+        // Arrange
+        final byte[] content = "0123456789".getBytes();
+        final var aVideo = Video.newVideo("Title", "Description", Year.of(2020), 120.0, true, true, Rating.L, Set.of(), Set.of(), Set.of());
+        final var aSession = UploadSession.newSession(aVideo.getId(), VideoMediaType.VIDEO, "video.mp4", "video/mp4", content.length, "a".repeat(64));
+
+        Mockito.when(uploadSessionGateway.findById(aSession.id())).thenReturn(Optional.of(aSession));
+        Mockito.when(uploadSessionGateway.chunks(aSession.id())).thenReturn(List.of(UploadChunk.with(0, 10)));
+        Mockito.when(uploadSessionGateway.content(aSession.id())).thenAnswer(it -> StreamResource.with(new ByteArrayInputStream(content), content.length, "video/mp4", "video.mp4"));
+        Mockito.when(videoGateway.findById(aVideo.getId())).thenReturn(Optional.of(aVideo));
+        Mockito.when(mediaResourceGateway.storeAudioVideo(Mockito.eq(aVideo.getId()), Mockito.eq(VideoMediaType.VIDEO), Mockito.any(StreamResource.class))).thenThrow(new ChecksumMismatchException(aSession.checksum(), checksum(content)));
+
+        // Act
+        final var exception = Assertions.assertThrows(InvalidUploadException.class, () -> completeUploadSessionUseCase.execute(UploadSessionDTO.with(aVideo.getId(), aSession.id())));
+
+        // Assert
+        Assertions.assertEquals("The upload " + aSession.id() + " checksum " + checksum(content) + " doesn't match the expected " + aSession.checksum(), exception.getMessage());
+        Mockito.verify(videoGateway, Mockito.never()).update(Mockito.any());
+        Mockito.verify(uploadSessionGateway, Mockito.never()).delete(Mockito.any());
+    }
+
+    @Test
+    public void completeUploadWithMissingChunksTest() throws Exception {
+        // Arrange
+        final var aSession = UploadSession.newSession("123", VideoMediaType.VIDEO, "video.mp4", "video/mp4", 10, "a".repeat(64));
+
+        Mockito.when(uploadSessionGateway.findById(aSession.id())).thenReturn(Optional.of(aSession));
+        Mockito.when(uploadSessionGateway.chunks(aSession.id())).thenReturn(List.of(UploadChunk.with(0, 4)));
+
+        // Act
+        final var exception = Assertions.assertThrows(InvalidUploadException.class, () -> completeUploadSessionUseCase.execute(UploadSessionDTO.with("123", aSession.id())));
+
+        // Assert
+        Assertions.assertEquals("The upload " + aSession.id() + " is missing chunks", exception.getMessage());
+        Mockito.verify(uploadSessionGateway, Mockito.never()).content(Mockito.any());
+    }
+
+    /* MEDIA STATUS TESTS */
+
+    @Test
+    public void updateMediaStatusTest() throws Exception {
+        // Arrange
+        final var expectedChange = MediaStatusChange.with("123", "abc", MediaStatus.COMPLETED, "encoded/video.mp4");
+
+        Mockito.when(videoGateway.updateMediaStatus(expectedChange)).thenReturn(true);
+
+        // Act
+        final var result = updateMediaStatusUseCase.execute(UpdateMediaStatusDTO.with(MediaStatus.COMPLETED, "123", "abc", "encoded", "video.mp4"));
+
+        // Assert
+        Assertions.assertEquals("ok", result);
+        Mockito.verify(videoGateway, Mockito.never()).findById(Mockito.any());
+        Mockito.verify(videoGateway, Mockito.never()).update(Mockito.any());
+    }
+
+    @Test
+    public void updateMediaStatusThatDoesNotMoveForwardTest() throws Exception {
+        // Arrange
+        Mockito.when(videoGateway.updateMediaStatus(Mockito.any())).thenReturn(false);
+
+        // Act
+        final var result = updateMediaStatusUseCase.execute(UpdateMediaStatusDTO.with(MediaStatus.PROCESSING, "123", "abc", "", ""));
+
+        // Assert
+        Assertions.assertEquals("", result);
+        Mockito.verify(videoGateway).updateMediaStatus(MediaStatusChange.with("123", "abc", MediaStatus.PROCESSING, null));
+    }
+
+    @Test
+    public void updateMediaStatusBatchTest() throws Exception {
+        // Arrange
+        Mockito.when(videoGateway.updateMediaStatuses(Mockito.any())).thenReturn(List.of(true, true, false, true));
+
+        // Act
+        final var results = updateMediaStatusBatchUseCase.execute(List.of(
+                UpdateMediaStatusDTO.with(MediaStatus.PROCESSING, "1", "a", "", ""),
+                UpdateMediaStatusDTO.with(MediaStatus.PROCESSING, "2", "b", "", ""),
+                UpdateMediaStatusDTO.with(MediaStatus.PENDING, "1", "a", "", ""),
+                UpdateMediaStatusDTO.with(MediaStatus.COMPLETED, "1", "a", "encoded", "video.mp4"),
+                UpdateMediaStatusDTO.with(MediaStatus.COMPLETED, "1", "c", "encoded", "trailer.mp4")
+        ));
+
+        // Assert
+        Assertions.assertEquals(List.of("ok", "ok", "", "ok", ""), results);
+        Mockito.verify(videoGateway, Mockito.never()).findById(Mockito.any());
+        Mockito.verify(videoGateway, Mockito.times(1)).updateMediaStatuses(List.of(
+                MediaStatusChange.with("1", "a", MediaStatus.PROCESSING, null),
+                MediaStatusChange.with("1", "a", MediaStatus.COMPLETED, "encoded/video.mp4"),
+                MediaStatusChange.with("1", "c", MediaStatus.COMPLETED, "encoded/trailer.mp4"),
+                MediaStatusChange.with("2", "b", MediaStatus.PROCESSING, null)
+        ));
+    }
+
+    @Test
+    public void updateMediaStatusBatchWithOnlyPendingTest() throws Exception {
+        // Act
+        final var results = updateMediaStatusBatchUseCase.execute(List.of(
+                UpdateMediaStatusDTO.with(MediaStatus.PENDING, "123", "abc", "", "")
+        ));
+
+        // Assert
+        Assertions.assertEquals(List.of(""), results);
+        Mockito.verify(videoGateway, Mockito.never()).updateMediaStatuses(Mockito.any());
+    }
+
+    private static String checksum(final byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
     }
 
     /* DELETE TESTS */
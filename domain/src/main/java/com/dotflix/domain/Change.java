@@ -0,0 +1,18 @@
+package com.dotflix.domain;
+
+import java.time.Instant;
+import java.util.function.Function;
+
+/**
+ * Uma entrada do feed de mudanças. {@code item} nulo indica que o registro foi apagado (tombstone).
+ */
+public record Change<T>(String id, Instant changedAt, T item) {
+
+    public boolean deleted() {
+        return item == null;
+    }
+
+    public <R> Change<R> map(final Function<T, R> mapper) {
+        return new Change<>(id, changedAt, item == null ? null : mapper.apply(item));
+    }
+}
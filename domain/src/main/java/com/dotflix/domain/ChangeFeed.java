@@ -0,0 +1,15 @@
+package com.dotflix.domain;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página do feed de mudanças, em ordem de (changedAt, id). {@code nextCursor} sempre vem preenchido: é o ponto para
+ * continuar agora ({@code hasMore}) ou na próxima sincronização.
+ */
+public record ChangeFeed<T>(List<Change<T>> items, String nextCursor, boolean hasMore) {
+
+    public <R> ChangeFeed<R> map(final Function<T, R> mapper) {
+        return new ChangeFeed<>(items.stream().map(it -> it.map(mapper)).toList(), nextCursor, hasMore);
+    }
+}
@@ -0,0 +1,17 @@
+package com.dotflix.domain;
+
+/**
+ * {@code since} é o cursor devolvido pela sincronização anterior; vazio começa do início.
+ */
+public record ChangeQuery(String since, int limit) {
+
+    public static final int MAX_LIMIT = 1000;
+
+    public ChangeQuery {
+        since = since == null ? "" : since;
+
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("'limit' should be between 1 and " + MAX_LIMIT);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.dotflix.domain;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Como o total de uma busca paginada é obtido: contagem exata, estimativa do banco ou nenhuma contagem.
+ */
+public enum CountMode {
+    EXACT,
+    ESTIMATED,
+    NONE;
+
+    public static Optional<CountMode> of(final String value) {
+        return Arrays.stream(values())
+                .filter(it -> it.name().equalsIgnoreCase(value))
+                .findFirst();
+    }
+
+    // Parâmetro de requisição: ausente é EXACT, um valor desconhecido é erro (e não um count(*) que o cliente quis evitar)
+    public static CountMode parse(final String value) {
+        if (value == null || value.isBlank()) {
+            return EXACT;
+        }
+
+        return of(value).orElseThrow(() -> new IllegalArgumentException("'count' should be one of exact, estimated or none"));
+    }
+}
@@ -3,10 +3,18 @@ package com.dotflix.domain;
 import java.util.List;
 import java.util.function.Function;
 
-public record Pagination<T>(int currentPage, int perPage, long total, List<T> items) {
+/**
+ * {@code countMode} diz o que é {@code total}: a contagem exata, uma estimativa do banco ou nada (-1).
+ */
+public record Pagination<T>(int currentPage, int perPage, long total, List<T> items, String nextCursor, CountMode countMode) {
+
+    public Pagination(final int currentPage, final int perPage, final long total, final List<T> items) {
+        this(currentPage, perPage, total, items, null, CountMode.EXACT);
+    }
+
     public <R> Pagination<R> map(final Function<T, R> mapper) {
         final List<R> aNewList = this.items.stream().map(mapper).toList();
 
-        return new Pagination<>(currentPage(), perPage(), total(), aNewList);
+        return new Pagination<>(currentPage(), perPage(), total(), aNewList, nextCursor(), countMode());
     }
-}
\ No newline at end of file
+}
@@ -1,4 +1,24 @@
 package com.dotflix.domain;
 
-public record SearchQuery(int page, int perPage, String terms, String sort, String direction) {
+/**
+ * Quando {@code after} é informado (mesmo vazio, para a primeira página) a busca é feita por cursor (keyset),
+ * sem OFFSET e sem contagem; {@code page} e {@code count} são ignorados nesse modo.
+ */
+public record SearchQuery(int page, int perPage, String terms, String sort, String direction, String after, CountMode count) {
+
+    public SearchQuery {
+        count = count == null ? CountMode.EXACT : count;
+    }
+
+    public SearchQuery(final int page, final int perPage, final String terms, final String sort, final String direction) {
+        this(page, perPage, terms, sort, direction, null, CountMode.EXACT);
+    }
+
+    public SearchQuery(final int page, final int perPage, final String terms, final String sort, final String direction, final String after) {
+        this(page, perPage, terms, sort, direction, after, CountMode.EXACT);
+    }
+
+    public boolean isKeyset() {
+        return after != null;
+    }
 }
@@ -1,9 +1,9 @@
 package com.dotflix.domain.castmember;
 
+import com.dotflix.domain.utils.IdUtils;
 import java.security.spec.ECField;
 import java.time.Instant;
 import java.util.Objects;
-import java.util.Random;
 
 public class CastMember {
     private final String id;
@@ -22,11 +22,10 @@ public class CastMember {
     }
 
     public static CastMember newMember(final String name, final CastMemberType type) throws Exception {
-        Random r = new Random();
-        final int id = r.nextInt(1000);
+        final String id = IdUtils.uuid();
         final Instant now = Instant.now();
 
-        return new CastMember(Integer.toString(id), name, type, now, now);
+        return new CastMember(id, name, type, now, now);
     }
 
     public static CastMember with(final String id, final String name, final CastMemberType type, final Instant createdAt, final Instant updatedAt) throws Exception {
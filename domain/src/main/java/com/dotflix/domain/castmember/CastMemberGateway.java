@@ -1,5 +1,7 @@
 package com.dotflix.domain.castmember;
 
+import com.dotflix.domain.ChangeFeed;
+import com.dotflix.domain.ChangeQuery;
 import com.dotflix.domain.Pagination;
 import com.dotflix.domain.SearchQuery;
 
@@ -18,4 +20,8 @@ public interface CastMemberGateway {
     Pagination<CastMember> findAll(SearchQuery aQuery);
 
     List<String> existsByIds(Iterable<String> ids);
+
+    void upsertAll(List<CastMember> members);
+
+    ChangeFeed<CastMember> changes(ChangeQuery query);
 }
\ No newline at end of file
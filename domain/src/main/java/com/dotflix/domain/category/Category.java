@@ -1,7 +1,7 @@
 package com.dotflix.domain.category;
 
+import com.dotflix.domain.utils.IdUtils;
 import java.util.Objects;
-import java.util.Random;
 import java.time.Instant;
 
 public class Category implements Cloneable {
@@ -32,13 +32,12 @@ public class Category implements Cloneable {
      * @return
      */
     public static Category newCategory(final String name, final String description, final boolean active) {
-        Random r = new Random();
-        final int id = r.nextInt(1000);
+        final String id = IdUtils.uuid();
 
         final var deletedAt = active ? null : Instant.now();
 
         try {
-            return new Category(Integer.toString(id), name, description, active, Instant.now(), Instant.now(), deletedAt);
+            return new Category(id, name, description, active, Instant.now(), Instant.now(), deletedAt);
         } catch (Exception e){
             System.out.println("Error: " + e);
             return null;
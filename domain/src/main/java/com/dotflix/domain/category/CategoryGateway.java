@@ -1,6 +1,8 @@
 package com.dotflix.domain.category;
 
 import com.dotflix.domain.SearchQuery;
+import com.dotflix.domain.ChangeFeed;
+import com.dotflix.domain.ChangeQuery;
 import com.dotflix.domain.Pagination;
 
 import java.util.List;
@@ -18,4 +20,8 @@ public interface CategoryGateway {
     Pagination<Category> findAll(SearchQuery query);
 
     List<String> existsByIds(Iterable<String> ids);
+
+    void upsertAll(List<Category> categories);
+
+    ChangeFeed<Category> changes(ChangeQuery query);
 }
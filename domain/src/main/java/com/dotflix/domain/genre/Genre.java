@@ -1,5 +1,6 @@
 package com.dotflix.domain.genre;
 
+import com.dotflix.domain.utils.IdUtils;
 import java.time.Instant;
 import java.util.*;
 
@@ -30,12 +31,11 @@ public class Genre {
      * @return
      */
     public static Genre newGenre(final String aName, final boolean isActive) throws Exception {
-        Random r = new Random();
-        final int id = r.nextInt(1000);
+        final String id = IdUtils.uuid();
 
         final var deletedAt = isActive ? null : Instant.now();
 
-        return new Genre(Integer.toString(id), aName, isActive, new ArrayList<>(), Instant.now(), Instant.now(), deletedAt);
+        return new Genre(id, aName, isActive, new ArrayList<>(), Instant.now(), Instant.now(), deletedAt);
     }
 
     /**
@@ -1,5 +1,7 @@
 package com.dotflix.domain.genre;
 
+import com.dotflix.domain.ChangeFeed;
+import com.dotflix.domain.ChangeQuery;
 import com.dotflix.domain.Pagination;
 import com.dotflix.domain.SearchQuery;
 
@@ -19,4 +21,8 @@ public interface GenreGateway {
     Pagination<Genre> findAll(SearchQuery aQuery);
 
     List<String> existsByIds(Iterable<String> ids);
+
+    void upsertAll(List<Genre> genres);
+
+    ChangeFeed<Genre> changes(ChangeQuery query);
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.dotflix.domain.utils;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Calcula o SHA-256 dos bytes à medida que são lidos, para obter o checksum de um upload sem ler o conteúdo duas vezes.
+ */
+public class ChecksumInputStream extends FilterInputStream {
+
+    private final MessageDigest digest;
+    private long count;
+    private String checksum;
+
+    public ChecksumInputStream(final InputStream in) {
+        super(in);
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        final int b = super.read();
+
+        if (b != -1) {
+            this.digest.update((byte) b);
+            this.count++;
+        }
+
+        return b;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        final int read = super.read(b, off, len);
+
+        if (read > 0) {
+            this.digest.update(b, off, read);
+            this.count += read;
+        }
+
+        return read;
+    }
+
+    @Override
+    public long skip(final long n) throws IOException {
+        // Pular bytes deixaria o checksum incompleto
+        throw new IOException("skip is not supported while computing a checksum");
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    /**
+     * Quantidade de bytes lidos até agora
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * SHA-256 em hexadecimal dos bytes lidos. Deve ser chamado depois de consumir o stream inteiro; a partir daí o
+     * valor fica fixo.
+     */
+    public String checksum() {
+        if (this.checksum == null) {
+            this.checksum = HexFormat.of().formatHex(this.digest.digest());
+        }
+
+        return this.checksum;
+    }
+}
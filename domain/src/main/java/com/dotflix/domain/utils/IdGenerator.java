@@ -0,0 +1,10 @@
+package com.dotflix.domain.utils;
+
+/**
+ * Gerador de identificadores usado pelas factories do domínio (ver {@link IdUtils}).
+ */
+@FunctionalInterface
+public interface IdGenerator {
+
+    String next();
+}
@@ -1,12 +1,22 @@
 package com.dotflix.domain.utils;
 
-import java.util.UUID;
+import java.util.Objects;
 
 public final class IdUtils {
 
+    private static volatile IdGenerator generator = new UuidV7Generator();
+
     private IdUtils() {}
 
     public static String uuid() {
-        return UUID.randomUUID().toString().toLowerCase().replace("-", "");
+        return generator.next();
+    }
+
+    /**
+     * Troca o gerador usado pelas factories do domínio (ex.: ids determinísticos em testes)
+     * @param anIdGenerator
+     */
+    public static void use(final IdGenerator anIdGenerator) {
+        generator = Objects.requireNonNull(anIdGenerator);
     }
 }
@@ -0,0 +1,54 @@
+package com.dotflix.domain.utils;
+
+import java.time.Clock;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UUIDv7 (RFC 9562) monotônico, em 32 caracteres hexadecimais minúsculos sem hífens.
+ *
+ * Os 48 bits mais altos são o timestamp em milissegundos e os 12 bits de rand_a são um contador: dentro do mesmo
+ * milissegundo (ou se o relógio voltar) o valor anterior é incrementado, então os ids de um processo nunca se repetem e
+ * são sempre crescentes, inclusive entre threads. Os 62 bits finais são aleatórios.
+ */
+public final class UuidV7Generator implements IdGenerator {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Clock clock;
+
+    // timestamp (48 bits) << 12 | contador (12 bits) do último id gerado
+    private final AtomicLong last = new AtomicLong();
+
+    public UuidV7Generator() {
+        this(Clock.systemUTC());
+    }
+
+    public UuidV7Generator(final Clock clock) {
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    @Override
+    public String next() {
+        final long now = (this.clock.millis() & 0xFFFF_FFFF_FFFFL) << 12;
+        final long state = this.last.updateAndGet(previous -> Math.max(now, previous + 1));
+
+        // unix_ts_ms | ver (7) | rand_a (contador)
+        final long msb = ((state >>> 12) << 16) | 0x7000L | (state & 0xFFFL);
+        // var (10) | rand_b
+        final long lsb = (ThreadLocalRandom.current().nextLong() & 0x3FFF_FFFF_FFFF_FFFFL) | 0x8000_0000_0000_0000L;
+
+        final char[] chars = new char[32];
+        hex(msb, chars, 0);
+        hex(lsb, chars, 16);
+
+        return new String(chars);
+    }
+
+    private static void hex(final long value, final char[] chars, final int offset) {
+        for (int i = 15; i >= 0; i--) {
+            chars[offset + i] = HEX[(int) ((value >>> ((15 - i) * 4)) & 0xF)];
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.dotflix.domain.video;
+
+/**
+ * O conteúdo gravado não tem o checksum esperado do {@link StreamResource}; nada foi associado ao vídeo
+ */
+public class ChecksumMismatchException extends RuntimeException {
+    private final String expected;
+    private final String actual;
+
+    public ChecksumMismatchException(final String expected, final String actual) {
+        super("Checksum " + actual + " doesn't match the expected " + expected);
+        this.expected = expected;
+        this.actual = actual;
+    }
+
+    public String expected() {
+        return expected;
+    }
+
+    public String actual() {
+        return actual;
+    }
+}
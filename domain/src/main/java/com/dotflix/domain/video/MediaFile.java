@@ -0,0 +1,47 @@
+package com.dotflix.domain.video;
+
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Mídia gravada em disco. Em vez de trazer os bytes para a memória, expõe o arquivo para ser enviado direto ao cliente.
+ */
+public class MediaFile {
+    private final Path path;
+    private final long length;
+    private final String checksum;
+    private final String contentType;
+    private final String name;
+
+    private MediaFile(final Path path, final long length, final String checksum, final String contentType, final String name) {
+        this.path = Objects.requireNonNull(path);
+        this.length = length;
+        this.checksum = Objects.requireNonNull(checksum);
+        this.contentType = Objects.requireNonNull(contentType);
+        this.name = Objects.requireNonNull(name);
+    }
+
+    public static MediaFile with(final Path path, final long length, final String checksum, final String contentType, final String name) {
+        return new MediaFile(path, length, checksum, contentType, name);
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    public long length() {
+        return length;
+    }
+
+    public String checksum() {
+        return checksum;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String name() {
+        return name;
+    }
+}
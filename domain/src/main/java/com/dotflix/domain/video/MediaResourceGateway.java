@@ -6,9 +6,19 @@ public interface MediaResourceGateway {
 
     AudioVideoMedia storeAudioVideo(String anId, VideoResource aResource);
 
+    /**
+     * Grava o conteúdo lendo-o em streaming; o checksum da mídia é calculado enquanto os bytes são gravados. Se o
+     * recurso informa o checksum esperado e ele não bate, lança {@link ChecksumMismatchException} sem alterar o vídeo
+     */
+    AudioVideoMedia storeAudioVideo(String anId, VideoMediaType aType, StreamResource aResource);
+
     ImageMedia storeImage(String anId, VideoResource aResource);
 
+    ImageMedia storeImage(String anId, VideoMediaType aType, StreamResource aResource);
+
     Optional<Resource> getResource(String anId, VideoMediaType type);
 
+    Optional<MediaFile> getMediaFile(String anId, VideoMediaType type);
+
     void clearResources(String anId);
 }
@@ -1,5 +1,17 @@
 package com.dotflix.domain.video;
 
+import java.util.Set;
+
 public enum MediaStatus {
-    PENDING, PROCESSING, COMPLETED, ERROR
+    PENDING, PROCESSING, COMPLETED, ERROR;
+
+    // Status a partir dos quais é possível chegar neste: PENDING -> PROCESSING -> COMPLETED, e ERROR antes de concluir.
+    // Uma mídia em ERROR pode voltar para PENDING ou PROCESSING e ser codificada de novo; COMPLETED é final
+    public Set<MediaStatus> previous() {
+        return switch (this) {
+            case PENDING -> Set.of(ERROR);
+            case PROCESSING -> Set.of(PENDING, ERROR);
+            case COMPLETED, ERROR -> Set.of(PENDING, PROCESSING);
+        };
+    }
 }
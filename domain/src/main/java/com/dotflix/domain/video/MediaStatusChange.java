@@ -0,0 +1,11 @@
+package com.dotflix.domain.video;
+
+/**
+ * Novo status de uma mídia de áudio/vídeo, identificada pelo id da mídia. Um {@code encodedLocation} nulo mantém o
+ * local codificado atual.
+ */
+public record MediaStatusChange(String videoId, String mediaId, MediaStatus status, String encodedLocation) {
+    public static MediaStatusChange with(final String videoId, final String mediaId, final MediaStatus status, final String encodedLocation) {
+        return new MediaStatusChange(videoId, mediaId, status, encodedLocation);
+    }
+}
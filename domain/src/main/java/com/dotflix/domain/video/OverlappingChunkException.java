@@ -0,0 +1,17 @@
+package com.dotflix.domain.video;
+
+/**
+ * O pedaço enviado cobre bytes de outro pedaço já gravado, a partir de um offset diferente; nada foi gravado
+ */
+public class OverlappingChunkException extends RuntimeException {
+    private final UploadChunk existing;
+
+    public OverlappingChunkException(final UploadChunk existing) {
+        super("The chunk overlaps the chunk at offset " + existing.offset() + " with " + existing.length() + " bytes");
+        this.existing = existing;
+    }
+
+    public UploadChunk existing() {
+        return existing;
+    }
+}
@@ -0,0 +1,65 @@
+package com.dotflix.domain.video;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Conteúdo de mídia lido sob demanda, sem carregar o arquivo inteiro em memória. O stream só pode ser consumido uma vez;
+ * o checksum é calculado por quem grava, enquanto os bytes passam (ver {@link com.dotflix.domain.utils.ChecksumInputStream}).
+ * Quando o checksum esperado é informado, quem grava o confere antes de a mídia ficar visível.
+ */
+public class StreamResource {
+    private final InputStream content;
+    private final long length;
+    private final String contentType;
+    private final String name;
+    private final String checksum;
+
+    private StreamResource(final InputStream content, final long length, final String contentType, final String name, final String checksum) {
+        this.content = Objects.requireNonNull(content);
+        this.length = length;
+        this.contentType = Objects.requireNonNull(contentType);
+        this.name = Objects.requireNonNull(name);
+        this.checksum = checksum;
+    }
+
+    /**
+     * @param length tamanho em bytes, ou -1 se desconhecido
+     */
+    public static StreamResource with(final InputStream content, final long length, final String contentType, final String name) {
+        return new StreamResource(content, length, contentType, name, null);
+    }
+
+    /**
+     * @param checksum SHA-256 em hexadecimal que o conteúdo deve ter
+     */
+    public static StreamResource with(final InputStream content, final long length, final String contentType, final String name, final String checksum) {
+        return new StreamResource(content, length, contentType, name, Objects.requireNonNull(checksum));
+    }
+
+    public static StreamResource with(final Resource aResource) {
+        return new StreamResource(new ByteArrayInputStream(aResource.content()), aResource.content().length, aResource.contentType(), aResource.name(), null);
+    }
+
+    public InputStream content() {
+        return content;
+    }
+
+    public long length() {
+        return length;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public Optional<String> checksum() {
+        return Optional.ofNullable(checksum);
+    }
+}
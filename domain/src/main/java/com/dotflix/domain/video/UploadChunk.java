@@ -0,0 +1,18 @@
+package com.dotflix.domain.video;
+
+/**
+ * Pedaço de um upload já gravado na área de staging, a partir do byte {@code offset}
+ */
+public record UploadChunk(long offset, long length) {
+    public static UploadChunk with(final long offset, final long length) {
+        return new UploadChunk(offset, length);
+    }
+
+    public long end() {
+        return offset + length;
+    }
+
+    public boolean overlaps(final UploadChunk other) {
+        return this.offset < other.end() && other.offset() < this.end();
+    }
+}
@@ -0,0 +1,183 @@
+package com.dotflix.domain.video;
+
+import com.dotflix.domain.utils.IdUtils;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Upload retomável de uma mídia de vídeo ou trailer. O cliente envia os pedaços em qualquer ordem (inclusive em
+ * paralelo) e, ao finalizar, o conteúdo é conferido contra o {@code checksum} SHA-256 informado na criação.
+ */
+public class UploadSession {
+    private final String id;
+    private final String videoId;
+    private final VideoMediaType type;
+    private final String name;
+    private final String contentType;
+    private final long length;
+    private final String checksum;
+    private final Instant createdAt;
+
+    private UploadSession(
+            final String id,
+            final String videoId,
+            final VideoMediaType type,
+            final String name,
+            final String contentType,
+            final long length,
+            final String checksum,
+            final Instant createdAt
+    ) throws Exception {
+        this.id = id;
+        this.videoId = videoId;
+        this.type = type;
+        this.name = name;
+        this.contentType = contentType;
+        this.length = length;
+        this.checksum = checksum;
+        this.createdAt = createdAt;
+        validate();
+    }
+
+    public void validate() throws Exception {
+        if (videoId == null) {
+            throw new Exception("'videoId' should not be null");
+        }
+
+        if (type != VideoMediaType.VIDEO && type != VideoMediaType.TRAILER) {
+            throw new Exception("'type' must be VIDEO or TRAILER");
+        }
+
+        if (name == null || name.isBlank()) {
+            throw new Exception("'name' should not be empty");
+        }
+
+        if (contentType == null || contentType.isBlank()) {
+            throw new Exception("'contentType' should not be empty");
+        }
+
+        if (length <= 0) {
+            throw new Exception("'length' must be greater than 0");
+        }
+
+        if (checksum == null || !checksum.matches("[0-9a-f]{64}")) {
+            throw new Exception("'checksum' must be a lowercase hex SHA-256");
+        }
+    }
+
+    public static UploadSession newSession(
+            final String videoId,
+            final VideoMediaType type,
+            final String name,
+            final String contentType,
+            final long length,
+            final String checksum
+    ) throws Exception {
+        return new UploadSession(IdUtils.uuid(), videoId, type, name, contentType, length, checksum == null ? null : checksum.toLowerCase(), Instant.now());
+    }
+
+    public static UploadSession with(
+            final String id,
+            final String videoId,
+            final VideoMediaType type,
+            final String name,
+            final String contentType,
+            final long length,
+            final String checksum,
+            final Instant createdAt
+    ) throws Exception {
+        return new UploadSession(id, videoId, type, name, contentType, length, checksum, createdAt);
+    }
+
+    /**
+     * Bytes já recebidos, sem contar sobreposições entre pedaços
+     */
+    public long received(final List<UploadChunk> chunks) {
+        long received = 0;
+        long covered = 0;
+
+        for (final UploadChunk chunk : sorted(chunks)) {
+            if (chunk.end() > covered) {
+                received += chunk.end() - Math.max(chunk.offset(), covered);
+                covered = chunk.end();
+            }
+        }
+
+        return received;
+    }
+
+    /**
+     * Os pedaços cobrem o arquivo inteiro, um colado no outro, sem buracos nem sobreposições
+     */
+    public boolean isComplete(final List<UploadChunk> chunks) {
+        long position = 0;
+
+        for (final UploadChunk chunk : sorted(chunks)) {
+            if (chunk.offset() != position) {
+                return false;
+            }
+            position = chunk.end();
+        }
+
+        return position == length;
+    }
+
+    /**
+     * A sessão passou do prazo contado a partir da criação e não aceita mais pedaços
+     */
+    public boolean isExpired(final Instant now, final Duration ttl) {
+        return createdAt.plus(ttl).isBefore(now);
+    }
+
+    private static List<UploadChunk> sorted(final List<UploadChunk> chunks) {
+        return chunks.stream().sorted(Comparator.comparingLong(UploadChunk::offset)).toList();
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public String videoId() {
+        return videoId;
+    }
+
+    public VideoMediaType type() {
+        return type;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public long length() {
+        return length;
+    }
+
+    public String checksum() {
+        return checksum;
+    }
+
+    public Instant createdAt() {
+        return createdAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final UploadSession that = (UploadSession) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+}
@@ -0,0 +1,31 @@
+package com.dotflix.domain.video;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+
+public interface UploadSessionGateway {
+
+    UploadSession create(UploadSession aSession);
+
+    /**
+     * Sessões expiradas não são encontradas, mesmo que ainda não tenham sido apagadas
+     */
+    Optional<UploadSession> findById(String anId);
+
+    /**
+     * Grava um pedaço a partir de {@code offset}, lendo no máximo {@code limit} bytes. Um pedaço maior que o limite é
+     * descartado com {@link IllegalArgumentException} e um que cobre bytes de outro pedaço com
+     * {@link OverlappingChunkException}; reenviar o mesmo offset substitui o pedaço anterior.
+     */
+    UploadChunk writeChunk(String anId, long offset, InputStream content, long limit);
+
+    List<UploadChunk> chunks(String anId);
+
+    /**
+     * Conteúdo dos pedaços concatenados na ordem dos offsets
+     */
+    StreamResource content(String anId);
+
+    void delete(String anId);
+}
@@ -1,5 +1,6 @@
 package com.dotflix.domain.video;
 
+import com.dotflix.domain.utils.IdUtils;
 import com.dotflix.domain.events.DomainEvent;
 import com.dotflix.domain.events.DomainEventPublisher;
 
@@ -263,12 +264,11 @@ public class Video {
             final Set<String> genres,
             final Set<String> members
     ) throws Exception {
-        Random r = new Random();
-        final int id = r.nextInt(1000);
+        final String id = IdUtils.uuid();
         final var now = Instant.now();
 
         return new Video(
-                Integer.toString(id),
+                id,
                 aTitle,
                 aDescription,
                 aLaunchYear,
@@ -1,6 +1,9 @@
 package com.dotflix.domain.video;
 
 import com.dotflix.domain.Pagination;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface VideoGateway {
@@ -13,6 +16,24 @@ public interface VideoGateway {
 
     Video update(Video aVideo);
 
+    // Só aplica as transições de MediaStatus.previous; retorna false quando a mídia não existe ou a transição não é permitida
+    boolean updateMediaStatus(MediaStatusChange change);
+
+    // Igual ao updateMediaStatus, em um único statement em lote aplicado na ordem da lista
+    List<Boolean> updateMediaStatuses(List<MediaStatusChange> changes);
+
     Pagination<VideoPreview> findAll(VideoSearchQuery aQuery);
 
+    // Posse da codificação: mídias PENDING ou PROCESSING cuja posse venceu antes de `before` (ou foi liberada)
+    List<VideoMediaRef> findAbandonedMedia(Instant before, int limit);
+
+    // Toma a posse de uma mídia abandonada e a marca PROCESSING; false quando outro já tomou ou ela saiu desses status
+    boolean claimMedia(VideoMediaRef media, Instant before);
+
+    // Renova a posse das mídias que ainda estão em codificação
+    void renewMediaClaims(Collection<String> mediaIds);
+
+    // Devolve uma mídia PROCESSING para PENDING, sem dono, para ser retomada logo
+    void releaseMedia(VideoMediaRef media);
+
 }
@@ -0,0 +1,10 @@
+package com.dotflix.domain.video;
+
+/**
+ * Identifica uma mídia de áudio/vídeo: o id da mídia e o vídeo a que pertence
+ */
+public record VideoMediaRef(String videoId, String mediaId) {
+    public static VideoMediaRef with(final String videoId, final String mediaId) {
+        return new VideoMediaRef(videoId, mediaId);
+    }
+}
@@ -1,5 +1,7 @@
 package com.dotflix.domain.video;
 
+import com.dotflix.domain.CountMode;
+
 import java.util.Set;
 
 public record VideoSearchQuery(
@@ -10,6 +12,24 @@ public record VideoSearchQuery(
         String direction,
         Set<String> castMembers,
         Set<String> categories,
-        Set<String> genres
+        Set<String> genres,
+        CountMode count
 ) {
+
+    public VideoSearchQuery {
+        count = count == null ? CountMode.EXACT : count;
+    }
+
+    public VideoSearchQuery(
+            final int page,
+            final int perPage,
+            final String terms,
+            final String sort,
+            final String direction,
+            final Set<String> castMembers,
+            final Set<String> categories,
+            final Set<String> genres
+    ) {
+        this(page, perPage, terms, sort, direction, castMembers, categories, genres, CountMode.EXACT);
+    }
 }
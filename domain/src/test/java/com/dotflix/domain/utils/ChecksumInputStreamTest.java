@@ -0,0 +1,31 @@
+package com.dotflix.domain.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+public class ChecksumInputStreamTest {
+
+    @Test
+    public void computeChecksumWhileReadingTest() throws Exception {
+        // Arrange
+        final byte[] content = "Conteudo do video".repeat(10_000).getBytes(StandardCharsets.UTF_8);
+        final String expectedChecksum = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        final ChecksumInputStream in = new ChecksumInputStream(new ByteArrayInputStream(content));
+        in.read();
+        in.transferTo(out);
+
+        // Assert
+        Assertions.assertEquals(expectedChecksum, in.checksum());
+        Assertions.assertEquals(expectedChecksum, in.checksum());
+        Assertions.assertEquals(content.length, in.count());
+        Assertions.assertEquals(content.length - 1, out.size());
+    }
+}
@@ -0,0 +1,79 @@
+package com.dotflix.domain.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class UuidV7GeneratorTest {
+
+    @Test
+    public void generateUuidV7Test() {
+        // Arrange
+        final Instant expectedTimestamp = Instant.parse("2024-05-01T10:15:30.123Z");
+        final UuidV7Generator generator = new UuidV7Generator(Clock.fixed(expectedTimestamp, ZoneOffset.UTC));
+
+        // Act
+        final String actualId = generator.next();
+
+        // Assert
+        Assertions.assertTrue(actualId.matches("[0-9a-f]{32}"));
+
+        final UUID actualUuid = UUID.fromString(actualId.replaceFirst("(.{8})(.{4})(.{4})(.{4})(.{12})", "$1-$2-$3-$4-$5"));
+        Assertions.assertEquals(7, actualUuid.version());
+        Assertions.assertEquals(2, actualUuid.variant());
+        Assertions.assertEquals(expectedTimestamp.toEpochMilli(), actualUuid.getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    public void generateIncreasingIdsInTheSameMillisecondTest() {
+        // Arrange
+        final UuidV7Generator generator = new UuidV7Generator(Clock.fixed(Instant.now(), ZoneOffset.UTC));
+        final List<String> actualIds = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            actualIds.add(generator.next());
+        }
+
+        // Assert
+        for (int i = 1; i < actualIds.size(); i++) {
+            Assertions.assertTrue(actualIds.get(i - 1).compareTo(actualIds.get(i)) < 0);
+        }
+    }
+
+    @Test
+    public void generateUniqueIdsConcurrentlyTest() throws Exception {
+        // Arrange
+        final UuidV7Generator generator = new UuidV7Generator();
+        final Set<String> actualIds = ConcurrentHashMap.newKeySet();
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    actualIds.add(generator.next());
+                }
+            }));
+        }
+
+        for (final Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Assert
+        Assertions.assertEquals(80_000, actualIds.size());
+    }
+}
@@ -3,6 +3,7 @@ package com.dotflix.domain.video;
 import com.dotflix.domain.utils.IdUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import java.util.Set;
 
 class AudioVideoMediaTest {
 
@@ -74,4 +75,12 @@ class AudioVideoMediaTest {
                 () -> AudioVideoMedia.with("id", "abc", "Random", "/videos", "/videos", null)
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    public void mediaStatusOnlyMovesForwardTest() {
+        Assertions.assertEquals(Set.of(MediaStatus.ERROR), MediaStatus.PENDING.previous());
+        Assertions.assertEquals(Set.of(MediaStatus.PENDING, MediaStatus.ERROR), MediaStatus.PROCESSING.previous());
+        Assertions.assertEquals(Set.of(MediaStatus.PENDING, MediaStatus.PROCESSING), MediaStatus.COMPLETED.previous());
+        Assertions.assertEquals(Set.of(MediaStatus.PENDING, MediaStatus.PROCESSING), MediaStatus.ERROR.previous());
+    }
+}
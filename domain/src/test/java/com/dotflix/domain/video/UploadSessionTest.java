@@ -0,0 +1,57 @@
+package com.dotflix.domain.video;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+
+class UploadSessionTest {
+
+    private static final String CHECKSUM = "a".repeat(64);
+
+    @Test
+    public void createUploadSessionTest() throws Exception {
+        // Act
+        final var aSession = UploadSession.newSession("123", VideoMediaType.TRAILER, "trailer.mp4", "video/mp4", 100, CHECKSUM.toUpperCase());
+
+        // Assert
+        Assertions.assertNotNull(aSession.id());
+        Assertions.assertEquals("123", aSession.videoId());
+        Assertions.assertEquals(VideoMediaType.TRAILER, aSession.type());
+        Assertions.assertEquals(100, aSession.length());
+        Assertions.assertEquals(CHECKSUM, aSession.checksum());
+        Assertions.assertNotNull(aSession.createdAt());
+    }
+
+    @Test
+    public void createUploadSessionWithImageTypeTest() {
+        // Act
+        final var exception = Assertions.assertThrows(Exception.class, () -> UploadSession.newSession("123", VideoMediaType.BANNER, "banner.png", "image/png", 100, CHECKSUM));
+
+        // Assert
+        Assertions.assertEquals("'type' must be VIDEO or TRAILER", exception.getMessage());
+    }
+
+    @Test
+    public void createUploadSessionWithInvalidChecksumTest() {
+        // Act
+        final var exception = Assertions.assertThrows(Exception.class, () -> UploadSession.newSession("123", VideoMediaType.VIDEO, "video.mp4", "video/mp4", 100, "abc"));
+
+        // Assert
+        Assertions.assertEquals("'checksum' must be a lowercase hex SHA-256", exception.getMessage());
+    }
+
+    @Test
+    public void uploadSessionCompletionTest() throws Exception {
+        // Arrange
+        final var aSession = UploadSession.newSession("123", VideoMediaType.VIDEO, "video.mp4", "video/mp4", 100, CHECKSUM);
+
+        // Act & Assert
+        Assertions.assertTrue(aSession.isComplete(List.of(UploadChunk.with(50, 50), UploadChunk.with(0, 50))));
+        Assertions.assertFalse(aSession.isComplete(List.of(UploadChunk.with(0, 50), UploadChunk.with(60, 40))));
+        Assertions.assertFalse(aSession.isComplete(List.of(UploadChunk.with(0, 60), UploadChunk.with(50, 50))));
+        Assertions.assertFalse(aSession.isComplete(List.of()));
+
+        Assertions.assertEquals(90, aSession.received(List.of(UploadChunk.with(0, 50), UploadChunk.with(60, 40))));
+        Assertions.assertEquals(100, aSession.received(List.of(UploadChunk.with(0, 60), UploadChunk.with(50, 50))));
+    }
+}
@@ -13,6 +13,7 @@ plugins {
     id("org.springframework.boot") version "3.4.2"
     id("io.spring.dependency-management") version "1.1.7"
     id("org.flywaydb.flyway") version "11.3.1"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "com.dotflix.infrastructure"
@@ -30,6 +31,8 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.springframework.boot:spring-boot-starter-security")
     implementation("org.springframework.boot:spring-boot-starter-web")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    implementation("com.github.ben-manes.caffeine:caffeine")
     implementation("org.postgresql:postgresql:42.7.5")
     implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:2.8.4")
     implementation("org.springdoc:springdoc-openapi-ui:1.8.0")
@@ -58,9 +61,18 @@ flyway {
     url = "jdbc:postgresql://localhost:5431/dotflix"
     user = "postgres"
     password = "postgres"
+    locations = arrayOf("filesystem:src/main/resources/db/migration", "filesystem:src/main/resources/db/vendor/postgresql")
     cleanDisabled = false;
 }
 
+// Benchmarks em src/jmh: ./gradlew :infrastructure:jmh
+jmh {
+    jmhVersion = "1.37"
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+}
+
 tasks.test {
     useJUnitPlatform()
 }
\ No newline at end of file
@@ -0,0 +1,78 @@
+package com.dotflix.infrastructure.events;
+
+import com.dotflix.domain.video.VideoMediaCreated;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Latência e vazão do publishEvent do {@link RingBufferEventBus} com 1 e 4 produtores, comparado com a entrega síncrona
+ * (o que o Video.publishDomainEvents fazia na thread da requisição): o baseline chama o mesmo assinante direto.
+ * O assinante roda na thread consumidora do barramento, então a entrega é contada com um {@link LongAdder}.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RingBufferEventBusBenchmark {
+
+    @Param({"BUSY_SPIN", "YIELDING", "SLEEPING", "BLOCKING"})
+    public WaitStrategy waitStrategy;
+
+    @Param({"1024"})
+    public int capacity;
+
+    private RingBufferEventBus bus;
+    private final LongAdder consumed = new LongAdder();
+    private final Consumer<VideoMediaCreated> subscriber = event -> this.consumed.increment();
+    private final VideoMediaCreated event = new VideoMediaCreated("0196b5a0-7c1e-7000-8000-000000000000", "/videos/video.mp4", Instant.now());
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.bus = new RingBufferEventBus(this.capacity, 64, this.waitStrategy);
+        this.bus.subscribe(VideoMediaCreated.class, this.subscriber);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        this.bus.close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @Threads(1)
+    public void throughputSingleProducer() {
+        this.bus.publishEvent(this.event);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @Threads(4)
+    public void throughputFourProducers() {
+        this.bus.publishEvent(this.event);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @Threads(1)
+    public void publishLatency() {
+        this.bus.publishEvent(this.event);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @Threads(1)
+    public void synchronousBaseline() {
+        this.subscriber.accept(this.event);
+    }
+}
@@ -0,0 +1,14 @@
+package com.dotflix.infrastructure.cache;
+
+import java.util.Collection;
+
+/**
+ * Avisa os outros nós que ids de um cache foram alterados. Cada nó remove as entradas do seu próprio cache ao receber.
+ */
+public interface CacheInvalidationPublisher {
+
+    CacheInvalidationPublisher NOOP = (cache, ids) -> {
+    };
+
+    void publish(String cache, Collection<String> ids);
+}
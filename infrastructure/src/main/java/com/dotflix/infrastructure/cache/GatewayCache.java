@@ -0,0 +1,175 @@
+package com.dotflix.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Cache por id de um agregado, usado pelos decorators Cached*Gateway. Os agregados são mutáveis (os use cases alteram a
+ * instância lida antes de gravar), então cada leitura devolve uma cópia e o valor em cache nunca sai daqui. Ausências não
+ * são guardadas. As invalidações feitas pelos decorators também são enviadas aos outros nós pelo
+ * {@link CacheInvalidationPublisher}.
+ * <p>
+ * Além dos valores há um índice de existência: o conjunto dos ids que já se sabe que existem (carregado na subida pelo
+ * {@link GatewayCacheWarmer} e completado pelas consultas e criações). Só guarda positivos, então um id ausente sempre
+ * vai ao banco. Métricas: {@code cache.existence.size} e {@code cache.existence.lookups} (result=hit|miss).
+ * <p>
+ * Valores de outro cache que guardam ids deste (ex.: o gênero com as suas categorias) são registrados com
+ * {@link #cascade}: uma remoção aqui também tira esses valores de lá, em todos os nós.
+ */
+public class GatewayCache<T> {
+
+    private final String name;
+    private final String table;
+    private final Cache<String, T> cache;
+    private final UnaryOperator<T> copy;
+    private final CacheInvalidationPublisher publisher;
+    private final Set<String> known = ConcurrentHashMap.newKeySet();
+    // Cargas em andamento: cada uma recebe os ids removidos enquanto lê o banco, e só esses deixam de ser lembrados
+    private final Set<Load> loads = ConcurrentHashMap.newKeySet();
+    private final List<Consumer<Collection<String>>> dependents = new CopyOnWriteArrayList<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    GatewayCache(
+            final String name,
+            final String table,
+            final Cache<String, T> cache,
+            final UnaryOperator<T> copy,
+            final CacheInvalidationPublisher publisher,
+            final MeterRegistry registry
+    ) {
+        this.name = Objects.requireNonNull(name);
+        this.table = Objects.requireNonNull(table);
+        this.cache = Objects.requireNonNull(cache);
+        this.copy = Objects.requireNonNull(copy);
+        this.publisher = Objects.requireNonNull(publisher);
+        Gauge.builder("cache.existence.size", this.known, Set::size).tag("cache", name).register(registry);
+        this.hits = Counter.builder("cache.existence.lookups").tag("cache", name).tag("result", "hit").register(registry);
+        this.misses = Counter.builder("cache.existence.lookups").tag("cache", name).tag("result", "miss").register(registry);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public String table() {
+        return table;
+    }
+
+    public Optional<T> get(final String id, final Function<String, Optional<T>> loader) {
+        return Optional.ofNullable(this.cache.get(id, key -> loader.apply(key).orElse(null))).map(this.copy);
+    }
+
+    // Ids conhecidos (ou em cache) existem; só os demais são consultados
+    public List<String> existing(final Iterable<String> ids, final Function<List<String>, List<String>> loader) {
+        final List<String> found = new ArrayList<>();
+        final List<String> unknown = new ArrayList<>();
+
+        for (final String id : ids) {
+            if (this.known.contains(id) || this.cache.getIfPresent(id) != null) {
+                found.add(id);
+            } else {
+                unknown.add(id);
+            }
+        }
+
+        this.hits.increment(found.size());
+        this.misses.increment(unknown.size());
+
+        if (!unknown.isEmpty()) {
+            final List<String> loaded = load(() -> loader.apply(unknown));
+            found.addAll(loaded);
+        }
+
+        return found;
+    }
+
+    // Ids recém-gravados por este nó
+    public void exists(final Collection<String> ids) {
+        this.known.addAll(ids);
+    }
+
+    // Depois de criar, atualizar ou fazer upsert: o valor antigo sai (em todos os nós) e o id continua existindo
+    public void written(final Collection<String> ids) {
+        invalidateAll(ids);
+        exists(ids);
+    }
+
+    public void warm(final Supplier<Collection<String>> ids) {
+        load(ids);
+    }
+
+    // Só os valores do dependente saem; os ids dele continuam existindo
+    public <D> void cascade(final GatewayCache<D> dependent, final BiPredicate<D, Collection<String>> references) {
+        this.dependents.add(ids -> dependent.cache.asMap().values().removeIf(value -> references.test(value, ids)));
+    }
+
+    public void invalidate(final String id) {
+        invalidateAll(List.of(id));
+    }
+
+    public void invalidateAll(final Collection<String> ids) {
+        evict(ids);
+        this.publisher.publish(this.name, ids);
+    }
+
+    // Só o cache local; usado ao receber a invalidação de outro nó
+    public void evict(final Collection<String> ids) {
+        this.loads.forEach(it -> it.removed.addAll(ids));
+        this.known.removeAll(ids);
+        this.cache.invalidateAll(ids);
+        this.dependents.forEach(it -> it.accept(ids));
+    }
+
+    public void invalidateAll() {
+        this.loads.forEach(it -> it.all = true);
+        this.known.clear();
+        this.cache.invalidateAll();
+    }
+
+    // Adiciona antes de conferir: um id removido no meio da leitura é desfeito. A remoção registra o id na carga antes de
+    // tirá-lo do índice, então em qualquer ordem ele não fica lembrado
+    private <C extends Collection<String>> C load(final Supplier<C> loader) {
+        final Load aLoad = new Load();
+        this.loads.add(aLoad);
+
+        try {
+            final C ids = loader.get();
+            this.known.addAll(ids);
+
+            if (aLoad.all) {
+                this.known.removeAll(ids);
+            } else {
+                for (final String id : ids) {
+                    if (aLoad.removed.contains(id)) {
+                        this.known.remove(id);
+                    }
+                }
+            }
+
+            return ids;
+        } finally {
+            this.loads.remove(aLoad);
+        }
+    }
+
+    private static final class Load {
+        private final Set<String> removed = ConcurrentHashMap.newKeySet();
+        private volatile boolean all;
+    }
+}
@@ -0,0 +1,46 @@
+package com.dotflix.infrastructure.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import java.util.Objects;
+
+/**
+ * Carrega o índice de existência de cada cache com os ids da tabela ao fim da subida, para que a validação de referências
+ * dos creates/updates de gênero e vídeo não precise ir ao banco nos ids já existentes.
+ */
+@Component
+public class GatewayCacheWarmer {
+
+    private final GatewayCaches caches;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+
+    public GatewayCacheWarmer(
+            final GatewayCaches caches,
+            final JdbcTemplate jdbcTemplate,
+            @Value("${cache.gateways.warm-up:true}") final boolean enabled
+    ) {
+        this.caches = Objects.requireNonNull(caches);
+        this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate);
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        if (!this.enabled) {
+            return;
+        }
+
+        for (final GatewayCache<?> cache : this.caches.all()) {
+            try {
+                cache.warm(() -> this.jdbcTemplate.queryForList("SELECT id FROM " + cache.table(), String.class));
+            } catch (Exception e) {
+                // Sem o aquecimento o índice é preenchido aos poucos pelas consultas
+                System.out.println("Erro: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.dotflix.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Cria os caches dos gateways (Caffeine: tamanho máximo com despejo W-TinyLFU e TTL após a escrita). Os contadores de
+ * hit, miss e eviction ficam em {@code cache.gets} e {@code cache.evictions}, com a tag {@code cache} igual ao nome.
+ * Com {@code cache.gateways.enabled=false} os gateways são usados sem decorator. Com {@code cache.invalidation.enabled}
+ * as invalidações também vão para os outros nós (ver {@link PostgresCacheInvalidationListener}).
+ */
+@Component
+public class GatewayCaches {
+
+    private final boolean enabled;
+    private final long maxSize;
+    private final Duration ttl;
+    private final MeterRegistry registry;
+    private final CacheInvalidationPublisher publisher;
+    private final Map<String, Object> decorated = new ConcurrentHashMap<>();
+    private final Map<String, GatewayCache<?>> caches = new ConcurrentHashMap<>();
+
+    public GatewayCaches(
+            @Value("${cache.gateways.enabled:true}") final boolean enabled,
+            @Value("${cache.gateways.max-size:10000}") final long maxSize,
+            @Value("${cache.gateways.ttl:5m}") final Duration ttl,
+            final MeterRegistry registry,
+            final Optional<CacheInvalidationPublisher> publisher
+    ) {
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.ttl = Objects.requireNonNull(ttl);
+        this.registry = Objects.requireNonNull(registry);
+        this.publisher = publisher.orElse(CacheInvalidationPublisher.NOOP);
+    }
+
+    // Um decorator por nome: configs diferentes que decoram o mesmo gateway compartilham o cache e as invalidações
+    @SuppressWarnings("unchecked")
+    public <G, T> G decorate(final G gateway, final String name, final String table, final UnaryOperator<T> copy, final BiFunction<G, GatewayCache<T>, G> decorator) {
+        if (!this.enabled) {
+            return gateway;
+        }
+
+        return (G) this.decorated.computeIfAbsent(name, key -> {
+            final Cache<String, T> cache = Caffeine.newBuilder()
+                    .maximumSize(this.maxSize)
+                    .expireAfterWrite(this.ttl)
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(this.registry, cache, name);
+
+            final GatewayCache<T> aCache = new GatewayCache<>(name, table, cache, copy, this.publisher, this.registry);
+            this.caches.put(name, aCache);
+            return decorator.apply(gateway, aCache);
+        });
+    }
+
+    // As remoções do cache name também tiram do cache dependent os valores que referenciam os ids removidos
+    @SuppressWarnings("unchecked")
+    public <D> void cascade(final String name, final String dependent, final BiPredicate<D, Collection<String>> references) {
+        find(name).ifPresent(cache -> find(dependent).ifPresent(it -> cache.cascade((GatewayCache<D>) it, references)));
+    }
+
+    public Optional<GatewayCache<?>> find(final String name) {
+        return Optional.ofNullable(this.caches.get(name));
+    }
+
+    public Collection<GatewayCache<?>> all() {
+        return List.copyOf(this.caches.values());
+    }
+}
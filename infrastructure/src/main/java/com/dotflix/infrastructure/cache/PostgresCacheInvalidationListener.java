@@ -0,0 +1,145 @@
+package com.dotflix.infrastructure.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Mantém uma conexão dedicada (fora do pool) com {@code LISTEN} no canal de invalidação e remove do cache local os ids
+ * recebidos; as mensagens publicadas por este mesmo nó são ignoradas. Notificações enviadas enquanto a conexão está
+ * caída se perdem, então a cada reconexão todos os caches são esvaziados depois do LISTEN e o índice de existência é
+ * carregado de novo.
+ * <p>
+ * Métricas: {@code cache.invalidation.received} e {@code cache.invalidation.reconnects}.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.enabled", havingValue = "true")
+public class PostgresCacheInvalidationListener implements SmartLifecycle {
+
+    private final DataSourceProperties dataSource;
+    private final GatewayCaches caches;
+    private final GatewayCacheWarmer warmer;
+    private final String channel;
+    private final String node;
+    private final Duration poll;
+    private final Duration reconnectDelay;
+    private final Counter received;
+    private final Counter reconnects;
+    private volatile boolean running;
+    private Thread thread;
+
+    public PostgresCacheInvalidationListener(
+            final DataSourceProperties dataSource,
+            final GatewayCaches caches,
+            final GatewayCacheWarmer warmer,
+            final PostgresCacheInvalidationPublisher publisher,
+            final MeterRegistry registry,
+            @Value("${cache.invalidation.channel:dotflix_cache}") final String channel,
+            @Value("${cache.invalidation.poll:500ms}") final Duration poll,
+            @Value("${cache.invalidation.reconnect-delay:1s}") final Duration reconnectDelay
+    ) {
+        this.dataSource = Objects.requireNonNull(dataSource);
+        this.caches = Objects.requireNonNull(caches);
+        this.warmer = Objects.requireNonNull(warmer);
+        this.channel = Objects.requireNonNull(channel);
+        this.node = publisher.node();
+        this.poll = Objects.requireNonNull(poll);
+        this.reconnectDelay = Objects.requireNonNull(reconnectDelay);
+        this.received = Counter.builder("cache.invalidation.received").register(registry);
+        this.reconnects = Counter.builder("cache.invalidation.reconnects").register(registry);
+    }
+
+    @Override
+    public void start() {
+        this.running = true;
+        this.thread = new Thread(this::listen, "cache-invalidation");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    @Override
+    public void stop() {
+        this.running = false;
+        if (this.thread != null) {
+            this.thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    private void listen() {
+        boolean first = true;
+
+        while (this.running) {
+            try (Connection conn = DriverManager.getConnection(this.dataSource.determineUrl(), this.dataSource.determineUsername(), this.dataSource.determinePassword())) {
+                conn.setAutoCommit(true);
+                try (Statement st = conn.createStatement()) {
+                    st.execute(listenStatement(this.channel));
+                }
+
+                // Na primeira conexão os caches ainda estão vazios e o aquecimento fica com o ApplicationReadyEvent
+                if (!first) {
+                    this.reconnects.increment();
+                    flush();
+                    this.warmer.warm();
+                }
+                first = false;
+
+                final PGConnection pg = conn.unwrap(PGConnection.class);
+                while (this.running) {
+                    final PGNotification[] notifications = pg.getNotifications((int) this.poll.toMillis());
+                    if (notifications != null) {
+                        for (final PGNotification notification : notifications) {
+                            handle(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!this.running) {
+                    return;
+                }
+
+                System.out.println("Erro: " + e.getMessage());
+                try {
+                    Thread.sleep(this.reconnectDelay.toMillis());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    void handle(final String payload) {
+        PostgresCacheInvalidationPublisher.parse(payload)
+                .filter(invalidation -> !this.node.equals(invalidation.node()))
+                .ifPresent(invalidation -> {
+                    this.caches.find(invalidation.cache()).ifPresent(cache -> cache.evict(invalidation.ids()));
+                    this.received.increment();
+                });
+    }
+
+    // O canal é um identificador: sem aspas o Postgres o converteria para minúsculas e ele não casaria com o do pg_notify
+    static String listenStatement(final String channel) {
+        return "LISTEN \"" + channel.replace("\"", "\"\"") + "\"";
+    }
+
+    void flush() {
+        this.caches.all().forEach(GatewayCache::invalidateAll);
+    }
+}
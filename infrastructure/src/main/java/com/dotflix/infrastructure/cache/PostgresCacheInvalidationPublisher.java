@@ -0,0 +1,101 @@
+package com.dotflix.infrastructure.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Envia as invalidações com {@code pg_notify} no canal {@code cache.invalidation.channel}. O payload é
+ * {@code <nó>:<cache>:<id>,<id>,...}, com o id deste nó para o listener ignorar as próprias mensagens (o cache local já
+ * foi invalidado na escrita); listas grandes são quebradas em vários NOTIFY para ficar abaixo do limite de 8000 bytes do
+ * Postgres. Dentro de uma transação o NOTIFY só é entregue no commit, junto com a escrita.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.enabled", havingValue = "true")
+public class PostgresCacheInvalidationPublisher implements CacheInvalidationPublisher {
+
+    static final int MAX_PAYLOAD = 7900;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String channel;
+    private final String node = UUID.randomUUID().toString();
+
+    public PostgresCacheInvalidationPublisher(
+            final NamedParameterJdbcTemplate jdbcTemplate,
+            final PlatformTransactionManager transactionManager,
+            @Value("${cache.invalidation.channel:dotflix_cache}") final String channel
+    ) {
+        this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(Objects.requireNonNull(transactionManager));
+        this.channel = Objects.requireNonNull(channel);
+    }
+
+    public String node() {
+        return node;
+    }
+
+    @Override
+    public void publish(final String cache, final Collection<String> ids) {
+        final List<String> payloads = payloads(this.node, cache, ids);
+        if (payloads.isEmpty()) {
+            return;
+        }
+
+        try {
+            // Com auto-commit desligado o NOTIFY precisa de um commit para ser entregue
+            this.transactionTemplate.executeWithoutResult(status -> payloads.forEach(payload ->
+                    this.jdbcTemplate.queryForList("SELECT pg_notify(:channel, :payload)", Map.of("channel", this.channel, "payload", payload))
+            ));
+        } catch (Exception e) {
+            // A escrita já foi gravada; os outros nós ficam com a entrada antiga até o TTL
+            System.out.println("Erro: " + e.getMessage());
+        }
+    }
+
+    static List<String> payloads(final String node, final String cache, final Collection<String> ids) {
+        final List<String> payloads = new ArrayList<>();
+        StringBuilder payload = null;
+
+        for (final String id : ids) {
+            if (payload != null && payload.length() + id.length() + 1 > MAX_PAYLOAD) {
+                payloads.add(payload.toString());
+                payload = null;
+            }
+
+            if (payload == null) {
+                payload = new StringBuilder(node).append(':').append(cache).append(':').append(id);
+            } else {
+                payload.append(',').append(id);
+            }
+        }
+
+        if (payload != null) {
+            payloads.add(payload.toString());
+        }
+
+        return payloads;
+    }
+
+    static Optional<Invalidation> parse(final String payload) {
+        final String[] parts = payload == null ? new String[0] : payload.split(":", 3);
+        if (parts.length != 3 || parts[0].isEmpty() || parts[1].isEmpty() || parts[2].isEmpty()) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new Invalidation(parts[0], parts[1], List.of(parts[2].split(","))));
+    }
+
+    record Invalidation(String node, String cache, List<String> ids) {
+    }
+}
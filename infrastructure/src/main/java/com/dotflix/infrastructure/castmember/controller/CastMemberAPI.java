@@ -1,7 +1,5 @@
 package com.dotflix.infrastructure.castmember.controller;
 
-import com.dotflix.domain.Pagination;
-import com.dotflix.infrastructure.castmember.controller.dto.CastMemberListResponse;
 import com.dotflix.infrastructure.castmember.controller.dto.CastMemberResponse;
 import com.dotflix.infrastructure.castmember.controller.dto.CreateCastMemberRequest;
 import com.dotflix.infrastructure.castmember.controller.dto.UpdateCastMemberRequest;
@@ -9,10 +7,13 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.InputStream;
 
 @RequestMapping(value = "cast_members")
 @Tag(name = "Cast Members")
@@ -29,28 +30,57 @@ public interface CastMemberAPI {
     })
     ResponseEntity<?> create(@RequestBody CreateCastMemberRequest input);
 
+    @PostMapping(
+            value = "batch",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    @Operation(summary = "Create or update cast members in batch")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "One NDJSON result per item, in input order"),
+            @ApiResponse(responseCode = "500", description = "An internal server error was thrown"),
+    })
+    ResponseEntity<StreamingResponseBody> upsertCastMembers(InputStream body);
+
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "List all cast members")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Cast members retrieved"),
+            @ApiResponse(responseCode = "304", description = "The page did not change since the given ETag"),
             @ApiResponse(responseCode = "500", description = "An internal server error was thrown"),
     })
-    Pagination<CastMemberListResponse> getAllCastMembers(
+    ResponseEntity<?> getAllCastMembers(
             @RequestParam(name = "search", required = false, defaultValue = "") final String search,
             @RequestParam(name = "page", required = false, defaultValue = "0") final int page,
             @RequestParam(name = "perPage", required = false, defaultValue = "10") final int perPage,
             @RequestParam(name = "sort", required = false, defaultValue = "name") final String sort,
-            @RequestParam(name = "dir", required = false, defaultValue = "asc") final String direction
+            @RequestParam(name = "dir", required = false, defaultValue = "asc") final String direction,
+            @RequestParam(name = "after", required = false) final String after,
+            @RequestParam(name = "count", required = false, defaultValue = "exact") final String count,
+            @RequestHeader HttpHeaders headers
+    );
+
+    @GetMapping(value = "changes", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "List cast members changed or deleted since a cursor, for incremental sync")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Changes in (changed_at, id) order; next_cursor resumes after the last one"),
+            @ApiResponse(responseCode = "422", description = "Invalid cursor or limit, or a cursor older than the tombstone retention"),
+            @ApiResponse(responseCode = "500", description = "An internal server error was thrown"),
+    })
+    ResponseEntity<?> changes(
+            @RequestParam(name = "since", required = false, defaultValue = "") final String since,
+            @RequestParam(name = "limit", required = false, defaultValue = "500") final int limit
     );
 
     @GetMapping(value = "{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Get a cast member by it's identifier")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Cast member retrieved"),
+            @ApiResponse(responseCode = "304", description = "Cast member did not change since the given ETag or date"),
             @ApiResponse(responseCode = "404", description = "Cast member was not found"),
             @ApiResponse(responseCode = "500", description = "An internal server error was thrown"),
     })
-    ResponseEntity<?> getById(@PathVariable String id);
+    ResponseEntity<?> getById(@PathVariable String id, @RequestHeader HttpHeaders headers);
 
     @PutMapping(
             value = "{id}",
@@ -3,18 +3,30 @@ package com.dotflix.infrastructure.castmember.controller;
 import com.dotflix.application.castmember.*;
 import com.dotflix.application.castmember.dto.CreateCastMemberDTO;
 import com.dotflix.application.castmember.dto.UpdateCastMemberDTO;
+import com.dotflix.application.castmember.dto.UpsertCastMemberDTO;
 import com.dotflix.application.castmember.exceptions.CastMemberNotFoundException;
+import com.dotflix.domain.ChangeQuery;
+import com.dotflix.domain.CountMode;
 import com.dotflix.domain.Pagination;
 import com.dotflix.domain.SearchQuery;
 import com.dotflix.domain.castmember.CastMember;
 import com.dotflix.infrastructure.castmember.controller.dto.CastMemberListResponse;
 import com.dotflix.infrastructure.castmember.controller.dto.CreateCastMemberRequest;
 import com.dotflix.infrastructure.castmember.controller.dto.UpdateCastMemberRequest;
+import com.dotflix.infrastructure.castmember.controller.dto.UpsertCastMemberRequest;
 import com.dotflix.infrastructure.castmember.controller.presenter.CastMemberPresenter;
+import com.dotflix.infrastructure.utils.ChangeFeedResponse;
+import com.dotflix.infrastructure.utils.ConditionalGet;
+import com.dotflix.infrastructure.utils.NdjsonBatch;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.net.URI;
 import java.util.List;
 import java.util.Map;
@@ -27,13 +39,19 @@ public class CastMemberController implements CastMemberAPI {
     private final UpdateCastMemberUseCase updateCastMemberUseCase;
     private final DeleteCastMemberUseCase deleteCastMemberUseCase;
     private final GetAllCastMemberUseCase getAllCastMemberUseCase;
+    private final UpsertCastMembersUseCase upsertCastMembersUseCase;
+    private final GetCastMemberChangesUseCase getCastMemberChangesUseCase;
+    private final ObjectMapper mapper;
 
-    public CastMemberController(final CreateCastMemberUseCase createCastMemberUseCase, final GetCastMemberByIdUseCase getCastMemberByIdUseCase, final UpdateCastMemberUseCase updateCastMemberUseCase, final DeleteCastMemberUseCase deleteCastMemberUseCase, final GetAllCastMemberUseCase getAllCastMemberUseCase) {
+    public CastMemberController(final CreateCastMemberUseCase createCastMemberUseCase, final GetCastMemberByIdUseCase getCastMemberByIdUseCase, final UpdateCastMemberUseCase updateCastMemberUseCase, final DeleteCastMemberUseCase deleteCastMemberUseCase, final GetAllCastMemberUseCase getAllCastMemberUseCase, final UpsertCastMembersUseCase upsertCastMembersUseCase, final GetCastMemberChangesUseCase getCastMemberChangesUseCase, final ObjectMapper mapper) {
         this.createCastMemberUseCase = Objects.requireNonNull(createCastMemberUseCase);
         this.getCastMemberByIdUseCase = Objects.requireNonNull(getCastMemberByIdUseCase);
         this.updateCastMemberUseCase = Objects.requireNonNull(updateCastMemberUseCase);
         this.deleteCastMemberUseCase = Objects.requireNonNull(deleteCastMemberUseCase);
         this.getAllCastMemberUseCase = Objects.requireNonNull(getAllCastMemberUseCase);
+        this.upsertCastMembersUseCase = Objects.requireNonNull(upsertCastMembersUseCase);
+        this.getCastMemberChangesUseCase = Objects.requireNonNull(getCastMemberChangesUseCase);
+        this.mapper = Objects.requireNonNull(mapper);
     }
 
     @Override
@@ -54,14 +72,47 @@ public class CastMemberController implements CastMemberAPI {
     }
 
     @Override
-    public Pagination<CastMemberListResponse> getAllCastMembers(final String search, final int page, final int perPage, final String sort, final String direction) {
-        return this.getAllCastMemberUseCase.execute(new SearchQuery(page, perPage, search, sort, direction)).map(CastMemberPresenter::presentGetAll);
+    public ResponseEntity<StreamingResponseBody> upsertCastMembers(final InputStream body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(NdjsonBatch.stream(body, this.mapper, UpsertCastMemberRequest.class, items -> this.upsertCastMembersUseCase.execute(
+                        items.stream()
+                                .map(it -> new UpsertCastMemberDTO(it.id(), it.name(), it.type()))
+                                .toList()
+                )));
     }
 
     @Override
-    public ResponseEntity<?> getById(final String id) {
+    public ResponseEntity<?> getAllCastMembers(final String search, final int page, final int perPage, final String sort, final String direction, final String after, final String count, final HttpHeaders headers) {
+        final Pagination<CastMemberListResponse> result;
         try {
-            return ResponseEntity.ok(CastMemberPresenter.present(this.getCastMemberByIdUseCase.execute(id)));
+            result = this.getAllCastMemberUseCase.execute(new SearchQuery(page, perPage, search, sort, direction, after, CountMode.parse(count))).map(CastMemberPresenter::presentGetAll);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.unprocessableEntity().body(Map.of(
+                    "errors", List.of(Map.of("message", e.getMessage()))
+            ));
+        }
+
+        return ConditionalGet.respondJson(headers, this.mapper, result);
+    }
+
+    @Override
+    public ResponseEntity<?> changes(final String since, final int limit) {
+        try {
+            return ResponseEntity.ok(ChangeFeedResponse.present(this.getCastMemberChangesUseCase.execute(new ChangeQuery(since, limit)), CastMemberPresenter::present));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.unprocessableEntity().body(Map.of(
+                    "errors", List.of(Map.of("message", e.getMessage()))
+            ));
+        }
+    }
+
+    @Override
+    public ResponseEntity<?> getById(final String id, final HttpHeaders headers) {
+        try {
+            final CastMember member = this.getCastMemberByIdUseCase.execute(id);
+
+            return ConditionalGet.respond(headers, ConditionalGet.etag(member.getId(), member.getUpdatedAt()), member.getUpdatedAt(), () -> CastMemberPresenter.present(member));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", e.getMessage()));
         }
@@ -0,0 +1,6 @@
+package com.dotflix.infrastructure.castmember.controller.dto;
+
+import com.dotflix.domain.castmember.CastMemberType;
+
+public record UpsertCastMemberRequest(String id, String name, CastMemberType type) {
+}
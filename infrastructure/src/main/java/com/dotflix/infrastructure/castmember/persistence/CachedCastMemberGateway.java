@@ -0,0 +1,82 @@
+package com.dotflix.infrastructure.castmember.persistence;
+
+import com.dotflix.domain.ChangeFeed;
+import com.dotflix.domain.ChangeQuery;
+import com.dotflix.domain.Pagination;
+import com.dotflix.domain.SearchQuery;
+import com.dotflix.domain.castmember.CastMember;
+import com.dotflix.domain.castmember.CastMemberGateway;
+import com.dotflix.infrastructure.cache.GatewayCache;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Read-through cache do {@link CastMemberGateway}: findById e existsByIds passam pelo cache, e toda escrita invalida os ids
+ * alterados depois de gravar. Ids criados ou atualizados continuam no índice de existência; os apagados saem dele. As
+ * listagens vão direto ao banco.
+ */
+public class CachedCastMemberGateway implements CastMemberGateway {
+
+    private final CastMemberGateway delegate;
+    private final GatewayCache<CastMember> cache;
+
+    public CachedCastMemberGateway(final CastMemberGateway delegate, final GatewayCache<CastMember> cache) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.cache = Objects.requireNonNull(cache);
+    }
+
+    public static CastMember copy(final CastMember aMember) {
+        try {
+            return CastMember.with(aMember);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public CastMember create(final CastMember aMember) {
+        final CastMember created = this.delegate.create(aMember);
+        this.cache.written(List.of(aMember.getId()));
+        return created;
+    }
+
+    @Override
+    public void deleteById(final String id) {
+        this.delegate.deleteById(id);
+        this.cache.invalidate(id);
+    }
+
+    @Override
+    public Optional<CastMember> findById(final String id) {
+        return this.cache.get(id, this.delegate::findById);
+    }
+
+    @Override
+    public CastMember update(final CastMember aMember) {
+        final CastMember updated = this.delegate.update(aMember);
+        this.cache.written(List.of(aMember.getId()));
+        return updated;
+    }
+
+    @Override
+    public Pagination<CastMember> findAll(final SearchQuery query) {
+        return this.delegate.findAll(query);
+    }
+
+    @Override
+    public List<String> existsByIds(final Iterable<String> ids) {
+        return this.cache.existing(ids, this.delegate::existsByIds);
+    }
+
+    @Override
+    public void upsertAll(final List<CastMember> members) {
+        this.delegate.upsertAll(members);
+        this.cache.written(members.stream().map(CastMember::getId).toList());
+    }
+
+    @Override
+    public ChangeFeed<CastMember> changes(final ChangeQuery query) {
+        return this.delegate.changes(query);
+    }
+}
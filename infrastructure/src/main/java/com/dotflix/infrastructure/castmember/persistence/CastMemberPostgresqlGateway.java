@@ -2,24 +2,53 @@ package com.dotflix.infrastructure.castmember.persistence;
 
 import com.dotflix.domain.Pagination;
 import com.dotflix.domain.SearchQuery;
+import com.dotflix.domain.ChangeFeed;
+import com.dotflix.domain.ChangeQuery;
 import com.dotflix.domain.castmember.CastMember;
 import com.dotflix.domain.castmember.CastMemberGateway;
-import org.springframework.data.domain.Page;
+import com.dotflix.infrastructure.utils.ChangeFeeds;
+import com.dotflix.infrastructure.utils.CountEstimator;
+import com.dotflix.infrastructure.utils.JdbcUpsert;
+import com.dotflix.infrastructure.utils.KeysetPagination;
+import com.dotflix.infrastructure.utils.OffsetPagination;
+import com.dotflix.infrastructure.utils.SearchSpecifications;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import java.sql.Timestamp;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.StreamSupport;
 
 @Component
 public class CastMemberPostgresqlGateway implements CastMemberGateway {
+    // Chaves aceitas na paginação por cursor (ver KeysetPagination)
+    private static final Map<String, Function<CastMemberEntity, Object>> CURSOR_KEYS = Map.of(
+            "name", CastMemberEntity::getName,
+            "type", CastMemberEntity::getType,
+            "createdAt", CastMemberEntity::getCreatedAt,
+            "updatedAt", CastMemberEntity::getUpdatedAt
+    );
+
+    private static final List<String> UPSERT_COLUMNS = List.of("id", "name", "type", "created_at", "updated_at");
+    private static final List<String> UPSERT_UPDATE_COLUMNS = List.of("name", "type", "updated_at");
+
     private final CastMemberRepository castMemberRepository;
+    private final CountEstimator countEstimator;
+    private final JdbcUpsert jdbcUpsert;
+    private final ChangeFeeds changeFeeds;
 
-    public CastMemberPostgresqlGateway(final CastMemberRepository castMemberRepository) {
+    public CastMemberPostgresqlGateway(final CastMemberRepository castMemberRepository, final CountEstimator countEstimator, final JdbcUpsert jdbcUpsert, final ChangeFeeds changeFeeds) {
         this.castMemberRepository = Objects.requireNonNull(castMemberRepository);
+        this.countEstimator = Objects.requireNonNull(countEstimator);
+        this.jdbcUpsert = Objects.requireNonNull(jdbcUpsert);
+        this.changeFeeds = Objects.requireNonNull(changeFeeds);
     }
 
     @Override
@@ -28,12 +57,19 @@ public class CastMemberPostgresqlGateway implements CastMemberGateway {
     }
 
     @Override
+    @Transactional
     public void deleteById(final String id) {
         if (this.castMemberRepository.existsById(id)) {
             this.castMemberRepository.deleteById(id);
+            this.changeFeeds.tombstone("cast_members", id);
         }
     }
 
+    @Override
+    public ChangeFeed<CastMember> changes(final ChangeQuery query) {
+        return this.changeFeeds.changes("cast_members", query, ids -> this.castMemberRepository.findAllById(ids).stream().map(CastMemberEntity::toDomain).toList(), CastMember::getId);
+    }
+
     @Override
     public Optional<CastMember> findById(final String id) {
         return this.castMemberRepository.findById(id).map(CastMemberEntity::toDomain);
@@ -51,12 +87,27 @@ public class CastMemberPostgresqlGateway implements CastMemberGateway {
         return this.castMemberRepository.existsByIds(ids).stream().toList();
     }
 
+    @Override
+    @Transactional
+    public void upsertAll(final List<CastMember> members) {
+        final List<SqlParameterSource> rows = members.stream()
+                .map(it -> (SqlParameterSource) new MapSqlParameterSource()
+                        .addValue("id", it.getId())
+                        .addValue("name", it.getName())
+                        .addValue("type", it.getType().name())
+                        .addValue("created_at", Timestamp.from(it.getCreatedAt()))
+                        .addValue("updated_at", Timestamp.from(it.getUpdatedAt())))
+                .toList();
+
+        this.jdbcUpsert.upsert("cast_members", "id", UPSERT_COLUMNS, UPSERT_UPDATE_COLUMNS, rows);
+    }
+
     @Override
     public Pagination<CastMember> findAll(final SearchQuery aQuery) {
         final var page = PageRequest.of(
                 aQuery.page(),
                 aQuery.perPage(),
-                Sort.by(Sort.Direction.fromString(aQuery.direction()), aQuery.sort())
+                SearchSpecifications.sortOf(aQuery)
         );
 
         final Specification<CastMemberEntity> specifications = Optional.ofNullable(aQuery.terms())
@@ -76,13 +127,24 @@ public class CastMemberPostgresqlGateway implements CastMemberGateway {
                 })
                 .orElse(null);
 
-        final Page<CastMemberEntity> pageResult = this.castMemberRepository.findAll(Specification.where(specifications), page);
+        if (aQuery.isKeyset()) {
+            return KeysetPagination.findAll(this.castMemberRepository, specifications, aQuery, CURSOR_KEYS, CastMemberEntity::getId)
+                    .map(CastMemberEntity::toDomain);
+        }
+
+        return OffsetPagination.findAll(this.castMemberRepository, SearchSpecifications.withRelevance(specifications, aQuery, "name"), page, aQuery.count(), () -> estimate(aQuery))
+                .map(CastMemberEntity::toDomain);
+    }
+
+    private long estimate(final SearchQuery aQuery) {
+        if (aQuery.terms() == null || aQuery.terms().isBlank()) {
+            return this.countEstimator.estimate("cast_members", null, null);
+        }
 
-        return new Pagination<>(
-                pageResult.getNumber(),
-                pageResult.getSize(),
-                pageResult.getTotalElements(),
-                pageResult.map(CastMemberEntity::toDomain).toList()
+        return this.countEstimator.estimate(
+                "cast_members",
+                "UPPER(name) LIKE :terms",
+                new MapSqlParameterSource("terms", "%" + aQuery.terms().toUpperCase() + "%")
         );
     }
-}
\ No newline at end of file
+}
@@ -5,17 +5,28 @@ import com.dotflix.application.category.dto.CreateCategoryDTO;
 import com.dotflix.application.category.dto.DeleteCategoryDTO;
 import com.dotflix.application.category.dto.GetCategoryByIdDTO;
 import com.dotflix.application.category.dto.UpdateCategoryDTO;
+import com.dotflix.application.category.dto.UpsertCategoryDTO;
+import com.dotflix.domain.ChangeQuery;
+import com.dotflix.domain.CountMode;
 import com.dotflix.domain.Pagination;
 import com.dotflix.domain.category.Category;
 import com.dotflix.domain.SearchQuery;
 import com.dotflix.infrastructure.category.controller.dto.CategoryGetAllResponse;
-import com.dotflix.infrastructure.category.controller.dto.CategoryResponse;
 import com.dotflix.infrastructure.category.controller.dto.CreateCategoryRequest;
 import com.dotflix.infrastructure.category.controller.dto.UpdateCategoryRequest;
+import com.dotflix.infrastructure.category.controller.dto.UpsertCategoryRequest;
 import com.dotflix.infrastructure.category.controller.presenter.CategoryApiPresenter;
+import com.dotflix.infrastructure.utils.ChangeFeedResponse;
+import com.dotflix.infrastructure.utils.ConditionalGet;
+import com.dotflix.infrastructure.utils.NdjsonBatch;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.List;
 import java.util.Map;
@@ -29,13 +40,19 @@ public class CategoryController implements CategoryAPI {
     private final UpdateCategoryUseCase updateCategoryUseCase;
     private final DeleteCategoryUseCase deleteCategoryUseCase;
     private final GetAllCategoriesUseCase getAllCategoriesUseCase;
+    private final UpsertCategoriesUseCase upsertCategoriesUseCase;
+    private final GetCategoryChangesUseCase getCategoryChangesUseCase;
+    private final ObjectMapper mapper;
 
-    public CategoryController(final CreateCategoryUseCase createCategoryUseCase, final GetCategoryByIdUseCase getCategoryByIdUseCase, final UpdateCategoryUseCase updateCategoryUseCase, final DeleteCategoryUseCase deleteCategoryUseCase, final GetAllCategoriesUseCase getAllCategoriesUseCase) {
+    public CategoryController(final CreateCategoryUseCase createCategoryUseCase, final GetCategoryByIdUseCase getCategoryByIdUseCase, final UpdateCategoryUseCase updateCategoryUseCase, final DeleteCategoryUseCase deleteCategoryUseCase, final GetAllCategoriesUseCase getAllCategoriesUseCase, final UpsertCategoriesUseCase upsertCategoriesUseCase, final GetCategoryChangesUseCase getCategoryChangesUseCase, final ObjectMapper mapper) {
         this.createCategoryUseCase = Objects.requireNonNull(createCategoryUseCase);
         this.getCategoryByIdUseCase = Objects.requireNonNull(getCategoryByIdUseCase);
         this.updateCategoryUseCase = Objects.requireNonNull(updateCategoryUseCase);
         this.deleteCategoryUseCase = Objects.requireNonNull(deleteCategoryUseCase);
         this.getAllCategoriesUseCase = Objects.requireNonNull(getAllCategoriesUseCase);
+        this.upsertCategoriesUseCase = Objects.requireNonNull(upsertCategoriesUseCase);
+        this.getCategoryChangesUseCase = Objects.requireNonNull(getCategoryChangesUseCase);
+        this.mapper = Objects.requireNonNull(mapper);
     }
 
     @Override
@@ -56,18 +73,50 @@ public class CategoryController implements CategoryAPI {
     }
 
     @Override
-    public Pagination<CategoryGetAllResponse> getAllCategories(final String search, final int page, final int perPage, final String sort, final String direction) {
-        return getAllCategoriesUseCase.execute(new SearchQuery(page, perPage, search, sort, direction)).map(CategoryApiPresenter::presentGetAll);
+    public ResponseEntity<StreamingResponseBody> upsertCategories(final InputStream body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(NdjsonBatch.stream(body, this.mapper, UpsertCategoryRequest.class, items -> this.upsertCategoriesUseCase.execute(
+                        items.stream()
+                                .map(it -> new UpsertCategoryDTO(it.id(), it.name(), it.description(), it.active() != null ? it.active() : true))
+                                .toList()
+                )));
     }
 
     @Override
-    public ResponseEntity<?> getById(final String id) {
+    public ResponseEntity<?> getAllCategories(final String search, final int page, final int perPage, final String sort, final String direction, final String after, final String count, final HttpHeaders headers) {
+        final Pagination<CategoryGetAllResponse> result;
+        try {
+            result = getAllCategoriesUseCase.execute(new SearchQuery(page, perPage, search, sort, direction, after, CountMode.parse(count))).map(CategoryApiPresenter::presentGetAll);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.unprocessableEntity().body(Map.of(
+                    "errors", List.of(Map.of("message", e.getMessage()))
+            ));
+        }
+
+        return ConditionalGet.respondJson(headers, this.mapper, result);
+    }
+
+    @Override
+    public ResponseEntity<?> changes(final String since, final int limit) {
+        try {
+            return ResponseEntity.ok(ChangeFeedResponse.present(this.getCategoryChangesUseCase.execute(new ChangeQuery(since, limit)), CategoryApiPresenter::present));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.unprocessableEntity().body(Map.of(
+                    "errors", List.of(Map.of("message", e.getMessage()))
+            ));
+        }
+    }
+
+    @Override
+    public ResponseEntity<?> getById(final String id, final HttpHeaders headers) {
         final GetCategoryByIdDTO getCategoryByIdDTO = new GetCategoryByIdDTO(id);
 
         try{
-            final CategoryResponse response = CategoryApiPresenter.present(this.getCategoryByIdUseCase.execute(getCategoryByIdDTO));
+            // Com o cache do gateway a categoria vem da memória; no 304 o corpo nem é montado
+            final Category category = this.getCategoryByIdUseCase.execute(getCategoryByIdDTO);
 
-            return ResponseEntity.ok(response);
+            return ConditionalGet.respond(headers, ConditionalGet.etag(category.getId(), category.getUpdatedAt()), category.getUpdatedAt(), () -> CategoryApiPresenter.present(category));
         } catch (Exception e){
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("ID Inválido: " + e.getMessage());
         }
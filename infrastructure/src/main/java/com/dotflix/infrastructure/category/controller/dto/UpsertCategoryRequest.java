@@ -0,0 +1,11 @@
+package com.dotflix.infrastructure.category.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record UpsertCategoryRequest(
+        @JsonProperty("id") String id,
+        @JsonProperty("name") String name,
+        @JsonProperty("description") String description,
+        @JsonProperty("is_active") Boolean active
+) {
+}
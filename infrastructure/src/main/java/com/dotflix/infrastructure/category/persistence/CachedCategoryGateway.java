@@ -0,0 +1,82 @@
+package com.dotflix.infrastructure.category.persistence;
+
+import com.dotflix.domain.ChangeFeed;
+import com.dotflix.domain.ChangeQuery;
+import com.dotflix.domain.Pagination;
+import com.dotflix.domain.SearchQuery;
+import com.dotflix.domain.category.Category;
+import com.dotflix.domain.category.CategoryGateway;
+import com.dotflix.infrastructure.cache.GatewayCache;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Read-through cache do {@link CategoryGateway}: findById e existsByIds passam pelo cache, e toda escrita invalida os ids
+ * alterados depois de gravar. Ids criados ou atualizados continuam no índice de existência; os apagados saem dele. As
+ * listagens vão direto ao banco.
+ */
+public class CachedCategoryGateway implements CategoryGateway {
+
+    private final CategoryGateway delegate;
+    private final GatewayCache<Category> cache;
+
+    public CachedCategoryGateway(final CategoryGateway delegate, final GatewayCache<Category> cache) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.cache = Objects.requireNonNull(cache);
+    }
+
+    public static Category copy(final Category aCategory) {
+        try {
+            return Category.with(aCategory.getId(), aCategory.getName(), aCategory.getDescription(), aCategory.getIsActive(), aCategory.getCreatedAt(), aCategory.getUpdatedAt(), aCategory.getDeletedAt());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public Category create(final Category category) {
+        final Category created = this.delegate.create(category);
+        this.cache.written(List.of(category.getId()));
+        return created;
+    }
+
+    @Override
+    public void deleteById(final String id) {
+        this.delegate.deleteById(id);
+        this.cache.invalidate(id);
+    }
+
+    @Override
+    public Optional<Category> findById(final String id) {
+        return this.cache.get(id, this.delegate::findById);
+    }
+
+    @Override
+    public Category update(final Category category) {
+        final Category updated = this.delegate.update(category);
+        this.cache.written(List.of(category.getId()));
+        return updated;
+    }
+
+    @Override
+    public Pagination<Category> findAll(final SearchQuery query) {
+        return this.delegate.findAll(query);
+    }
+
+    @Override
+    public List<String> existsByIds(final Iterable<String> ids) {
+        return this.cache.existing(ids, this.delegate::existsByIds);
+    }
+
+    @Override
+    public void upsertAll(final List<Category> categories) {
+        this.delegate.upsertAll(categories);
+        this.cache.written(categories.stream().map(Category::getId).toList());
+    }
+
+    @Override
+    public ChangeFeed<Category> changes(final ChangeQuery query) {
+        return this.delegate.changes(query);
+    }
+}
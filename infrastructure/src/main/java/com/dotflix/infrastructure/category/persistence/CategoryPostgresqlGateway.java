@@ -1,26 +1,60 @@
 package com.dotflix.infrastructure.category.persistence;
 
+import com.dotflix.domain.ChangeFeed;
+import com.dotflix.domain.ChangeQuery;
 import com.dotflix.domain.category.Category;
 import com.dotflix.domain.category.CategoryGateway;
 import com.dotflix.domain.SearchQuery;
 import com.dotflix.domain.Pagination;
+import com.dotflix.infrastructure.utils.ChangeFeeds;
+import com.dotflix.infrastructure.utils.CountEstimator;
+import com.dotflix.infrastructure.utils.JdbcUpsert;
+import com.dotflix.infrastructure.utils.KeysetPagination;
+import com.dotflix.infrastructure.utils.OffsetPagination;
+import com.dotflix.infrastructure.utils.SearchSpecifications;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.StreamSupport;
 
 @Service
 public class CategoryPostgresqlGateway implements CategoryGateway {
+    // Chaves aceitas na paginação por cursor (ver KeysetPagination)
+    private static final Map<String, Function<CategoryEntity, Object>> CURSOR_KEYS = Map.of(
+            "name", CategoryEntity::getName,
+            "createdAt", CategoryEntity::getCreatedAt,
+            "updatedAt", CategoryEntity::getUpdatedAt
+    );
+
+    private static final List<String> UPSERT_COLUMNS = List.of("id", "name", "description", "active", "created_at", "updated_at", "deleted_at");
+    private static final List<String> UPSERT_UPDATE_COLUMNS = List.of("name", "description", "active", "updated_at", "deleted_at");
+
     private final CategoryRepository repository;
+    private final CountEstimator countEstimator;
+    private final JdbcUpsert jdbcUpsert;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ChangeFeeds changeFeeds;
 
-    public CategoryPostgresqlGateway(final CategoryRepository repository) {
+    public CategoryPostgresqlGateway(final CategoryRepository repository, final CountEstimator countEstimator, final JdbcUpsert jdbcUpsert, final NamedParameterJdbcTemplate jdbcTemplate, final ChangeFeeds changeFeeds) {
         this.repository = repository;
+        this.countEstimator = Objects.requireNonNull(countEstimator);
+        this.jdbcUpsert = Objects.requireNonNull(jdbcUpsert);
+        this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate);
+        this.changeFeeds = Objects.requireNonNull(changeFeeds);
     }
 
     @Override
@@ -29,9 +63,17 @@ public class CategoryPostgresqlGateway implements CategoryGateway {
     }
 
     @Override
+    @Transactional
     public void deleteById(String id) {
-        if (this.repository.existsById(id))
+        if (this.repository.existsById(id)) {
+            // Os gêneros perdem a categoria pelo ON DELETE CASCADE; o updated_at muda para eles aparecerem no feed de mudanças
+            this.jdbcTemplate.update(
+                    "UPDATE genres SET updated_at = :now WHERE id IN (SELECT genre_id FROM genres_categories WHERE category_id = :id)",
+                    Map.of("now", Timestamp.from(Instant.now()), "id", id)
+            );
             this.repository.deleteById(id);
+            this.changeFeeds.tombstone("category", id);
+        }
     }
 
     @Override
@@ -50,13 +92,35 @@ public class CategoryPostgresqlGateway implements CategoryGateway {
         return this.repository.existsByIds(ids).stream().toList();
     }
 
+    @Override
+    @Transactional
+    public void upsertAll(final List<Category> categories) {
+        final List<SqlParameterSource> rows = categories.stream()
+                .map(it -> (SqlParameterSource) new MapSqlParameterSource()
+                        .addValue("id", it.getId())
+                        .addValue("name", it.getName())
+                        .addValue("description", it.getDescription(), Types.VARCHAR)
+                        .addValue("active", it.getIsActive())
+                        .addValue("created_at", Timestamp.from(it.getCreatedAt()))
+                        .addValue("updated_at", Timestamp.from(it.getUpdatedAt()))
+                        .addValue("deleted_at", it.getDeletedAt() == null ? null : Timestamp.from(it.getDeletedAt()), Types.TIMESTAMP))
+                .toList();
+
+        this.jdbcUpsert.upsert("category", "id", UPSERT_COLUMNS, UPSERT_UPDATE_COLUMNS, rows);
+    }
+
+    @Override
+    public ChangeFeed<Category> changes(final ChangeQuery query) {
+        return this.changeFeeds.changes("category", query, ids -> this.repository.findAllById(ids).stream().map(CategoryEntity::toDomain).toList(), Category::getId);
+    }
+
     @Override
     public Pagination<Category> findAll(final SearchQuery aQuery) {
         // Cria o objeto Pageable do Spring usando CategorySearchQuery do Domain para manter o desacoplamento
         final Pageable page = PageRequest.of(
                 aQuery.page(),
                 aQuery.perPage(),
-                Sort.by(Sort.Direction.fromString(aQuery.direction()), aQuery.sort())
+                SearchSpecifications.sortOf(aQuery)
         );
 
         // Busca dinamica pelo criterio terms (name ou description)
@@ -85,13 +149,24 @@ public class CategoryPostgresqlGateway implements CategoryGateway {
                 })
                 .orElse(null);  // Se estiverem, faz nada
 
-        final Page<CategoryEntity> pageResult = this.repository.findAll(Specification.where(specifications), page);
+        if (aQuery.isKeyset()) {
+            return KeysetPagination.findAll(this.repository, specifications, aQuery, CURSOR_KEYS, CategoryEntity::getId)
+                    .map(CategoryEntity::toDomain);
+        }
+
+        return OffsetPagination.findAll(this.repository, SearchSpecifications.withRelevance(specifications, aQuery, "name"), page, aQuery.count(), () -> estimate(aQuery))
+                .map(CategoryEntity::toDomain);
+    }
+
+    private long estimate(final SearchQuery aQuery) {
+        if (aQuery.terms() == null || aQuery.terms().isBlank()) {
+            return this.countEstimator.estimate("category", null, null);
+        }
 
-        return new Pagination<>(
-                pageResult.getNumber(),
-                pageResult.getSize(),
-                pageResult.getTotalElements(),
-                pageResult.map(CategoryEntity::toDomain).toList()
+        return this.countEstimator.estimate(
+                "category",
+                "UPPER(name) LIKE :terms OR UPPER(description) LIKE :terms",
+                new MapSqlParameterSource("terms", "%" + aQuery.terms().toUpperCase() + "%")
         );
     }
 }
@@ -2,6 +2,8 @@ package com.dotflix.infrastructure.configuration;
 
 import com.dotflix.application.castmember.*;
 import com.dotflix.domain.castmember.CastMemberGateway;
+import com.dotflix.infrastructure.cache.GatewayCaches;
+import com.dotflix.infrastructure.castmember.persistence.CachedCastMemberGateway;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import java.util.Objects;
@@ -10,8 +12,8 @@ import java.util.Objects;
 public class CastMemberUseCaseConfig {
     private final CastMemberGateway castMemberGateway;
 
-    public CastMemberUseCaseConfig(final CastMemberGateway castMemberGateway) {
-        this.castMemberGateway = Objects.requireNonNull(castMemberGateway);
+    public CastMemberUseCaseConfig(final CastMemberGateway castMemberGateway, final GatewayCaches caches) {
+        this.castMemberGateway = caches.decorate(Objects.requireNonNull(castMemberGateway), "cast_members", "cast_members", CachedCastMemberGateway::copy, CachedCastMemberGateway::new);
     }
 
     @Bean
@@ -38,4 +40,14 @@ public class CastMemberUseCaseConfig {
     public UpdateCastMemberUseCase updateCastMemberUseCase() {
         return new UpdateCastMemberUseCase(castMemberGateway);
     }
-}
\ No newline at end of file
+
+    @Bean
+    public UpsertCastMembersUseCase upsertCastMembersUseCase() {
+        return new UpsertCastMembersUseCase(castMemberGateway);
+    }
+
+    @Bean
+    public GetCastMemberChangesUseCase getCastMemberChangesUseCase() {
+        return new GetCastMemberChangesUseCase(castMemberGateway);
+    }
+}
@@ -2,6 +2,8 @@ package com.dotflix.infrastructure.configuration;
 
 import com.dotflix.application.category.*;
 import com.dotflix.domain.category.CategoryGateway;
+import com.dotflix.infrastructure.cache.GatewayCaches;
+import com.dotflix.infrastructure.category.persistence.CachedCategoryGateway;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -12,8 +14,8 @@ import org.springframework.context.annotation.Configuration;
 public class CategoryUseCaseConfig {
     private final CategoryGateway categoryGateway;
 
-    public CategoryUseCaseConfig(final CategoryGateway categoryGateway){
-        this.categoryGateway = categoryGateway;
+    public CategoryUseCaseConfig(final CategoryGateway categoryGateway, final GatewayCaches caches){
+        this.categoryGateway = caches.decorate(categoryGateway, "categories", "category", CachedCategoryGateway::copy, CachedCategoryGateway::new);
     }
 
     @Bean
@@ -40,4 +42,14 @@ public class CategoryUseCaseConfig {
     public DeleteCategoryUseCase deleteCategoryUseCase(){
         return new DeleteCategoryUseCase(categoryGateway);
     }
+
+    @Bean
+    public UpsertCategoriesUseCase upsertCategoriesUseCase() {
+        return new UpsertCategoriesUseCase(categoryGateway);
+    }
+
+    @Bean
+    public GetCategoryChangesUseCase getCategoryChangesUseCase() {
+        return new GetCategoryChangesUseCase(categoryGateway);
+    }
 }
@@ -0,0 +1,52 @@
+package com.dotflix.infrastructure.configuration;
+
+import com.dotflix.application.video.UpdateMediaStatusUseCase;
+import com.dotflix.domain.video.VideoGateway;
+import com.dotflix.domain.video.VideoMediaCreated;
+import com.dotflix.infrastructure.events.RingBufferEventBus;
+import com.dotflix.infrastructure.video.encoding.EncodingWorker;
+import com.dotflix.infrastructure.video.encoding.LocalMediaEncoder;
+import com.dotflix.infrastructure.video.encoding.MediaEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "encoding.worker.enabled", havingValue = "true", matchIfMissing = true)
+public class EncodingWorkerConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(MediaEncoder.class)
+    public MediaEncoder localMediaEncoder(
+            @Value("${storage.media.root}") final String root,
+            @Value("${encoding.local.passes:1}") final int passes
+    ) {
+        return new LocalMediaEncoder(root, passes);
+    }
+
+    @Bean(destroyMethod = "close")
+    public EncodingWorker encodingWorker(
+            final VideoGateway videoGateway,
+            final UpdateMediaStatusUseCase updateMediaStatusUseCase,
+            final MediaEncoder encoder,
+            final MeterRegistry registry,
+            final RingBufferEventBus bus,
+            @Value("${encoding.worker.concurrency:0}") final int concurrency,
+            @Value("${encoding.worker.queue-capacity:256}") final int queueCapacity,
+            @Value("${encoding.worker.max-attempts:3}") final int maxAttempts,
+            @Value("${encoding.worker.backoff:1s}") final Duration backoff,
+            @Value("${encoding.worker.lease:10m}") final Duration lease,
+            @Value("${encoding.worker.recovery-interval:1m}") final Duration recoveryInterval
+    ) {
+        // 0 = um worker por core, o encoding é limitado por CPU
+        final int threads = concurrency > 0 ? concurrency : Runtime.getRuntime().availableProcessors();
+        final EncodingWorker worker = new EncodingWorker(videoGateway, updateMediaStatusUseCase, encoder, registry, threads, queueCapacity, maxAttempts, backoff, lease, recoveryInterval);
+
+        bus.subscribe(VideoMediaCreated.class, worker::onMediaCreated);
+        return worker;
+    }
+}
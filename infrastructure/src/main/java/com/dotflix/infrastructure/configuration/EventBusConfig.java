@@ -0,0 +1,20 @@
+package com.dotflix.infrastructure.configuration;
+
+import com.dotflix.infrastructure.events.RingBufferEventBus;
+import com.dotflix.infrastructure.events.WaitStrategy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class EventBusConfig {
+
+    @Bean(destroyMethod = "close")
+    public RingBufferEventBus domainEventBus(
+            @Value("${events.bus.capacity:1024}") final int capacity,
+            @Value("${events.bus.batch-size:64}") final int batchSize,
+            @Value("${events.bus.wait-strategy:BLOCKING}") final WaitStrategy waitStrategy
+    ) {
+        return new RingBufferEventBus(capacity, batchSize, waitStrategy);
+    }
+}
@@ -2,7 +2,11 @@ package com.dotflix.infrastructure.configuration;
 
 import com.dotflix.application.genre.*;
 import com.dotflix.domain.category.CategoryGateway;
+import com.dotflix.domain.genre.Genre;
 import com.dotflix.domain.genre.GenreGateway;
+import com.dotflix.infrastructure.cache.GatewayCaches;
+import com.dotflix.infrastructure.category.persistence.CachedCategoryGateway;
+import com.dotflix.infrastructure.genre.persistence.CachedGenreGateway;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import java.util.Objects;
@@ -12,9 +16,12 @@ public class GenreUseCaseConfig {
     private final CategoryGateway categoryGateway;
     private final GenreGateway genreGateway;
 
-    public GenreUseCaseConfig(final CategoryGateway categoryGateway, final GenreGateway genreGateway) {
-        this.categoryGateway = Objects.requireNonNull(categoryGateway);
-        this.genreGateway = Objects.requireNonNull(genreGateway);
+    public GenreUseCaseConfig(final CategoryGateway categoryGateway, final GenreGateway genreGateway, final GatewayCaches caches) {
+        this.categoryGateway = caches.decorate(Objects.requireNonNull(categoryGateway), "categories", "category", CachedCategoryGateway::copy, CachedCategoryGateway::new);
+        this.genreGateway = caches.decorate(Objects.requireNonNull(genreGateway), "genres", "genres", CachedGenreGateway::copy, CachedGenreGateway::new);
+
+        // Apagar uma categoria tira ela dos gêneros (ON DELETE CASCADE) e muda o updated_at deles
+        caches.<Genre>cascade("categories", "genres", (aGenre, ids) -> aGenre.getCategories().stream().anyMatch(ids::contains));
     }
 
     @Bean
@@ -41,4 +48,14 @@ public class GenreUseCaseConfig {
     public UpdateGenreUseCase updateGenreUseCase() {
         return new UpdateGenreUseCase(categoryGateway, genreGateway);
     }
+
+    @Bean
+    public UpsertGenresUseCase upsertGenresUseCase() {
+        return new UpsertGenresUseCase(categoryGateway, genreGateway);
+    }
+
+    @Bean
+    public GetGenreChangesUseCase getGenreChangesUseCase() {
+        return new GetGenreChangesUseCase(genreGateway);
+    }
 }
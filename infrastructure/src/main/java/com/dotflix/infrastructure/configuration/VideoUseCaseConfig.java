@@ -0,0 +1,145 @@
+package com.dotflix.infrastructure.configuration;
+
+import com.dotflix.application.video.*;
+import com.dotflix.domain.castmember.CastMemberGateway;
+import com.dotflix.domain.category.CategoryGateway;
+import com.dotflix.domain.genre.GenreGateway;
+import com.dotflix.domain.video.MediaResourceGateway;
+import com.dotflix.domain.video.UploadSessionGateway;
+import com.dotflix.domain.video.VideoGateway;
+import com.dotflix.infrastructure.cache.GatewayCaches;
+import com.dotflix.infrastructure.castmember.persistence.CachedCastMemberGateway;
+import com.dotflix.infrastructure.category.persistence.CachedCategoryGateway;
+import com.dotflix.infrastructure.genre.persistence.CachedGenreGateway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Os executors do cadastro de vídeos ficam aqui e não como beans: um bean {@link java.util.concurrent.Executor} faria o
+ * Spring Boot desistir do executor padrão usado pelas respostas assíncronas do MVC. São encerrados junto com o contexto.
+ */
+@Configuration
+public class VideoUseCaseConfig implements AutoCloseable {
+    private final VideoGateway videoGateway;
+    private final MediaResourceGateway mediaResourceGateway;
+    private final UploadSessionGateway uploadSessionGateway;
+    private final CategoryGateway categoryGateway;
+    private final CastMemberGateway castMemberGateway;
+    private final GenreGateway genreGateway;
+    private final ThreadPoolExecutor referenceChecks;
+    private final ThreadPoolExecutor mediaStorage;
+
+    public VideoUseCaseConfig(
+            final VideoGateway videoGateway,
+            final MediaResourceGateway mediaResourceGateway,
+            final UploadSessionGateway uploadSessionGateway,
+            final CategoryGateway categoryGateway,
+            final CastMemberGateway castMemberGateway,
+            final GenreGateway genreGateway,
+            final GatewayCaches caches,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") final int poolSize,
+            @Value("${video.create.reference-check-threads:0}") final int referenceCheckThreads,
+            @Value("${video.create.storage-threads:8}") final int storageThreads
+    ) {
+        this.videoGateway = Objects.requireNonNull(videoGateway);
+        this.mediaResourceGateway = Objects.requireNonNull(mediaResourceGateway);
+        this.uploadSessionGateway = Objects.requireNonNull(uploadSessionGateway);
+        this.categoryGateway = caches.decorate(Objects.requireNonNull(categoryGateway), "categories", "category", CachedCategoryGateway::copy, CachedCategoryGateway::new);
+        this.castMemberGateway = caches.decorate(Objects.requireNonNull(castMemberGateway), "cast_members", "cast_members", CachedCastMemberGateway::copy, CachedCastMemberGateway::new);
+        this.genreGateway = caches.decorate(Objects.requireNonNull(genreGateway), "genres", "genres", CachedGenreGateway::copy, CachedGenreGateway::new);
+
+        // 0 = metade do pool do Hikari: as consultas de existência nunca ocupam todas as conexões e sobra pool para as
+        // transações das próprias requisições
+        this.referenceChecks = executor("video-reference-check", referenceCheckThreads > 0 ? referenceCheckThreads : Math.max(1, poolSize / 2));
+        this.mediaStorage = executor("video-media-storage", Math.max(1, storageThreads));
+    }
+
+    // Com todas as threads ocupadas e a fila cheia a tarefa roda na thread de quem chamou, que faz o trabalho em
+    // sequência em vez de esperar na fila (para as consultas, mais do que o connection-timeout do pool)
+    private static ThreadPoolExecutor executor(final String name, final int threads) {
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(threads * 4), task -> {
+            final Thread thread = new Thread(task, name);
+            thread.setDaemon(true);
+            return thread;
+        }, (task, pool) -> {
+            if (pool.isShutdown()) {
+                throw new RejectedExecutionException(name + " executor is shut down");
+            }
+            task.run();
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    @Override
+    public void close() {
+        this.referenceChecks.shutdown();
+        this.mediaStorage.shutdown();
+    }
+
+    @Bean
+    public CreateVideoUseCase createVideoUseCase() {
+        return new CreateVideoUseCase(categoryGateway, castMemberGateway, genreGateway, mediaResourceGateway, videoGateway, referenceChecks, mediaStorage);
+    }
+
+    @Bean
+    public GetVideoByIdUseCase getVideoByIdUseCase() {
+        return new GetVideoByIdUseCase(videoGateway);
+    }
+
+    @Bean
+    public GetAllVideosUseCase getAllVideosUseCase() {
+        return new GetAllVideosUseCase(videoGateway);
+    }
+
+    @Bean
+    public UpdateMediaStatusUseCase updateMediaStatusUseCase() {
+        return new UpdateMediaStatusUseCase(videoGateway);
+    }
+
+    @Bean
+    public UpdateMediaStatusBatchUseCase updateMediaStatusBatchUseCase() {
+        return new UpdateMediaStatusBatchUseCase(videoGateway);
+    }
+
+    @Bean
+    public GetMediaUseCase getMediaUseCase() {
+        return new GetMediaUseCase(mediaResourceGateway);
+    }
+
+    @Bean
+    public GetMediaRangeUseCase getMediaRangeUseCase() {
+        return new GetMediaRangeUseCase(mediaResourceGateway);
+    }
+
+    @Bean
+    public CreateUploadSessionUseCase createUploadSessionUseCase() {
+        return new CreateUploadSessionUseCase(videoGateway, uploadSessionGateway);
+    }
+
+    @Bean
+    public UploadChunkUseCase uploadChunkUseCase() {
+        return new UploadChunkUseCase(uploadSessionGateway);
+    }
+
+    @Bean
+    public GetUploadSessionUseCase getUploadSessionUseCase() {
+        return new GetUploadSessionUseCase(uploadSessionGateway);
+    }
+
+    @Bean
+    public CompleteUploadSessionUseCase completeUploadSessionUseCase() {
+        return new CompleteUploadSessionUseCase(uploadSessionGateway, mediaResourceGateway, videoGateway);
+    }
+
+    @Bean
+    public AbortUploadSessionUseCase abortUploadSessionUseCase() {
+        return new AbortUploadSessionUseCase(uploadSessionGateway);
+    }
+}
@@ -0,0 +1,55 @@
+package com.dotflix.infrastructure.configuration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordingStream;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import java.time.Duration;
+
+/**
+ * Modo de execução em virtual threads ({@code spring.threads.virtual.enabled}). Com ele o Spring Boot troca o executor do
+ * Tomcat, e controllers e use cases passam a rodar em virtual threads; o limite de concorrência no banco continua sendo o
+ * pool do Hikari (ver {@code hikaricp.connections.acquire} em /actuator/metrics).
+ * <p>
+ * Virtual threads exigem Java 21: em versões anteriores o Spring Boot ignora a propriedade e as requisições continuam nas
+ * threads de plataforma do Tomcat. No Java 21+ os eventos JFR {@code jdk.VirtualThreadPinned} (virtual thread presa à
+ * thread carregadora, ex.: I/O dentro de synchronized) viram as métricas {@code jvm.threads.virtual.pinned}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsConfig implements AutoCloseable {
+
+    private static final Duration PINNED_THRESHOLD = Duration.ofMillis(20);
+
+    private final RecordingStream pinned;
+
+    public VirtualThreadsConfig(final MeterRegistry registry) {
+        if (Runtime.version().feature() < 21) {
+            System.out.println("Virtual threads require Java 21, requests keep running on platform threads (Java " + Runtime.version().feature() + ")");
+            this.pinned = null;
+            return;
+        }
+
+        final Counter count = Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads pinned to their carrier for longer than " + PINNED_THRESHOLD.toMillis() + "ms")
+                .register(registry);
+        final Timer duration = Timer.builder("jvm.threads.virtual.pinned.duration").register(registry);
+
+        this.pinned = new RecordingStream();
+        this.pinned.enable("jdk.VirtualThreadPinned").withThreshold(PINNED_THRESHOLD).withStackTrace();
+        this.pinned.onEvent("jdk.VirtualThreadPinned", event -> {
+            count.increment();
+            duration.record(event.getDuration());
+        });
+        this.pinned.startAsync();
+    }
+
+    @Override
+    public void close() {
+        if (this.pinned != null) {
+            this.pinned.close();
+        }
+    }
+}
@@ -3,8 +3,10 @@ package com.dotflix.infrastructure.configuration;
 
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @Configuration
 @ComponentScan("com.dotflix")
+@EnableScheduling
 public class WebServerConfig {
 }
@@ -0,0 +1,13 @@
+package com.dotflix.infrastructure.events;
+
+import com.dotflix.domain.events.DomainEvent;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Publicação com confirmação: o future termina quando todos os assinantes já receberam o evento, e termina com erro se
+ * algum deles falhar. Usado por quem só pode descartar o evento depois da entrega, como o relay da outbox.
+ */
+@FunctionalInterface
+public interface AcknowledgedEventPublisher {
+    CompletableFuture<Void> publish(DomainEvent event);
+}
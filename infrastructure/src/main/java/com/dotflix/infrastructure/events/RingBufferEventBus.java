@@ -0,0 +1,272 @@
+package com.dotflix.infrastructure.events;
+
+import com.dotflix.domain.events.DomainEvent;
+import com.dotflix.domain.events.DomainEventPublisher;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * {@link DomainEventPublisher} assíncrono sobre um ring buffer limitado e sem locks (fila MPSC com sequência por slot):
+ * os produtores disputam a posição de escrita com CAS e uma única thread consumidora lê os eventos em lotes e entrega aos
+ * assinantes do tipo do evento (ou de um supertipo). Com o buffer cheio o produtor espera por espaço (backpressure), nunca
+ * descarta o evento.
+ * <p>
+ * Exceções dos assinantes são registradas e não interrompem a entrega aos demais. Pelo {@link #publish} o produtor recebe
+ * um future que termina depois da entrega a todos os assinantes (com erro se algum falhou).
+ */
+public class RingBufferEventBus implements DomainEventPublisher, AcknowledgedEventPublisher, AutoCloseable {
+
+    private static final long SLEEP_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long BLOCK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final int mask;
+    private final int batchSize;
+    private final WaitStrategy waitStrategy;
+    private final AtomicReferenceArray<Entry> slots;
+    // sequences[i] == posição: slot livre para a escrita; == posição + 1: evento pronto para o consumidor
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dispatched = new AtomicLong();
+    private long head;
+
+    private final Map<Class<?>, List<Consumer<? super DomainEvent>>> subscribers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, List<Consumer<? super DomainEvent>>> resolved = new ConcurrentHashMap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private volatile boolean consumerWaiting;
+    private volatile boolean running = true;
+    private final Thread consumer;
+
+    public RingBufferEventBus(final int capacity, final int batchSize, final WaitStrategy waitStrategy) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+
+        this.mask = capacity - 1;
+        this.batchSize = batchSize;
+        this.waitStrategy = Objects.requireNonNull(waitStrategy);
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            this.sequences.set(i, i);
+        }
+
+        this.consumer = new Thread(this::consume, "domain-event-bus");
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <E extends DomainEvent> void subscribe(final Class<E> type, final Consumer<? super E> subscriber) {
+        Objects.requireNonNull(type);
+        Objects.requireNonNull(subscriber);
+
+        this.subscribers.computeIfAbsent(type, t -> new CopyOnWriteArrayList<>())
+                .add(event -> subscriber.accept((E) event));
+        this.resolved.clear();
+    }
+
+    // Bloqueia enquanto o buffer estiver cheio
+    @Override
+    public void publishEvent(final DomainEvent event) {
+        put(new Entry(Objects.requireNonNull(event), null));
+    }
+
+    // Bloqueia enquanto o buffer estiver cheio; o future termina quando o evento foi entregue
+    @Override
+    public CompletableFuture<Void> publish(final DomainEvent event) {
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+        put(new Entry(Objects.requireNonNull(event), done));
+        return done;
+    }
+
+    public boolean tryPublish(final DomainEvent event) {
+        return tryPublish(new Entry(Objects.requireNonNull(event), null));
+    }
+
+    private void put(final Entry entry) {
+        int attempts = 0;
+        while (!tryPublish(entry)) {
+            if (!this.running) {
+                throw new IllegalStateException("Event bus is closed");
+            }
+            backoff(attempts++);
+        }
+    }
+
+    private boolean tryPublish(final Entry entry) {
+        while (true) {
+            final long position = this.tail.get();
+            final int index = (int) position & this.mask;
+            final long sequence = this.sequences.get(index);
+
+            if (sequence < position) {
+                return false;
+            }
+
+            if (sequence == position && this.tail.compareAndSet(position, position + 1)) {
+                this.slots.lazySet(index, entry);
+                this.sequences.lazySet(index, position + 1);
+                signal();
+                return true;
+            }
+        }
+    }
+
+    // Eventos já entregues aos assinantes
+    public long dispatched() {
+        return this.dispatched.get();
+    }
+
+    public int pending() {
+        return (int) (this.tail.get() - this.dispatched.get());
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        this.running = false;
+        signal(true);
+        this.consumer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void consume() {
+        final List<Entry> batch = new ArrayList<>(this.batchSize);
+        int idle = 0;
+
+        while (true) {
+            while (batch.size() < this.batchSize) {
+                final int index = (int) this.head & this.mask;
+
+                if (this.sequences.get(index) != this.head + 1) {
+                    break;
+                }
+
+                batch.add(this.slots.get(index));
+                this.slots.lazySet(index, null);
+                this.sequences.lazySet(index, this.head + this.mask + 1);
+                this.head++;
+            }
+
+            if (batch.isEmpty()) {
+                // Só encerra depois de drenar o que já foi publicado
+                if (!this.running && this.tail.get() == this.head) {
+                    return;
+                }
+                await(idle++);
+                continue;
+            }
+
+            idle = 0;
+            batch.forEach(this::dispatch);
+            this.dispatched.addAndGet(batch.size());
+            batch.clear();
+        }
+    }
+
+    private void dispatch(final Entry entry) {
+        final DomainEvent event = entry.event();
+        Throwable failure = null;
+
+        // Throwable, e não só RuntimeException: um Error de um assinante mataria a única thread consumidora, o buffer
+        // pararia de esvaziar e os publicadores ficariam esperando para sempre
+        for (final Consumer<? super DomainEvent> subscriber : subscribersOf(event.getClass())) {
+            try {
+                subscriber.accept(event);
+            } catch (Throwable e) {
+                System.out.println("Erro: subscriber failed for " + event.getClass().getSimpleName() + ": " + e);
+                failure = e;
+            }
+        }
+
+        if (entry.done() != null) {
+            if (failure == null) {
+                entry.done().complete(null);
+            } else {
+                entry.done().completeExceptionally(failure);
+            }
+        }
+    }
+
+    private List<Consumer<? super DomainEvent>> subscribersOf(final Class<?> type) {
+        return this.resolved.computeIfAbsent(type, t -> {
+            final List<Consumer<? super DomainEvent>> matches = new ArrayList<>();
+            this.subscribers.forEach((subscribed, list) -> {
+                if (subscribed.isAssignableFrom(t)) {
+                    matches.addAll(list);
+                }
+            });
+            return List.copyOf(matches);
+        });
+    }
+
+    private void await(final int attempts) {
+        switch (this.waitStrategy) {
+            case BUSY_SPIN -> Thread.onSpinWait();
+            case YIELDING -> Thread.yield();
+            case SLEEPING -> backoff(attempts);
+            case BLOCKING -> {
+                this.lock.lock();
+                try {
+                    this.consumerWaiting = true;
+                    if (this.running && this.tail.get() == this.head) {
+                        this.notEmpty.awaitNanos(BLOCK_NANOS);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    this.running = false;
+                } finally {
+                    this.consumerWaiting = false;
+                    this.lock.unlock();
+                }
+            }
+        }
+    }
+
+    private static void backoff(final int attempts) {
+        if (attempts < 100) {
+            Thread.onSpinWait();
+        } else if (attempts < 200) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(SLEEP_NANOS);
+        }
+    }
+
+    private void signal() {
+        signal(false);
+    }
+
+    // Os produtores só pegam o lock quando o consumidor está de fato bloqueado
+    private void signal(final boolean force) {
+        if (this.waitStrategy != WaitStrategy.BLOCKING || (!force && !this.consumerWaiting)) {
+            return;
+        }
+
+        this.lock.lock();
+        try {
+            this.notEmpty.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private record Entry(DomainEvent event, CompletableFuture<Void> done) {
+    }
+}
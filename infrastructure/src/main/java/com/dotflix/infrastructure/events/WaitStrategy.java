@@ -0,0 +1,12 @@
+package com.dotflix.infrastructure.events;
+
+/**
+ * Como o consumidor do {@link RingBufferEventBus} espera quando o buffer está vazio. Da menor latência (e maior uso de
+ * CPU) para a maior: BUSY_SPIN, YIELDING, SLEEPING, BLOCKING.
+ */
+public enum WaitStrategy {
+    BUSY_SPIN,
+    YIELDING,
+    SLEEPING,
+    BLOCKING
+}
@@ -1,17 +1,18 @@
 package com.dotflix.infrastructure.genre.controller;
 
-import com.dotflix.domain.Pagination;
 import com.dotflix.infrastructure.genre.controller.dto.CreateGenreRequest;
-import com.dotflix.infrastructure.genre.controller.dto.GenreGetAllResponse;
 import com.dotflix.infrastructure.genre.controller.dto.UpdateGenreRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.InputStream;
 
 @RequestMapping(value = "genres")
 @Tag(name = "Genre")
@@ -25,19 +26,50 @@ public interface GenreAPI {
     })
     ResponseEntity<?> create(@RequestBody CreateGenreRequest input);
 
+    @PostMapping(
+            value = "batch",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    @Operation(summary = "Create or update genres in batch")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "One NDJSON result per item, in input order"),
+            @ApiResponse(responseCode = "500", description = "An internal server error was thrown"),
+    })
+    ResponseEntity<StreamingResponseBody> upsertGenres(InputStream body);
+
     @GetMapping
     @Operation(summary = "List all genres paginated")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Listed successfully"),
+            @ApiResponse(responseCode = "304", description = "The page did not change since the given ETag"),
             @ApiResponse(responseCode = "422", description = "A invalid parameter was received"),
             @ApiResponse(responseCode = "500", description = "An internal server error was thrown"),
     })
-    Pagination<GenreGetAllResponse> list(
+    ResponseEntity<?> list(
             @RequestParam(name = "search", required = false, defaultValue = "") final String search,
             @RequestParam(name = "page", required = false, defaultValue = "0") final int page,
             @RequestParam(name = "perPage", required = false, defaultValue = "10") final int perPage,
             @RequestParam(name = "sort", required = false, defaultValue = "name") final String sort,
-            @RequestParam(name = "dir", required = false, defaultValue = "asc") final String direction
+            @RequestParam(name = "dir", required = false, defaultValue = "asc") final String direction,
+            @RequestParam(name = "after", required = false) final String after,
+            @RequestParam(name = "count", required = false, defaultValue = "exact") final String count,
+            @RequestHeader HttpHeaders headers
+    );
+
+    @GetMapping(
+            value = "changes",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    @Operation(summary = "List genres changed or deleted since a cursor, for incremental sync")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Changes in (changed_at, id) order; next_cursor resumes after the last one"),
+            @ApiResponse(responseCode = "422", description = "Invalid cursor or limit, or a cursor older than the tombstone retention"),
+            @ApiResponse(responseCode = "500", description = "An internal server error was thrown"),
+    })
+    ResponseEntity<?> changes(
+            @RequestParam(name = "since", required = false, defaultValue = "") final String since,
+            @RequestParam(name = "limit", required = false, defaultValue = "500") final int limit
     );
 
     @GetMapping(
@@ -47,10 +79,11 @@ public interface GenreAPI {
     @Operation(summary = "Get a genre by it's identifier")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Genre retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Genre did not change since the given ETag or date"),
             @ApiResponse(responseCode = "404", description = "Genre was not found"),
             @ApiResponse(responseCode = "500", description = "An internal server error was thrown"),
     })
-    ResponseEntity<?> getById(@PathVariable(name = "id") String id);
+    ResponseEntity<?> getById(@PathVariable(name = "id") String id, @RequestHeader HttpHeaders headers);
 
     @PutMapping(
             value = "{id}",
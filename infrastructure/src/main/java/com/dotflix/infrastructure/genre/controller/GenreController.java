@@ -3,16 +3,28 @@ package com.dotflix.infrastructure.genre.controller;
 import com.dotflix.application.genre.*;
 import com.dotflix.application.genre.dto.CreateGenreDTO;
 import com.dotflix.application.genre.dto.UpdateGenreDTO;
+import com.dotflix.application.genre.dto.UpsertGenreDTO;
+import com.dotflix.domain.ChangeQuery;
+import com.dotflix.domain.CountMode;
 import com.dotflix.domain.Pagination;
 import com.dotflix.domain.SearchQuery;
 import com.dotflix.domain.genre.Genre;
 import com.dotflix.infrastructure.genre.controller.dto.CreateGenreRequest;
 import com.dotflix.infrastructure.genre.controller.dto.GenreGetAllResponse;
 import com.dotflix.infrastructure.genre.controller.dto.UpdateGenreRequest;
+import com.dotflix.infrastructure.genre.controller.dto.UpsertGenreRequest;
 import com.dotflix.infrastructure.genre.controller.presenter.GenreApiPresenter;
+import com.dotflix.infrastructure.utils.ChangeFeedResponse;
+import com.dotflix.infrastructure.utils.ConditionalGet;
+import com.dotflix.infrastructure.utils.NdjsonBatch;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.List;
 import java.util.Map;
@@ -24,13 +36,19 @@ public class GenreController implements GenreAPI {
     private final GetGenreByIdUseCase getGenreByIdUseCase;
     private final GetAllGenreUseCase getAllGenreUseCase;
     private final UpdateGenreUseCase updateGenreUseCase;
+    private final UpsertGenresUseCase upsertGenresUseCase;
+    private final GetGenreChangesUseCase getGenreChangesUseCase;
+    private final ObjectMapper mapper;
 
-    public GenreController(final CreateGenreUseCase createGenreUseCase, final DeleteGenreUseCase deleteGenreUseCase, final GetGenreByIdUseCase getGenreByIdUseCase, final GetAllGenreUseCase getAllGenreUseCase, final UpdateGenreUseCase updateGenreUseCase) {
+    public GenreController(final CreateGenreUseCase createGenreUseCase, final DeleteGenreUseCase deleteGenreUseCase, final GetGenreByIdUseCase getGenreByIdUseCase, final GetAllGenreUseCase getAllGenreUseCase, final UpdateGenreUseCase updateGenreUseCase, final UpsertGenresUseCase upsertGenresUseCase, final GetGenreChangesUseCase getGenreChangesUseCase, final ObjectMapper mapper) {
         this.createGenreUseCase = createGenreUseCase;
         this.deleteGenreUseCase = deleteGenreUseCase;
         this.getGenreByIdUseCase = getGenreByIdUseCase;
         this.getAllGenreUseCase = getAllGenreUseCase;
         this.updateGenreUseCase = updateGenreUseCase;
+        this.upsertGenresUseCase = upsertGenresUseCase;
+        this.getGenreChangesUseCase = getGenreChangesUseCase;
+        this.mapper = mapper;
     }
 
     @Override
@@ -51,14 +69,47 @@ public class GenreController implements GenreAPI {
     }
 
     @Override
-    public Pagination<GenreGetAllResponse> list(final String search, final int page, final int perPage, final String sort, final String direction) {
-        return this.getAllGenreUseCase.execute(new SearchQuery(page, perPage, search, sort, direction)).map(GenreApiPresenter::presentGetAll);
+    public ResponseEntity<StreamingResponseBody> upsertGenres(final InputStream body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(NdjsonBatch.stream(body, this.mapper, UpsertGenreRequest.class, items -> this.upsertGenresUseCase.execute(
+                        items.stream()
+                                .map(it -> new UpsertGenreDTO(it.id(), it.name(), it.isActive(), it.categories()))
+                                .toList()
+                )));
     }
 
     @Override
-    public ResponseEntity<?> getById(final String id) {
+    public ResponseEntity<?> list(final String search, final int page, final int perPage, final String sort, final String direction, final String after, final String count, final HttpHeaders headers) {
+        final Pagination<GenreGetAllResponse> result;
         try {
-            return ResponseEntity.ok(GenreApiPresenter.present(this.getGenreByIdUseCase.execute(id)));
+            result = this.getAllGenreUseCase.execute(new SearchQuery(page, perPage, search, sort, direction, after, CountMode.parse(count))).map(GenreApiPresenter::presentGetAll);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.unprocessableEntity().body(Map.of(
+                    "errors", List.of(Map.of("message", e.getMessage()))
+            ));
+        }
+
+        return ConditionalGet.respondJson(headers, this.mapper, result);
+    }
+
+    @Override
+    public ResponseEntity<?> changes(final String since, final int limit) {
+        try {
+            return ResponseEntity.ok(ChangeFeedResponse.present(this.getGenreChangesUseCase.execute(new ChangeQuery(since, limit)), GenreApiPresenter::present));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.unprocessableEntity().body(Map.of(
+                    "errors", List.of(Map.of("message", e.getMessage()))
+            ));
+        }
+    }
+
+    @Override
+    public ResponseEntity<?> getById(final String id, final HttpHeaders headers) {
+        try {
+            final Genre genre = this.getGenreByIdUseCase.execute(id);
+
+            return ConditionalGet.respond(headers, ConditionalGet.etag(genre.getId(), genre.getUpdatedAt()), genre.getUpdatedAt(), () -> GenreApiPresenter.present(genre));
         } catch (Exception e){
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", e.getMessage()));
         }
@@ -3,10 +3,12 @@ package com.dotflix.infrastructure.genre.controller.dto;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.time.Instant;
+import java.util.List;
 
 public record GenreGetAllResponse(
         @JsonProperty("id") String id,
         @JsonProperty("name") String name,
+        @JsonProperty("categories_id") List<String> categories,
         @JsonProperty("is_active") Boolean active,
         @JsonProperty("created_at") Instant createdAt,
         @JsonProperty("deleted_at") Instant deletedAt
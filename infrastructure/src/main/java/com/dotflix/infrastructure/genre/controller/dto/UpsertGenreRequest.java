@@ -0,0 +1,15 @@
+package com.dotflix.infrastructure.genre.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.Collections;
+import java.util.List;
+
+public record UpsertGenreRequest(@JsonProperty("id") String id, @JsonProperty("name") String name, @JsonProperty("categories_id") List<String> categories, @JsonProperty("is_active") Boolean active) {
+    public boolean isActive() {
+        return this.active != null ? this.active : true;
+    }
+
+    public List<String> categories() {
+        return this.categories != null ? this.categories : Collections.emptyList();
+    }
+}
@@ -21,6 +21,7 @@ public interface GenreApiPresenter {
         return new GenreGetAllResponse(
                 output.getId(),
                 output.getName(),
+                output.getCategories(),
                 output.isActive(),
                 output.getCreatedAt(),
                 output.getDeletedAt()
@@ -0,0 +1,83 @@
+package com.dotflix.infrastructure.genre.persistence;
+
+import com.dotflix.domain.ChangeFeed;
+import com.dotflix.domain.ChangeQuery;
+import com.dotflix.domain.Pagination;
+import com.dotflix.domain.SearchQuery;
+import com.dotflix.domain.genre.Genre;
+import com.dotflix.domain.genre.GenreGateway;
+import com.dotflix.infrastructure.cache.GatewayCache;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Read-through cache do {@link GenreGateway}: findById e existsByIds passam pelo cache, e toda escrita invalida os ids
+ * alterados depois de gravar. Ids criados ou atualizados continuam no índice de existência; os apagados saem dele. As
+ * listagens vão direto ao banco.
+ */
+public class CachedGenreGateway implements GenreGateway {
+
+    private final GenreGateway delegate;
+    private final GatewayCache<Genre> cache;
+
+    public CachedGenreGateway(final GenreGateway delegate, final GatewayCache<Genre> cache) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.cache = Objects.requireNonNull(cache);
+    }
+
+    public static Genre copy(final Genre aGenre) {
+        try {
+            return Genre.with(aGenre.getId(), aGenre.getName(), aGenre.isActive(), new ArrayList<>(aGenre.getCategories()), aGenre.getCreatedAt(), aGenre.getUpdatedAt(), aGenre.getDeletedAt());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public Genre create(final Genre aGenre) {
+        final Genre created = this.delegate.create(aGenre);
+        this.cache.written(List.of(aGenre.getId()));
+        return created;
+    }
+
+    @Override
+    public void deleteById(final String id) {
+        this.delegate.deleteById(id);
+        this.cache.invalidate(id);
+    }
+
+    @Override
+    public Optional<Genre> findById(final String id) {
+        return this.cache.get(id, this.delegate::findById);
+    }
+
+    @Override
+    public Genre update(final Genre aGenre) {
+        final Genre updated = this.delegate.update(aGenre);
+        this.cache.written(List.of(aGenre.getId()));
+        return updated;
+    }
+
+    @Override
+    public Pagination<Genre> findAll(final SearchQuery query) {
+        return this.delegate.findAll(query);
+    }
+
+    @Override
+    public List<String> existsByIds(final Iterable<String> ids) {
+        return this.cache.existing(ids, this.delegate::existsByIds);
+    }
+
+    @Override
+    public void upsertAll(final List<Genre> genres) {
+        this.delegate.upsertAll(genres);
+        this.cache.written(genres.stream().map(Genre::getId).toList());
+    }
+
+    @Override
+    public ChangeFeed<Genre> changes(final ChangeQuery query) {
+        return this.delegate.changes(query);
+    }
+}
@@ -20,7 +20,7 @@ public class GenreEntity {
     @Column(name = "active", nullable = false)
     private boolean active;
 
-    @OneToMany(mappedBy = "genre", cascade = CascadeType.ALL, fetch = FetchType.EAGER , orphanRemoval = true)
+    @OneToMany(mappedBy = "genre", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
     private Set<GenreCategoryEntity> categories;
 
     @Column(name = "created_at", nullable = false, columnDefinition = "TIMESTAMP(9)")
@@ -58,12 +58,16 @@ public class GenreEntity {
     }
 
     public Genre toDomain() {
+        return toDomain(getCategoryIDs());
+    }
+
+    public Genre toDomain(final List<String> categoryIDs) {
         try {
             return Genre.with(
                     getId(),
                     getName(),
                     isActive(),
-                    getCategoryIDs(),
+                    categoryIDs,
                     getCreatedAt(),
                     getUpdatedAt(),
                     getDeletedAt()
@@ -1,26 +1,60 @@
 package com.dotflix.infrastructure.genre.persistence;
 
+import com.dotflix.domain.ChangeFeed;
+import com.dotflix.domain.ChangeQuery;
 import com.dotflix.domain.Pagination;
 import com.dotflix.domain.SearchQuery;
 import com.dotflix.domain.genre.Genre;
 import com.dotflix.domain.genre.GenreGateway;
-import org.springframework.data.domain.Page;
+import com.dotflix.infrastructure.utils.ChangeFeeds;
+import com.dotflix.infrastructure.utils.CountEstimator;
+import com.dotflix.infrastructure.utils.JdbcUpsert;
+import com.dotflix.infrastructure.utils.KeysetPagination;
+import com.dotflix.infrastructure.utils.OffsetPagination;
+import com.dotflix.infrastructure.utils.SearchSpecifications;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 @Component
 public class GenrePostgresqlGateway implements GenreGateway {
 
+    // Chaves aceitas na paginação por cursor (ver KeysetPagination)
+    private static final Map<String, Function<GenreEntity, Object>> CURSOR_KEYS = Map.of(
+            "name", GenreEntity::getName,
+            "createdAt", GenreEntity::getCreatedAt,
+            "updatedAt", GenreEntity::getUpdatedAt
+    );
+
+    private static final List<String> UPSERT_COLUMNS = List.of("id", "name", "active", "created_at", "updated_at", "deleted_at");
+    private static final List<String> UPSERT_UPDATE_COLUMNS = List.of("name", "active", "updated_at", "deleted_at");
+
     private final GenreRepository genreRepository;
+    private final CountEstimator countEstimator;
+    private final JdbcUpsert jdbcUpsert;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ChangeFeeds changeFeeds;
 
-    public GenrePostgresqlGateway(final GenreRepository genreRepository) {
+    public GenrePostgresqlGateway(final GenreRepository genreRepository, final CountEstimator countEstimator, final JdbcUpsert jdbcUpsert, final NamedParameterJdbcTemplate jdbcTemplate, final ChangeFeeds changeFeeds) {
         this.genreRepository = Objects.requireNonNull(genreRepository);
+        this.countEstimator = Objects.requireNonNull(countEstimator);
+        this.jdbcUpsert = Objects.requireNonNull(jdbcUpsert);
+        this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate);
+        this.changeFeeds = Objects.requireNonNull(changeFeeds);
     }
 
     @Override
@@ -29,9 +63,11 @@ public class GenrePostgresqlGateway implements GenreGateway {
     }
 
     @Override
+    @Transactional
     public void deleteById(final String id) {
         if (this.genreRepository.existsById(id)) {
             this.genreRepository.deleteById(id);
+            this.changeFeeds.tombstone("genres", id);
         }
     }
 
@@ -52,12 +88,49 @@ public class GenrePostgresqlGateway implements GenreGateway {
         return this.genreRepository.existsByIds(ids).stream().toList();
     }
 
+    @Override
+    @Transactional
+    public void upsertAll(final List<Genre> genres) {
+        if (genres.isEmpty()) {
+            return;
+        }
+
+        final List<SqlParameterSource> rows = genres.stream()
+                .map(it -> (SqlParameterSource) new MapSqlParameterSource()
+                        .addValue("id", it.getId())
+                        .addValue("name", it.getName())
+                        .addValue("active", it.isActive())
+                        .addValue("created_at", Timestamp.from(it.getCreatedAt()))
+                        .addValue("updated_at", Timestamp.from(it.getUpdatedAt()))
+                        .addValue("deleted_at", it.getDeletedAt() == null ? null : Timestamp.from(it.getDeletedAt()), Types.TIMESTAMP))
+                .toList();
+
+        this.jdbcUpsert.upsert("genres", "id", UPSERT_COLUMNS, UPSERT_UPDATE_COLUMNS, rows);
+
+        // As categorias dos gêneros do lote são substituídas por inteiro
+        final List<String> ids = genres.stream().map(Genre::getId).distinct().toList();
+        this.jdbcTemplate.update("DELETE FROM genres_categories WHERE genre_id IN (:ids)", Map.of("ids", ids));
+
+        final Map<String, Genre> lastById = new LinkedHashMap<>();
+        genres.forEach(it -> lastById.put(it.getId(), it));
+
+        final SqlParameterSource[] relations = lastById.values().stream()
+                .flatMap(it -> it.getCategories().stream().distinct().map(categoryId -> new MapSqlParameterSource()
+                        .addValue("genreId", it.getId())
+                        .addValue("categoryId", categoryId)))
+                .toArray(SqlParameterSource[]::new);
+
+        if (relations.length > 0) {
+            this.jdbcTemplate.batchUpdate("INSERT INTO genres_categories (genre_id, category_id) VALUES (:genreId, :categoryId)", relations);
+        }
+    }
+
     @Override
     public Pagination<Genre> findAll(final SearchQuery aQuery) {
         final var page = PageRequest.of(
                 aQuery.page(),
                 aQuery.perPage(),
-                Sort.by(Sort.Direction.fromString(aQuery.direction()), aQuery.sort())
+                SearchSpecifications.sortOf(aQuery)
         );
 
         final Specification<GenreEntity> specifications = Optional.ofNullable(aQuery.terms())
@@ -77,13 +150,53 @@ public class GenrePostgresqlGateway implements GenreGateway {
                 })
                 .orElse(null);
 
-        final Page<GenreEntity> pageResult = this.genreRepository.findAll(Specification.where(specifications), page);
+        // A página vem como GenreEntity, e não como projeção: categories é LAZY e nunca é tocada aqui, então o select
+        // traz só as colunas de genres, as mesmas que uma projeção traria. O findBy(spec, q -> q.as(...)) do Spring
+        // Data 3.4 carrega a entidade e só depois converte, e uma query Criteria própria duplicaria a contagem, o
+        // cursor e a ordenação por relevância de OffsetPagination/KeysetPagination
+        final Pagination<GenreEntity> result = aQuery.isKeyset()
+                ? KeysetPagination.findAll(this.genreRepository, specifications, aQuery, CURSOR_KEYS, GenreEntity::getId)
+                : OffsetPagination.findAll(this.genreRepository, SearchSpecifications.withRelevance(specifications, aQuery, "name"), page, aQuery.count(), () -> estimate(aQuery));
+
+        final Map<String, List<String>> categories = categoriesOf(result.items());
+
+        return result.map(it -> it.toDomain(categories.getOrDefault(it.getId(), List.of())));
+    }
+
+    @Override
+    public ChangeFeed<Genre> changes(final ChangeQuery query) {
+        return this.changeFeeds.changes("genres", query, ids -> {
+            final List<GenreEntity> genres = this.genreRepository.findAllById(ids);
+            final Map<String, List<String>> categories = categoriesOf(genres);
+
+            return genres.stream().map(it -> it.toDomain(categories.getOrDefault(it.getId(), List.of()))).toList();
+        }, Genre::getId);
+    }
+
+    // Um único select com IN sobre os ids da página, no lugar de um select de categorias por gênero
+    private Map<String, List<String>> categoriesOf(final List<GenreEntity> genres) {
+        if (genres.isEmpty()) {
+            return Map.of();
+        }
+
+        final List<String> ids = genres.stream().map(GenreEntity::getId).toList();
+
+        return this.genreRepository.findCategoryIdsByGenreIds(ids).stream()
+                .collect(Collectors.groupingBy(
+                        GenreCategoryID::getGenreId,
+                        Collectors.mapping(GenreCategoryID::getCategoryId, Collectors.toList())
+                ));
+    }
+
+    private long estimate(final SearchQuery aQuery) {
+        if (aQuery.terms() == null || aQuery.terms().isBlank()) {
+            return this.countEstimator.estimate("genres", null, null);
+        }
 
-        return new Pagination<>(
-                pageResult.getNumber(),
-                pageResult.getSize(),
-                pageResult.getTotalElements(),
-                pageResult.map(GenreEntity::toDomain).toList()
+        return this.countEstimator.estimate(
+                "genres",
+                "UPPER(name) LIKE :terms",
+                new MapSqlParameterSource("terms", "%" + aQuery.terms().toUpperCase() + "%")
         );
     }
 }
@@ -3,14 +3,26 @@ package com.dotflix.infrastructure.genre.persistence;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface GenreRepository extends JpaRepository<GenreEntity, String> {
+public interface GenreRepository extends JpaRepository<GenreEntity, String>, JpaSpecificationExecutor<GenreEntity> {
     Page<GenreEntity> findAll(Specification<GenreEntity> whereClause, Pageable page);
 
+    // categories é LAZY; na busca por id já traz as categorias no mesmo select
+    @Override
+    @EntityGraph(attributePaths = "categories")
+    Optional<GenreEntity> findById(String id);
+
     @Query(value = "select g.id from Genre g where g.id in :ids")
     List<String> existsByIds(@Param("ids") List<String> ids);
+
+    @Query(value = "select gc.id from GenreCategoryEntity gc where gc.id.genreId in :genreIds")
+    List<GenreCategoryID> findCategoryIdsByGenreIds(@Param("genreIds") Collection<String> genreIds);
 }
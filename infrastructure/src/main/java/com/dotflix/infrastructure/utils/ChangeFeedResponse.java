@@ -0,0 +1,40 @@
+package com.dotflix.infrastructure.utils;
+
+import com.dotflix.domain.Change;
+import com.dotflix.domain.ChangeFeed;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Resposta dos endpoints {@code /changes}. {@code data} vem nulo nos itens {@code deleted}.
+ */
+public record ChangeFeedResponse<T>(
+        @JsonProperty("items") List<Item<T>> items,
+        @JsonProperty("next_cursor") String nextCursor,
+        @JsonProperty("has_more") boolean hasMore
+) {
+
+    public record Item<T>(
+            @JsonProperty("id") String id,
+            @JsonProperty("type") String type,
+            @JsonProperty("changed_at") Instant changedAt,
+            @JsonProperty("data") T data
+    ) {
+    }
+
+    public static <T, R> ChangeFeedResponse<R> present(final ChangeFeed<T> feed, final Function<T, R> presenter) {
+        final ChangeFeed<R> presented = feed.map(presenter);
+
+        return new ChangeFeedResponse<>(
+                presented.items().stream().map(ChangeFeedResponse::item).toList(),
+                presented.nextCursor(),
+                presented.hasMore()
+        );
+    }
+
+    private static <R> Item<R> item(final Change<R> change) {
+        return new Item<>(change.id(), change.deleted() ? "deleted" : "upserted", change.changedAt(), change.item());
+    }
+}
@@ -0,0 +1,160 @@
+package com.dotflix.infrastructure.utils;
+
+import com.dotflix.domain.Change;
+import com.dotflix.domain.ChangeFeed;
+import com.dotflix.domain.ChangeQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Feed de mudanças de uma tabela do catálogo: as linhas com {@code updated_at} e os tombstones com {@code deleted_at}
+ * depois do cursor, juntos em ordem de (instante, id), pelos índices (updated_at, id) e (resource, deleted_at, id).
+ * <p>
+ * O {@code updated_at} é preenchido pela aplicação antes do commit, então uma transação lenta pode gravar um instante
+ * anterior ao de uma linha já entregue. Por isso o feed só vai até {@code now - sync.changes.settle}. Os tombstones são
+ * apagados depois de {@code sync.tombstones.retention}; um cursor mais antigo que isso exige uma sincronização completa.
+ */
+@Component
+public class ChangeFeeds {
+
+    private static final String SEPARATOR = "\n";
+
+    private static final String SELECT_CHANGES = """
+            SELECT id, changed_at, deleted FROM (
+                SELECT id, updated_at AS changed_at, FALSE AS deleted FROM %s
+                WHERE updated_at >= :at AND updated_at <= :until
+                UNION ALL
+                SELECT id, deleted_at AS changed_at, TRUE AS deleted FROM catalog_tombstones
+                WHERE resource = :resource AND deleted_at >= :at AND deleted_at <= :until
+            ) c
+            WHERE changed_at > :at OR id > :id
+            ORDER BY changed_at, id
+            LIMIT :limit
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration settle;
+    private final Duration retention;
+
+    public ChangeFeeds(
+            final NamedParameterJdbcTemplate jdbcTemplate,
+            final PlatformTransactionManager transactionManager,
+            @Value("${sync.changes.settle:5s}") final Duration settle,
+            @Value("${sync.tombstones.retention:30d}") final Duration retention
+    ) {
+        this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(Objects.requireNonNull(transactionManager));
+        this.settle = Objects.requireNonNull(settle);
+        this.retention = Objects.requireNonNull(retention);
+    }
+
+    /**
+     * @param table tabela do agregado; também é o resource dos tombstones
+     * @param load carrega os agregados dos ids alterados; os que não vierem foram apagados no meio e terão tombstone
+     */
+    public <T> ChangeFeed<T> changes(final String table, final ChangeQuery query, final Function<List<String>, List<T>> load, final Function<T, String> idOf) {
+        final Position since = decode(query.since());
+        final Instant now = Instant.now();
+
+        if (!query.since().isEmpty() && since.at().isBefore(now.minus(this.retention))) {
+            throw new IllegalArgumentException("Cursor is older than the tombstone retention, a full resync is required");
+        }
+
+        final MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("resource", table)
+                .addValue("at", Timestamp.from(since.at()))
+                .addValue("id", since.id())
+                .addValue("until", Timestamp.from(now.minus(this.settle)))
+                .addValue("limit", query.limit() + 1);
+
+        // Um a mais só para saber se há mais mudanças
+        final List<Position> rows = this.jdbcTemplate.query(SELECT_CHANGES.formatted(table), params, (rs, i) -> new Position(
+                rs.getTimestamp("changed_at").toInstant(),
+                rs.getString("id"),
+                rs.getBoolean("deleted")
+        ));
+
+        final boolean hasMore = rows.size() > query.limit();
+        final List<Position> page = hasMore ? rows.subList(0, query.limit()) : rows;
+
+        final List<String> alive = page.stream().filter(it -> !it.deleted()).map(Position::id).toList();
+        final Map<String, T> loaded = alive.isEmpty()
+                ? Map.of()
+                : load.apply(alive).stream().collect(Collectors.toMap(idOf, Function.identity(), (a, b) -> a));
+
+        final List<Change<T>> items = new ArrayList<>(page.size());
+        for (final Position it : page) {
+            if (it.deleted()) {
+                items.add(new Change<>(it.id(), it.at(), null));
+            } else if (loaded.containsKey(it.id())) {
+                items.add(new Change<>(it.id(), it.at(), loaded.get(it.id())));
+            }
+        }
+
+        final Position last = page.isEmpty() ? since : page.get(page.size() - 1);
+        return new ChangeFeed<>(items, encode(last), hasMore);
+    }
+
+    // Deve rodar na transação do delete; o tombstone anterior do mesmo id (apagado, recriado e apagado de novo) é trocado
+    public void tombstone(final String table, final String id) {
+        final Map<String, Object> params = Map.of("resource", table, "id", id, "deletedAt", Timestamp.from(Instant.now()));
+
+        this.jdbcTemplate.update("DELETE FROM catalog_tombstones WHERE resource = :resource AND id = :id", params);
+        this.jdbcTemplate.update("INSERT INTO catalog_tombstones (resource, id, deleted_at) VALUES (:resource, :id, :deletedAt)", params);
+    }
+
+    @Scheduled(fixedDelayString = "${sync.tombstones.purge-delay:3600000}")
+    public void purge() {
+        try {
+            this.transactionTemplate.executeWithoutResult(status -> this.jdbcTemplate.update(
+                    "DELETE FROM catalog_tombstones WHERE deleted_at < :before",
+                    Map.of("before", Timestamp.from(Instant.now().minus(this.retention)))
+            ));
+        } catch (Exception e) {
+            System.out.println("Erro: " + e.getMessage());
+        }
+    }
+
+    private static String encode(final Position position) {
+        final String raw = position.at() + SEPARATOR + position.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Position decode(final String cursor) {
+        if (cursor.isEmpty()) {
+            return new Position(Instant.EPOCH, "", false);
+        }
+
+        try {
+            final String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR, 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+
+            return new Position(Instant.parse(parts[0]), parts[1], false);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private record Position(Instant at, String id, boolean deleted) {
+    }
+}
@@ -0,0 +1,106 @@
+package com.dotflix.infrastructure.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * GET condicional: responde 304 sem corpo quando o {@code If-None-Match} (ou, na falta dele, o {@code If-Modified-Since})
+ * mostra que o cliente já tem a versão atual. Nos recursos por id o ETag é forte, feito de id + updatedAt; nas listagens é
+ * fraco, um hash do JSON da página. Nos recursos por id o corpo só é montado quando a resposta é 200.
+ * <p>
+ * As respostas saem com {@code Cache-Control: private, no-cache}, que permite ao navegador guardar e revalidar (o padrão
+ * do Spring Security é no-store, e sem guardar o cliente nunca manda o If-None-Match).
+ */
+public final class ConditionalGet {
+
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalGet() {
+    }
+
+    // Microssegundos: a precisão que o Postgres guarda no updated_at
+    public static String etag(final String id, final Instant updatedAt) {
+        return "\"" + id + "-" + ChronoUnit.MICROS.between(Instant.EPOCH, updatedAt) + "\"";
+    }
+
+    public static String weakEtag(final byte[] body) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return "W/\"" + HexFormat.of().formatHex(digest.digest(body), 0, 16) + "\"";
+    }
+
+    // Listagens: o JSON da página é gerado uma vez só, e os mesmos bytes servem para o ETag e para o corpo
+    public static ResponseEntity<byte[]> respondJson(final HttpHeaders request, final ObjectMapper mapper, final Object body) {
+        final byte[] json;
+        try {
+            json = mapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        final String etag = weakEtag(json);
+        if (notModified(request, etag, null)) {
+            return validators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), etag, null).build();
+        }
+
+        return validators(ResponseEntity.ok(), etag, null).contentType(MediaType.APPLICATION_JSON).body(json);
+    }
+
+    public static <T> ResponseEntity<T> respond(final HttpHeaders request, final String etag, final Instant lastModified, final Supplier<T> body) {
+        if (notModified(request, etag, lastModified)) {
+            return validators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), etag, lastModified).build();
+        }
+
+        return validators(ResponseEntity.ok(), etag, lastModified).body(body.get());
+    }
+
+    private static ResponseEntity.BodyBuilder validators(final ResponseEntity.BodyBuilder response, final String etag, final Instant lastModified) {
+        response.eTag(etag).cacheControl(REVALIDATE);
+        if (lastModified != null) {
+            response.lastModified(lastModified);
+        }
+
+        return response;
+    }
+
+    // If-None-Match tem precedência: quando presente, o If-Modified-Since é ignorado (RFC 9110)
+    static boolean notModified(final HttpHeaders request, final String etag, final Instant lastModified) {
+        final List<String> ifNoneMatch;
+        try {
+            ifNoneMatch = request.getIfNoneMatch();
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+
+        if (!ifNoneMatch.isEmpty()) {
+            final String current = opaque(etag);
+            return ifNoneMatch.stream().anyMatch(it -> "*".equals(it) || opaque(it).equals(current));
+        }
+
+        final long ifModifiedSince = request.getIfModifiedSince();
+        return lastModified != null && ifModifiedSince >= 0 && lastModified.getEpochSecond() * 1000 <= ifModifiedSince;
+    }
+
+    // Comparação fraca, como pede o If-None-Match
+    private static String opaque(final String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
@@ -0,0 +1,74 @@
+package com.dotflix.infrastructure.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.EmptySqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Estimativa de total para o modo {@code CountMode.ESTIMATED}. No Postgres usa {@code pg_class.reltuples} quando não há
+ * filtro e a estimativa de linhas do planner (EXPLAIN) quando há; em outros bancos (H2 nos testes) faz a contagem exata.
+ */
+@Component
+public class CountEstimator {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectMapper mapper;
+    private volatile Boolean postgres;
+
+    public CountEstimator(final NamedParameterJdbcTemplate jdbcTemplate, final ObjectMapper mapper) {
+        this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate);
+        this.mapper = Objects.requireNonNull(mapper);
+    }
+
+    public long estimate(final String table, final String condition, final SqlParameterSource params) {
+        return estimate(table, null, condition, params);
+    }
+
+    // A tabela vai sem o alias: é ela que o to_regclass resolve no caminho do reltuples
+    public long estimate(final String table, final String alias, final String condition, final SqlParameterSource params) {
+        final String from = alias == null ? table : table + " " + alias;
+        final String sql = "SELECT 1 FROM " + from + (condition == null ? "" : " WHERE " + condition);
+        final SqlParameterSource args = params == null ? EmptySqlParameterSource.INSTANCE : params;
+
+        if (!isPostgres()) {
+            final Long total = this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (" + sql + ") t", args, Long.class);
+            return total == null ? 0 : total;
+        }
+
+        if (condition == null) {
+            // reltuples é -1 enquanto a tabela nunca passou por VACUUM/ANALYZE
+            final Long tuples = this.jdbcTemplate.queryForObject(
+                    "SELECT COALESCE((SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(:table)), -1)",
+                    Map.of("table", table),
+                    Long.class
+            );
+
+            if (tuples != null && tuples >= 0) {
+                return tuples;
+            }
+        }
+
+        final String plan = this.jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, args, String.class);
+        try {
+            return this.mapper.readTree(plan).get(0).get("Plan").get("Plan Rows").asLong();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read the query plan", e);
+        }
+    }
+
+    private boolean isPostgres() {
+        if (this.postgres == null) {
+            this.postgres = this.jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Boolean>) conn ->
+                    "PostgreSQL".equalsIgnoreCase(conn.getMetaData().getDatabaseProductName())
+            );
+        }
+
+        return this.postgres;
+    }
+}
@@ -0,0 +1,83 @@
+package com.dotflix.infrastructure.utils;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Insert-or-update em lote via JDBC batch. No Postgres usa {@code INSERT ... ON CONFLICT DO UPDATE}; em outros bancos
+ * (H2 nos testes), que não têm essa sintaxe, usa o {@code MERGE} do padrão SQL. Os parâmetros têm o nome das colunas.
+ * <p>
+ * Com {@code reWriteBatchedInserts} o driver do Postgres junta o lote em um único INSERT com vários VALUES, e o Postgres
+ * recusa o statement inteiro quando a mesma chave aparece duas vezes ("ON CONFLICT DO UPDATE command cannot affect row a
+ * second time"). Por isso as linhas repetidas são removidas antes, ficando a última de cada chave.
+ */
+@Component
+public class JdbcUpsert {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres;
+
+    public JdbcUpsert(final NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate);
+    }
+
+    /**
+     * @param table tabela de destino
+     * @param key coluna da chave de conflito
+     * @param columns colunas gravadas na inserção
+     * @param updateColumns colunas sobrescritas quando a chave já existe (ex.: sem created_at)
+     * @param rows uma linha por item do lote
+     */
+    public void upsert(final String table, final String key, final List<String> columns, final List<String> updateColumns, final List<SqlParameterSource> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        final String sql = isPostgres()
+                ? onConflict(table, key, columns, updateColumns)
+                : merge(table, key, columns, updateColumns);
+
+        this.jdbcTemplate.batchUpdate(sql, lastByKey(key, rows).toArray(SqlParameterSource[]::new));
+    }
+
+    private static List<SqlParameterSource> lastByKey(final String key, final List<SqlParameterSource> rows) {
+        final Map<Object, SqlParameterSource> unique = new LinkedHashMap<>();
+        rows.forEach(row -> unique.put(row.getValue(key), row));
+
+        return unique.size() == rows.size() ? rows : List.copyOf(unique.values());
+    }
+
+    private static String onConflict(final String table, final String key, final List<String> columns, final List<String> updateColumns) {
+        return "INSERT INTO " + table + " (" + String.join(", ", columns) + ")"
+                + " VALUES (" + columns.stream().map(it -> ":" + it).collect(Collectors.joining(", ")) + ")"
+                + " ON CONFLICT (" + key + ") DO UPDATE SET "
+                + updateColumns.stream().map(it -> it + " = EXCLUDED." + it).collect(Collectors.joining(", "));
+    }
+
+    private static String merge(final String table, final String key, final List<String> columns, final List<String> updateColumns) {
+        return "MERGE INTO " + table + " t"
+                + " USING (VALUES (" + columns.stream().map(it -> ":" + it).collect(Collectors.joining(", ")) + "))"
+                + " s (" + String.join(", ", columns) + ")"
+                + " ON t." + key + " = s." + key
+                + " WHEN MATCHED THEN UPDATE SET " + updateColumns.stream().map(it -> it + " = s." + it).collect(Collectors.joining(", "))
+                + " WHEN NOT MATCHED THEN INSERT (" + String.join(", ", columns) + ")"
+                + " VALUES (" + columns.stream().map(it -> "s." + it).collect(Collectors.joining(", ")) + ")";
+    }
+
+    private boolean isPostgres() {
+        if (this.postgres == null) {
+            this.postgres = this.jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Boolean>) conn ->
+                    "PostgreSQL".equalsIgnoreCase(conn.getMetaData().getDatabaseProductName())
+            );
+        }
+
+        return this.postgres;
+    }
+}
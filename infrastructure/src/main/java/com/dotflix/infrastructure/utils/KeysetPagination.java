@@ -0,0 +1,141 @@
+package com.dotflix.infrastructure.utils;
+
+import com.dotflix.domain.CountMode;
+import com.dotflix.domain.Pagination;
+import com.dotflix.domain.SearchQuery;
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Paginação por cursor (keyset/seek): em vez de OFFSET, a próxima página começa depois da chave
+ * (sort, id) do último item, usando o índice composto da tabela. Não executa count.
+ */
+public final class KeysetPagination {
+
+    private static final String SEPARATOR = "\n";
+
+    private KeysetPagination() {
+    }
+
+    public static <E> Pagination<E> findAll(
+            final JpaSpecificationExecutor<E> repository,
+            final Specification<E> where,
+            final SearchQuery aQuery,
+            final Map<String, Function<E, Object>> sortKeys,
+            final Function<E, String> idOf
+    ) {
+        final Function<E, Object> sortKey = sortKeys.get(aQuery.sort());
+        if (sortKey == null) {
+            throw new IllegalArgumentException("Sort '%s' can not be used with a cursor".formatted(aQuery.sort()));
+        }
+
+        final Sort.Direction direction = Sort.Direction.fromString(aQuery.direction());
+        final Sort sort = Sort.by(direction, aQuery.sort()).and(Sort.by(direction, "id"));
+
+        Specification<E> specification = Specification.where(where);
+        if (!aQuery.after().isBlank()) {
+            specification = specification.and(seek(decode(aQuery.after(), aQuery.sort()), aQuery.sort(), direction));
+        }
+
+        // Busca um item a mais só para saber se existe próxima página
+        final List<E> rows;
+        try {
+            rows = repository.findBy(specification, q -> q.sortBy(sort).limit(aQuery.perPage() + 1).all());
+        } catch (InvalidCursorValue e) {
+            throw new IllegalArgumentException("Invalid cursor: " + aQuery.after());
+        }
+
+        final boolean hasNext = rows.size() > aQuery.perPage();
+        final List<E> items = hasNext ? rows.subList(0, aQuery.perPage()) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            final E last = items.get(items.size() - 1);
+            nextCursor = encode(aQuery.sort(), idOf.apply(last), sortKey.apply(last));
+        }
+
+        return new Pagination<>(aQuery.page(), aQuery.perPage(), -1, items, nextCursor, CountMode.NONE);
+    }
+
+    public static String encode(final String sort, final String id, final Object value) {
+        final String raw = sort + SEPARATOR + id + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decode(final String cursor, final String sort) {
+        final String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR, 3);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+
+        if (parts.length != 3 || !parts[0].equals(sort)) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+
+        return parts;
+    }
+
+    // (key > v) OR (key = v AND id > i), com key >= v redundante para o planner usar o índice (key, id)
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <E> Specification<E> seek(final String[] cursor, final String sort, final Sort.Direction direction) {
+        return (root, query, cb) -> {
+            final Path<Comparable> key = root.get(sort);
+            final Path<String> id = root.get("id");
+            final Comparable value;
+            try {
+                value = convert(cursor[2], key.getJavaType());
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new InvalidCursorValue();
+            }
+            final String lastId = cursor[1];
+
+            if (direction.isAscending()) {
+                return cb.and(
+                        cb.greaterThanOrEqualTo(key, value),
+                        cb.or(cb.greaterThan(key, value), cb.greaterThan(id, lastId))
+                );
+            }
+
+            return cb.and(
+                    cb.lessThanOrEqualTo(key, value),
+                    cb.or(cb.lessThan(key, value), cb.lessThan(id, lastId))
+            );
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparable convert(final String value, final Class<?> type) {
+        if (String.class.equals(type)) {
+            return value;
+        }
+
+        if (Instant.class.equals(type)) {
+            return Instant.parse(value);
+        }
+
+        if (type.isEnum()) {
+            return Enum.valueOf((Class<Enum>) type, value);
+        }
+
+        throw new IllegalArgumentException("Unsupported cursor type: " + type.getSimpleName());
+    }
+
+    // O valor só é convertido quando a query é montada, dentro do repositório; um IllegalArgumentException ali seria
+    // traduzido pelo Spring para InvalidDataAccessApiUsageException, então sai por esta exceção e o findAll a traduz
+    private static final class InvalidCursorValue extends RuntimeException {
+        private InvalidCursorValue() {
+            super(null, null, false, false);
+        }
+    }
+}
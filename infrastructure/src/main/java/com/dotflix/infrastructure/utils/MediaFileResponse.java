@@ -0,0 +1,196 @@
+package com.dotflix.infrastructure.utils;
+
+import com.dotflix.application.video.dto.ByteRange;
+import com.dotflix.application.video.dto.MediaRangeOutputDTO;
+import com.dotflix.domain.video.MediaFile;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.MimeTypeUtils;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Envia um {@link MediaFile} sem passar os bytes pela heap. Quando o conector do Tomcat suporta sendfile, a resposta
+ * sai só com os cabeçalhos e o próprio Tomcat entrega o arquivo do page cache para o socket; caso contrário o conteúdo é
+ * copiado com {@link FileChannel#transferTo}. Em ambos os casos só os bytes dos intervalos pedidos são lidos.
+ * <p>
+ * A escrita é feita na própria thread da requisição: com StreamingResponseBody o corpo é escrito em outra thread
+ * enquanto o HeaderWriterFilter do Spring Security ainda adiciona cabeçalhos na resposta.
+ */
+public final class MediaFileResponse {
+
+    static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final String BYTES_UNIT = "bytes=";
+
+    private MediaFileResponse() {
+    }
+
+    public static void write(final HttpServletRequest request, final HttpServletResponse response, final MediaFile aFile) throws IOException {
+        headers(response, HttpStatus.OK, aFile);
+        response.setContentType(aFile.contentType());
+        response.setContentLengthLong(aFile.length());
+
+        if (!sendfile(request, aFile, 0, aFile.length())) {
+            transfer(aFile, response.getOutputStream(), List.of(ByteRange.of(0, aFile.length() - 1)), null);
+        }
+    }
+
+    public static void write(final HttpServletRequest request, final HttpServletResponse response, final MediaRangeOutputDTO anOutput) throws IOException {
+        final MediaFile aFile = anOutput.file();
+
+        if (!anOutput.isPartial()) {
+            write(request, response, aFile);
+            return;
+        }
+
+        headers(response, HttpStatus.PARTIAL_CONTENT, aFile);
+
+        if (anOutput.ranges().size() == 1) {
+            final ByteRange range = anOutput.ranges().get(0);
+
+            response.setContentType(aFile.contentType());
+            response.setContentLengthLong(range.length());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, contentRange(range, aFile));
+
+            if (!sendfile(request, aFile, range.start(), range.end() + 1)) {
+                transfer(aFile, response.getOutputStream(), anOutput.ranges(), null);
+            }
+            return;
+        }
+
+        // Vários intervalos: multipart/byteranges, cada parte com o seu Content-Range
+        final String boundary = MimeTypeUtils.generateMultipartBoundaryString();
+        final List<byte[]> parts = new ArrayList<>(anOutput.ranges().size());
+        long length = 0;
+
+        for (final ByteRange range : anOutput.ranges()) {
+            final byte[] part = ("\r\n--" + boundary + "\r\n"
+                    + HttpHeaders.CONTENT_TYPE + ": " + aFile.contentType() + "\r\n"
+                    + HttpHeaders.CONTENT_RANGE + ": " + contentRange(range, aFile) + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+            parts.add(part);
+            length += part.length + range.length();
+        }
+
+        final byte[] end = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+        parts.add(end);
+        length += end.length;
+
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        response.setContentLengthLong(length);
+        transfer(aFile, response.getOutputStream(), anOutput.ranges(), parts);
+    }
+
+    /**
+     * Lê o cabeçalho Range ("bytes=0-99,200-,-500"). Um cabeçalho mal formado é ignorado (lista vazia), e a resposta
+     * volta a ser o arquivo inteiro.
+     */
+    public static List<ByteRange> parseRanges(final String header) {
+        if (header == null || !header.regionMatches(true, 0, BYTES_UNIT, 0, BYTES_UNIT.length())) {
+            return List.of();
+        }
+
+        final List<ByteRange> ranges = new ArrayList<>();
+        try {
+            for (final String spec : header.substring(BYTES_UNIT.length()).split(",")) {
+                final String value = spec.trim();
+                final int dash = value.indexOf('-');
+
+                if (dash < 0) {
+                    return List.of();
+                }
+
+                final String first = value.substring(0, dash).trim();
+                final String last = value.substring(dash + 1).trim();
+
+                if (first.isEmpty()) {
+                    ranges.add(ByteRange.last(Long.parseLong(last)));
+                } else if (last.isEmpty()) {
+                    ranges.add(ByteRange.from(Long.parseLong(first)));
+                } else {
+                    final long start = Long.parseLong(first);
+                    final long end = Long.parseLong(last);
+
+                    if (end < start) {
+                        return List.of();
+                    }
+                    ranges.add(ByteRange.of(start, end));
+                }
+            }
+        } catch (NumberFormatException e) {
+            return List.of();
+        }
+
+        for (final ByteRange range : ranges) {
+            if ((range.start() != null && range.start() < 0) || range.end() != null && range.end() < 0) {
+                return List.of();
+            }
+        }
+
+        return ranges;
+    }
+
+    private static void headers(final HttpServletResponse response, final HttpStatus status, final MediaFile aFile) {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.ETAG, "\"" + aFile.checksum() + "\"");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline().filename(aFile.name()).build().toString());
+    }
+
+    private static String contentRange(final ByteRange range, final MediaFile aFile) {
+        return "bytes " + range.start() + "-" + range.end() + "/" + aFile.length();
+    }
+
+    private static boolean sendfile(final HttpServletRequest request, final MediaFile aFile, final long start, final long end) {
+        if (!Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            return false;
+        }
+
+        request.setAttribute(SENDFILE_FILENAME, aFile.path().toString());
+        request.setAttribute(SENDFILE_START, start);
+        request.setAttribute(SENDFILE_END, end);
+        return true;
+    }
+
+    // parts, quando presente, tem o cabeçalho de cada intervalo e por último o fechamento do multipart
+    private static void transfer(final MediaFile aFile, final OutputStream out, final List<ByteRange> ranges, final List<byte[]> parts) throws IOException {
+        try (FileChannel channel = FileChannel.open(aFile.path(), StandardOpenOption.READ)) {
+            final WritableByteChannel target = Channels.newChannel(out);
+
+            for (int i = 0; i < ranges.size(); i++) {
+                if (parts != null) {
+                    out.write(parts.get(i));
+                }
+
+                final ByteRange range = ranges.get(i);
+                final long end = range.end() + 1;
+                long position = range.start();
+
+                while (position < end) {
+                    final long sent = channel.transferTo(position, end - position, target);
+                    if (sent <= 0) {
+                        break;
+                    }
+                    position += sent;
+                }
+            }
+
+            if (parts != null) {
+                out.write(parts.get(parts.size() - 1));
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.dotflix.infrastructure.utils;
+
+import com.dotflix.application.BatchItemResult;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Processa um corpo NDJSON (um objeto JSON por linha) em blocos de {@link #CHUNK_SIZE} itens e escreve um resultado
+ * NDJSON por item, na ordem da entrada, à medida que cada bloco é gravado. A entrada nunca é carregada inteira em memória.
+ */
+public final class NdjsonBatch {
+
+    public static final int CHUNK_SIZE = 500;
+
+    private NdjsonBatch() {
+    }
+
+    @FunctionalInterface
+    public interface ChunkHandler<T> {
+        List<BatchItemResult> handle(List<T> items) throws Exception;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record ItemResponse(
+            @JsonProperty("index") long index,
+            @JsonProperty("id") String id,
+            @JsonProperty("status") BatchItemResult.Status status,
+            @JsonProperty("error") String error
+    ) {
+    }
+
+    public static <T> StreamingResponseBody stream(final InputStream body, final ObjectMapper mapper, final Class<T> type, final ChunkHandler<T> handler) {
+        return out -> {
+            final BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+            final List<T> chunk = new ArrayList<>(CHUNK_SIZE);
+            final List<Long> positions = new ArrayList<>(CHUNK_SIZE);
+            // Linhas com JSON inválido do bloco atual: o resultado delas sai no flush, entre os demais, na ordem da entrada
+            final List<Long> invalid = new ArrayList<>();
+
+            long index = 0;
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                final long position = index++;
+
+                try {
+                    chunk.add(mapper.readValue(line, type));
+                    positions.add(position);
+                } catch (JsonProcessingException e) {
+                    invalid.add(position);
+                }
+
+                if (chunk.size() + invalid.size() == CHUNK_SIZE) {
+                    flush(out, mapper, chunk, positions, invalid, handler);
+                }
+            }
+
+            flush(out, mapper, chunk, positions, invalid, handler);
+        };
+    }
+
+    private static <T> void flush(final OutputStream out, final ObjectMapper mapper, final List<T> chunk, final List<Long> positions, final List<Long> invalid, final ChunkHandler<T> handler) throws IOException {
+        if (chunk.isEmpty() && invalid.isEmpty()) {
+            return;
+        }
+
+        List<BatchItemResult> results = List.of();
+        if (!chunk.isEmpty()) {
+            try {
+                results = handler.handle(List.copyOf(chunk));
+            } catch (Exception e) {
+                results = chunk.stream().map(it -> BatchItemResult.failed(null, e.getMessage())).toList();
+            }
+        }
+
+        // Intercala os resultados do bloco com as linhas inválidas pela posição
+        int next = 0;
+        for (int i = 0; i < results.size(); i++) {
+            while (next < invalid.size() && invalid.get(next) < positions.get(i)) {
+                write(out, mapper, new ItemResponse(invalid.get(next++), null, BatchItemResult.Status.FAILED, "Invalid JSON"));
+            }
+
+            final BatchItemResult result = results.get(i);
+            write(out, mapper, new ItemResponse(positions.get(i), result.id(), result.status(), result.error()));
+        }
+        while (next < invalid.size()) {
+            write(out, mapper, new ItemResponse(invalid.get(next++), null, BatchItemResult.Status.FAILED, "Invalid JSON"));
+        }
+
+        out.flush();
+        chunk.clear();
+        positions.clear();
+        invalid.clear();
+    }
+
+    private static void write(final OutputStream out, final ObjectMapper mapper, final ItemResponse response) throws IOException {
+        out.write(mapper.writeValueAsBytes(response));
+        out.write('\n');
+    }
+}
@@ -0,0 +1,53 @@
+package com.dotflix.infrastructure.utils;
+
+import com.dotflix.domain.CountMode;
+import com.dotflix.domain.Pagination;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import java.util.function.LongSupplier;
+
+/**
+ * Paginação por página/OFFSET. O count(*) só é executado no modo {@link CountMode#EXACT}; nos demais a página é
+ * buscada sem contagem e o total vem da estimativa (ou -1).
+ */
+public final class OffsetPagination {
+
+    private OffsetPagination() {
+    }
+
+    public static <E> Pagination<E> findAll(
+            final JpaSpecificationExecutor<E> repository,
+            final Specification<E> where,
+            final Pageable page,
+            final CountMode count,
+            final LongSupplier estimate
+    ) {
+        if (count == CountMode.EXACT) {
+            final Page<E> pageResult = repository.findAll(Specification.where(where), page);
+
+            return new Pagination<>(
+                    pageResult.getNumber(),
+                    pageResult.getSize(),
+                    pageResult.getTotalElements(),
+                    pageResult.getContent(),
+                    null,
+                    CountMode.EXACT
+            );
+        }
+
+        // ScrollPosition.offset(n) continua depois do índice n, por isso o -1
+        final ScrollPosition position = page.getOffset() == 0 ? ScrollPosition.offset() : ScrollPosition.offset(page.getOffset() - 1);
+        final Window<E> window = repository.findBy(
+                Specification.where(where),
+                q -> q.sortBy(page.getSort()).limit(page.getPageSize()).scroll(position)
+        );
+
+        final long total = count == CountMode.ESTIMATED ? estimate.getAsLong() : -1;
+
+        return new Pagination<>(page.getPageNumber(), page.getPageSize(), total, window.getContent(), null, count);
+    }
+}
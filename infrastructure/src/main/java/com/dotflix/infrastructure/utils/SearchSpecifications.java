@@ -0,0 +1,52 @@
+package com.dotflix.infrastructure.utils;
+
+import com.dotflix.domain.SearchQuery;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Ordenação por relevância ({@code sort=relevance}): similarity() do pg_trgm entre o termo e o atributo, mais
+ * relevantes primeiro. Os filtros LIKE sobre UPPER(...) usam os índices GIN trigram (db/vendor/postgresql).
+ */
+public final class SearchSpecifications {
+
+    public static final String RELEVANCE = "relevance";
+
+    private SearchSpecifications() {
+    }
+
+    public static boolean isRelevance(final SearchQuery aQuery) {
+        return RELEVANCE.equalsIgnoreCase(aQuery.sort());
+    }
+
+    public static Sort sortOf(final SearchQuery aQuery) {
+        if (!isRelevance(aQuery)) {
+            return Sort.by(Sort.Direction.fromString(aQuery.direction()), aQuery.sort());
+        }
+
+        // Sem termo não há relevância a calcular
+        if (aQuery.terms() == null || aQuery.terms().isBlank()) {
+            return Sort.by(Sort.Direction.ASC, "name");
+        }
+
+        return Sort.unsorted();
+    }
+
+    public static <E> Specification<E> withRelevance(final Specification<E> where, final SearchQuery aQuery, final String attribute) {
+        if (!isRelevance(aQuery) || aQuery.terms() == null || aQuery.terms().isBlank()) {
+            return where;
+        }
+
+        final String terms = aQuery.terms().toUpperCase();
+
+        final Specification<E> relevance = (root, query, cb) -> {
+            query.orderBy(
+                    cb.desc(cb.function("similarity", Double.class, cb.upper(root.get(attribute)), cb.literal(terms))),
+                    cb.asc(root.get("id"))
+            );
+            return null;
+        };
+
+        return Specification.where(where).and(relevance);
+    }
+}
@@ -0,0 +1,49 @@
+package com.dotflix.infrastructure.utils;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Implementação em Java do similarity() do pg_trgm, registrada como função no H2 (db/vendor/h2) para que a ordenação
+ * por relevância funcione igual nos testes.
+ */
+public final class TrigramSimilarity {
+
+    private TrigramSimilarity() {
+    }
+
+    public static double similarity(final String a, final String b) {
+        if (a == null || b == null) {
+            return 0;
+        }
+
+        final Set<String> left = trigrams(a);
+        final Set<String> right = trigrams(b);
+        if (left.isEmpty() || right.isEmpty()) {
+            return 0;
+        }
+
+        final Set<String> shared = new HashSet<>(left);
+        shared.retainAll(right);
+
+        return (double) shared.size() / (left.size() + right.size() - shared.size());
+    }
+
+    // Cada palavra recebe dois espaços antes e um depois, como no pg_trgm
+    private static Set<String> trigrams(final String value) {
+        final Set<String> trigrams = new HashSet<>();
+
+        for (final String word : value.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+
+            final String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+
+        return trigrams;
+    }
+}
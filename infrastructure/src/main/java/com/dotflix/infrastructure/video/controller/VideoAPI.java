@@ -0,0 +1,104 @@
+package com.dotflix.infrastructure.video.controller;
+
+import com.dotflix.infrastructure.video.controller.dto.CreateUploadSessionRequest;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.io.IOException;
+import java.io.InputStream;
+
+@RequestMapping(value = "videos")
+@Tag(name = "Videos")
+public interface VideoAPI {
+    @GetMapping(value = "{id}/medias/{type}")
+    @Operation(summary = "Download a video media by it's type, whole or by byte ranges")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Media sent successfully"),
+            @ApiResponse(responseCode = "206", description = "The requested byte ranges were sent"),
+            @ApiResponse(responseCode = "404", description = "Media was not found"),
+            @ApiResponse(responseCode = "416", description = "None of the requested ranges is satisfiable"),
+            @ApiResponse(responseCode = "500", description = "An internal server error was thrown"),
+    })
+    void getMediaByType(
+            @PathVariable(name = "id") String id,
+            @PathVariable(name = "type") String type,
+            @RequestHeader(name = HttpHeaders.RANGE, required = false) String range,
+            @RequestHeader(name = HttpHeaders.IF_RANGE, required = false) String ifRange,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException;
+
+    @PostMapping(
+            value = "{id}/uploads",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    @Operation(summary = "Start a resumable upload of a video or trailer media")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Upload session created successfully"),
+            @ApiResponse(responseCode = "404", description = "Video was not found"),
+            @ApiResponse(responseCode = "422", description = "A validation error was thrown"),
+            @ApiResponse(responseCode = "500", description = "An internal server error was thrown"),
+    })
+    ResponseEntity<?> createUploadSession(@PathVariable(name = "id") String id, @RequestBody CreateUploadSessionRequest request);
+
+    @PutMapping(
+            value = "{id}/uploads/{sessionId}",
+            consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    @Operation(summary = "Send a chunk of a resumable upload starting at the given offset")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Chunk stored successfully"),
+            @ApiResponse(responseCode = "404", description = "Upload session was not found"),
+            @ApiResponse(responseCode = "422", description = "The chunk is outside of the upload or overlaps another chunk"),
+            @ApiResponse(responseCode = "500", description = "An internal server error was thrown"),
+    })
+    ResponseEntity<?> uploadChunk(
+            @PathVariable(name = "id") String id,
+            @PathVariable(name = "sessionId") String sessionId,
+            @RequestParam(name = "offset") long offset,
+            InputStream body
+    );
+
+    @GetMapping(
+            value = "{id}/uploads/{sessionId}",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    @Operation(summary = "Get the chunks already received by a resumable upload")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Upload session retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Upload session was not found"),
+            @ApiResponse(responseCode = "500", description = "An internal server error was thrown"),
+    })
+    ResponseEntity<?> getUploadSession(@PathVariable(name = "id") String id, @PathVariable(name = "sessionId") String sessionId);
+
+    @PostMapping(
+            value = "{id}/uploads/{sessionId}/complete",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    @Operation(summary = "Finish a resumable upload, verifying its checksum and storing the media")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Media stored successfully"),
+            @ApiResponse(responseCode = "404", description = "Upload session was not found"),
+            @ApiResponse(responseCode = "422", description = "Chunks are missing or the checksum doesn't match"),
+            @ApiResponse(responseCode = "500", description = "An internal server error was thrown"),
+    })
+    ResponseEntity<?> completeUploadSession(@PathVariable(name = "id") String id, @PathVariable(name = "sessionId") String sessionId);
+
+    @DeleteMapping(value = "{id}/uploads/{sessionId}")
+    @Operation(summary = "Abort a resumable upload, discarding the received chunks")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Upload session deleted successfully"),
+            @ApiResponse(responseCode = "404", description = "Upload session was not found"),
+            @ApiResponse(responseCode = "500", description = "An internal server error was thrown"),
+    })
+    ResponseEntity<?> abortUploadSession(@PathVariable(name = "id") String id, @PathVariable(name = "sessionId") String sessionId);
+}
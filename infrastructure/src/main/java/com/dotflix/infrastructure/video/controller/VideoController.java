@@ -0,0 +1,134 @@
+package com.dotflix.infrastructure.video.controller;
+
+import com.dotflix.application.video.*;
+import com.dotflix.application.video.dto.CreateUploadSessionDTO;
+import com.dotflix.application.video.dto.GetMediaDTO;
+import com.dotflix.application.video.dto.GetMediaRangeDTO;
+import com.dotflix.application.video.dto.UploadChunkDTO;
+import com.dotflix.application.video.dto.UploadSessionDTO;
+import com.dotflix.application.video.dto.UploadSessionOutputDTO;
+import com.dotflix.application.video.exceptions.*;
+import com.dotflix.infrastructure.utils.MediaFileResponse;
+import com.dotflix.infrastructure.video.controller.dto.CreateUploadSessionRequest;
+import com.dotflix.infrastructure.video.controller.presenter.VideoApiPresenter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@RestController
+public class VideoController implements VideoAPI {
+
+    private final GetMediaUseCase getMediaUseCase;
+    private final GetMediaRangeUseCase getMediaRangeUseCase;
+    private final CreateUploadSessionUseCase createUploadSessionUseCase;
+    private final UploadChunkUseCase uploadChunkUseCase;
+    private final GetUploadSessionUseCase getUploadSessionUseCase;
+    private final CompleteUploadSessionUseCase completeUploadSessionUseCase;
+    private final AbortUploadSessionUseCase abortUploadSessionUseCase;
+
+    public VideoController(final GetMediaUseCase getMediaUseCase, final GetMediaRangeUseCase getMediaRangeUseCase, final CreateUploadSessionUseCase createUploadSessionUseCase, final UploadChunkUseCase uploadChunkUseCase, final GetUploadSessionUseCase getUploadSessionUseCase, final CompleteUploadSessionUseCase completeUploadSessionUseCase, final AbortUploadSessionUseCase abortUploadSessionUseCase) {
+        this.getMediaUseCase = Objects.requireNonNull(getMediaUseCase);
+        this.getMediaRangeUseCase = Objects.requireNonNull(getMediaRangeUseCase);
+        this.createUploadSessionUseCase = Objects.requireNonNull(createUploadSessionUseCase);
+        this.uploadChunkUseCase = Objects.requireNonNull(uploadChunkUseCase);
+        this.getUploadSessionUseCase = Objects.requireNonNull(getUploadSessionUseCase);
+        this.completeUploadSessionUseCase = Objects.requireNonNull(completeUploadSessionUseCase);
+        this.abortUploadSessionUseCase = Objects.requireNonNull(abortUploadSessionUseCase);
+    }
+
+    @Override
+    public void getMediaByType(final String id, final String type, final String range, final String ifRange, final HttpServletRequest request, final HttpServletResponse response) throws IOException {
+        try {
+            if (range == null) {
+                MediaFileResponse.write(request, response, this.getMediaUseCase.execute(GetMediaDTO.with(id, type)));
+            } else {
+                MediaFileResponse.write(request, response, this.getMediaRangeUseCase.execute(GetMediaRangeDTO.with(id, type, MediaFileResponse.parseRanges(range), ifRange)));
+            }
+        } catch (IOException e) {
+            throw e;
+        } catch (RangeNotSatisfiableException e) {
+            response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + e.length());
+        } catch (MediaNotFoundException | ResourceNotFoundException | IllegalArgumentException e) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+        } catch (Exception e) {
+            System.out.println("Erro: " + e);
+
+            response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+        }
+    }
+
+    @Override
+    public ResponseEntity<?> createUploadSession(final String id, final CreateUploadSessionRequest request) {
+        final CreateUploadSessionDTO aCmd = CreateUploadSessionDTO.with(id, request.type(), request.name(), request.contentType(), request.length() != null ? request.length() : 0, request.checksum());
+
+        return handle(() -> {
+            final UploadSessionOutputDTO output = this.createUploadSessionUseCase.execute(aCmd);
+
+            return ResponseEntity.created(URI.create("/videos/" + id + "/uploads/" + output.id())).body(VideoApiPresenter.present(output));
+        });
+    }
+
+    @Override
+    public ResponseEntity<?> uploadChunk(final String id, final String sessionId, final long offset, final InputStream body) {
+        return handle(() -> ResponseEntity.ok(VideoApiPresenter.present(this.uploadChunkUseCase.execute(UploadChunkDTO.with(id, sessionId, offset, body)))));
+    }
+
+    @Override
+    public ResponseEntity<?> getUploadSession(final String id, final String sessionId) {
+        return handle(() -> ResponseEntity.ok(VideoApiPresenter.present(this.getUploadSessionUseCase.execute(UploadSessionDTO.with(id, sessionId)))));
+    }
+
+    @Override
+    public ResponseEntity<?> completeUploadSession(final String id, final String sessionId) {
+        return handle(() -> ResponseEntity.ok(VideoApiPresenter.present(this.completeUploadSessionUseCase.execute(UploadSessionDTO.with(id, sessionId)))));
+    }
+
+    @Override
+    public ResponseEntity<?> abortUploadSession(final String id, final String sessionId) {
+        return handle(() -> {
+            this.abortUploadSessionUseCase.execute(UploadSessionDTO.with(id, sessionId));
+
+            return ResponseEntity.noContent().build();
+        });
+    }
+
+    private interface Action {
+        ResponseEntity<?> run() throws Exception;
+    }
+
+    // Sessão/vídeo inexistente vira 404 e erro de validação (do upload ou do domínio, que lança Exception puro) vira 422;
+    // qualquer outra falha (I/O, banco) é erro do servidor e vira 500
+    private static ResponseEntity<?> handle(final Action action) {
+        try {
+            return action.run();
+        } catch (VideoNotFoundException | UploadSessionNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (InvalidUploadException | MediaNotFoundException e) {
+            return unprocessable(e);
+        } catch (Exception e) {
+            System.out.println("Erro: " + e);
+
+            if (e.getClass() == Exception.class) {
+                return unprocessable(e);
+            }
+
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    private static ResponseEntity<?> unprocessable(final Exception e) {
+        return ResponseEntity.unprocessableEntity().body(Map.of(
+                "errors", List.of(Map.of("message", String.valueOf(e.getMessage())))
+        ));
+    }
+}
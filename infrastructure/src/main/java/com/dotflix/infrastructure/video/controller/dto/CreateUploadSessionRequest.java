@@ -0,0 +1,12 @@
+package com.dotflix.infrastructure.video.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record CreateUploadSessionRequest(
+        @JsonProperty("type") String type,
+        @JsonProperty("name") String name,
+        @JsonProperty("content_type") String contentType,
+        @JsonProperty("length") Long length,
+        @JsonProperty("checksum") String checksum
+) {
+}
@@ -0,0 +1,9 @@
+package com.dotflix.infrastructure.video.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record UploadMediaResponse(
+        @JsonProperty("video_id") String videoId,
+        @JsonProperty("media_type") String mediaType
+) {
+}
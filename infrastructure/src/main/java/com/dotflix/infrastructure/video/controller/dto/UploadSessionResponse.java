@@ -0,0 +1,19 @@
+package com.dotflix.infrastructure.video.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+public record UploadSessionResponse(
+        @JsonProperty("id") String id,
+        @JsonProperty("video_id") String videoId,
+        @JsonProperty("type") String type,
+        @JsonProperty("length") long length,
+        @JsonProperty("received") long received,
+        @JsonProperty("chunks") List<Chunk> chunks
+) {
+    public record Chunk(
+            @JsonProperty("offset") long offset,
+            @JsonProperty("length") long length
+    ) {
+    }
+}
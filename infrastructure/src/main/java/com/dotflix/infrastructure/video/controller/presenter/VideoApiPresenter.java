@@ -0,0 +1,23 @@
+package com.dotflix.infrastructure.video.controller.presenter;
+
+import com.dotflix.application.video.dto.UploadMediaOutputDTO;
+import com.dotflix.application.video.dto.UploadSessionOutputDTO;
+import com.dotflix.infrastructure.video.controller.dto.UploadMediaResponse;
+import com.dotflix.infrastructure.video.controller.dto.UploadSessionResponse;
+
+public interface VideoApiPresenter {
+    static UploadSessionResponse present(final UploadSessionOutputDTO output) {
+        return new UploadSessionResponse(
+                output.id(),
+                output.videoId(),
+                output.type().name(),
+                output.length(),
+                output.received(),
+                output.chunks().stream().map(it -> new UploadSessionResponse.Chunk(it.offset(), it.length())).toList()
+        );
+    }
+
+    static UploadMediaResponse present(final UploadMediaOutputDTO output) {
+        return new UploadMediaResponse(output.videoId(), output.mediaType().name());
+    }
+}
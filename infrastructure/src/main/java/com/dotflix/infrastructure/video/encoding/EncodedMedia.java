@@ -0,0 +1,10 @@
+package com.dotflix.infrastructure.video.encoding;
+
+/**
+ * Resultado do encoder: o arquivo codificado fica em {@code folder/filename}
+ */
+public record EncodedMedia(String folder, String filename, long bytes) {
+    public static EncodedMedia with(final String folder, final String filename, final long bytes) {
+        return new EncodedMedia(folder, filename, bytes);
+    }
+}
@@ -0,0 +1,12 @@
+package com.dotflix.infrastructure.video.encoding;
+
+import com.dotflix.domain.video.VideoMediaType;
+
+/**
+ * Uma mídia de áudio/vídeo a codificar; {@code rawLocation} é o arquivo original gravado pelo upload
+ */
+public record EncodingJob(String videoId, String mediaId, VideoMediaType type, String name, String rawLocation) {
+    public static EncodingJob with(final String videoId, final String mediaId, final VideoMediaType type, final String name, final String rawLocation) {
+        return new EncodingJob(videoId, mediaId, type, name, rawLocation);
+    }
+}
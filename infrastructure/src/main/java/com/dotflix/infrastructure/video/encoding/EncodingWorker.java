@@ -0,0 +1,298 @@
+package com.dotflix.infrastructure.video.encoding;
+
+import com.dotflix.application.video.UpdateMediaStatusUseCase;
+import com.dotflix.application.video.dto.UpdateMediaStatusDTO;
+import com.dotflix.domain.video.*;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Consome os eventos {@link VideoMediaCreated} e codifica as mídias com o {@link MediaEncoder}.
+ * <ul>
+ *     <li>Fila limitada e um pool de {@code concurrency} threads (por padrão, o número de cores): com a fila cheia quem
+ *     publica espera, e a espera volta até o relay da outbox, que deixa os eventos na tabela.</li>
+ *     <li>O status da mídia é reportado pelo {@link UpdateMediaStatusUseCase}: PROCESSING ao começar, COMPLETED ao
+ *     terminar e ERROR depois de esgotar as tentativas. Um evento repetido não codifica a mídia de novo: só é resolvida
+ *     uma mídia PENDING com o mesmo arquivo, e a passagem para PROCESSING é recusada se outro worker já a fez. COMPLETED
+ *     é final; uma mídia em ERROR só volta a ser codificada quando é reenviada para PENDING (ver {@link MediaStatus}).</li>
+ *     <li>Falhas são tentadas de novo com backoff exponencial; a espera é agendada fora do pool, sem ocupar uma thread.
+ *     As threads do agendador nunca esperam pela fila: com ela cheia, a nova tentativa é reagendada.</li>
+ *     <li>Cada mídia em codificação tem um dono ({@code claimed_at}), renovado a cada {@code recoveryInterval} por uma
+ *     tarefa própria, que não fica atrás da recuperação nem das novas tentativas. Uma mídia
+ *     PENDING ou PROCESSING sem renovação há mais de {@code lease} foi abandonada (processo caiu, evento perdido no
+ *     caminho) e é retomada por qualquer worker. Ao encerrar, as mídias que não terminaram voltam para PENDING sem dono e
+ *     são retomadas na próxima rodada de recuperação.</li>
+ * </ul>
+ * Métricas: {@code encoding.duration}, {@code encoding.bytes}, {@code encoding.jobs} (por resultado, incluindo
+ * {@code recovered}), {@code encoding.queue} e {@code encoding.active}.
+ */
+public class EncodingWorker implements AutoCloseable {
+
+    private final VideoGateway videoGateway;
+    private final UpdateMediaStatusUseCase updateMediaStatusUseCase;
+    private final MediaEncoder encoder;
+    private final int maxAttempts;
+    private final Duration backoff;
+    private final Duration lease;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, Double> progress = new ConcurrentHashMap<>();
+    // Mídias em PROCESSING com este worker, em codificação ou esperando uma nova tentativa
+    private final Map<String, EncodingJob> claimed = new ConcurrentHashMap<>();
+
+    private final Timer duration;
+    private final Counter bytes;
+    private final Counter completed;
+    private final Counter failed;
+    private final Counter retried;
+    private final Counter recovered;
+
+    public EncodingWorker(
+            final VideoGateway videoGateway,
+            final UpdateMediaStatusUseCase updateMediaStatusUseCase,
+            final MediaEncoder encoder,
+            final MeterRegistry registry,
+            final int concurrency,
+            final int queueCapacity,
+            final int maxAttempts,
+            final Duration backoff,
+            final Duration lease,
+            final Duration recoveryInterval
+    ) {
+        this.videoGateway = Objects.requireNonNull(videoGateway);
+        this.updateMediaStatusUseCase = Objects.requireNonNull(updateMediaStatusUseCase);
+        this.encoder = Objects.requireNonNull(encoder);
+        this.maxAttempts = maxAttempts;
+        this.backoff = Objects.requireNonNull(backoff);
+        this.lease = Objects.requireNonNull(lease);
+
+        final AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                concurrency,
+                concurrency,
+                0,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> new Thread(task, "encoding-worker-" + threads.incrementAndGet()),
+                EncodingWorker::waitForSpace
+        );
+        // As threads só recebem trabalho pela fila (ver offer), então já nascem todas
+        this.executor.prestartAllCoreThreads();
+
+        final AtomicInteger schedulerThreads = new AtomicInteger();
+        this.scheduler = Executors.newScheduledThreadPool(2, task -> {
+            final Thread thread = new Thread(task, "encoding-scheduler-" + schedulerThreads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.duration = Timer.builder("encoding.duration").publishPercentiles(0.5, 0.99).register(registry);
+        this.bytes = Counter.builder("encoding.bytes").baseUnit("bytes").register(registry);
+        this.completed = Counter.builder("encoding.jobs").tag("outcome", "completed").register(registry);
+        this.failed = Counter.builder("encoding.jobs").tag("outcome", "failed").register(registry);
+        this.retried = Counter.builder("encoding.jobs").tag("outcome", "retried").register(registry);
+        this.recovered = Counter.builder("encoding.jobs").tag("outcome", "recovered").register(registry);
+        registry.gauge("encoding.queue", this.executor, it -> it.getQueue().size());
+        registry.gauge("encoding.active", this.executor, ThreadPoolExecutor::getActiveCount);
+
+        final long interval = recoveryInterval.toMillis();
+        this.scheduler.scheduleWithFixedDelay(this::renewClaims, interval, interval, TimeUnit.MILLISECONDS);
+        this.scheduler.scheduleWithFixedDelay(this::recover, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    // Chamado pela thread do barramento de eventos: só enfileira, a busca da mídia já acontece no pool
+    public void onMediaCreated(final VideoMediaCreated event) {
+        this.executor.execute(() -> resolve(event).ifPresent(job -> {
+            if (status(job, MediaStatus.PROCESSING, null)) {
+                this.claimed.put(job.mediaId(), job);
+                attempt(job, 1);
+            }
+        }));
+    }
+
+    // Renova a posse das mídias deste worker, em codificação ou esperando uma nova tentativa
+    public void renewClaims() {
+        try {
+            this.videoGateway.renewMediaClaims(Set.copyOf(this.claimed.keySet()));
+        } catch (Exception e) {
+            System.out.println("Erro: renewing the encoding claims failed: " + e);
+        }
+    }
+
+    // Retoma as mídias abandonadas, só o que cabe na fila sem esperar por espaço
+    public void recover() {
+        try {
+            final int room = this.executor.getQueue().remainingCapacity();
+            if (room == 0 || this.executor.isShutdown()) {
+                return;
+            }
+
+            final Instant before = Instant.now().minus(this.lease);
+            for (final VideoMediaRef media : this.videoGateway.findAbandonedMedia(before, room)) {
+                if (!this.claimed.containsKey(media.mediaId()) && !offer(() -> reclaim(media, before))) {
+                    // Fila cheia: o resto fica para a próxima rodada
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            System.out.println("Erro: encoding recovery failed: " + e);
+        }
+    }
+
+    // Fração concluída de cada mídia em codificação, pelo id da mídia
+    public Map<String, Double> inProgress() {
+        return Map.copyOf(this.progress);
+    }
+
+    // Espera os jobs em andamento; o que não terminar (ou esperava uma nova tentativa) volta para PENDING
+    @Override
+    public void close() throws InterruptedException {
+        this.scheduler.shutdownNow();
+        this.executor.shutdown();
+        if (!this.executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            this.executor.shutdownNow();
+        }
+
+        this.claimed.values().forEach(this::release);
+    }
+
+    private void reclaim(final VideoMediaRef media, final Instant before) {
+        if (!this.videoGateway.claimMedia(media, before)) {
+            return;
+        }
+
+        final Optional<EncodingJob> job = this.videoGateway.findById(media.videoId()).flatMap(aVideo -> job(aVideo, media.mediaId()));
+        if (job.isEmpty()) {
+            return;
+        }
+
+        this.recovered.increment();
+        this.claimed.put(media.mediaId(), job.get());
+        attempt(job.get(), 1);
+    }
+
+    private void release(final EncodingJob job) {
+        try {
+            this.videoGateway.releaseMedia(VideoMediaRef.with(job.videoId(), job.mediaId()));
+            this.claimed.remove(job.mediaId());
+        } catch (Exception e) {
+            System.out.println("Erro: releasing " + job.mediaId() + " failed, it is recovered when its claim expires: " + e);
+        }
+    }
+
+    private void attempt(final EncodingJob job, final int attempt) {
+        final Timer.Sample sample = Timer.start();
+
+        try {
+            final EncodedMedia encoded = this.encoder.encode(job, done -> this.progress.put(job.mediaId(), done));
+            sample.stop(this.duration);
+            this.bytes.increment(encoded.bytes());
+            this.completed.increment();
+
+            status(job, MediaStatus.COMPLETED, encoded);
+            this.claimed.remove(job.mediaId());
+        } catch (Exception e) {
+            if (attempt < this.maxAttempts) {
+                this.retried.increment();
+                final long delay = this.backoff.toMillis() << (attempt - 1);
+
+                System.out.println("Erro: encoding " + job.mediaId() + " failed (attempt " + attempt + "), retrying in " + delay + "ms: " + e);
+                retry(job, attempt + 1, delay);
+                return;
+            }
+
+            System.out.println("Erro: encoding " + job.mediaId() + " failed after " + attempt + " attempts: " + e);
+            this.failed.increment();
+            status(job, MediaStatus.ERROR, null);
+            this.claimed.remove(job.mediaId());
+        } finally {
+            this.progress.remove(job.mediaId());
+        }
+    }
+
+    private void retry(final EncodingJob job, final int attempt, final long delay) {
+        try {
+            this.scheduler.schedule(() -> {
+                if (!offer(() -> attempt(job, attempt))) {
+                    // Fila cheia (ou worker encerrado, e aí o schedule recusa): tenta entregar de novo depois do backoff
+                    retry(job, attempt, this.backoff.toMillis());
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Worker encerrado: a mídia volta para PENDING
+            release(job);
+        }
+    }
+
+    // O evento traz o vídeo e o arquivo original; a mídia é a que ainda está pendente com esse arquivo
+    private Optional<EncodingJob> resolve(final VideoMediaCreated event) {
+        return this.videoGateway.findById(event.resourceId()).flatMap(aVideo -> {
+            if (matches(aVideo.getVideo(), event)) {
+                return Optional.of(job(aVideo, VideoMediaType.VIDEO, aVideo.getVideo().get()));
+            } else if (matches(aVideo.getTrailer(), event)) {
+                return Optional.of(job(aVideo, VideoMediaType.TRAILER, aVideo.getTrailer().get()));
+            }
+            return Optional.empty();
+        });
+    }
+
+    private static boolean matches(final Optional<AudioVideoMedia> aMedia, final VideoMediaCreated event) {
+        return aMedia.filter(media -> media.isPendingEncode() && media.rawLocation().equals(event.filePath())).isPresent();
+    }
+
+    private static Optional<EncodingJob> job(final Video aVideo, final String mediaId) {
+        if (aVideo.getVideo().filter(media -> media.id().equals(mediaId)).isPresent()) {
+            return Optional.of(job(aVideo, VideoMediaType.VIDEO, aVideo.getVideo().get()));
+        } else if (aVideo.getTrailer().filter(media -> media.id().equals(mediaId)).isPresent()) {
+            return Optional.of(job(aVideo, VideoMediaType.TRAILER, aVideo.getTrailer().get()));
+        }
+        return Optional.empty();
+    }
+
+    private static EncodingJob job(final Video aVideo, final VideoMediaType aType, final AudioVideoMedia aMedia) {
+        return EncodingJob.with(aVideo.getId(), aMedia.id(), aType, aMedia.name(), aMedia.rawLocation());
+    }
+
+    private boolean status(final EncodingJob job, final MediaStatus status, final EncodedMedia encoded) {
+        final String folder = encoded == null ? "" : encoded.folder();
+        final String filename = encoded == null ? "" : encoded.filename();
+
+        return "ok".equals(this.updateMediaStatusUseCase.execute(
+                UpdateMediaStatusDTO.with(status, job.videoId(), job.mediaId(), folder, filename)
+        ));
+    }
+
+    // Entrega sem esperar, para as threads do agendador: false com a fila cheia ou o worker encerrado
+    private boolean offer(final Runnable task) {
+        return !this.executor.isShutdown() && this.executor.getQueue().offer(task);
+    }
+
+    // Backpressure: com a fila cheia quem publica espera por espaço em vez de descartar o job
+    private static void waitForSpace(final Runnable task, final ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("Encoding worker is closed");
+        }
+
+        try {
+            executor.getQueue().put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException(e);
+        }
+    }
+}
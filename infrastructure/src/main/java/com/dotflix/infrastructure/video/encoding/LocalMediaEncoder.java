@@ -0,0 +1,73 @@
+package com.dotflix.infrastructure.video.encoding;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Encoder local, substituto da farm: copia o arquivo original para {@code {root}/encoded/{videoId}/{mediaId}/} passando
+ * cada bloco por {@code passes} rodadas de SHA-256, um custo de CPU proporcional ao tamanho que imita uma transcodificação
+ * (0 = cópia simples). A cópia é gravada em um arquivo temporário e movida no final, assim uma tentativa que falhou no
+ * meio não deixa um arquivo codificado pela metade.
+ */
+public class LocalMediaEncoder implements MediaEncoder {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path encoded;
+    private final int passes;
+
+    public LocalMediaEncoder(final String root, final int passes) {
+        this.encoded = Paths.get(root).toAbsolutePath().normalize().resolve("encoded");
+        this.passes = passes;
+    }
+
+    @Override
+    public EncodedMedia encode(final EncodingJob job, final Progress progress) throws IOException {
+        final Path source = Paths.get(job.rawLocation());
+        final Path folder = this.encoded.resolve(job.videoId()).resolve(job.mediaId());
+        final Path target = folder.resolve(Paths.get(job.name()).getFileName().toString());
+        final long size = Files.size(source);
+
+        Files.createDirectories(folder);
+        final Path partial = Files.createTempFile(folder, "encoding-", ".part");
+
+        try (InputStream in = Files.newInputStream(source); OutputStream out = Files.newOutputStream(partial)) {
+            final MessageDigest digest = sha256();
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            long copied = 0;
+            int read;
+
+            while ((read = in.read(buffer)) != -1) {
+                for (int i = 0; i < this.passes; i++) {
+                    digest.update(buffer, 0, read);
+                    digest.digest();
+                }
+
+                out.write(buffer, 0, read);
+                copied += read;
+                progress.update(size == 0 ? 1 : (double) copied / size);
+            }
+
+            out.close();
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return EncodedMedia.with(folder.toString(), target.getFileName().toString(), copied);
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
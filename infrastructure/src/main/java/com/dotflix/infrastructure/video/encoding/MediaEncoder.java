@@ -0,0 +1,17 @@
+package com.dotflix.infrastructure.video.encoding;
+
+/**
+ * Ponto de extensão do {@link EncodingWorker}: o {@link LocalMediaEncoder} é o padrão e um bean desse tipo o substitui
+ * (ex.: um cliente da farm de encoding). Exceções são tratadas como falhas temporárias e o job é tentado de novo.
+ */
+@FunctionalInterface
+public interface MediaEncoder {
+
+    EncodedMedia encode(EncodingJob job, Progress progress) throws Exception;
+
+    @FunctionalInterface
+    interface Progress {
+        // Fração concluída, entre 0 e 1
+        void update(double done);
+    }
+}
@@ -0,0 +1,63 @@
+package com.dotflix.infrastructure.video.outbox;
+
+import com.dotflix.domain.events.DomainEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Grava os eventos de domínio na tabela videos_outbox. Só pode ser chamado dentro da transação que altera o vídeo, assim
+ * o evento existe se, e somente se, a alteração foi confirmada; a publicação de fato fica com o {@link VideoOutboxRelay}.
+ */
+@Component
+public class VideoOutbox {
+
+    private static final String INSERT_EVENT = """
+            INSERT INTO videos_outbox (aggregate_id, event_type, payload, occurred_on, created_at)
+            VALUES (:aggregateId, :eventType, :payload, :occurredOn, :createdAt)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectMapper mapper;
+
+    public VideoOutbox(final NamedParameterJdbcTemplate jdbcTemplate, final ObjectMapper mapper) {
+        this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate);
+        this.mapper = Objects.requireNonNull(mapper);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(final String aggregateId, final List<DomainEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        final Timestamp now = Timestamp.from(Instant.now());
+        final SqlParameterSource[] params = events.stream()
+                .map(event -> new MapSqlParameterSource()
+                        .addValue("aggregateId", aggregateId)
+                        .addValue("eventType", event.getClass().getName())
+                        .addValue("payload", serialize(event))
+                        .addValue("occurredOn", Timestamp.from(event.occurredOn()))
+                        .addValue("createdAt", now))
+                .toArray(SqlParameterSource[]::new);
+
+        this.jdbcTemplate.batchUpdate(INSERT_EVENT, params);
+    }
+
+    private String serialize(final DomainEvent event) {
+        try {
+            return this.mapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize the event " + event.getClass().getName(), e);
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.dotflix.infrastructure.video.outbox;
+
+import com.dotflix.domain.events.DomainEvent;
+import com.dotflix.infrastructure.events.AcknowledgedEventPublisher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publica os eventos da videos_outbox em lotes. Cada lote é reservado com {@code FOR UPDATE SKIP LOCKED}: várias
+ * instâncias podem drenar a tabela ao mesmo tempo, cada uma com linhas diferentes, sem publicar o mesmo evento duas vezes.
+ * <p>
+ * A reserva é uma transação curta que conta a tentativa ({@code attempts}) e adia {@code next_attempt_at} para depois da
+ * espera pela entrega; o relay então publica fora da transação, sem segurar locks nem conexão. O barramento é assíncrono,
+ * então o relay espera a confirmação de cada evento ({@link AcknowledgedEventPublisher}) e apaga as linhas já entregues a
+ * todos os assinantes. As que falharam ou não foram entregues em {@code outbox.relay.dispatch-timeout} voltam depois de um
+ * backoff exponencial ({@code outbox.relay.retry-backoff}), sem bloquear as seguintes; depois de
+ * {@code outbox.relay.max-attempts} tentativas vão para a videos_outbox_dead_letter. Se o processo cair depois da reserva,
+ * o lote volta quando o {@code next_attempt_at} vencer (at-least-once). Assinantes que só enfileiram o trabalho (como o
+ * EncodingWorker) precisam se recuperar sozinhos de uma queda depois da entrega.
+ * <p>
+ * Métricas: {@code outbox.relay.lag} (tempo entre a gravação do evento e a publicação), {@code outbox.relay.batch.size},
+ * {@code outbox.relay.published} e {@code outbox.relay.discarded} (ilegíveis ou enviados para a dead letter).
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class VideoOutboxRelay {
+
+    private static final String SELECT_BATCH = """
+            SELECT id, event_type, payload, created_at, attempts
+            FROM videos_outbox
+            WHERE next_attempt_at IS NULL OR next_attempt_at <= :now
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private static final String CLAIM = """
+            UPDATE videos_outbox SET attempts = attempts + 1, next_attempt_at = :until
+            WHERE id IN (:ids)
+            """;
+
+    private static final String DEAD_LETTER = """
+            INSERT INTO videos_outbox_dead_letter (id, aggregate_id, event_type, payload, occurred_on, created_at, attempts, failed_at)
+            SELECT id, aggregate_id, event_type, payload, occurred_on, created_at, attempts, :failedAt
+            FROM videos_outbox
+            WHERE id IN (:ids)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AcknowledgedEventPublisher publisher;
+    private final ObjectMapper mapper;
+    private final int batchSize;
+    private final Duration dispatchTimeout;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Timer lag;
+    private final DistributionSummary batches;
+    private final Counter published;
+    private final Counter discarded;
+
+    public VideoOutboxRelay(
+            final NamedParameterJdbcTemplate jdbcTemplate,
+            final PlatformTransactionManager transactionManager,
+            final AcknowledgedEventPublisher publisher,
+            final ObjectMapper mapper,
+            final MeterRegistry registry,
+            @Value("${outbox.relay.batch-size:100}") final int batchSize,
+            @Value("${outbox.relay.dispatch-timeout:30s}") final Duration dispatchTimeout,
+            @Value("${outbox.relay.max-attempts:10}") final int maxAttempts,
+            @Value("${outbox.relay.retry-backoff:1s}") final Duration retryBackoff
+    ) {
+        this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(Objects.requireNonNull(transactionManager));
+        this.publisher = Objects.requireNonNull(publisher);
+        this.mapper = Objects.requireNonNull(mapper);
+        this.batchSize = batchSize;
+        this.dispatchTimeout = Objects.requireNonNull(dispatchTimeout);
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = Objects.requireNonNull(retryBackoff);
+        this.lag = Timer.builder("outbox.relay.lag")
+                .description("Time between an event being written to the outbox and being published")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        this.batches = DistributionSummary.builder("outbox.relay.batch.size")
+                .description("Events published per relay batch")
+                .register(registry);
+        this.published = Counter.builder("outbox.relay.published").register(registry);
+        this.discarded = Counter.builder("outbox.relay.discarded").register(registry);
+    }
+
+    // Drena enquanto os lotes vêm cheios; as linhas que falharam ficam esperando o backoff e não voltam neste laço
+    @Scheduled(fixedDelayString = "${outbox.relay.delay:1000}")
+    public void relay() {
+        while (relayOnce().claimed() == this.batchSize) {
+            // próximo lote
+        }
+    }
+
+    // Quantos eventos do lote foram entregues (ou descartados por ilegíveis)
+    public int relayBatch() {
+        return relayOnce().acknowledged();
+    }
+
+    private Batch relayOnce() {
+        final Map<Long, DomainEvent> events = new LinkedHashMap<>();
+        final Map<Long, Row> claimed = new LinkedHashMap<>();
+        final List<Long> unreadable = new ArrayList<>();
+
+        // Reserva: a transação termina antes da publicação, então os locks e a conexão não esperam pelo barramento
+        this.transactionTemplate.executeWithoutResult(status -> {
+            final Instant now = Instant.now();
+            final List<Row> rows = this.jdbcTemplate.query(SELECT_BATCH, Map.of("now", Timestamp.from(now), "limit", this.batchSize), (rs, i) -> new Row(
+                    rs.getLong("id"),
+                    rs.getString("event_type"),
+                    rs.getString("payload"),
+                    rs.getTimestamp("created_at").toInstant(),
+                    rs.getInt("attempts") + 1
+            ));
+
+            for (final Row row : rows) {
+                final DomainEvent event = deserialize(row);
+
+                if (event == null) {
+                    unreadable.add(row.id());
+                } else {
+                    events.put(row.id(), event);
+                    claimed.put(row.id(), row);
+                }
+            }
+
+            if (!unreadable.isEmpty()) {
+                this.jdbcTemplate.update("DELETE FROM videos_outbox WHERE id IN (:ids)", Map.of("ids", unreadable));
+            }
+
+            if (!claimed.isEmpty()) {
+                this.jdbcTemplate.update(CLAIM, Map.of("ids", claimed.keySet(), "until", Timestamp.from(now.plus(this.dispatchTimeout).plus(backoff(1)))));
+            }
+        });
+
+        if (events.isEmpty()) {
+            return new Batch(unreadable.size(), unreadable.size());
+        }
+
+        final Map<Long, CompletableFuture<Void>> dispatches = new LinkedHashMap<>();
+        events.forEach((id, event) -> {
+            final Row row = claimed.get(id);
+            dispatches.put(id, this.publisher.publish(event).thenRun(() -> {
+                this.published.increment();
+                this.lag.record(Duration.between(row.createdAt(), Instant.now()));
+            }));
+        });
+
+        await(dispatches.values());
+
+        final List<Long> acknowledged = new ArrayList<>();
+        final List<Row> failed = new ArrayList<>();
+        dispatches.forEach((id, dispatch) -> {
+            if (dispatch.isDone() && !dispatch.isCompletedExceptionally()) {
+                acknowledged.add(id);
+            } else {
+                failed.add(claimed.get(id));
+            }
+        });
+
+        // Segunda transação curta: apaga os entregues e agenda (ou enterra) os que falharam
+        this.transactionTemplate.executeWithoutResult(status -> {
+            if (!acknowledged.isEmpty()) {
+                this.jdbcTemplate.update("DELETE FROM videos_outbox WHERE id IN (:ids)", Map.of("ids", acknowledged));
+            }
+            failed.forEach(this::retryOrDeadLetter);
+        });
+        this.batches.record(claimed.size() + unreadable.size());
+
+        return new Batch(claimed.size() + unreadable.size(), acknowledged.size() + unreadable.size());
+    }
+
+    private void retryOrDeadLetter(final Row row) {
+        final Instant now = Instant.now();
+
+        if (row.attempts() < this.maxAttempts) {
+            this.jdbcTemplate.update(
+                    "UPDATE videos_outbox SET next_attempt_at = :until WHERE id = :id",
+                    Map.of("id", row.id(), "until", Timestamp.from(now.plus(backoff(row.attempts()))))
+            );
+            return;
+        }
+
+        System.out.println("Erro: outbox event " + row.id() + " failed " + row.attempts() + " times, moving it to the dead letter");
+        this.jdbcTemplate.update(DEAD_LETTER, Map.of("ids", List.of(row.id()), "failedAt", Timestamp.from(now)));
+        this.jdbcTemplate.update("DELETE FROM videos_outbox WHERE id IN (:ids)", Map.of("ids", List.of(row.id())));
+        this.discarded.increment();
+    }
+
+    // retry-backoff, dobrando a cada tentativa
+    private Duration backoff(final int attempts) {
+        return this.retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 16));
+    }
+
+    // Falhas e atrasos não interrompem o lote: quem não terminou a tempo volta depois do backoff
+    private void await(final Iterable<CompletableFuture<Void>> dispatches) {
+        final long deadline = System.nanoTime() + this.dispatchTimeout.toNanos();
+
+        for (final CompletableFuture<Void> dispatch : dispatches) {
+            try {
+                dispatch.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException e) {
+                System.out.println("Erro: outbox event dispatch failed: " + e.getCause());
+            } catch (TimeoutException e) {
+                System.out.println("Erro: outbox event not dispatched in " + this.dispatchTimeout + ", it will be retried");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // Um evento que não pode mais ser lido (ex.: classe removida) é descartado para não travar a fila. O tipo vem do banco:
+    // a classe é carregada sem ser inicializada e só é usada se for um DomainEvent
+    private DomainEvent deserialize(final Row row) {
+        try {
+            final Class<?> type = Class.forName(row.eventType(), false, getClass().getClassLoader());
+
+            if (!DomainEvent.class.isAssignableFrom(type)) {
+                throw new IllegalArgumentException(row.eventType() + " is not a domain event");
+            }
+
+            return (DomainEvent) this.mapper.readValue(row.payload(), type);
+        } catch (Exception e) {
+            System.out.println("Erro: discarding outbox event " + row.id() + ": " + e);
+            this.discarded.increment();
+            return null;
+        }
+    }
+
+    private record Row(long id, String eventType, String payload, Instant createdAt, int attempts) {
+    }
+
+    private record Batch(int claimed, int acknowledged) {
+    }
+}
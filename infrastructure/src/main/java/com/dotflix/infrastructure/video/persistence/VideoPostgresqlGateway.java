@@ -0,0 +1,461 @@
+package com.dotflix.infrastructure.video.persistence;
+
+import com.dotflix.domain.CountMode;
+import com.dotflix.domain.Pagination;
+import com.dotflix.domain.events.DomainEvent;
+import com.dotflix.domain.video.*;
+import com.dotflix.infrastructure.utils.CountEstimator;
+import com.dotflix.infrastructure.utils.SearchSpecifications;
+import com.dotflix.infrastructure.video.outbox.VideoOutbox;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.Year;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Gateway de vídeos em JDBC puro. O agregado é carregado em uma única consulta: as cinco mídias
+ * via LEFT JOIN (uma por tipo) e os ids de categorias, gêneros e membros via ARRAY(subquery).
+ */
+@Component
+public class VideoPostgresqlGateway implements VideoGateway {
+
+    private static final String SELECT_VIDEO = """
+            SELECT v.id, v.title, v.description, v.year_launched, v.opened, v.published, v.rating, v.duration, v.created_at, v.updated_at,
+                   vv.id AS vv_id, vv.checksum AS vv_checksum, vv.name AS vv_name, vv.file_path AS vv_file_path, vv.encoded_path AS vv_encoded_path, vv.media_status AS vv_media_status,
+                   vt.id AS vt_id, vt.checksum AS vt_checksum, vt.name AS vt_name, vt.file_path AS vt_file_path, vt.encoded_path AS vt_encoded_path, vt.media_status AS vt_media_status,
+                   ib.id AS ib_id, ib.checksum AS ib_checksum, ib.name AS ib_name, ib.file_path AS ib_file_path,
+                   it.id AS it_id, it.checksum AS it_checksum, it.name AS it_name, it.file_path AS it_file_path,
+                   ih.id AS ih_id, ih.checksum AS ih_checksum, ih.name AS ih_name, ih.file_path AS ih_file_path,
+                   ARRAY(SELECT vc.category_id FROM videos_categories vc WHERE vc.video_id = v.id) AS categories,
+                   ARRAY(SELECT vg.genre_id FROM videos_genres vg WHERE vg.video_id = v.id) AS genres,
+                   ARRAY(SELECT vm.cast_member_id FROM videos_cast_members vm WHERE vm.video_id = v.id) AS cast_members
+            FROM videos v
+            LEFT JOIN videos_video_media vv ON vv.video_id = v.id AND vv.media_type = 'VIDEO'
+            LEFT JOIN videos_video_media vt ON vt.video_id = v.id AND vt.media_type = 'TRAILER'
+            LEFT JOIN videos_image_media ib ON ib.video_id = v.id AND ib.media_type = 'BANNER'
+            LEFT JOIN videos_image_media it ON it.video_id = v.id AND it.media_type = 'THUMBNAIL'
+            LEFT JOIN videos_image_media ih ON ih.video_id = v.id AND ih.media_type = 'THUMBNAIL_HALF'
+            WHERE v.id = :id
+            """;
+
+    private static final String INSERT_VIDEO = """
+            INSERT INTO videos (id, title, description, year_launched, opened, published, rating, duration, created_at, updated_at)
+            VALUES (:id, :title, :description, :yearLaunched, :opened, :published, :rating, :duration, :createdAt, :updatedAt)
+            """;
+
+    private static final String UPDATE_VIDEO = """
+            UPDATE videos SET title = :title, description = :description, year_launched = :yearLaunched, opened = :opened,
+                   published = :published, rating = :rating, duration = :duration, updated_at = :updatedAt
+            WHERE id = :id
+            """;
+
+    private static final String INSERT_VIDEO_MEDIA = """
+            INSERT INTO videos_video_media (id, video_id, media_type, checksum, name, file_path, encoded_path, media_status, claimed_at)
+            VALUES (:id, :videoId, :mediaType, :checksum, :name, :filePath, :encodedPath, :mediaStatus, :claimedAt)
+            """;
+
+    // O status só muda pelas transições de MediaStatus.previous: para cada status novo, os status atuais aceitos
+    private static final String MEDIA_STATUS_TRANSITIONS = Arrays.stream(MediaStatus.values())
+            .map(status -> "WHEN '%s' THEN media_status IN (%s)".formatted(
+                    status.name(),
+                    status.previous().stream().map(it -> "'" + it.name() + "'").sorted().collect(Collectors.joining(", "))
+            ))
+            .collect(Collectors.joining(" ", "CASE :mediaStatus ", " ELSE FALSE END"));
+
+    private static final String UPDATE_MEDIA_STATUS = """
+            UPDATE videos_video_media SET encoded_path = COALESCE(:encodedPath, encoded_path), media_status = :mediaStatus, claimed_at = :claimedAt
+            WHERE id = :id AND video_id = :videoId AND %s
+            """.formatted(MEDIA_STATUS_TRANSITIONS);
+
+    // Posse da codificação: a mídia está sem dono quando claimed_at é nulo ou anterior a :before. A retomada pode ir de
+    // PROCESSING para PROCESSING, fora das transições de MediaStatus, porque troca o dono de uma codificação abandonada
+    private static final String ABANDONED = "media_status IN ('PENDING', 'PROCESSING') AND (claimed_at IS NULL OR claimed_at < :before)";
+
+    private static final String SELECT_ABANDONED_MEDIA = """
+            SELECT video_id, id FROM videos_video_media
+            WHERE %s
+            ORDER BY claimed_at NULLS FIRST, id
+            LIMIT :limit
+            """.formatted(ABANDONED);
+
+    private static final String CLAIM_MEDIA = """
+            UPDATE videos_video_media SET media_status = 'PROCESSING', claimed_at = :claimedAt
+            WHERE id = :id AND video_id = :videoId AND %s
+            """.formatted(ABANDONED);
+
+    private static final String INSERT_IMAGE_MEDIA = """
+            INSERT INTO videos_image_media (id, video_id, media_type, checksum, name, file_path)
+            VALUES (:id, :videoId, :mediaType, :checksum, :name, :filePath)
+            """;
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "title", "v.title",
+            "name", "v.title",
+            "launchedAt", "v.year_launched",
+            "duration", "v.duration",
+            "createdAt", "v.created_at",
+            "updatedAt", "v.updated_at"
+    );
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final CountEstimator countEstimator;
+    private final VideoOutbox outbox;
+
+    public VideoPostgresqlGateway(final NamedParameterJdbcTemplate jdbcTemplate, final CountEstimator countEstimator, final VideoOutbox outbox) {
+        this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate);
+        this.countEstimator = Objects.requireNonNull(countEstimator);
+        this.outbox = Objects.requireNonNull(outbox);
+    }
+
+    @Override
+    @Transactional
+    public Video create(final Video aVideo) {
+        this.jdbcTemplate.update(INSERT_VIDEO, videoParams(aVideo));
+        insertRelations(aVideo);
+        insertMedias(aVideo);
+        publishEvents(aVideo);
+        return aVideo;
+    }
+
+    @Override
+    @Transactional
+    public void deleteById(final String anId) {
+        this.jdbcTemplate.update("DELETE FROM videos WHERE id = :id", Map.of("id", anId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Video> findById(final String anId) {
+        return this.jdbcTemplate.query(SELECT_VIDEO, Map.of("id", anId), (rs, i) -> toVideo(rs))
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    @Transactional
+    public Video update(final Video aVideo) {
+        this.jdbcTemplate.update(UPDATE_VIDEO, videoParams(aVideo));
+
+        final var params = Map.of("videoId", aVideo.getId());
+        this.jdbcTemplate.update("DELETE FROM videos_categories WHERE video_id = :videoId", params);
+        this.jdbcTemplate.update("DELETE FROM videos_genres WHERE video_id = :videoId", params);
+        this.jdbcTemplate.update("DELETE FROM videos_cast_members WHERE video_id = :videoId", params);
+        this.jdbcTemplate.update("DELETE FROM videos_video_media WHERE video_id = :videoId", params);
+        this.jdbcTemplate.update("DELETE FROM videos_image_media WHERE video_id = :videoId", params);
+
+        insertRelations(aVideo);
+        insertMedias(aVideo);
+        publishEvents(aVideo);
+        return aVideo;
+    }
+
+    @Override
+    @Transactional
+    public boolean updateMediaStatus(final MediaStatusChange change) {
+        return this.jdbcTemplate.update(UPDATE_MEDIA_STATUS, mediaStatusParams(change)) > 0;
+    }
+
+    @Override
+    @Transactional
+    public List<Boolean> updateMediaStatuses(final List<MediaStatusChange> changes) {
+        final SqlParameterSource[] params = changes.stream()
+                .map(VideoPostgresqlGateway::mediaStatusParams)
+                .toArray(SqlParameterSource[]::new);
+
+        // SUCCESS_NO_INFO (driver que não informa o total por statement do lote) não confirma a mudança: pode ter sido uma
+        // transição recusada, então conta como não aplicada. O driver do Postgres sempre informa o total nos UPDATEs
+        return Arrays.stream(this.jdbcTemplate.batchUpdate(UPDATE_MEDIA_STATUS, params))
+                .mapToObj(count -> count > 0)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<VideoMediaRef> findAbandonedMedia(final Instant before, final int limit) {
+        return this.jdbcTemplate.query(
+                SELECT_ABANDONED_MEDIA,
+                Map.of("before", Timestamp.from(before), "limit", limit),
+                (rs, i) -> VideoMediaRef.with(rs.getString("video_id"), rs.getString("id"))
+        );
+    }
+
+    @Override
+    @Transactional
+    public boolean claimMedia(final VideoMediaRef media, final Instant before) {
+        return this.jdbcTemplate.update(CLAIM_MEDIA, Map.of(
+                "id", media.mediaId(),
+                "videoId", media.videoId(),
+                "before", Timestamp.from(before),
+                "claimedAt", Timestamp.from(Instant.now())
+        )) > 0;
+    }
+
+    @Override
+    @Transactional
+    public void renewMediaClaims(final Collection<String> mediaIds) {
+        if (mediaIds.isEmpty()) {
+            return;
+        }
+
+        this.jdbcTemplate.update(
+                "UPDATE videos_video_media SET claimed_at = :claimedAt WHERE id IN (:ids) AND media_status IN ('PENDING', 'PROCESSING')",
+                Map.of("ids", mediaIds, "claimedAt", Timestamp.from(Instant.now()))
+        );
+    }
+
+    @Override
+    @Transactional
+    public void releaseMedia(final VideoMediaRef media) {
+        this.jdbcTemplate.update(
+                "UPDATE videos_video_media SET media_status = 'PENDING', claimed_at = NULL WHERE id = :id AND video_id = :videoId AND media_status = 'PROCESSING'",
+                Map.of("id", media.mediaId(), "videoId", media.videoId())
+        );
+    }
+
+    // Os eventos vão para a outbox na mesma transação do vídeo
+    private void publishEvents(final Video aVideo) {
+        final List<DomainEvent> events = new ArrayList<>();
+        aVideo.publishDomainEvents(events::add);
+        this.outbox.append(aVideo.getId(), events);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Pagination<VideoPreview> findAll(final VideoSearchQuery aQuery) {
+        final var params = new MapSqlParameterSource();
+        final List<String> conditions = new ArrayList<>();
+
+        if (aQuery.terms() != null && !aQuery.terms().isBlank()) {
+            params.addValue("terms", "%" + aQuery.terms().toUpperCase() + "%");
+            conditions.add("(UPPER(v.title) LIKE :terms OR UPPER(v.description) LIKE :terms)");
+        }
+
+        if (aQuery.categories() != null && !aQuery.categories().isEmpty()) {
+            params.addValue("categories", aQuery.categories());
+            conditions.add("EXISTS (SELECT 1 FROM videos_categories vc WHERE vc.video_id = v.id AND vc.category_id IN (:categories))");
+        }
+
+        if (aQuery.genres() != null && !aQuery.genres().isEmpty()) {
+            params.addValue("genres", aQuery.genres());
+            conditions.add("EXISTS (SELECT 1 FROM videos_genres vg WHERE vg.video_id = v.id AND vg.genre_id IN (:genres))");
+        }
+
+        if (aQuery.castMembers() != null && !aQuery.castMembers().isEmpty()) {
+            params.addValue("castMembers", aQuery.castMembers());
+            conditions.add("EXISTS (SELECT 1 FROM videos_cast_members vm WHERE vm.video_id = v.id AND vm.cast_member_id IN (:castMembers))");
+        }
+
+        // Sem filtro a condição fica nula, e a estimativa pode usar o reltuples da tabela
+        final String condition = conditions.isEmpty() ? null : String.join(" AND ", conditions);
+        final String where = condition == null ? "" : " WHERE " + condition;
+
+        final String direction = "desc".equalsIgnoreCase(aQuery.direction()) ? "DESC" : "ASC";
+        String orderBy = SORT_COLUMNS.getOrDefault(aQuery.sort(), "v.title") + " " + direction + ", v.id " + direction;
+
+        // Relevância: similarity() do pg_trgm sobre o título, mais relevantes primeiro
+        if (SearchSpecifications.RELEVANCE.equalsIgnoreCase(aQuery.sort()) && params.hasValue("terms")) {
+            params.addValue("rawTerms", aQuery.terms().toUpperCase());
+            orderBy = "similarity(UPPER(v.title), :rawTerms) DESC, v.id ASC";
+        }
+
+        params.addValue("limit", aQuery.perPage());
+        params.addValue("offset", (long) aQuery.page() * aQuery.perPage());
+
+        final List<VideoPreview> items = this.jdbcTemplate.query(
+                "SELECT v.id, v.title, v.description, v.created_at, v.updated_at FROM videos v"
+                        + where
+                        + " ORDER BY " + orderBy
+                        + " LIMIT :limit OFFSET :offset",
+                params,
+                (rs, i) -> new VideoPreview(
+                        rs.getString("id"),
+                        rs.getString("title"),
+                        rs.getString("description"),
+                        toInstant(rs.getTimestamp("created_at")),
+                        toInstant(rs.getTimestamp("updated_at"))
+                )
+        );
+
+        return new Pagination<>(aQuery.page(), aQuery.perPage(), count(aQuery.count(), condition, params), items, null, aQuery.count());
+    }
+
+    private long count(final CountMode aMode, final String condition, final MapSqlParameterSource params) {
+        return switch (aMode) {
+            case NONE -> -1;
+            case ESTIMATED -> this.countEstimator.estimate("videos", "v", condition, params);
+            case EXACT -> {
+                final Long total = this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM videos v" + (condition == null ? "" : " WHERE " + condition), params, Long.class);
+                yield total == null ? 0 : total;
+            }
+        };
+    }
+
+    private void insertRelations(final Video aVideo) {
+        insertRelation("INSERT INTO videos_categories (video_id, category_id) VALUES (:videoId, :id)", aVideo.getId(), aVideo.getCategories());
+        insertRelation("INSERT INTO videos_genres (video_id, genre_id) VALUES (:videoId, :id)", aVideo.getId(), aVideo.getGenres());
+        insertRelation("INSERT INTO videos_cast_members (video_id, cast_member_id) VALUES (:videoId, :id)", aVideo.getId(), aVideo.getCastMembers());
+    }
+
+    private void insertRelation(final String sql, final String videoId, final Set<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        final SqlParameterSource[] batch = ids.stream()
+                .map(id -> new MapSqlParameterSource().addValue("videoId", videoId).addValue("id", id))
+                .toArray(SqlParameterSource[]::new);
+
+        this.jdbcTemplate.batchUpdate(sql, batch);
+    }
+
+    private void insertMedias(final Video aVideo) {
+        final List<SqlParameterSource> videoMedias = new ArrayList<>();
+        aVideo.getVideo().ifPresent(media -> videoMedias.add(videoMediaParams(aVideo.getId(), VideoMediaType.VIDEO, media)));
+        aVideo.getTrailer().ifPresent(media -> videoMedias.add(videoMediaParams(aVideo.getId(), VideoMediaType.TRAILER, media)));
+
+        final List<SqlParameterSource> imageMedias = new ArrayList<>();
+        aVideo.getBanner().ifPresent(media -> imageMedias.add(imageMediaParams(aVideo.getId(), VideoMediaType.BANNER, media)));
+        aVideo.getThumbnail().ifPresent(media -> imageMedias.add(imageMediaParams(aVideo.getId(), VideoMediaType.THUMBNAIL, media)));
+        aVideo.getThumbnailHalf().ifPresent(media -> imageMedias.add(imageMediaParams(aVideo.getId(), VideoMediaType.THUMBNAIL_HALF, media)));
+
+        if (!videoMedias.isEmpty()) {
+            this.jdbcTemplate.batchUpdate(INSERT_VIDEO_MEDIA, videoMedias.toArray(SqlParameterSource[]::new));
+        }
+
+        if (!imageMedias.isEmpty()) {
+            this.jdbcTemplate.batchUpdate(INSERT_IMAGE_MEDIA, imageMedias.toArray(SqlParameterSource[]::new));
+        }
+    }
+
+    private static MapSqlParameterSource videoParams(final Video aVideo) {
+        return new MapSqlParameterSource()
+                .addValue("id", aVideo.getId())
+                .addValue("title", aVideo.getTitle())
+                .addValue("description", aVideo.getDescription())
+                .addValue("yearLaunched", aVideo.getLaunchedAt().getValue())
+                .addValue("opened", aVideo.getOpened())
+                .addValue("published", aVideo.getPublished())
+                .addValue("rating", aVideo.getRating().name())
+                .addValue("duration", aVideo.getDuration())
+                .addValue("createdAt", Timestamp.from(aVideo.getCreatedAt()))
+                .addValue("updatedAt", Timestamp.from(aVideo.getUpdatedAt()));
+    }
+
+    private static MapSqlParameterSource videoMediaParams(final String videoId, final VideoMediaType aType, final AudioVideoMedia media) {
+        return new MapSqlParameterSource()
+                .addValue("id", media.id())
+                .addValue("videoId", videoId)
+                .addValue("mediaType", aType.name())
+                .addValue("checksum", media.checksum())
+                .addValue("name", media.name())
+                .addValue("filePath", media.rawLocation())
+                .addValue("encodedPath", media.encodedLocation())
+                .addValue("mediaStatus", media.status().name())
+                .addValue("claimedAt", Timestamp.from(Instant.now()));
+    }
+
+    private static MapSqlParameterSource mediaStatusParams(final MediaStatusChange change) {
+        return new MapSqlParameterSource()
+                .addValue("id", change.mediaId())
+                .addValue("videoId", change.videoId())
+                .addValue("encodedPath", change.encodedLocation())
+                .addValue("mediaStatus", change.status().name())
+                .addValue("claimedAt", Timestamp.from(Instant.now()));
+    }
+
+    private static MapSqlParameterSource imageMediaParams(final String videoId, final VideoMediaType aType, final ImageMedia media) {
+        return new MapSqlParameterSource()
+                .addValue("id", media.id())
+                .addValue("videoId", videoId)
+                .addValue("mediaType", aType.name())
+                .addValue("checksum", media.checksum())
+                .addValue("name", media.name())
+                .addValue("filePath", media.location());
+    }
+
+    private static Video toVideo(final ResultSet rs) throws SQLException {
+        try {
+            return Video.with(
+                    rs.getString("id"),
+                    rs.getString("title"),
+                    rs.getString("description"),
+                    Year.of(rs.getInt("year_launched")),
+                    rs.getDouble("duration"),
+                    rs.getBoolean("opened"),
+                    rs.getBoolean("published"),
+                    Rating.valueOf(rs.getString("rating")),
+                    toInstant(rs.getTimestamp("created_at")),
+                    toInstant(rs.getTimestamp("updated_at")),
+                    toImageMedia(rs, "ib_"),
+                    toImageMedia(rs, "it_"),
+                    toImageMedia(rs, "ih_"),
+                    toAudioVideoMedia(rs, "vt_"),
+                    toAudioVideoMedia(rs, "vv_"),
+                    toIds(rs.getArray("categories")),
+                    toIds(rs.getArray("genres")),
+                    toIds(rs.getArray("cast_members"))
+            );
+        } catch (SQLException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not rebuild video " + rs.getString("id"), e);
+        }
+    }
+
+    private static AudioVideoMedia toAudioVideoMedia(final ResultSet rs, final String prefix) throws SQLException {
+        final String id = rs.getString(prefix + "id");
+        if (id == null) {
+            return null;
+        }
+
+        return AudioVideoMedia.with(
+                id,
+                rs.getString(prefix + "checksum"),
+                rs.getString(prefix + "name"),
+                rs.getString(prefix + "file_path"),
+                rs.getString(prefix + "encoded_path"),
+                MediaStatus.valueOf(rs.getString(prefix + "media_status"))
+        );
+    }
+
+    private static ImageMedia toImageMedia(final ResultSet rs, final String prefix) throws SQLException {
+        final String id = rs.getString(prefix + "id");
+        if (id == null) {
+            return null;
+        }
+
+        return ImageMedia.with(
+                id,
+                rs.getString(prefix + "checksum"),
+                rs.getString(prefix + "name"),
+                rs.getString(prefix + "file_path")
+        );
+    }
+
+    private static Set<String> toIds(final Array array) throws SQLException {
+        final Set<String> ids = new HashSet<>();
+        if (array == null) {
+            return ids;
+        }
+
+        for (final Object value : (Object[]) array.getArray()) {
+            ids.add(value.toString());
+        }
+
+        array.free();
+        return ids;
+    }
+
+    private static Instant toInstant(final Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+}
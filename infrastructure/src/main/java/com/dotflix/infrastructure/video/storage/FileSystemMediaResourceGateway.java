@@ -0,0 +1,322 @@
+package com.dotflix.infrastructure.video.storage;
+
+import com.dotflix.domain.utils.ChecksumInputStream;
+import com.dotflix.domain.video.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Armazena as mídias no sistema de arquivos, endereçadas pelo conteúdo:
+ * <pre>
+ * {root}/blobs/ab/cd/abcd...          conteúdo, nomeado pelo SHA-256 (arquivos iguais são gravados uma única vez)
+ * {root}/refs/ab/cd/abcd.../{id}.{TYPE} uma referência por mídia de vídeo que aponta para o blob
+ * {root}/videos/{id}/{TYPE}           metadados da mídia do vídeo (checksum, nome, content-type e tamanho)
+ * {root}/tmp/                         uploads em andamento, movidos para blobs/ ao terminar
+ * </pre>
+ * tmp/ fica na mesma raiz para que a promoção do upload seja um rename atômico. Um blob só é apagado quando a sua última
+ * referência sai; criar e remover referências de um mesmo checksum é serializado por locks particionados (striped), de
+ * forma que uploads de conteúdos diferentes não disputam o mesmo lock.
+ */
+@Component
+public class FileSystemMediaResourceGateway implements MediaResourceGateway {
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final Path blobs;
+    private final Path refs;
+    private final Path videos;
+    private final Path tmp;
+    private final ReentrantLock[] locks;
+
+    public FileSystemMediaResourceGateway(@Value("${storage.media.root}") final String root) {
+        final Path aRoot = Paths.get(root).toAbsolutePath().normalize();
+        this.blobs = aRoot.resolve("blobs");
+        this.refs = aRoot.resolve("refs");
+        this.videos = aRoot.resolve("videos");
+        this.tmp = aRoot.resolve("tmp");
+        this.locks = new ReentrantLock[LOCK_STRIPES];
+
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            this.locks[i] = new ReentrantLock();
+        }
+
+        try {
+            Files.createDirectories(this.blobs);
+            Files.createDirectories(this.refs);
+            Files.createDirectories(this.videos);
+            Files.createDirectories(this.tmp);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create the media storage at " + aRoot, e);
+        }
+    }
+
+    @Override
+    public AudioVideoMedia storeAudioVideo(final String anId, final VideoResource aResource) {
+        return storeAudioVideo(anId, aResource.type(), StreamResource.with(aResource.resource()));
+    }
+
+    @Override
+    public AudioVideoMedia storeAudioVideo(final String anId, final VideoMediaType aType, final StreamResource aResource) {
+        final MediaFile aFile = store(anId, aType, aResource);
+        return AudioVideoMedia.with(aFile.checksum(), aFile.name(), aFile.path().toString());
+    }
+
+    @Override
+    public ImageMedia storeImage(final String anId, final VideoResource aResource) {
+        return storeImage(anId, aResource.type(), StreamResource.with(aResource.resource()));
+    }
+
+    @Override
+    public ImageMedia storeImage(final String anId, final VideoMediaType aType, final StreamResource aResource) {
+        final MediaFile aFile = store(anId, aType, aResource);
+        return ImageMedia.with(aFile.checksum(), aFile.name(), aFile.path().toString());
+    }
+
+    @Override
+    public Optional<Resource> getResource(final String anId, final VideoMediaType type) {
+        return getMediaFile(anId, type).map(it -> {
+            try {
+                return Resource.with(Files.readAllBytes(it.path()), it.checksum(), it.contentType(), it.name());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Override
+    public Optional<MediaFile> getMediaFile(final String anId, final VideoMediaType type) {
+        return readMetadata(videoDir(anId).resolve(type.name())).flatMap(properties -> {
+            final String checksum = properties.getProperty("checksum");
+            final Path blob = blobPath(checksum);
+
+            if (!Files.exists(blob)) {
+                return Optional.empty();
+            }
+
+            return Optional.of(MediaFile.with(
+                    blob,
+                    Long.parseLong(properties.getProperty("length")),
+                    checksum,
+                    properties.getProperty("contentType"),
+                    properties.getProperty("name")
+            ));
+        });
+    }
+
+    // Remove as referências do vídeo; os blobs só saem quando nenhum outro vídeo aponta para eles
+    @Override
+    public void clearResources(final String anId) {
+        final Path dir = videoDir(anId);
+
+        if (!Files.exists(dir)) {
+            return;
+        }
+
+        for (final VideoMediaType aType : VideoMediaType.values()) {
+            final Path metadata = dir.resolve(aType.name());
+
+            readMetadata(metadata).ifPresent(properties -> releaseReference(properties.getProperty("checksum"), anId, aType));
+
+            try {
+                Files.deleteIfExists(metadata);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        deleteTree(dir);
+    }
+
+    /**
+     * Quantidade de mídias de vídeo que apontam para o blob
+     */
+    public long references(final String checksum) {
+        try (Stream<Path> files = Files.list(refsDir(checksum))) {
+            return files.count();
+        } catch (NoSuchFileException e) {
+            return 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private MediaFile store(final String anId, final VideoMediaType aType, final StreamResource aResource) {
+        final Path dir = videoDir(anId);
+        final Optional<String> expected = aResource.checksum();
+        Path upload = null;
+
+        try {
+            final ChecksumInputStream in = new ChecksumInputStream(aResource.content());
+
+            // Conteúdo esperado que já está armazenado não precisa ser escrito de novo, basta conferir o hash
+            if (expected.map(this::blobPath).filter(Files::exists).isPresent()) {
+                try (in) {
+                    in.transferTo(OutputStream.nullOutputStream());
+                }
+            } else {
+                upload = Files.createTempFile(this.tmp, "upload-", ".part");
+
+                try (in; OutputStream out = Files.newOutputStream(upload)) {
+                    in.transferTo(out);
+                }
+            }
+
+            final String checksum = in.checksum();
+
+            if (expected.isPresent() && !expected.get().equals(checksum)) {
+                throw new ChecksumMismatchException(expected.get(), checksum);
+            }
+
+            final Path blob = blobPath(checksum);
+            final ReentrantLock lock = lockFor(checksum);
+
+            lock.lock();
+            try {
+                if (!Files.exists(blob)) {
+                    if (upload == null) {
+                        // A última referência saiu durante a leitura e o blob foi apagado; o conteúdo precisa ser reenviado
+                        throw new NoSuchFileException(blob.toString());
+                    }
+
+                    Files.createDirectories(blob.getParent());
+                    Files.move(upload, blob, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                }
+
+                // Conteúdo já conhecido: depois do hash o arquivo temporário é descartado e só a referência é criada
+                addReference(checksum, anId, aType);
+            } finally {
+                lock.unlock();
+            }
+
+            final MediaFile aFile = MediaFile.with(blob, in.count(), checksum, aResource.contentType(), aResource.name());
+            writeMetadata(dir, aType, aFile);
+
+            return aFile;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store the media of video " + anId, e);
+        } finally {
+            if (upload != null) {
+                try {
+                    Files.deleteIfExists(upload);
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    // Grava os metadados da mídia; se ela apontava para outro conteúdo, a referência antiga é liberada
+    private void writeMetadata(final Path dir, final VideoMediaType aType, final MediaFile aFile) throws IOException {
+        final Path target = dir.resolve(aType.name());
+        final Optional<String> previous = readMetadata(target).map(it -> it.getProperty("checksum"));
+
+        final Properties properties = new Properties();
+        properties.setProperty("checksum", aFile.checksum());
+        properties.setProperty("name", aFile.name());
+        properties.setProperty("contentType", aFile.contentType());
+        properties.setProperty("length", Long.toString(aFile.length()));
+
+        Files.createDirectories(dir);
+        final Path metadata = Files.createTempFile(this.tmp, "metadata-", ".part");
+        try (OutputStream out = Files.newOutputStream(metadata)) {
+            properties.store(out, null);
+        }
+        Files.move(metadata, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        previous.filter(it -> !it.equals(aFile.checksum()))
+                .ifPresent(it -> releaseReference(it, dir.getFileName().toString(), aType));
+    }
+
+    private Optional<Properties> readMetadata(final Path metadata) {
+        final Properties properties = new Properties();
+
+        try (InputStream in = Files.newInputStream(metadata)) {
+            properties.load(in);
+            return Optional.of(properties);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Chamado com o lock do checksum
+    private void addReference(final String checksum, final String anId, final VideoMediaType aType) throws IOException {
+        final Path dir = refsDir(checksum);
+        Files.createDirectories(dir);
+
+        try {
+            Files.createFile(dir.resolve(anId + "." + aType.name()));
+        } catch (FileAlreadyExistsException ignored) {
+            // A mesma mídia gravada de novo não conta duas vezes
+        }
+    }
+
+    private void releaseReference(final String checksum, final String anId, final VideoMediaType aType) {
+        final ReentrantLock lock = lockFor(checksum);
+
+        lock.lock();
+        try {
+            final Path dir = refsDir(checksum);
+            Files.deleteIfExists(dir.resolve(anId + "." + aType.name()));
+
+            if (references(checksum) == 0) {
+                Files.deleteIfExists(dir);
+                Files.deleteIfExists(blobPath(checksum));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock lockFor(final String checksum) {
+        return this.locks[Math.floorMod(checksum.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static void deleteTree(final Path dir) {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            final List<Path> sorted = paths.sorted(Comparator.reverseOrder()).toList();
+
+            for (final Path it : sorted) {
+                Files.deleteIfExists(it);
+            }
+        } catch (NoSuchFileException ignored) {
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path blobPath(final String checksum) {
+        return shard(this.blobs, checksum);
+    }
+
+    private Path refsDir(final String checksum) {
+        return shard(this.refs, checksum);
+    }
+
+    private static Path shard(final Path base, final String checksum) {
+        return base.resolve(checksum.substring(0, 2)).resolve(checksum.substring(2, 4)).resolve(checksum);
+    }
+
+    private Path videoDir(final String anId) {
+        final Path dir = this.videos.resolve(anId).normalize();
+
+        if (!dir.getParent().equals(this.videos)) {
+            throw new IllegalArgumentException("Invalid video id: " + anId);
+        }
+
+        return dir;
+    }
+}
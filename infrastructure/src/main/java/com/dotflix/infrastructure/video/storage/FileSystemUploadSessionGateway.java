@@ -0,0 +1,315 @@
+package com.dotflix.infrastructure.video.storage;
+
+import com.dotflix.domain.video.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.io.*;
+import java.nio.file.*;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Staging dos uploads retomáveis, dentro da mesma raiz das mídias:
+ * <pre>
+ * {root}/uploads/{sessionId}/session           dados da sessão
+ * {root}/uploads/{sessionId}/chunks/{offset}   um arquivo por pedaço, com o offset com 20 dígitos para ordenar pelo nome
+ * </pre>
+ * Cada pedaço é gravado num arquivo temporário e renomeado ao terminar, então pedaços em paralelo não se misturam e um
+ * pedaço interrompido nunca aparece pela metade. Só a conferência de sobreposição e o rename acontecem sob o lock
+ * (particionado) da sessão. Sessões vencem {@code ttl} depois de criadas e uma limpeza periódica apaga o staging delas.
+ */
+@Component
+public class FileSystemUploadSessionGateway implements UploadSessionGateway {
+
+    private static final Pattern VALID_ID = Pattern.compile("[0-9A-Za-z-]+");
+    private static final String SESSION = "session";
+    private static final String CHUNKS = "chunks";
+    private static final int LOCK_STRIPES = 64;
+
+    private final Path uploads;
+    private final Duration ttl;
+    private final ReentrantLock[] locks;
+
+    public FileSystemUploadSessionGateway(@Value("${storage.media.root}") final String root, @Value("${storage.uploads.ttl:24h}") final Duration ttl) {
+        this.uploads = Paths.get(root).toAbsolutePath().normalize().resolve("uploads");
+        this.ttl = Objects.requireNonNull(ttl);
+        this.locks = new ReentrantLock[LOCK_STRIPES];
+
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            this.locks[i] = new ReentrantLock();
+        }
+
+        try {
+            Files.createDirectories(this.uploads);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create the upload staging at " + this.uploads, e);
+        }
+    }
+
+    @Override
+    public UploadSession create(final UploadSession aSession) {
+        final Path dir = sessionDir(aSession.id());
+
+        final Properties properties = new Properties();
+        properties.setProperty("videoId", aSession.videoId());
+        properties.setProperty("type", aSession.type().name());
+        properties.setProperty("name", aSession.name());
+        properties.setProperty("contentType", aSession.contentType());
+        properties.setProperty("length", Long.toString(aSession.length()));
+        properties.setProperty("checksum", aSession.checksum());
+        properties.setProperty("createdAt", aSession.createdAt().toString());
+
+        try {
+            Files.createDirectories(dir.resolve(CHUNKS));
+
+            final Path tmp = Files.createTempFile(dir, SESSION, ".part");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                properties.store(out, null);
+            }
+            Files.move(tmp, dir.resolve(SESSION), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create the upload session " + aSession.id(), e);
+        }
+
+        return aSession;
+    }
+
+    @Override
+    public Optional<UploadSession> findById(final String anId) {
+        if (anId == null || !VALID_ID.matcher(anId).matches()) {
+            return Optional.empty();
+        }
+
+        final Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(sessionDir(anId).resolve(SESSION))) {
+            properties.load(in);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        final UploadSession aSession;
+        try {
+            aSession = UploadSession.with(
+                    anId,
+                    properties.getProperty("videoId"),
+                    VideoMediaType.valueOf(properties.getProperty("type")),
+                    properties.getProperty("name"),
+                    properties.getProperty("contentType"),
+                    Long.parseLong(properties.getProperty("length")),
+                    properties.getProperty("checksum"),
+                    Instant.parse(properties.getProperty("createdAt"))
+            );
+        } catch (Exception e) {
+            throw new IllegalStateException("The upload session " + anId + " is corrupted", e);
+        }
+
+        // Vencida, mas ainda não apagada pela limpeza
+        return aSession.isExpired(Instant.now(), this.ttl) ? Optional.empty() : Optional.of(aSession);
+    }
+
+    @Override
+    public UploadChunk writeChunk(final String anId, final long offset, final InputStream content, final long limit) {
+        final Path chunks = sessionDir(anId).resolve(CHUNKS);
+        Path tmp = null;
+
+        // Um offset dentro de outro pedaço é recusado antes de ler o corpo
+        checkOverlap(anId, UploadChunk.with(offset, 1));
+
+        try {
+            tmp = Files.createTempFile(chunks, "chunk-", ".part");
+
+            final long written;
+            try (content; OutputStream out = Files.newOutputStream(tmp)) {
+                written = copy(content, out, limit);
+
+                if (written == limit && content.read() != -1) {
+                    throw new IllegalArgumentException("The chunk at offset " + offset + " is larger than " + limit + " bytes");
+                }
+            }
+
+            // Um corpo vazio substituiria o pedaço já enviado nesse offset
+            if (written == 0) {
+                throw new IllegalArgumentException("The chunk at offset " + offset + " is empty");
+            }
+
+            final UploadChunk aChunk = UploadChunk.with(offset, written);
+            final ReentrantLock lock = lockFor(anId);
+
+            lock.lock();
+            try {
+                checkOverlap(anId, aChunk);
+                Files.move(tmp, chunks.resolve(chunkName(offset)), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                lock.unlock();
+            }
+
+            return aChunk;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the chunk at offset " + offset + " of the upload " + anId, e);
+        } finally {
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    // O pedaço do mesmo offset não conta: reenviá-lo substitui o anterior
+    private void checkOverlap(final String anId, final UploadChunk aChunk) {
+        for (final UploadChunk existing : chunks(anId)) {
+            if (existing.offset() != aChunk.offset() && existing.overlaps(aChunk)) {
+                throw new OverlappingChunkException(existing);
+            }
+        }
+    }
+
+    @Override
+    public List<UploadChunk> chunks(final String anId) {
+        return chunkFiles(anId).stream()
+                .map(it -> {
+                    try {
+                        return UploadChunk.with(Long.parseLong(it.getFileName().toString()), Files.size(it));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+                .toList();
+    }
+
+    @Override
+    public StreamResource content(final String anId) {
+        final UploadSession aSession = findById(anId).orElseThrow(() -> new IllegalArgumentException("Upload session " + anId + " was not found"));
+        final Iterator<Path> files = chunkFiles(anId).iterator();
+
+        // Os pedaços são abertos um de cada vez, conforme a leitura avança
+        final InputStream in = new SequenceInputStream(new Enumeration<>() {
+            @Override
+            public boolean hasMoreElements() {
+                return files.hasNext();
+            }
+
+            @Override
+            public InputStream nextElement() {
+                try {
+                    return new BufferedInputStream(Files.newInputStream(files.next()), 64 * 1024);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        });
+
+        return StreamResource.with(in, aSession.length(), aSession.contentType(), aSession.name());
+    }
+
+    @Override
+    public void delete(final String anId) {
+        final Path dir = sessionDir(anId);
+
+        if (!Files.exists(dir)) {
+            return;
+        }
+
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(it -> {
+                try {
+                    Files.deleteIfExists(it);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Apaga o staging das sessões vencidas; um diretório sem os dados da sessão (criação interrompida) vence pela data
+     * de modificação
+     */
+    @Scheduled(fixedDelayString = "${storage.uploads.purge-delay:3600000}")
+    public void purgeExpired() {
+        final Instant now = Instant.now();
+
+        try (Stream<Path> dirs = Files.list(this.uploads)) {
+            for (final Path dir : dirs.filter(Files::isDirectory).toList()) {
+                final String anId = dir.getFileName().toString();
+
+                try {
+                    final Instant createdAt = Files.exists(dir.resolve(SESSION))
+                            ? readCreatedAt(dir.resolve(SESSION))
+                            : Files.getLastModifiedTime(dir).toInstant();
+
+                    if (createdAt.plus(this.ttl).isBefore(now)) {
+                        delete(anId);
+                    }
+                } catch (Exception e) {
+                    System.out.println("Erro: " + e.getMessage());
+                }
+            }
+        } catch (Exception e) {
+            System.out.println("Erro: " + e.getMessage());
+        }
+    }
+
+    private static Instant readCreatedAt(final Path session) throws IOException {
+        final Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(session)) {
+            properties.load(in);
+        }
+
+        return Instant.parse(properties.getProperty("createdAt"));
+    }
+
+    private ReentrantLock lockFor(final String anId) {
+        return this.locks[Math.floorMod(anId.hashCode(), LOCK_STRIPES)];
+    }
+
+    private List<Path> chunkFiles(final String anId) {
+        try (Stream<Path> files = Files.list(sessionDir(anId).resolve(CHUNKS))) {
+            return files.filter(it -> !it.getFileName().toString().endsWith(".part"))
+                    .sorted()
+                    .toList();
+        } catch (NoSuchFileException e) {
+            return List.of();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long copy(final InputStream in, final OutputStream out, final long limit) throws IOException {
+        final byte[] buffer = new byte[64 * 1024];
+        long copied = 0;
+
+        while (copied < limit) {
+            final int read = in.read(buffer, 0, (int) Math.min(buffer.length, limit - copied));
+            if (read < 0) {
+                break;
+            }
+            out.write(buffer, 0, read);
+            copied += read;
+        }
+
+        return copied;
+    }
+
+    private static String chunkName(final long offset) {
+        return String.format("%020d", offset);
+    }
+
+    private Path sessionDir(final String anId) {
+        if (anId == null || !VALID_ID.matcher(anId).matches()) {
+            throw new IllegalArgumentException("Invalid upload session id: " + anId);
+        }
+
+        return this.uploads.resolve(anId);
+    }
+}
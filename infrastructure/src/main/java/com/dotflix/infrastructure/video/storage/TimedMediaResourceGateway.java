@@ -0,0 +1,79 @@
+package com.dotflix.infrastructure.video.storage;
+
+import com.dotflix.domain.video.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Mede cada gravação de mídia no {@link FileSystemMediaResourceGateway}: timer {@code media.store} com as tags
+ * {@code type} (VIDEO, TRAILER, BANNER...) e {@code outcome}. As demais operações são repassadas sem medição.
+ */
+@Primary
+@Component
+public class TimedMediaResourceGateway implements MediaResourceGateway {
+
+    private final MediaResourceGateway delegate;
+    private final MeterRegistry registry;
+
+    public TimedMediaResourceGateway(final FileSystemMediaResourceGateway delegate, final MeterRegistry registry) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.registry = Objects.requireNonNull(registry);
+    }
+
+    @Override
+    public AudioVideoMedia storeAudioVideo(final String anId, final VideoResource aResource) {
+        return timed(aResource.type(), () -> this.delegate.storeAudioVideo(anId, aResource));
+    }
+
+    @Override
+    public AudioVideoMedia storeAudioVideo(final String anId, final VideoMediaType aType, final StreamResource aResource) {
+        return timed(aType, () -> this.delegate.storeAudioVideo(anId, aType, aResource));
+    }
+
+    @Override
+    public ImageMedia storeImage(final String anId, final VideoResource aResource) {
+        return timed(aResource.type(), () -> this.delegate.storeImage(anId, aResource));
+    }
+
+    @Override
+    public ImageMedia storeImage(final String anId, final VideoMediaType aType, final StreamResource aResource) {
+        return timed(aType, () -> this.delegate.storeImage(anId, aType, aResource));
+    }
+
+    @Override
+    public Optional<Resource> getResource(final String anId, final VideoMediaType type) {
+        return this.delegate.getResource(anId, type);
+    }
+
+    @Override
+    public Optional<MediaFile> getMediaFile(final String anId, final VideoMediaType type) {
+        return this.delegate.getMediaFile(anId, type);
+    }
+
+    @Override
+    public void clearResources(final String anId) {
+        this.delegate.clearResources(anId);
+    }
+
+    private <T> T timed(final VideoMediaType aType, final Supplier<T> store) {
+        final Timer.Sample sample = Timer.start(this.registry);
+        String outcome = "error";
+
+        try {
+            final T result = store.get();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(Timer.builder("media.store")
+                    .tag("type", String.valueOf(aType))
+                    .tag("outcome", outcome)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(this.registry));
+        }
+    }
+}
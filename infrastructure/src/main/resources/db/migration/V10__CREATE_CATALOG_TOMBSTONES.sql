@@ -0,0 +1,9 @@
+-- Registros apagados de category, genres e cast_members, para o feed de mudanças (/changes) avisar os consumidores
+CREATE TABLE catalog_tombstones (
+    resource VARCHAR(32) NOT NULL,
+    id VARCHAR(36) NOT NULL,
+    deleted_at TIMESTAMP(9) NOT NULL,
+    CONSTRAINT pk_catalog_tombstones PRIMARY KEY (resource, id)
+);
+
+CREATE INDEX idx_catalog_tombstones_resource_deleted_at_id ON catalog_tombstones (resource, deleted_at, id);
@@ -0,0 +1,5 @@
+-- Posse da codificação de cada mídia de áudio/vídeo (ver EncodingWorker): uma mídia PENDING ou PROCESSING com claimed_at
+-- nulo ou vencido ficou sem dono (processo caiu, evento perdido) e é retomada pela recuperação do worker
+ALTER TABLE videos_video_media ADD COLUMN claimed_at TIMESTAMP(9);
+
+CREATE INDEX idx_videos_video_media_status_claimed_at ON videos_video_media (media_status, claimed_at);
@@ -0,0 +1,15 @@
+-- Tentativas de publicação de cada evento (ver VideoOutboxRelay): o relay só lê linhas com next_attempt_at nulo ou
+-- vencido, e um evento que falha em todas as tentativas vai para videos_outbox_dead_letter
+ALTER TABLE videos_outbox ADD COLUMN attempts INT NOT NULL DEFAULT 0;
+ALTER TABLE videos_outbox ADD COLUMN next_attempt_at TIMESTAMP(9);
+
+CREATE TABLE videos_outbox_dead_letter (
+    id BIGINT PRIMARY KEY,
+    aggregate_id VARCHAR(36) NOT NULL,
+    event_type VARCHAR(255) NOT NULL,
+    payload TEXT NOT NULL,
+    occurred_on TIMESTAMP(9) NOT NULL,
+    created_at TIMESTAMP(9) NOT NULL,
+    attempts INT NOT NULL,
+    failed_at TIMESTAMP(9) NOT NULL
+);
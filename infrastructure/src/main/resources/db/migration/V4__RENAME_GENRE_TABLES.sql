@@ -0,0 +1,3 @@
+ALTER TABLE genre RENAME TO genres;
+
+ALTER TABLE genre_category RENAME TO genres_categories;
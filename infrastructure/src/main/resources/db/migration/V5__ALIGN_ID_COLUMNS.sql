@@ -0,0 +1,10 @@
+ALTER TABLE genres_categories DROP CONSTRAINT fk_genre_id;
+ALTER TABLE genres_categories DROP CONSTRAINT fk_category_id;
+
+ALTER TABLE genres ALTER COLUMN id SET DATA TYPE VARCHAR(36);
+ALTER TABLE genres_categories ALTER COLUMN genre_id SET DATA TYPE VARCHAR(36);
+ALTER TABLE genres_categories ALTER COLUMN category_id SET DATA TYPE VARCHAR(36);
+ALTER TABLE cast_members ALTER COLUMN id SET DATA TYPE VARCHAR(36);
+
+ALTER TABLE genres_categories ADD CONSTRAINT fk_genre_id FOREIGN KEY (genre_id) REFERENCES genres (id) ON DELETE CASCADE;
+ALTER TABLE genres_categories ADD CONSTRAINT fk_category_id FOREIGN KEY (category_id) REFERENCES category (id) ON DELETE CASCADE;
@@ -0,0 +1,64 @@
+CREATE TABLE videos (
+    id VARCHAR(36) NOT NULL PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(4000) NOT NULL,
+    year_launched SMALLINT NOT NULL,
+    opened BOOLEAN NOT NULL DEFAULT FALSE,
+    published BOOLEAN NOT NULL DEFAULT FALSE,
+    rating VARCHAR(10) NOT NULL,
+    duration DOUBLE PRECISION NOT NULL,
+    created_at TIMESTAMP(9) NOT NULL,
+    updated_at TIMESTAMP(9) NOT NULL
+);
+
+CREATE TABLE videos_video_media (
+    id VARCHAR(36) NOT NULL PRIMARY KEY,
+    video_id VARCHAR(36) NOT NULL,
+    media_type VARCHAR(32) NOT NULL,
+    checksum VARCHAR(255) NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    file_path VARCHAR(500) NOT NULL,
+    encoded_path VARCHAR(500) NOT NULL,
+    media_status VARCHAR(32) NOT NULL,
+    CONSTRAINT idx_videos_video_media_slot UNIQUE (video_id, media_type),
+    CONSTRAINT fk_videos_video_media_video_id FOREIGN KEY (video_id) REFERENCES videos (id) ON DELETE CASCADE
+);
+
+CREATE TABLE videos_image_media (
+    id VARCHAR(36) NOT NULL PRIMARY KEY,
+    video_id VARCHAR(36) NOT NULL,
+    media_type VARCHAR(32) NOT NULL,
+    checksum VARCHAR(255) NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    file_path VARCHAR(500) NOT NULL,
+    CONSTRAINT idx_videos_image_media_slot UNIQUE (video_id, media_type),
+    CONSTRAINT fk_videos_image_media_video_id FOREIGN KEY (video_id) REFERENCES videos (id) ON DELETE CASCADE
+);
+
+CREATE TABLE videos_categories (
+    video_id VARCHAR(36) NOT NULL,
+    category_id VARCHAR(36) NOT NULL,
+    CONSTRAINT idx_videos_categories UNIQUE (video_id, category_id),
+    CONSTRAINT fk_videos_categories_video_id FOREIGN KEY (video_id) REFERENCES videos (id) ON DELETE CASCADE,
+    CONSTRAINT fk_videos_categories_category_id FOREIGN KEY (category_id) REFERENCES category (id) ON DELETE CASCADE
+);
+
+CREATE TABLE videos_genres (
+    video_id VARCHAR(36) NOT NULL,
+    genre_id VARCHAR(36) NOT NULL,
+    CONSTRAINT idx_videos_genres UNIQUE (video_id, genre_id),
+    CONSTRAINT fk_videos_genres_video_id FOREIGN KEY (video_id) REFERENCES videos (id) ON DELETE CASCADE,
+    CONSTRAINT fk_videos_genres_genre_id FOREIGN KEY (genre_id) REFERENCES genres (id) ON DELETE CASCADE
+);
+
+CREATE TABLE videos_cast_members (
+    video_id VARCHAR(36) NOT NULL,
+    cast_member_id VARCHAR(36) NOT NULL,
+    CONSTRAINT idx_videos_cast_members UNIQUE (video_id, cast_member_id),
+    CONSTRAINT fk_videos_cast_members_video_id FOREIGN KEY (video_id) REFERENCES videos (id) ON DELETE CASCADE,
+    CONSTRAINT fk_videos_cast_members_cast_member_id FOREIGN KEY (cast_member_id) REFERENCES cast_members (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_videos_categories_category_id ON videos_categories (category_id);
+CREATE INDEX idx_videos_genres_genre_id ON videos_genres (genre_id);
+CREATE INDEX idx_videos_cast_members_cast_member_id ON videos_cast_members (cast_member_id);
@@ -0,0 +1,11 @@
+CREATE INDEX idx_category_name_id ON category (name, id);
+CREATE INDEX idx_category_created_at_id ON category (created_at, id);
+CREATE INDEX idx_category_updated_at_id ON category (updated_at, id);
+
+CREATE INDEX idx_genres_name_id ON genres (name, id);
+CREATE INDEX idx_genres_created_at_id ON genres (created_at, id);
+CREATE INDEX idx_genres_updated_at_id ON genres (updated_at, id);
+
+CREATE INDEX idx_cast_members_name_id ON cast_members (name, id);
+CREATE INDEX idx_cast_members_created_at_id ON cast_members (created_at, id);
+CREATE INDEX idx_cast_members_updated_at_id ON cast_members (updated_at, id);
@@ -0,0 +1,9 @@
+-- Eventos de domínio dos vídeos, gravados na mesma transação da alteração do vídeo e publicados depois pelo relay
+CREATE TABLE videos_outbox (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    aggregate_id VARCHAR(36) NOT NULL,
+    event_type VARCHAR(255) NOT NULL,
+    payload TEXT NOT NULL,
+    occurred_on TIMESTAMP(9) NOT NULL,
+    created_at TIMESTAMP(9) NOT NULL
+);
@@ -6,7 +6,10 @@ import com.dotflix.infrastructure.genre.persistence.GenreRepository;
 import org.junit.jupiter.api.extension.BeforeEachCallback;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.util.List;
 
 public class PostgreSQLCleanUpExtension implements BeforeEachCallback {
@@ -14,6 +17,15 @@ public class PostgreSQLCleanUpExtension implements BeforeEachCallback {
     public void beforeEach(final ExtensionContext context) {
         final var appContext = SpringExtension.getApplicationContext(context);
 
+        // Vídeos são persistidos via JDBC, sem repositório JPA
+        new TransactionTemplate(appContext.getBean(PlatformTransactionManager.class))
+                .executeWithoutResult(status -> {
+                    appContext.getBean(JdbcTemplate.class).update("DELETE FROM videos_outbox");
+                    appContext.getBean(JdbcTemplate.class).update("DELETE FROM videos_outbox_dead_letter");
+                    appContext.getBean(JdbcTemplate.class).update("DELETE FROM videos");
+                    appContext.getBean(JdbcTemplate.class).update("DELETE FROM catalog_tombstones");
+                });
+
         List.of(
                 appContext.getBean(GenreRepository.class),
                 appContext.getBean(CategoryRepository.class),
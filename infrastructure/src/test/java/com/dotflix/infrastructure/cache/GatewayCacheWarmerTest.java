@@ -0,0 +1,58 @@
+package com.dotflix.infrastructure.cache;
+
+import com.dotflix.domain.castmember.CastMember;
+import com.dotflix.domain.castmember.CastMemberType;
+import com.dotflix.domain.category.Category;
+import com.dotflix.domain.genre.Genre;
+import com.dotflix.infrastructure.PostgresqlGatewayTest;
+import com.dotflix.infrastructure.castmember.persistence.CastMemberPostgresqlGateway;
+import com.dotflix.infrastructure.category.persistence.CategoryPostgresqlGateway;
+import com.dotflix.infrastructure.genre.persistence.GenrePostgresqlGateway;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import java.util.List;
+
+@PostgresqlGatewayTest
+@TestPropertySource(properties = "cache.gateways.enabled=true")
+public class GatewayCacheWarmerTest {
+    @Autowired
+    private CategoryPostgresqlGateway categoryGateway;
+
+    @Autowired
+    private GenrePostgresqlGateway genreGateway;
+
+    @Autowired
+    private CastMemberPostgresqlGateway castMemberGateway;
+
+    @Autowired
+    private GatewayCaches caches;
+
+    @Autowired
+    private GatewayCacheWarmer warmer;
+
+    @Test
+    public void warmedCachesAnswerExistsByIdsFromMemoryTest() throws Exception {
+        // Arrange
+        final Category filmes = categoryGateway.create(Category.newCategory("Filmes", null, true));
+        final Genre acao = genreGateway.create(Genre.newGenre("Ação", true).addCategory(filmes.getId()));
+        final CastMember joao = castMemberGateway.create(CastMember.newMember("Joao", CastMemberType.ACTOR));
+
+        // Act
+        warmer.warm();
+
+        // Assert
+        assertKnown("categories", filmes.getId());
+        assertKnown("genres", acao.getId());
+        assertKnown("cast_members", joao.getId());
+    }
+
+    private void assertKnown(final String name, final String id) {
+        final GatewayCache<?> aCache = caches.find(name).orElseThrow();
+
+        final List<String> actual = aCache.existing(List.of(id), ids -> Assertions.fail(name + " went to the database for " + ids));
+
+        Assertions.assertEquals(List.of(id), actual);
+    }
+}
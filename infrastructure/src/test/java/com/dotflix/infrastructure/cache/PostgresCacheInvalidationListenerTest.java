@@ -0,0 +1,118 @@
+package com.dotflix.infrastructure.cache;
+
+import com.dotflix.domain.category.Category;
+import com.dotflix.domain.category.CategoryGateway;
+import com.dotflix.infrastructure.category.persistence.CachedCategoryGateway;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+public class PostgresCacheInvalidationListenerTest {
+
+    private CategoryGateway delegate;
+    private CategoryGateway gateway;
+    private SimpleMeterRegistry registry;
+    private PostgresCacheInvalidationPublisher publisher;
+    private PostgresCacheInvalidationListener listener;
+
+    @BeforeEach
+    public void setUp() {
+        this.delegate = Mockito.mock(CategoryGateway.class);
+        this.registry = new SimpleMeterRegistry();
+
+        final var caches = new GatewayCaches(true, 100, Duration.ofMinutes(5), this.registry, Optional.empty());
+        this.gateway = caches.decorate(this.delegate, "categories", "category", CachedCategoryGateway::copy, CachedCategoryGateway::new);
+        this.publisher = new PostgresCacheInvalidationPublisher(Mockito.mock(NamedParameterJdbcTemplate.class), Mockito.mock(PlatformTransactionManager.class), "dotflix_cache");
+        this.listener = new PostgresCacheInvalidationListener(new DataSourceProperties(), caches, Mockito.mock(GatewayCacheWarmer.class), this.publisher, this.registry, "dotflix_cache", Duration.ofMillis(500), Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void payloadsRoundTripTest() {
+        // Arrange
+        final var ids = IntStream.range(0, 500).mapToObj(i -> "01890a5d-ac96-774b-bcce-b302099a%04d".formatted(i)).toList();
+
+        // Act
+        final var payloads = PostgresCacheInvalidationPublisher.payloads("node-1", "categories", ids);
+
+        // Assert
+        Assertions.assertTrue(payloads.size() > 1);
+        Assertions.assertTrue(payloads.stream().allMatch(p -> p.length() <= PostgresCacheInvalidationPublisher.MAX_PAYLOAD));
+        Assertions.assertEquals(ids, payloads.stream()
+                .flatMap(p -> PostgresCacheInvalidationPublisher.parse(p).orElseThrow().ids().stream())
+                .toList());
+        Assertions.assertTrue(payloads.stream().allMatch(p -> "node-1".equals(PostgresCacheInvalidationPublisher.parse(p).orElseThrow().node())));
+        Assertions.assertTrue(PostgresCacheInvalidationPublisher.payloads("node-1", "categories", Collections.emptyList()).isEmpty());
+        Assertions.assertTrue(PostgresCacheInvalidationPublisher.parse("categories").isEmpty());
+        Assertions.assertTrue(PostgresCacheInvalidationPublisher.parse("node-1:categories").isEmpty());
+    }
+
+    @Test
+    public void notificationEvictsTheCachedIdTest() {
+        // Arrange
+        final var aCategory = Category.newCategory("Filmes", "Categoria mais assistida", true);
+        Mockito.when(delegate.findById(aCategory.getId())).thenReturn(Optional.of(aCategory));
+        gateway.findById(aCategory.getId());
+
+        // Act
+        listener.handle("node-2:categories:" + aCategory.getId());
+        listener.handle("node-2:genres:" + aCategory.getId());
+        gateway.findById(aCategory.getId());
+
+        // Assert
+        Mockito.verify(delegate, Mockito.times(2)).findById(aCategory.getId());
+        Assertions.assertEquals(2.0, registry.get("cache.invalidation.received").counter().count());
+    }
+
+    @Test
+    public void ownNotificationIsIgnoredTest() {
+        // Arrange
+        final var aCategory = Category.newCategory("Filmes", "Categoria mais assistida", true);
+        Mockito.when(delegate.findById(aCategory.getId())).thenReturn(Optional.of(aCategory));
+        gateway.findById(aCategory.getId());
+
+        // Act
+        listener.handle(publisher.node() + ":categories:" + aCategory.getId());
+        gateway.findById(aCategory.getId());
+
+        // Assert
+        Mockito.verify(delegate, Mockito.times(1)).findById(aCategory.getId());
+        Assertions.assertEquals(0.0, registry.get("cache.invalidation.received").counter().count());
+    }
+
+    @Test
+    public void listenQuotesTheChannelTest() {
+        // Act
+        final var mixedCase = PostgresCacheInvalidationListener.listenStatement("Dotflix_Cache");
+        final var withQuote = PostgresCacheInvalidationListener.listenStatement("a\"; NOTIFY x; --");
+
+        // Assert
+        Assertions.assertEquals("LISTEN \"Dotflix_Cache\"", mixedCase);
+        Assertions.assertEquals("LISTEN \"a\"\"; NOTIFY x; --\"", withQuote);
+    }
+
+    @Test
+    public void flushEvictsEverythingTest() {
+        // Arrange
+        final var aCategory = Category.newCategory("Filmes", "Categoria mais assistida", true);
+        Mockito.when(delegate.findById(aCategory.getId())).thenReturn(Optional.of(aCategory));
+        Mockito.when(delegate.existsByIds(List.of(aCategory.getId()))).thenReturn(List.of(aCategory.getId()));
+        gateway.findById(aCategory.getId());
+
+        // Act
+        listener.flush();
+        gateway.existsByIds(List.of(aCategory.getId()));
+
+        // Assert
+        Mockito.verify(delegate).existsByIds(List.of(aCategory.getId()));
+    }
+}
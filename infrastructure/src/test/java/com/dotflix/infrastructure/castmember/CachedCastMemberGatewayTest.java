@@ -0,0 +1,88 @@
+package com.dotflix.infrastructure.castmember;
+
+import com.dotflix.domain.castmember.CastMember;
+import com.dotflix.domain.castmember.CastMemberGateway;
+import com.dotflix.domain.castmember.CastMemberType;
+import com.dotflix.infrastructure.cache.CacheInvalidationPublisher;
+import com.dotflix.infrastructure.cache.GatewayCaches;
+import com.dotflix.infrastructure.castmember.persistence.CachedCastMemberGateway;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+public class CachedCastMemberGatewayTest {
+
+    private CastMemberGateway delegate;
+    private CacheInvalidationPublisher publisher;
+    private CastMemberGateway gateway;
+
+    @BeforeEach
+    public void setUp() {
+        this.delegate = Mockito.mock(CastMemberGateway.class);
+        this.publisher = Mockito.mock(CacheInvalidationPublisher.class);
+        this.gateway = new GatewayCaches(true, 100, Duration.ofMinutes(5), new SimpleMeterRegistry(), Optional.of(this.publisher))
+                .decorate(this.delegate, "cast_members", "cast_members", CachedCastMemberGateway::copy, CachedCastMemberGateway::new);
+    }
+
+    @Test
+    public void changesOnTheReturnedMemberDoNotReachTheCacheTest() throws Exception {
+        // Arrange
+        final var aMember = CastMember.newMember("Joao", CastMemberType.ACTOR);
+        Mockito.when(delegate.findById(aMember.getId())).thenReturn(Optional.of(aMember));
+
+        // Act
+        gateway.findById(aMember.getId()).orElseThrow().update("Maria", CastMemberType.DIRECTOR);
+        final var actual = gateway.findById(aMember.getId()).orElseThrow();
+
+        // Assert
+        Assertions.assertEquals("Joao", actual.getName());
+        Assertions.assertEquals(CastMemberType.ACTOR, actual.getType());
+        Mockito.verify(delegate, Mockito.times(1)).findById(aMember.getId());
+    }
+
+    @Test
+    public void writesInvalidateTheCachedMemberTest() throws Exception {
+        // Arrange
+        final var aMember = CastMember.newMember("Joao", CastMemberType.ACTOR);
+        Mockito.when(delegate.findById(aMember.getId())).thenReturn(Optional.of(aMember));
+        Mockito.when(delegate.update(ArgumentMatchers.any())).thenAnswer(i -> i.getArgument(0));
+
+        // Act
+        gateway.findById(aMember.getId());
+        gateway.update(aMember);
+        gateway.findById(aMember.getId());
+        gateway.deleteById(aMember.getId());
+        gateway.findById(aMember.getId());
+
+        // Assert
+        Mockito.verify(delegate, Mockito.times(3)).findById(aMember.getId());
+        Mockito.verify(publisher, Mockito.times(2)).publish("cast_members", List.of(aMember.getId()));
+    }
+
+    @Test
+    public void upsertInvalidatesAndKnowsEveryIdTest() throws Exception {
+        // Arrange
+        final var joao = CastMember.newMember("Joao", CastMemberType.ACTOR);
+        final var maria = CastMember.newMember("Maria", CastMemberType.DIRECTOR);
+        Mockito.when(delegate.findById(joao.getId())).thenReturn(Optional.of(joao));
+
+        gateway.findById(joao.getId());
+
+        // Act
+        gateway.upsertAll(List.of(joao, maria));
+        gateway.findById(joao.getId());
+        final var actual = gateway.existsByIds(List.of(joao.getId(), maria.getId()));
+
+        // Assert
+        Assertions.assertEquals(List.of(joao.getId(), maria.getId()), actual);
+        Mockito.verify(delegate, Mockito.times(2)).findById(joao.getId());
+        Mockito.verify(delegate, Mockito.never()).existsByIds(ArgumentMatchers.any());
+        Mockito.verify(publisher).publish("cast_members", List.of(joao.getId(), maria.getId()));
+    }
+}
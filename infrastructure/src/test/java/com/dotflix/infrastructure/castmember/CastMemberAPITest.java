@@ -51,6 +51,12 @@ public class CastMemberAPITest {
     @MockitoBean
     private UpdateCastMemberUseCase updateCastMemberUseCase;
 
+    @MockitoBean
+    private UpsertCastMembersUseCase upsertCastMembersUseCase;
+
+    @MockitoBean
+    private GetCastMemberChangesUseCase getCastMemberChangesUseCase;
+
     /* CREATE CASTMEMBERS TEST */
     @Test
     public void createCastMemberTest() throws Exception {
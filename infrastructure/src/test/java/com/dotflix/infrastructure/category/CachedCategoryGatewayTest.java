@@ -0,0 +1,261 @@
+package com.dotflix.infrastructure.category;
+
+import com.dotflix.domain.category.Category;
+import com.dotflix.domain.category.CategoryGateway;
+import com.dotflix.domain.genre.Genre;
+import com.dotflix.domain.genre.GenreGateway;
+import com.dotflix.infrastructure.cache.CacheInvalidationPublisher;
+import com.dotflix.infrastructure.cache.GatewayCaches;
+import com.dotflix.infrastructure.category.persistence.CachedCategoryGateway;
+import com.dotflix.infrastructure.genre.persistence.CachedGenreGateway;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+public class CachedCategoryGatewayTest {
+
+    private CategoryGateway delegate;
+    private SimpleMeterRegistry registry;
+    private CacheInvalidationPublisher publisher;
+    private GatewayCaches caches;
+    private CategoryGateway gateway;
+
+    @BeforeEach
+    public void setUp() {
+        this.delegate = Mockito.mock(CategoryGateway.class);
+        this.registry = new SimpleMeterRegistry();
+        this.publisher = Mockito.mock(CacheInvalidationPublisher.class);
+        this.caches = new GatewayCaches(true, 100, Duration.ofMinutes(5), this.registry, Optional.of(this.publisher));
+        this.gateway = this.caches.decorate(this.delegate, "categories", "category", CachedCategoryGateway::copy, CachedCategoryGateway::new);
+    }
+
+    @Test
+    public void findByIdHitsTheDatabaseOnceTest() {
+        // Arrange
+        final var aCategory = Category.newCategory("Filmes", "Categoria mais assistida", true);
+        Mockito.when(delegate.findById(aCategory.getId())).thenReturn(Optional.of(aCategory));
+
+        // Act
+        final var first = gateway.findById(aCategory.getId());
+        final var second = gateway.findById(aCategory.getId());
+
+        // Assert
+        Assertions.assertEquals(aCategory, first.orElseThrow());
+        Assertions.assertEquals(aCategory, second.orElseThrow());
+        Mockito.verify(delegate, Mockito.times(1)).findById(aCategory.getId());
+        Assertions.assertEquals(1.0, registry.get("cache.gets").tag("cache", "categories").tag("result", "hit").functionCounter().count());
+        Assertions.assertEquals(1.0, registry.get("cache.gets").tag("cache", "categories").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    public void changesOnTheReturnedCategoryDoNotReachTheCacheTest() {
+        // Arrange
+        final var aCategory = Category.newCategory("Filmes", "Categoria mais assistida", true);
+        Mockito.when(delegate.findById(aCategory.getId())).thenReturn(Optional.of(aCategory));
+
+        // Act
+        gateway.findById(aCategory.getId()).orElseThrow().update("Séries", "Outra", false);
+        final var actual = gateway.findById(aCategory.getId()).orElseThrow();
+
+        // Assert
+        Assertions.assertEquals("Filmes", actual.getName());
+        Assertions.assertTrue(actual.getIsActive());
+    }
+
+    @Test
+    public void absentCategoryIsNotCachedTest() {
+        // Arrange
+        Mockito.when(delegate.findById("123")).thenReturn(Optional.empty());
+
+        // Act
+        gateway.findById("123");
+        gateway.findById("123");
+
+        // Assert
+        Mockito.verify(delegate, Mockito.times(2)).findById("123");
+    }
+
+    @Test
+    public void writesInvalidateTheCachedCategoryTest() {
+        // Arrange
+        final var aCategory = Category.newCategory("Filmes", "Categoria mais assistida", true);
+        Mockito.when(delegate.findById(aCategory.getId())).thenReturn(Optional.of(aCategory));
+        Mockito.when(delegate.update(ArgumentMatchers.any())).thenAnswer(i -> i.getArgument(0));
+
+        // Act
+        gateway.findById(aCategory.getId());
+        gateway.update(aCategory);
+        gateway.findById(aCategory.getId());
+        gateway.deleteById(aCategory.getId());
+        gateway.findById(aCategory.getId());
+
+        // Assert
+        Mockito.verify(delegate, Mockito.times(3)).findById(aCategory.getId());
+        Mockito.verify(publisher, Mockito.times(2)).publish("categories", List.of(aCategory.getId()));
+    }
+
+    @Test
+    public void upsertPublishesEveryIdTest() {
+        // Arrange
+        final var filmes = Category.newCategory("Filmes", "Categoria mais assistida", true);
+        final var series = Category.newCategory("Séries", "Outra", true);
+
+        // Act
+        gateway.upsertAll(List.of(filmes, series));
+
+        // Assert
+        Mockito.verify(publisher).publish("categories", List.of(filmes.getId(), series.getId()));
+    }
+
+    @Test
+    public void existsByIdsOnlyQueriesUnknownIdsTest() {
+        // Arrange
+        final var aCategory = Category.newCategory("Filmes", "Categoria mais assistida", true);
+        Mockito.when(delegate.findById(aCategory.getId())).thenReturn(Optional.of(aCategory));
+        Mockito.when(delegate.existsByIds(List.of("123", "456"))).thenReturn(List.of("456"));
+
+        gateway.findById(aCategory.getId());
+
+        // Act
+        final var actual = gateway.existsByIds(List.of(aCategory.getId(), "123", "456"));
+
+        // Assert
+        Assertions.assertEquals(List.of(aCategory.getId(), "456"), actual);
+        Mockito.verify(delegate).existsByIds(List.of("123", "456"));
+    }
+
+    @Test
+    public void warmedIndexAnswersExistsByIdsFromMemoryTest() {
+        // Arrange
+        final var aCategory = Category.newCategory("Filmes", "Categoria mais assistida", true);
+        caches.find("categories").orElseThrow().warm(() -> List.of(aCategory.getId(), "456"));
+
+        // Act
+        final var actual = gateway.existsByIds(List.of(aCategory.getId(), "456"));
+
+        // Assert
+        Assertions.assertEquals(List.of(aCategory.getId(), "456"), actual);
+        Mockito.verify(delegate, Mockito.never()).existsByIds(ArgumentMatchers.any());
+        Assertions.assertEquals(2.0, registry.get("cache.existence.lookups").tag("result", "hit").counter().count());
+        Assertions.assertEquals(2.0, registry.get("cache.existence.size").gauge().value());
+    }
+
+    @Test
+    public void createdIdsAreKnownAndDeletedIdsAreNotTest() {
+        // Arrange
+        final var aCategory = Category.newCategory("Filmes", "Categoria mais assistida", true);
+        Mockito.when(delegate.create(ArgumentMatchers.any())).thenAnswer(i -> i.getArgument(0));
+        Mockito.when(delegate.existsByIds(List.of(aCategory.getId()))).thenReturn(List.of());
+
+        // Act
+        gateway.create(aCategory);
+        final var afterCreate = gateway.existsByIds(List.of(aCategory.getId()));
+        gateway.deleteById(aCategory.getId());
+        final var afterDelete = gateway.existsByIds(List.of(aCategory.getId()));
+
+        // Assert
+        Assertions.assertEquals(List.of(aCategory.getId()), afterCreate);
+        Assertions.assertEquals(List.of(), afterDelete);
+        Mockito.verify(delegate, Mockito.times(1)).existsByIds(List.of(aCategory.getId()));
+    }
+
+    @Test
+    public void loadOverlappingADeleteIsNotRememberedTest() {
+        // Arrange
+        final var aCache = caches.find("categories").orElseThrow();
+        Mockito.when(delegate.existsByIds(List.of("123"))).thenAnswer(i -> {
+            // Apagado em outro nó depois da leitura
+            aCache.evict(List.of("123"));
+            return List.of("123");
+        }).thenReturn(List.of());
+
+        // Act
+        final var first = gateway.existsByIds(List.of("123"));
+        final var second = gateway.existsByIds(List.of("123"));
+
+        // Assert
+        Assertions.assertEquals(List.of("123"), first);
+        Assertions.assertEquals(List.of(), second);
+    }
+
+    @Test
+    public void deleteEvictsTheGenresThatReferenceTheCategoryTest() throws Exception {
+        // Arrange
+        final var genreDelegate = Mockito.mock(GenreGateway.class);
+        final GenreGateway genres = caches.decorate(genreDelegate, "genres", "genres", CachedGenreGateway::copy, CachedGenreGateway::new);
+        caches.<Genre>cascade("categories", "genres", (aGenre, ids) -> aGenre.getCategories().stream().anyMatch(ids::contains));
+
+        final var aCategory = Category.newCategory("Filmes", "Categoria mais assistida", true);
+        final var acao = Genre.newGenre("Ação", true);
+        acao.addCategory(aCategory.getId());
+        final var drama = Genre.newGenre("Drama", true);
+        Mockito.when(genreDelegate.findById(acao.getId())).thenReturn(Optional.of(acao));
+        Mockito.when(genreDelegate.findById(drama.getId())).thenReturn(Optional.of(drama));
+
+        genres.findById(acao.getId());
+        genres.findById(drama.getId());
+
+        // Act
+        gateway.deleteById(aCategory.getId());
+        genres.findById(acao.getId());
+        genres.findById(drama.getId());
+
+        // Assert
+        Mockito.verify(genreDelegate, Mockito.times(2)).findById(acao.getId());
+        Mockito.verify(genreDelegate, Mockito.times(1)).findById(drama.getId());
+    }
+
+    @Test
+    public void deleteDuringALoadOnlyForgetsTheDeletedIdTest() {
+        // Arrange
+        final var aCache = caches.find("categories").orElseThrow();
+        Mockito.when(delegate.existsByIds(List.of("123", "456"))).thenAnswer(i -> {
+            // Apagado em outro nó depois da leitura
+            aCache.evict(List.of("123"));
+            return List.of("123", "456");
+        });
+        Mockito.when(delegate.existsByIds(List.of("123"))).thenReturn(List.of());
+
+        // Act
+        gateway.existsByIds(List.of("123", "456"));
+        final var actual = gateway.existsByIds(List.of("123", "456"));
+
+        // Assert
+        Assertions.assertEquals(List.of("456"), actual);
+        Mockito.verify(delegate, Mockito.times(1)).existsByIds(List.of("123"));
+    }
+
+    @Test
+    public void deleteDuringTheWarmUpKeepsTheOtherIdsTest() {
+        // Arrange
+        final var aCache = caches.find("categories").orElseThrow();
+
+        // Act
+        aCache.warm(() -> {
+            aCache.evict(List.of("123"));
+            return List.of("123", "456", "789");
+        });
+        final var actual = gateway.existsByIds(List.of("456", "789"));
+
+        // Assert
+        Assertions.assertEquals(List.of("456", "789"), actual);
+        Mockito.verify(delegate, Mockito.never()).existsByIds(ArgumentMatchers.any());
+        Assertions.assertEquals(2.0, registry.get("cache.existence.size").gauge().value());
+    }
+
+    @Test
+    public void disabledCachesReturnTheGatewayItselfTest() {
+        // Act
+        final var actual = new GatewayCaches(false, 100, Duration.ofMinutes(5), registry, Optional.empty())
+                .decorate(delegate, "categories", "category", CachedCategoryGateway::copy, CachedCategoryGateway::new);
+
+        // Assert
+        Assertions.assertSame(delegate, actual);
+    }
+}
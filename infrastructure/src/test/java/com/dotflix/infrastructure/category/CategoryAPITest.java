@@ -1,8 +1,12 @@
 package com.dotflix.infrastructure.category;
 
+import com.dotflix.application.BatchItemResult;
 import com.dotflix.application.category.*;
 import com.dotflix.application.category.dto.DeleteCategoryDTO;
 import com.dotflix.application.category.dto.GetCategoryByIdDTO;
+import com.dotflix.domain.Change;
+import com.dotflix.domain.ChangeFeed;
+import com.dotflix.domain.CountMode;
 import com.dotflix.domain.Pagination;
 import com.dotflix.domain.category.Category;
 import com.dotflix.infrastructure.ApiTest;
@@ -10,19 +14,26 @@ import com.dotflix.infrastructure.ControllerTest;
 import com.dotflix.infrastructure.category.controller.CategoryAPI;
 import com.dotflix.infrastructure.category.controller.dto.CreateCategoryRequest;
 import com.dotflix.infrastructure.category.controller.dto.UpdateCategoryRequest;
+import com.dotflix.infrastructure.utils.ConditionalGet;
 import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Objects;
 
@@ -47,6 +58,12 @@ public class CategoryAPITest {
     @MockitoBean
     private GetAllCategoriesUseCase getAllCategoriesUseCase;
 
+    @MockitoBean
+    private UpsertCategoriesUseCase upsertCategoriesUseCase;
+
+    @MockitoBean
+    private GetCategoryChangesUseCase getCategoryChangesUseCase;
+
     /* CREATE TESTS */
     @Test
     public void createCategoryTest() throws Exception {
@@ -119,6 +136,70 @@ public class CategoryAPITest {
         Mockito.verify(getCategoryByIdUseCase, Mockito.times(1)).execute(Mockito.eq(new GetCategoryByIdDTO(expectedId)));
     }
 
+    @Test
+    public void getCategoryNotModifiedTest() throws Exception {
+        // Arrange
+        final Category aCategory = Category.newCategory("Filmes", "A categoria mais assistida", true);
+        final String expectedETag = ConditionalGet.etag(aCategory.getId(), aCategory.getUpdatedAt());
+
+        Mockito.when(getCategoryByIdUseCase.execute(Mockito.any())).thenReturn(aCategory);
+
+        // Act
+        final ResultActions first = this.mvc.perform(MockMvcRequestBuilders.get("/categories/{id}", aCategory.getId())
+                .with(ApiTest.CATEGORIES_JWT));
+        final ResultActions matching = this.mvc.perform(MockMvcRequestBuilders.get("/categories/{id}", aCategory.getId())
+                .with(ApiTest.CATEGORIES_JWT)
+                .header(HttpHeaders.IF_NONE_MATCH, expectedETag));
+        final ResultActions modifiedSince = this.mvc.perform(MockMvcRequestBuilders.get("/categories/{id}", aCategory.getId())
+                .with(ApiTest.CATEGORIES_JWT)
+                .header(HttpHeaders.IF_MODIFIED_SINCE, DateTimeFormatter.RFC_1123_DATE_TIME.format(aCategory.getUpdatedAt().plusSeconds(1).atZone(ZoneOffset.UTC))));
+        final ResultActions stale = this.mvc.perform(MockMvcRequestBuilders.get("/categories/{id}", aCategory.getId())
+                .with(ApiTest.CATEGORIES_JWT)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"outdated\""));
+
+        // Assert
+        first.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, expectedETag))
+                .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"));
+        matching.andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, expectedETag))
+                .andExpect(MockMvcResultMatchers.content().string(""));
+        modifiedSince.andExpect(MockMvcResultMatchers.status().isNotModified());
+        stale.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.id", Matchers.equalTo(aCategory.getId())));
+    }
+
+    @Test
+    public void getAllCategoriesNotModifiedTest() throws Exception {
+        // Arrange
+        final Category aCategory = Category.newCategory("Movies", null, true);
+
+        Mockito.when(getAllCategoriesUseCase.execute(Mockito.any())).thenReturn(new Pagination<>(0, 10, 1, List.of(aCategory)));
+
+        final MockHttpServletResponse first = this.mvc.perform(MockMvcRequestBuilders.get("/categories").with(ApiTest.CATEGORIES_JWT))
+                .andReturn().getResponse();
+        final String eTag = first.getHeader(HttpHeaders.ETAG);
+
+        // Act
+        final ResultActions response = this.mvc.perform(MockMvcRequestBuilders.get("/categories")
+                .with(ApiTest.CATEGORIES_JWT)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag));
+
+        aCategory.update("Series", null, true);
+        final ResultActions changed = this.mvc.perform(MockMvcRequestBuilders.get("/categories")
+                .with(ApiTest.CATEGORIES_JWT)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag));
+
+        // Assert
+        Assertions.assertEquals(ConditionalGet.weakEtag(first.getContentAsByteArray()), eTag);
+        Assertions.assertTrue(MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(first.getContentType())));
+        response.andExpect(MockMvcResultMatchers.status().isNotModified());
+        changed.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items[0].name", Matchers.equalTo("Series")));
+    }
+
     @Test
     public void getAllCategoriesTest() throws Exception {
         // Arrange
@@ -172,6 +253,129 @@ public class CategoryAPITest {
         ));
     }
 
+    @Test
+    public void getAllCategoriesWithCursorTest() throws Exception {
+        // Arrange
+        final Category aCategory = Category.newCategory("Movies", null, true);
+
+        final String expectedAfter = "bmFtZQoxMjMKTW92aWVz";
+        final String expectedNextCursor = "bmFtZQo0NTYKU2VyaWVz";
+
+        assert aCategory != null;
+        Mockito.when(getAllCategoriesUseCase.execute(Mockito.any())).thenReturn(new Pagination<Category>(0, 10, -1, List.of(aCategory), expectedNextCursor, CountMode.NONE));
+
+        // Act
+        final MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get("/categories")
+                .with(ApiTest.CATEGORIES_JWT)
+                .queryParam("after", expectedAfter)
+                .accept(MediaType.APPLICATION_JSON);
+
+        final ResultActions response = this.mvc.perform(request).andDo(MockMvcResultHandlers.print());
+
+        // Assert
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor", Matchers.equalTo(expectedNextCursor)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items", Matchers.hasSize(1)));
+
+        Mockito.verify(getAllCategoriesUseCase, Mockito.times(1)).execute(Mockito.argThat(query ->
+                Objects.equals(expectedAfter, query.after()) && query.isKeyset()
+        ));
+    }
+
+    @Test
+    public void getAllCategoriesWithMalformedCursorTest() throws Exception {
+        // Arrange
+        final String expectedAfter = "%%%";
+        final String expectedErrorMessage = "Invalid cursor: " + expectedAfter;
+
+        Mockito.when(getAllCategoriesUseCase.execute(Mockito.any())).thenThrow(new IllegalArgumentException(expectedErrorMessage));
+
+        // Act
+        final MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get("/categories")
+                .with(ApiTest.CATEGORIES_JWT)
+                .queryParam("after", expectedAfter)
+                .accept(MediaType.APPLICATION_JSON);
+
+        final ResultActions response = this.mvc.perform(request).andDo(MockMvcResultHandlers.print());
+
+        // Assert
+        response.andExpect(MockMvcResultMatchers.status().isUnprocessableEntity())
+                .andExpect(MockMvcResultMatchers.header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors[0].message", Matchers.equalTo(expectedErrorMessage)));
+    }
+
+    @Test
+    public void getAllCategoriesWithUnknownCountModeTest() throws Exception {
+        // Arrange
+        final String expectedErrorMessage = "'count' should be one of exact, estimated or none";
+
+        // Act
+        final MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get("/categories")
+                .with(ApiTest.CATEGORIES_JWT)
+                .queryParam("count", "bogus")
+                .accept(MediaType.APPLICATION_JSON);
+
+        final ResultActions response = this.mvc.perform(request).andDo(MockMvcResultHandlers.print());
+
+        // Assert
+        response.andExpect(MockMvcResultMatchers.status().isUnprocessableEntity())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors[0].message", Matchers.equalTo(expectedErrorMessage)));
+
+        Mockito.verify(getAllCategoriesUseCase, Mockito.never()).execute(Mockito.any());
+    }
+
+    /* CHANGES TESTS */
+    @Test
+    public void getCategoryChangesTest() throws Exception {
+        // Arrange
+        final Category aCategory = Category.newCategory("Movies", null, true);
+        final String expectedNextCursor = "MjAyNi0wMS0wMVQwMDowMDowMFoKNDU2";
+
+        Mockito.when(getCategoryChangesUseCase.execute(Mockito.any())).thenReturn(new ChangeFeed<>(List.of(
+                new Change<>(aCategory.getId(), aCategory.getUpdatedAt(), aCategory),
+                new Change<>("456", aCategory.getUpdatedAt(), null)
+        ), expectedNextCursor, true));
+
+        // Act
+        final MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get("/categories/changes")
+                .with(ApiTest.CATEGORIES_JWT)
+                .queryParam("since", "abc")
+                .queryParam("limit", "2")
+                .accept(MediaType.APPLICATION_JSON);
+
+        final ResultActions response = this.mvc.perform(request).andDo(MockMvcResultHandlers.print());
+
+        // Assert
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.next_cursor", Matchers.equalTo(expectedNextCursor)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.has_more", Matchers.equalTo(true)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items[0].type", Matchers.equalTo("upserted")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items[0].data.name", Matchers.equalTo("Movies")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items[1].id", Matchers.equalTo("456")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items[1].type", Matchers.equalTo("deleted")));
+
+        Mockito.verify(getCategoryChangesUseCase, Mockito.times(1)).execute(Mockito.argThat(query ->
+                Objects.equals("abc", query.since()) && query.limit() == 2
+        ));
+    }
+
+    @Test
+    public void getCategoryChangesWithInvalidLimitTest() throws Exception {
+        // Act
+        final MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get("/categories/changes")
+                .with(ApiTest.CATEGORIES_JWT)
+                .queryParam("limit", "0")
+                .accept(MediaType.APPLICATION_JSON);
+
+        final ResultActions response = this.mvc.perform(request).andDo(MockMvcResultHandlers.print());
+
+        // Assert
+        response.andExpect(MockMvcResultMatchers.status().isUnprocessableEntity())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors[0].message", Matchers.equalTo("'limit' should be between 1 and 1000")));
+
+        Mockito.verify(getCategoryChangesUseCase, Mockito.never()).execute(Mockito.any());
+    }
+
     /* UPDATE TESTS */
     @Test
     public void updateCategoryTest() throws Exception {
@@ -231,4 +435,48 @@ public class CategoryAPITest {
 
         Mockito.verify(deleteCategoryUseCase, Mockito.times(1)).execute(Mockito.eq(new DeleteCategoryDTO(expectedId)));
     }
+
+    /* BATCH TESTS */
+    @Test
+    public void upsertCategoriesBatchTest() throws Exception {
+        // Arrange
+        final String body = """
+                {"id": "123", "name": "Filmes", "description": "Description", "is_active": true}
+                not a json
+                {"name": "Séries"}
+                """;
+
+        Mockito.when(upsertCategoriesUseCase.execute(Mockito.any())).thenReturn(List.of(
+                BatchItemResult.updated("123"),
+                BatchItemResult.created("456")
+        ));
+
+        // Act
+        final MockHttpServletRequestBuilder request = MockMvcRequestBuilders.post("/categories/batch")
+                .with(ApiTest.CATEGORIES_JWT)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(body);
+
+        final MvcResult started = this.mvc.perform(request).andReturn();
+
+        final ResultActions response = this.mvc.perform(MockMvcRequestBuilders.asyncDispatch(started))
+                .andDo(MockMvcResultHandlers.print());
+
+        // Assert
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("Content-Type", MediaType.APPLICATION_NDJSON_VALUE))
+                .andExpect(MockMvcResultMatchers.content().string(
+                        "{\"index\":0,\"id\":\"123\",\"status\":\"UPDATED\"}\n"
+                                + "{\"index\":1,\"status\":\"FAILED\",\"error\":\"Invalid JSON\"}\n"
+                                + "{\"index\":2,\"id\":\"456\",\"status\":\"CREATED\"}\n"
+                ));
+
+        Mockito.verify(upsertCategoriesUseCase, Mockito.times(1)).execute(Mockito.argThat(items ->
+                items.size() == 2
+                        && Objects.equals("123", items.get(0).id())
+                        && items.get(1).id() == null
+                        && items.get(1).isActive()
+        ));
+    }
 }
@@ -1,7 +1,10 @@
 package com.dotflix.infrastructure.category;
 
+import com.dotflix.domain.Change;
+import com.dotflix.domain.ChangeQuery;
 import com.dotflix.domain.category.Category;
 import com.dotflix.domain.category.CategoryGateway;
+import com.dotflix.domain.CountMode;
 import com.dotflix.domain.SearchQuery;
 import com.dotflix.domain.Pagination;
 import com.dotflix.infrastructure.PostgreSQLCleanUpExtension;
@@ -10,6 +13,7 @@ import com.dotflix.infrastructure.category.persistence.CategoryEntity;
 import com.dotflix.infrastructure.category.persistence.CategoryPostgresqlGateway;
 import com.dotflix.infrastructure.category.persistence.CategoryRepository;
 import com.dotflix.infrastructure.configuration.WebServerConfig;
+import com.dotflix.infrastructure.utils.KeysetPagination;
 import org.hibernate.PropertyValueException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -21,6 +25,7 @@ import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.ActiveProfiles;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -353,6 +358,110 @@ public class CategoryPostgresqlGatewayTest {
 
     }
 
+    @Test
+    public void getCategoriesWithFollowCursorTest(){
+        // Arrange
+        final var expectedPerPage = 2;
+
+        final Category filmes = Category.newCategory("Filmes", null, true);
+        final Category series = Category.newCategory("Series", null, true);
+        final Category documentarios = Category.newCategory("Documentarios", null, true);
+        categoryRepository.saveAll(List.of(CategoryEntity.fromDomain(filmes), CategoryEntity.fromDomain(series), CategoryEntity.fromDomain(documentarios)));
+
+        Assertions.assertEquals(3, categoryRepository.count());
+
+        // Act
+        final Pagination<Category> firstPage = categoryPostgresqlGateway.findAll(new SearchQuery(0, expectedPerPage, "", "name", "asc", ""));
+        final Pagination<Category> secondPage = categoryPostgresqlGateway.findAll(new SearchQuery(0, expectedPerPage, "", "name", "asc", firstPage.nextCursor()));
+
+        // Assert
+        Assertions.assertEquals(expectedPerPage, firstPage.items().size());
+        Assertions.assertEquals(documentarios.getId(), firstPage.items().get(0).getId());
+        Assertions.assertEquals(filmes.getId(), firstPage.items().get(1).getId());
+        Assertions.assertEquals(-1, firstPage.total());
+        Assertions.assertNotNull(firstPage.nextCursor());
+
+        Assertions.assertEquals(1, secondPage.items().size());
+        Assertions.assertEquals(series.getId(), secondPage.items().get(0).getId());
+        Assertions.assertNull(secondPage.nextCursor());
+    }
+
+    @Test
+    public void getCategoriesWithMalformedCursorTest(){
+        // Arrange
+        final String notBase64 = "%%%";
+        final String otherSort = KeysetPagination.encode("createdAt", "123", "2026-01-01T00:00:00Z");
+        final String notAnInstant = KeysetPagination.encode("createdAt", "123", "yesterday");
+
+        // Act
+        final IllegalArgumentException notBase64Error = Assertions.assertThrows(IllegalArgumentException.class, () ->
+                categoryPostgresqlGateway.findAll(new SearchQuery(0, 10, "", "name", "asc", notBase64)));
+        final IllegalArgumentException otherSortError = Assertions.assertThrows(IllegalArgumentException.class, () ->
+                categoryPostgresqlGateway.findAll(new SearchQuery(0, 10, "", "name", "asc", otherSort)));
+        final IllegalArgumentException notAnInstantError = Assertions.assertThrows(IllegalArgumentException.class, () ->
+                categoryPostgresqlGateway.findAll(new SearchQuery(0, 10, "", "createdAt", "asc", notAnInstant)));
+
+        // Assert
+        Assertions.assertEquals("Invalid cursor: " + notBase64, notBase64Error.getMessage());
+        Assertions.assertEquals("Invalid cursor: " + otherSort, otherSortError.getMessage());
+        Assertions.assertEquals("Invalid cursor: " + notAnInstant, notAnInstantError.getMessage());
+    }
+
+    @Test
+    public void getCategoriesWithoutCountTest(){
+        // Arrange
+        final Category filmes = Category.newCategory("Filmes", null, true);
+        final Category series = Category.newCategory("Series", null, true);
+        final Category documentarios = Category.newCategory("Documentarios", null, true);
+        categoryRepository.saveAll(List.of(CategoryEntity.fromDomain(filmes), CategoryEntity.fromDomain(series), CategoryEntity.fromDomain(documentarios)));
+
+        // Act
+        final Pagination<Category> firstPage = categoryPostgresqlGateway.findAll(new SearchQuery(0, 2, "", "name", "asc", null, CountMode.NONE));
+        final Pagination<Category> secondPage = categoryPostgresqlGateway.findAll(new SearchQuery(1, 2, "", "name", "asc", null, CountMode.NONE));
+
+        // Assert
+        Assertions.assertEquals(CountMode.NONE, firstPage.countMode());
+        Assertions.assertEquals(-1, firstPage.total());
+        Assertions.assertEquals(2, firstPage.items().size());
+        Assertions.assertEquals(documentarios.getId(), firstPage.items().get(0).getId());
+        Assertions.assertEquals(filmes.getId(), firstPage.items().get(1).getId());
+
+        Assertions.assertEquals(1, secondPage.currentPage());
+        Assertions.assertEquals(1, secondPage.items().size());
+        Assertions.assertEquals(series.getId(), secondPage.items().get(0).getId());
+    }
+
+    @Test
+    public void getCategoriesWithEstimatedCountTest(){
+        // Arrange
+        final Category filmes = Category.newCategory("Filmes", null, true);
+        final Category series = Category.newCategory("Series", null, true);
+        final Category documentarios = Category.newCategory("Documentarios", null, true);
+        categoryRepository.saveAll(List.of(CategoryEntity.fromDomain(filmes), CategoryEntity.fromDomain(series), CategoryEntity.fromDomain(documentarios)));
+
+        // Act
+        final Pagination<Category> actualResult = categoryPostgresqlGateway.findAll(new SearchQuery(0, 1, "s", "name", "asc", null, CountMode.ESTIMATED));
+
+        // Assert (fora do Postgres a estimativa cai para a contagem exata)
+        Assertions.assertEquals(CountMode.ESTIMATED, actualResult.countMode());
+        Assertions.assertEquals(3, actualResult.total());
+        Assertions.assertEquals(1, actualResult.items().size());
+        Assertions.assertEquals(documentarios.getId(), actualResult.items().get(0).getId());
+    }
+
+    @Test
+    public void getCategoriesWithCursorFromAnotherSortTest(){
+        // Arrange
+        final Category filmes = Category.newCategory("Filmes", null, true);
+        final Category series = Category.newCategory("Series", null, true);
+        categoryRepository.saveAll(List.of(CategoryEntity.fromDomain(filmes), CategoryEntity.fromDomain(series)));
+
+        final String aCursor = categoryPostgresqlGateway.findAll(new SearchQuery(0, 1, "", "name", "asc", "")).nextCursor();
+
+        // Act & Assert
+        Assertions.assertThrows(IllegalArgumentException.class, () -> categoryPostgresqlGateway.findAll(new SearchQuery(0, 1, "", "createdAt", "asc", aCursor)));
+    }
+
     @Test
     public void getCategoriesThatMatchCategoryNameTest(){
         // Arrange
@@ -410,4 +519,105 @@ public class CategoryPostgresqlGatewayTest {
         Assertions.assertEquals(expectedPerPage, actualResult.items().size());
         Assertions.assertEquals(filmes.getId(), actualResult.items().get(0).getId());
     }
+
+    /* UPSERT TESTS */
+
+    @Test
+    public void upsertCategoriesTest() throws Exception {
+        // Arrange
+        final Category existing = categoryPostgresqlGateway.create(Category.newCategory("Filmes", "Antiga", true));
+        final Instant expectedCreatedAt = categoryRepository.findById(existing.getId()).get().getCreatedAt();
+        final Instant now = Instant.now();
+
+        final Category updated = Category.with(existing.getId(), "Filmes", "Nova", false, now, now, now);
+        final Category created = Category.with("new-category", "Séries", null, true, now, now, null);
+
+        // Act
+        categoryPostgresqlGateway.upsertAll(List.of(updated, created));
+
+        // Assert
+        Assertions.assertEquals(2, categoryRepository.count());
+
+        final CategoryEntity actualUpdated = categoryRepository.findById(existing.getId()).get();
+        Assertions.assertEquals("Nova", actualUpdated.getDescription());
+        Assertions.assertFalse(actualUpdated.getIsActive());
+        Assertions.assertNotNull(actualUpdated.getDeletedAt());
+        Assertions.assertEquals(expectedCreatedAt, actualUpdated.getCreatedAt());
+
+        final CategoryEntity actualCreated = categoryRepository.findById("new-category").get();
+        Assertions.assertEquals("Séries", actualCreated.getName());
+        Assertions.assertNull(actualCreated.getDescription());
+        Assertions.assertTrue(actualCreated.getIsActive());
+    }
+
+    @Test
+    public void upsertCategoriesWithRepeatedIdTest() throws Exception {
+        // Arrange
+        final Instant now = Instant.now();
+        final Category first = Category.with("repeated", "Filmes", "Primeira", true, now, now, null);
+        final Category last = Category.with("repeated", "Filmes", "Última", false, now, now, null);
+
+        // Act
+        categoryPostgresqlGateway.upsertAll(List.of(first, last));
+
+        // Assert
+        Assertions.assertEquals(1, categoryRepository.count());
+
+        final CategoryEntity actual = categoryRepository.findById("repeated").get();
+        Assertions.assertEquals("Última", actual.getDescription());
+        Assertions.assertFalse(actual.getIsActive());
+    }
+
+    /* CHANGES TESTS */
+
+    @Test
+    public void changesResumeFromTheCursorTest() throws Exception {
+        // Arrange
+        final Category filmes = categoryPostgresqlGateway.create(Category.newCategory("Filmes", null, true));
+        final Category series = categoryPostgresqlGateway.create(Category.newCategory("Séries", null, true));
+
+        // Act
+        final var first = categoryPostgresqlGateway.changes(new ChangeQuery("", 1));
+        final var second = categoryPostgresqlGateway.changes(new ChangeQuery(first.nextCursor(), 1));
+        final var third = categoryPostgresqlGateway.changes(new ChangeQuery(second.nextCursor(), 1));
+
+        // Assert
+        Assertions.assertTrue(first.hasMore());
+        Assertions.assertFalse(second.hasMore());
+        Assertions.assertEquals(1, first.items().size());
+        Assertions.assertEquals(1, second.items().size());
+        Assertions.assertEquals(
+                List.of(filmes.getId(), series.getId()).stream().sorted().toList(),
+                List.of(first.items().get(0).id(), second.items().get(0).id()).stream().sorted().toList()
+        );
+        Assertions.assertTrue(third.items().isEmpty());
+        Assertions.assertEquals(second.nextCursor(), third.nextCursor());
+    }
+
+    @Test
+    public void changesReportDeletesAsTombstonesTest() throws Exception {
+        // Arrange
+        final Category filmes = categoryPostgresqlGateway.create(Category.newCategory("Filmes", null, true));
+        final String cursor = categoryPostgresqlGateway.changes(new ChangeQuery("", 10)).nextCursor();
+
+        // Act
+        categoryPostgresqlGateway.deleteById(filmes.getId());
+        final var actual = categoryPostgresqlGateway.changes(new ChangeQuery(cursor, 10));
+
+        // Assert
+        Assertions.assertEquals(1, actual.items().size());
+        final Change<Category> deleted = actual.items().get(0);
+        Assertions.assertEquals(filmes.getId(), deleted.id());
+        Assertions.assertTrue(deleted.deleted());
+        Assertions.assertNull(deleted.item());
+    }
+
+    @Test
+    public void changesWithInvalidCursorTest() {
+        // Act
+        final IllegalArgumentException exception = Assertions.assertThrows(IllegalArgumentException.class, () -> categoryPostgresqlGateway.changes(new ChangeQuery("não-é-cursor", 10)));
+
+        // Assert
+        Assertions.assertEquals("Invalid cursor: não-é-cursor", exception.getMessage());
+    }
 }
@@ -0,0 +1,197 @@
+package com.dotflix.infrastructure.events;
+
+import com.dotflix.domain.events.DomainEvent;
+import com.dotflix.domain.video.VideoMediaCreated;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class RingBufferEventBusTest {
+
+    private record OtherEvent(Instant occurredOn) implements DomainEvent {
+    }
+
+    @ParameterizedTest
+    @EnumSource(WaitStrategy.class)
+    public void deliversEveryEventFromConcurrentProducersTest(final WaitStrategy strategy) throws Exception {
+        // Arrange
+        final int producers = 4;
+        final int perProducer = 5_000;
+        final CountDownLatch received = new CountDownLatch(producers * perProducer);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(producers);
+
+        try (RingBufferEventBus bus = new RingBufferEventBus(64, 16, strategy)) {
+            bus.subscribe(VideoMediaCreated.class, event -> received.countDown());
+
+            // Act
+            for (int p = 0; p < producers; p++) {
+                final int producer = p;
+                executor.submit(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        bus.publishEvent(new VideoMediaCreated(producer + "-" + i, "/videos/video.mp4"));
+                    }
+                });
+            }
+
+            // Assert
+            Assertions.assertTrue(received.await(30, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void preservesOrderOfSingleProducerTest() throws Exception {
+        // Arrange
+        final List<String> ids = new CopyOnWriteArrayList<>();
+
+        try (RingBufferEventBus bus = new RingBufferEventBus(8, 4, WaitStrategy.BLOCKING)) {
+            bus.subscribe(VideoMediaCreated.class, event -> ids.add(event.resourceId()));
+
+            // Act
+            for (int i = 0; i < 100; i++) {
+                bus.publishEvent(new VideoMediaCreated(String.valueOf(i), "/videos/video.mp4"));
+            }
+        }
+
+        // Assert
+        Assertions.assertEquals(100, ids.size());
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertEquals(String.valueOf(i), ids.get(i));
+        }
+    }
+
+    @Test
+    public void routesEventsBySubscribedTypeTest() throws Exception {
+        // Arrange
+        final List<DomainEvent> medias = new CopyOnWriteArrayList<>();
+        final List<DomainEvent> all = new CopyOnWriteArrayList<>();
+
+        try (RingBufferEventBus bus = new RingBufferEventBus(8, 4, WaitStrategy.BLOCKING)) {
+            bus.subscribe(VideoMediaCreated.class, medias::add);
+            bus.subscribe(DomainEvent.class, all::add);
+
+            // Act
+            bus.publishEvent(new VideoMediaCreated("1", "/videos/video.mp4"));
+            bus.publishEvent(new OtherEvent(Instant.now()));
+        }
+
+        // Assert
+        Assertions.assertEquals(1, medias.size());
+        Assertions.assertEquals(2, all.size());
+    }
+
+    @Test
+    public void appliesBackpressureWhenBufferIsFullTest() throws Exception {
+        // Arrange
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch consuming = new CountDownLatch(1);
+
+        try (RingBufferEventBus bus = new RingBufferEventBus(4, 1, WaitStrategy.BLOCKING)) {
+            bus.subscribe(VideoMediaCreated.class, event -> {
+                consuming.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            // Act
+            bus.publishEvent(new VideoMediaCreated("0", "/videos/video.mp4"));
+            Assertions.assertTrue(consuming.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i <= 4; i++) {
+                Assertions.assertTrue(bus.tryPublish(new VideoMediaCreated(String.valueOf(i), "/videos/video.mp4")));
+            }
+            final boolean acceptedWhenFull = bus.tryPublish(new VideoMediaCreated("5", "/videos/video.mp4"));
+            release.countDown();
+
+            // Assert
+            Assertions.assertFalse(acceptedWhenFull);
+        }
+    }
+
+    @Test
+    public void subscriberFailureDoesNotStopDeliveryTest() throws Exception {
+        // Arrange
+        final CountDownLatch received = new CountDownLatch(2);
+
+        try (RingBufferEventBus bus = new RingBufferEventBus(8, 4, WaitStrategy.SLEEPING)) {
+            bus.subscribe(VideoMediaCreated.class, event -> {
+                throw new IllegalStateException("boom");
+            });
+            bus.subscribe(VideoMediaCreated.class, event -> received.countDown());
+
+            // Act
+            bus.publishEvent(new VideoMediaCreated("1", "/videos/video.mp4"));
+            bus.publishEvent(new VideoMediaCreated("2", "/videos/video.mp4"));
+
+            // Assert
+            Assertions.assertTrue(received.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void subscriberErrorDoesNotStopTheConsumerTest() throws Exception {
+        // Arrange
+        final List<String> ids = new CopyOnWriteArrayList<>();
+
+        try (RingBufferEventBus bus = new RingBufferEventBus(8, 4, WaitStrategy.BLOCKING)) {
+            bus.subscribe(OtherEvent.class, event -> {
+                throw new AssertionError("boom");
+            });
+            bus.subscribe(VideoMediaCreated.class, event -> ids.add(event.resourceId()));
+
+            // Act
+            final CompletableFuture<Void> failed = bus.publish(new OtherEvent(Instant.now()));
+            final CompletableFuture<Void> delivered = bus.publish(new VideoMediaCreated("1", "/videos/video.mp4"));
+
+            // Assert
+            final ExecutionException exception = Assertions.assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+            Assertions.assertInstanceOf(AssertionError.class, exception.getCause());
+
+            delivered.get(5, TimeUnit.SECONDS);
+            Assertions.assertEquals(List.of("1"), ids);
+        }
+    }
+
+    @Test
+    public void rejectsCapacityThatIsNotPowerOfTwoTest() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new RingBufferEventBus(100, 4, WaitStrategy.BLOCKING));
+    }
+
+    @Test
+    public void publishCompletesAfterEverySubscriberRanTest() throws Exception {
+        // Arrange
+        final List<String> ids = new CopyOnWriteArrayList<>();
+
+        try (RingBufferEventBus bus = new RingBufferEventBus(8, 4, WaitStrategy.BLOCKING)) {
+            bus.subscribe(VideoMediaCreated.class, event -> ids.add(event.resourceId()));
+            bus.subscribe(OtherEvent.class, event -> {
+                throw new IllegalStateException("boom");
+            });
+
+            // Act
+            final CompletableFuture<Void> delivered = bus.publish(new VideoMediaCreated("1", "/videos/video.mp4"));
+            final CompletableFuture<Void> failed = bus.publish(new OtherEvent(Instant.now()));
+
+            // Assert
+            delivered.get(5, TimeUnit.SECONDS);
+            Assertions.assertEquals(List.of("1"), ids);
+
+            final ExecutionException exception = Assertions.assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+            Assertions.assertEquals("boom", exception.getCause().getMessage());
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.dotflix.infrastructure.genre;
+
+import com.dotflix.domain.genre.Genre;
+import com.dotflix.domain.genre.GenreGateway;
+import com.dotflix.infrastructure.cache.CacheInvalidationPublisher;
+import com.dotflix.infrastructure.cache.GatewayCaches;
+import com.dotflix.infrastructure.genre.persistence.CachedGenreGateway;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+public class CachedGenreGatewayTest {
+
+    private GenreGateway delegate;
+    private CacheInvalidationPublisher publisher;
+    private GenreGateway gateway;
+
+    @BeforeEach
+    public void setUp() {
+        this.delegate = Mockito.mock(GenreGateway.class);
+        this.publisher = Mockito.mock(CacheInvalidationPublisher.class);
+        this.gateway = new GatewayCaches(true, 100, Duration.ofMinutes(5), new SimpleMeterRegistry(), Optional.of(this.publisher))
+                .decorate(this.delegate, "genres", "genres", CachedGenreGateway::copy, CachedGenreGateway::new);
+    }
+
+    @Test
+    public void changesOnTheReturnedGenreDoNotReachTheCacheTest() throws Exception {
+        // Arrange
+        final var aGenre = Genre.newGenre("Ação", true);
+        aGenre.addCategory("123");
+        Mockito.when(delegate.findById(aGenre.getId())).thenReturn(Optional.of(aGenre));
+
+        // Act
+        gateway.findById(aGenre.getId()).orElseThrow().deactivate().addCategory("456").removeCategory("123");
+        final var actual = gateway.findById(aGenre.getId()).orElseThrow();
+
+        // Assert
+        Assertions.assertTrue(actual.isActive());
+        Assertions.assertEquals(List.of("123"), actual.getCategories());
+        Mockito.verify(delegate, Mockito.times(1)).findById(aGenre.getId());
+    }
+
+    @Test
+    public void writesInvalidateTheCachedGenreTest() throws Exception {
+        // Arrange
+        final var aGenre = Genre.newGenre("Ação", true);
+        Mockito.when(delegate.findById(aGenre.getId())).thenReturn(Optional.of(aGenre));
+        Mockito.when(delegate.update(ArgumentMatchers.any())).thenAnswer(i -> i.getArgument(0));
+
+        // Act
+        gateway.findById(aGenre.getId());
+        gateway.update(aGenre);
+        gateway.findById(aGenre.getId());
+        gateway.deleteById(aGenre.getId());
+        gateway.findById(aGenre.getId());
+
+        // Assert
+        Mockito.verify(delegate, Mockito.times(3)).findById(aGenre.getId());
+        Mockito.verify(publisher, Mockito.times(2)).publish("genres", List.of(aGenre.getId()));
+    }
+
+    @Test
+    public void upsertInvalidatesAndKnowsEveryIdTest() throws Exception {
+        // Arrange
+        final var acao = Genre.newGenre("Ação", true);
+        final var drama = Genre.newGenre("Drama", true);
+        Mockito.when(delegate.findById(acao.getId())).thenReturn(Optional.of(acao));
+
+        gateway.findById(acao.getId());
+
+        // Act
+        gateway.upsertAll(List.of(acao, drama));
+        gateway.findById(acao.getId());
+        final var actual = gateway.existsByIds(List.of(acao.getId(), drama.getId()));
+
+        // Assert
+        Assertions.assertEquals(List.of(acao.getId(), drama.getId()), actual);
+        Mockito.verify(delegate, Mockito.times(2)).findById(acao.getId());
+        Mockito.verify(delegate, Mockito.never()).existsByIds(ArgumentMatchers.any());
+        Mockito.verify(publisher).publish("genres", List.of(acao.getId(), drama.getId()));
+    }
+}
@@ -49,6 +49,12 @@ public class GenreAPITest {
     @MockitoBean
     private GetAllGenreUseCase getAllGenreUseCase;
 
+    @MockitoBean
+    private UpsertGenresUseCase upsertGenresUseCase;
+
+    @MockitoBean
+    private GetGenreChangesUseCase getGenreChangesUseCase;
+
     /* CREATE GENRES TESTS */
 
     @Test
@@ -314,6 +320,7 @@ public class GenreAPITest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.items", Matchers.hasSize(expectedItemsCount)))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.items[0].id", Matchers.equalTo(aGenre.getId())))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.items[0].name", Matchers.equalTo(aGenre.getName())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items[0].categories_id", Matchers.hasSize(aGenre.getCategories().size())))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.items[0].is_active", Matchers.equalTo(aGenre.isActive())))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.items[0].created_at", Matchers.equalTo(aGenre.getCreatedAt().toString())))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.items[0].deleted_at", Matchers.equalTo(aGenre.getDeletedAt().toString())));
@@ -1,5 +1,6 @@
 package com.dotflix.infrastructure.genre;
 
+import com.dotflix.domain.ChangeQuery;
 import com.dotflix.domain.Pagination;
 import com.dotflix.domain.SearchQuery;
 import com.dotflix.domain.category.Category;
@@ -14,6 +15,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.springframework.beans.factory.annotation.Autowired;
+import java.time.Instant;
 import java.util.List;
 
 @PostgresqlGatewayTest
@@ -299,6 +301,95 @@ public class GenrePostgresqlGatewayTest {
         }
     }
 
+    @Test
+    public void getAllGenresSortedByRelevanceTest() throws Exception {
+        // Arrange
+        genreRepository.saveAllAndFlush(List.of(
+                GenreEntity.fromDomain(Genre.newGenre("Comédia de terror", true)),
+                GenreEntity.fromDomain(Genre.newGenre("Terror", true)),
+                GenreEntity.fromDomain(Genre.newGenre("Drama", true))
+        ));
+
+        final SearchQuery aQuery = new SearchQuery(0, 10, "terror", "relevance", "asc");
+
+        // Act
+        final Pagination<Genre> actualPage = genreGateway.findAll(aQuery);
+
+        // Assert
+        Assertions.assertEquals(2, actualPage.total());
+        Assertions.assertEquals("Terror", actualPage.items().get(0).getName());
+        Assertions.assertEquals("Comédia de terror", actualPage.items().get(1).getName());
+    }
+
+    @Test
+    public void getAllGenresWithCategoriesTest() throws Exception {
+        // Arrange
+        final Category filmes = categoryGateway.create(Category.newCategory("Filmes", null, true));
+        final Category series = categoryGateway.create(Category.newCategory("Séries", null, true));
+
+        final Genre acao = Genre.newGenre("Ação", true);
+        acao.addCategories(List.of(filmes.getId(), series.getId()));
+
+        final Genre drama = Genre.newGenre("Drama", true);
+        drama.addCategories(List.of(series.getId()));
+
+        final Genre terror = Genre.newGenre("Terror", true);
+
+        genreRepository.saveAllAndFlush(List.of(
+                GenreEntity.fromDomain(acao),
+                GenreEntity.fromDomain(drama),
+                GenreEntity.fromDomain(terror)
+        ));
+
+        final SearchQuery aQuery = new SearchQuery(0, 10, "", "name", "asc");
+
+        // Act
+        final Pagination<Genre> actualPage = genreGateway.findAll(aQuery);
+
+        // Assert
+        Assertions.assertEquals(3, actualPage.total());
+        Assertions.assertEquals(
+                List.of(filmes.getId(), series.getId()).stream().sorted().toList(),
+                actualPage.items().get(0).getCategories().stream().sorted().toList()
+        );
+        Assertions.assertEquals(List.of(series.getId()), actualPage.items().get(1).getCategories());
+        Assertions.assertEquals(List.of(), actualPage.items().get(2).getCategories());
+    }
+
+    /* UPSERT GENRE TESTS */
+
+    @Test
+    public void upsertGenresReplacesCategoriesTest() throws Exception {
+        // Arrange
+        final Category filmes = categoryGateway.create(Category.newCategory("Filmes", null, true));
+        final Category series = categoryGateway.create(Category.newCategory("Séries", null, true));
+
+        final Genre existing = Genre.newGenre("Ação", true);
+        existing.addCategories(List.of(filmes.getId()));
+        genreRepository.saveAndFlush(GenreEntity.fromDomain(existing));
+
+        final Instant now = Instant.now();
+        final Genre updated = Genre.with(existing.getId(), "Ação e aventura", true, List.of(series.getId()), now, now, null);
+        final Genre created = Genre.with("new-genre", "Drama", true, List.of(filmes.getId(), series.getId()), now, now, null);
+
+        // Act
+        genreGateway.upsertAll(List.of(updated, created));
+
+        // Assert
+        Assertions.assertEquals(2, genreRepository.count());
+
+        final Genre actualUpdated = genreGateway.findById(existing.getId()).get();
+        Assertions.assertEquals("Ação e aventura", actualUpdated.getName());
+        Assertions.assertEquals(List.of(series.getId()), actualUpdated.getCategories());
+        Assertions.assertEquals(existing.getCreatedAt(), actualUpdated.getCreatedAt());
+
+        final Genre actualCreated = genreGateway.findById("new-genre").get();
+        Assertions.assertEquals(
+                List.of(filmes.getId(), series.getId()).stream().sorted().toList(),
+                actualCreated.getCategories().stream().sorted().toList()
+        );
+    }
+
     private void mockGenres() throws Exception{
         genreRepository.saveAllAndFlush(List.of(
                 GenreEntity.fromDomain(Genre.newGenre("Comédia romântica", true)),
@@ -308,4 +399,24 @@ public class GenrePostgresqlGatewayTest {
                 GenreEntity.fromDomain(Genre.newGenre("Ficção científica", true))
         ));
     }
-}
\ No newline at end of file
+
+    /* CHANGES TESTS */
+
+    @Test
+    public void deletingACategoryChangesItsGenresTest() throws Exception {
+        // Arrange
+        final Category filmes = categoryGateway.create(Category.newCategory("Filmes", null, true));
+        final Genre aGenre = genreGateway.create(Genre.newGenre("Ação", true).addCategory(filmes.getId()));
+        final String cursor = genreGateway.changes(new ChangeQuery("", 10)).nextCursor();
+
+        // Act
+        categoryGateway.deleteById(filmes.getId());
+        final var actual = genreGateway.changes(new ChangeQuery(cursor, 10));
+
+        // Assert
+        Assertions.assertEquals(1, actual.items().size());
+        Assertions.assertEquals(aGenre.getId(), actual.items().get(0).id());
+        Assertions.assertFalse(actual.items().get(0).deleted());
+        Assertions.assertTrue(actual.items().get(0).item().getCategories().isEmpty());
+    }
+}
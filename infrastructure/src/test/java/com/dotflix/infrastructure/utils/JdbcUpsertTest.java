@@ -0,0 +1,36 @@
+package com.dotflix.infrastructure.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import java.util.List;
+
+public class JdbcUpsertTest {
+
+    @Test
+    public void repeatedKeysKeepTheLastRowTest() {
+        // Arrange
+        final NamedParameterJdbcTemplate jdbcTemplate = Mockito.mock(NamedParameterJdbcTemplate.class);
+        final JdbcTemplate plain = Mockito.mock(JdbcTemplate.class);
+        Mockito.when(jdbcTemplate.getJdbcTemplate()).thenReturn(plain);
+        Mockito.when(plain.execute(Mockito.<ConnectionCallback<Boolean>>any())).thenReturn(true);
+
+        final SqlParameterSource first = new MapSqlParameterSource().addValue("id", "1").addValue("name", "Filmes");
+        final SqlParameterSource other = new MapSqlParameterSource().addValue("id", "2").addValue("name", "Séries");
+        final SqlParameterSource last = new MapSqlParameterSource().addValue("id", "1").addValue("name", "Documentários");
+
+        // Act
+        new JdbcUpsert(jdbcTemplate).upsert("category", "id", List.of("id", "name"), List.of("name"), List.of(first, other, last));
+
+        // Assert
+        final ArgumentCaptor<SqlParameterSource[]> batch = ArgumentCaptor.forClass(SqlParameterSource[].class);
+        Mockito.verify(jdbcTemplate).batchUpdate(Mockito.contains("ON CONFLICT (id) DO UPDATE"), batch.capture());
+        Assertions.assertArrayEquals(new SqlParameterSource[]{last, other}, batch.getValue());
+    }
+}
@@ -0,0 +1,291 @@
+package com.dotflix.infrastructure.video;
+
+import com.dotflix.application.video.UpdateMediaStatusUseCase;
+import com.dotflix.application.video.dto.UpdateMediaStatusDTO;
+import com.dotflix.domain.video.*;
+import com.dotflix.infrastructure.video.encoding.EncodedMedia;
+import com.dotflix.infrastructure.video.encoding.EncodingJob;
+import com.dotflix.infrastructure.video.encoding.EncodingWorker;
+import com.dotflix.infrastructure.video.encoding.LocalMediaEncoder;
+import com.dotflix.infrastructure.video.encoding.MediaEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Year;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+public class EncodingWorkerTest {
+
+    @TempDir
+    private Path root;
+
+    private final VideoGateway videoGateway = Mockito.mock(VideoGateway.class);
+    private final UpdateMediaStatusUseCase updateMediaStatusUseCase = Mockito.mock(UpdateMediaStatusUseCase.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    public void encodeMediaAndReportStatusTest() throws Exception {
+        // Arrange
+        final Path raw = Files.writeString(root.resolve("raw.mp4"), "conteudo do video");
+        final Video aVideo = newVideo(raw);
+        final String mediaId = aVideo.getVideo().get().id();
+        final List<UpdateMediaStatusDTO> callbacks = recordCallbacks();
+
+        Mockito.when(videoGateway.findById(aVideo.getId())).thenReturn(Optional.of(aVideo));
+
+        // Act
+        try (EncodingWorker worker = newWorker(new LocalMediaEncoder(root.toString(), 2), 3)) {
+            worker.onMediaCreated(new VideoMediaCreated(aVideo.getId(), raw.toString()));
+        }
+
+        // Assert
+        final Path encoded = root.resolve("encoded").resolve(aVideo.getId()).resolve(mediaId);
+        Assertions.assertEquals(List.of(
+                UpdateMediaStatusDTO.with(MediaStatus.PROCESSING, aVideo.getId(), mediaId, "", ""),
+                UpdateMediaStatusDTO.with(MediaStatus.COMPLETED, aVideo.getId(), mediaId, encoded.toString(), "video.mp4")
+        ), callbacks);
+        Assertions.assertEquals("conteudo do video", Files.readString(encoded.resolve("video.mp4"), StandardCharsets.UTF_8));
+        Assertions.assertEquals(1.0, registry.get("encoding.jobs").tag("outcome", "completed").counter().count());
+        Assertions.assertEquals(17.0, registry.get("encoding.bytes").counter().count());
+    }
+
+    @Test
+    public void retryFailedEncodingWithBackoffTest() throws Exception {
+        // Arrange
+        final Path raw = Files.writeString(root.resolve("raw.mp4"), "conteudo");
+        final Video aVideo = newVideo(raw);
+        final List<UpdateMediaStatusDTO> callbacks = recordCallbacks();
+        final AtomicInteger calls = new AtomicInteger();
+        final MediaEncoder flaky = (job, progress) -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new IOException("encoder indisponível");
+            }
+            return EncodedMedia.with("/encoded", job.name(), 8);
+        };
+
+        Mockito.when(videoGateway.findById(aVideo.getId())).thenReturn(Optional.of(aVideo));
+
+        // Act
+        try (EncodingWorker worker = newWorker(flaky, 3)) {
+            worker.onMediaCreated(new VideoMediaCreated(aVideo.getId(), raw.toString()));
+            waitFor(() -> callbacks.size() == 2);
+        }
+
+        // Assert
+        Assertions.assertEquals(3, calls.get());
+        Assertions.assertEquals(MediaStatus.COMPLETED, callbacks.get(1).status());
+        Assertions.assertEquals(2.0, registry.get("encoding.jobs").tag("outcome", "retried").counter().count());
+    }
+
+    @Test
+    public void reportErrorAfterLastAttemptTest() throws Exception {
+        // Arrange
+        final Path raw = Files.writeString(root.resolve("raw.mp4"), "conteudo");
+        final Video aVideo = newVideo(raw);
+        final List<UpdateMediaStatusDTO> callbacks = recordCallbacks();
+        final MediaEncoder broken = (job, progress) -> {
+            throw new IOException("arquivo corrompido");
+        };
+
+        Mockito.when(videoGateway.findById(aVideo.getId())).thenReturn(Optional.of(aVideo));
+
+        // Act
+        try (EncodingWorker worker = newWorker(broken, 2)) {
+            worker.onMediaCreated(new VideoMediaCreated(aVideo.getId(), raw.toString()));
+            waitFor(() -> callbacks.size() == 2);
+        }
+
+        // Assert
+        Assertions.assertEquals(MediaStatus.ERROR, callbacks.get(1).status());
+        Assertions.assertEquals(1.0, registry.get("encoding.jobs").tag("outcome", "failed").counter().count());
+    }
+
+    @Test
+    public void skipMediaAlreadyBeingEncodedTest() throws Exception {
+        // Arrange
+        final Path raw = Files.writeString(root.resolve("raw.mp4"), "conteudo");
+        final Video aVideo = newVideo(raw);
+        final MediaEncoder encoder = Mockito.mock(MediaEncoder.class);
+
+        Mockito.when(videoGateway.findById(aVideo.getId())).thenReturn(Optional.of(aVideo));
+        Mockito.when(updateMediaStatusUseCase.execute(Mockito.any())).thenReturn("");
+
+        // Act
+        try (EncodingWorker worker = newWorker(encoder, 3)) {
+            worker.onMediaCreated(new VideoMediaCreated(aVideo.getId(), raw.toString()));
+        }
+
+        // Assert
+        Mockito.verify(encoder, Mockito.never()).encode(Mockito.any(EncodingJob.class), Mockito.any());
+    }
+
+    @Test
+    public void recoverAbandonedMediaTest() throws Exception {
+        // Arrange
+        final Path raw = Files.writeString(root.resolve("raw.mp4"), "conteudo");
+        final Video aVideo = newVideo(raw);
+        final VideoMediaRef media = VideoMediaRef.with(aVideo.getId(), aVideo.getVideo().get().id());
+        final List<UpdateMediaStatusDTO> callbacks = recordCallbacks();
+
+        Mockito.when(videoGateway.findAbandonedMedia(Mockito.any(), Mockito.anyInt())).thenReturn(List.of(media));
+        Mockito.when(videoGateway.claimMedia(Mockito.eq(media), Mockito.any())).thenReturn(true);
+        Mockito.when(videoGateway.findById(aVideo.getId())).thenReturn(Optional.of(aVideo));
+
+        // Act
+        try (EncodingWorker worker = newWorker(new LocalMediaEncoder(root.toString(), 1), 3)) {
+            worker.recover();
+            waitFor(() -> callbacks.size() == 1);
+        }
+
+        // Assert
+        Assertions.assertEquals(MediaStatus.COMPLETED, callbacks.get(0).status());
+        Assertions.assertEquals(media.mediaId(), callbacks.get(0).resourceId());
+        Assertions.assertEquals(1.0, registry.get("encoding.jobs").tag("outcome", "recovered").counter().count());
+    }
+
+    @Test
+    public void skipAbandonedMediaClaimedByAnotherWorkerTest() throws Exception {
+        // Arrange
+        final VideoMediaRef media = VideoMediaRef.with("123", "456");
+        final MediaEncoder encoder = Mockito.mock(MediaEncoder.class);
+
+        Mockito.when(videoGateway.findAbandonedMedia(Mockito.any(), Mockito.anyInt())).thenReturn(List.of(media));
+        Mockito.when(videoGateway.claimMedia(Mockito.eq(media), Mockito.any())).thenReturn(false);
+
+        // Act
+        try (EncodingWorker worker = newWorker(encoder, 3)) {
+            worker.recover();
+        }
+
+        // Assert
+        Mockito.verify(videoGateway, Mockito.never()).findById(Mockito.any());
+        Mockito.verify(encoder, Mockito.never()).encode(Mockito.any(EncodingJob.class), Mockito.any());
+    }
+
+    @Test
+    public void releaseUnfinishedMediaOnCloseTest() throws Exception {
+        // Arrange
+        final Path raw = Files.writeString(root.resolve("raw.mp4"), "conteudo");
+        final Video aVideo = newVideo(raw);
+        final List<UpdateMediaStatusDTO> callbacks = recordCallbacks();
+        final AtomicInteger calls = new AtomicInteger();
+        final MediaEncoder flaky = (job, progress) -> {
+            calls.incrementAndGet();
+            throw new IOException("encoder indisponível");
+        };
+
+        Mockito.when(videoGateway.findById(aVideo.getId())).thenReturn(Optional.of(aVideo));
+
+        // Act
+        try (EncodingWorker worker = newWorker(flaky, 3, Duration.ofHours(1))) {
+            worker.onMediaCreated(new VideoMediaCreated(aVideo.getId(), raw.toString()));
+            waitFor(() -> calls.get() == 1);
+
+            // A posse das mídias em andamento é renovada
+            worker.renewClaims();
+        }
+
+        // Assert
+        final VideoMediaRef media = VideoMediaRef.with(aVideo.getId(), aVideo.getVideo().get().id());
+        Assertions.assertEquals(List.of(MediaStatus.PROCESSING), callbacks.stream().map(UpdateMediaStatusDTO::status).toList());
+        Mockito.verify(videoGateway).renewMediaClaims(Set.of(media.mediaId()));
+        Mockito.verify(videoGateway).releaseMedia(media);
+    }
+
+    @Test
+    public void renewClaimsWhileRetryWaitsForFullQueueTest() throws Exception {
+        // Arrange
+        final Video first = newVideo(Files.writeString(root.resolve("first.mp4"), "primeiro"));
+        final Video second = newVideo(Files.writeString(root.resolve("second.mp4"), "segundo"));
+        final Video third = newVideo(Files.writeString(root.resolve("third.mp4"), "terceiro"));
+        final String firstMedia = first.getVideo().get().id();
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger firstCalls = new AtomicInteger();
+        final AtomicInteger blocked = new AtomicInteger();
+        final List<Set<String>> renewals = new CopyOnWriteArrayList<>();
+        recordCallbacks();
+
+        // A primeira mídia falha uma vez; as outras ocupam a única thread e a única vaga da fila
+        final MediaEncoder encoder = (job, progress) -> {
+            if (job.mediaId().equals(firstMedia) && firstCalls.getAndIncrement() == 0) {
+                throw new IOException("encoder indisponível");
+            }
+            blocked.incrementAndGet();
+            release.await();
+            return EncodedMedia.with("folder", "video.mp4", 1);
+        };
+
+        Mockito.when(videoGateway.findById(Mockito.anyString())).thenAnswer(invocation -> Optional.of(
+                List.of(first, second, third).stream().filter(it -> it.getId().equals(invocation.getArgument(0))).findFirst().orElseThrow()
+        ));
+        Mockito.doAnswer(invocation -> renewals.add(Set.copyOf(invocation.<Set<String>>getArgument(0))))
+                .when(videoGateway).renewMediaClaims(Mockito.any());
+
+        final int renewedWhileFull;
+        final Set<String> lastRenewal;
+
+        // Act
+        try (EncodingWorker worker = new EncodingWorker(videoGateway, updateMediaStatusUseCase, encoder, registry, 1, 1, 3, Duration.ofMillis(200), Duration.ofMinutes(10), Duration.ofMillis(20))) {
+            worker.onMediaCreated(new VideoMediaCreated(first.getId(), first.getVideo().get().rawLocation()));
+            waitFor(() -> firstCalls.get() == 1);
+            worker.onMediaCreated(new VideoMediaCreated(second.getId(), second.getVideo().get().rawLocation()));
+            waitFor(() -> blocked.get() == 1);
+            worker.onMediaCreated(new VideoMediaCreated(third.getId(), third.getVideo().get().rawLocation()));
+
+            // A nova tentativa da primeira mídia encontra a fila cheia; a renovação continua rodando
+            final int before = renewals.size();
+            waitFor(() -> renewals.size() >= before + 25);
+            renewedWhileFull = renewals.size() - before;
+            lastRenewal = renewals.get(renewals.size() - 1);
+
+            release.countDown();
+        }
+
+        // Assert
+        Assertions.assertTrue(renewedWhileFull >= 25);
+        Assertions.assertTrue(lastRenewal.contains(firstMedia));
+    }
+
+    private EncodingWorker newWorker(final MediaEncoder encoder, final int maxAttempts) {
+        return newWorker(encoder, maxAttempts, Duration.ofMillis(10));
+    }
+
+    // A recuperação periódica fica fora do teste; os testes chamam recover() direto
+    private EncodingWorker newWorker(final MediaEncoder encoder, final int maxAttempts, final Duration backoff) {
+        return new EncodingWorker(videoGateway, updateMediaStatusUseCase, encoder, registry, 2, 8, maxAttempts, backoff, Duration.ofMinutes(10), Duration.ofHours(1));
+    }
+
+    private List<UpdateMediaStatusDTO> recordCallbacks() {
+        final List<UpdateMediaStatusDTO> callbacks = new CopyOnWriteArrayList<>();
+        Mockito.when(updateMediaStatusUseCase.execute(Mockito.any())).thenAnswer(invocation -> {
+            callbacks.add(invocation.getArgument(0));
+            return "ok";
+        });
+        return callbacks;
+    }
+
+    private static void waitFor(final BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static Video newVideo(final Path raw) throws Exception {
+        return Video.newVideo("Titulo", "Descricao", Year.of(2020), 90.0, false, false, Rating.L, Set.of(), Set.of(), Set.of())
+                .updateVideoMedia(AudioVideoMedia.with("abc", "video.mp4", raw.toString()));
+    }
+}
@@ -0,0 +1,186 @@
+package com.dotflix.infrastructure.video;
+
+import com.dotflix.domain.video.ChecksumMismatchException;
+import com.dotflix.domain.video.MediaFile;
+import com.dotflix.domain.video.Resource;
+import com.dotflix.domain.video.StreamResource;
+import com.dotflix.domain.video.VideoMediaType;
+import com.dotflix.domain.video.VideoResource;
+import com.dotflix.infrastructure.video.storage.FileSystemMediaResourceGateway;
+import com.dotflix.infrastructure.video.storage.TimedMediaResourceGateway;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HexFormat;
+import java.security.MessageDigest;
+
+public class FileSystemMediaResourceGatewayTest {
+
+    @TempDir
+    private Path root;
+
+    @Test
+    public void storeAudioVideoTest() throws Exception {
+        // Arrange
+        final var gateway = new FileSystemMediaResourceGateway(root.toString());
+        final byte[] content = "conteudo do video".getBytes(StandardCharsets.UTF_8);
+        final String expectedChecksum = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+
+        // Act
+        final var media = gateway.storeAudioVideo("123", VideoMediaType.VIDEO, StreamResource.with(new ByteArrayInputStream(content), content.length, "video/mp4", "video.mp4"));
+        final MediaFile file = gateway.getMediaFile("123", VideoMediaType.VIDEO).orElseThrow();
+
+        // Assert
+        Assertions.assertEquals(expectedChecksum, media.checksum());
+        Assertions.assertEquals("video.mp4", media.name());
+        Assertions.assertEquals(root.resolve("blobs").resolve(expectedChecksum.substring(0, 2)).resolve(expectedChecksum.substring(2, 4)).resolve(expectedChecksum), file.path());
+        Assertions.assertEquals(content.length, file.length());
+        Assertions.assertEquals("video/mp4", file.contentType());
+        Assertions.assertArrayEquals(content, Files.readAllBytes(file.path()));
+        Assertions.assertTrue(gateway.getMediaFile("123", VideoMediaType.TRAILER).isEmpty());
+        Assertions.assertEquals(0, countFiles(root.resolve("tmp")));
+    }
+
+    @Test
+    public void storeSameContentTwiceKeepsASingleBlobTest() throws Exception {
+        // Arrange
+        final var gateway = new FileSystemMediaResourceGateway(root.toString());
+        final byte[] content = "mesmo conteudo".getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        final var first = gateway.storeImage("123", VideoResource.with(VideoMediaType.BANNER, Resource.with(content, "x", "image/png", "banner.png")));
+        final var second = gateway.storeImage("456", VideoResource.with(VideoMediaType.THUMBNAIL, Resource.with(content, "x", "image/png", "thumb.png")));
+
+        // Assert
+        Assertions.assertEquals(first.checksum(), second.checksum());
+        Assertions.assertEquals(first.location(), second.location());
+        Assertions.assertEquals(1, countFiles(root.resolve("blobs")));
+        Assertions.assertEquals("thumb.png", gateway.getResource("456", VideoMediaType.THUMBNAIL).orElseThrow().name());
+        Assertions.assertArrayEquals(content, gateway.getResource("123", VideoMediaType.BANNER).orElseThrow().content());
+    }
+
+    @Test
+    public void clearResourcesKeepsSharedBlobsTest() {
+        // Arrange
+        final var gateway = new FileSystemMediaResourceGateway(root.toString());
+        final byte[] content = "conteudo".getBytes(StandardCharsets.UTF_8);
+        final var media = gateway.storeImage("123", VideoResource.with(VideoMediaType.BANNER, Resource.with(content, "x", "image/png", "banner.png")));
+        gateway.storeImage("456", VideoResource.with(VideoMediaType.BANNER, Resource.with(content, "x", "image/png", "banner.png")));
+
+        // Act
+        gateway.clearResources("123");
+
+        // Assert
+        Assertions.assertTrue(gateway.getMediaFile("123", VideoMediaType.BANNER).isEmpty());
+        Assertions.assertTrue(gateway.getMediaFile("456", VideoMediaType.BANNER).isPresent());
+        Assertions.assertEquals(1, gateway.references(media.checksum()));
+        Assertions.assertTrue(Files.exists(Path.of(media.location())));
+    }
+
+    @Test
+    public void clearResourcesDeletesUnreferencedBlobsTest() {
+        // Arrange
+        final var gateway = new FileSystemMediaResourceGateway(root.toString());
+        final byte[] content = "conteudo".getBytes(StandardCharsets.UTF_8);
+        final var banner = gateway.storeImage("123", VideoResource.with(VideoMediaType.BANNER, Resource.with(content, "x", "image/png", "banner.png")));
+        gateway.storeImage("123", VideoResource.with(VideoMediaType.THUMBNAIL, Resource.with(content, "x", "image/png", "thumb.png")));
+
+        // Act
+        final long before = gateway.references(banner.checksum());
+        gateway.clearResources("123");
+
+        // Assert
+        Assertions.assertEquals(2, before);
+        Assertions.assertEquals(0, gateway.references(banner.checksum()));
+        Assertions.assertFalse(Files.exists(Path.of(banner.location())));
+        Assertions.assertFalse(Files.exists(root.resolve("videos").resolve("123")));
+    }
+
+    @Test
+    public void replacingMediaReleasesThePreviousBlobTest() {
+        // Arrange
+        final var gateway = new FileSystemMediaResourceGateway(root.toString());
+        final var first = gateway.storeImage("123", VideoResource.with(VideoMediaType.BANNER, Resource.with("v1".getBytes(StandardCharsets.UTF_8), "x", "image/png", "banner.png")));
+
+        // Act
+        final var second = gateway.storeImage("123", VideoResource.with(VideoMediaType.BANNER, Resource.with("v2".getBytes(StandardCharsets.UTF_8), "x", "image/png", "banner.png")));
+        gateway.storeImage("123", VideoResource.with(VideoMediaType.BANNER, Resource.with("v2".getBytes(StandardCharsets.UTF_8), "x", "image/png", "banner.png")));
+
+        // Assert
+        Assertions.assertFalse(Files.exists(Path.of(first.location())));
+        Assertions.assertEquals(1, gateway.references(second.checksum()));
+        Assertions.assertEquals(second.checksum(), gateway.getMediaFile("123", VideoMediaType.BANNER).orElseThrow().checksum());
+    }
+
+    @Test
+    public void storeWithExpectedChecksumTest() throws Exception {
+        // Arrange
+        final var gateway = new FileSystemMediaResourceGateway(root.toString());
+        final byte[] content = "trailer".getBytes(StandardCharsets.UTF_8);
+        final String checksum = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        gateway.storeAudioVideo("123", VideoMediaType.TRAILER, StreamResource.with(new ByteArrayInputStream(content), content.length, "video/mp4", "trailer.mp4"));
+
+        // Act
+        final var linked = gateway.storeAudioVideo("456", VideoMediaType.TRAILER, StreamResource.with(new ByteArrayInputStream(content), content.length, "video/mp4", "relancamento.mp4", checksum));
+
+        // Assert
+        Assertions.assertEquals(checksum, linked.checksum());
+        Assertions.assertEquals("relancamento.mp4", gateway.getMediaFile("456", VideoMediaType.TRAILER).orElseThrow().name());
+        Assertions.assertEquals(2, gateway.references(checksum));
+        Assertions.assertEquals(0, countFiles(root.resolve("tmp")));
+    }
+
+    @Test
+    public void storeWithWrongChecksumTest() throws Exception {
+        // Arrange
+        final var gateway = new FileSystemMediaResourceGateway(root.toString());
+        final byte[] content = "conteudo do video".getBytes(StandardCharsets.UTF_8);
+        final String expectedChecksum = "a".repeat(64);
+
+        // Act
+        final var exception = Assertions.assertThrows(ChecksumMismatchException.class, () -> gateway.storeAudioVideo("123", VideoMediaType.VIDEO, StreamResource.with(new ByteArrayInputStream(content), content.length, "video/mp4", "video.mp4", expectedChecksum)));
+
+        // Assert
+        Assertions.assertEquals(expectedChecksum, exception.expected());
+        Assertions.assertTrue(gateway.getMediaFile("123", VideoMediaType.VIDEO).isEmpty());
+        Assertions.assertEquals(0, gateway.references(exception.actual()));
+        Assertions.assertEquals(0, countFiles(root.resolve("tmp")));
+        Assertions.assertEquals(0, countFiles(root.resolve("blobs")));
+    }
+
+    @Test
+    public void getMediaFileWithInvalidIdTest() {
+        // Arrange
+        final var gateway = new FileSystemMediaResourceGateway(root.toString());
+
+        // Act & Assert
+        Assertions.assertThrows(IllegalArgumentException.class, () -> gateway.getMediaFile("../blobs", VideoMediaType.VIDEO));
+    }
+
+    private static long countFiles(final Path dir) throws Exception {
+        try (var files = Files.walk(dir)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+
+    @Test
+    public void timedGatewayRecordsStoreTimingsPerTypeTest() {
+        // Arrange
+        final var registry = new SimpleMeterRegistry();
+        final var gateway = new TimedMediaResourceGateway(new FileSystemMediaResourceGateway(root.toString()), registry);
+        final byte[] content = "conteudo".getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        gateway.storeAudioVideo("123", VideoMediaType.TRAILER, StreamResource.with(new ByteArrayInputStream(content), content.length, "video/mp4", "trailer.mp4"));
+        gateway.storeImage("123", VideoMediaType.BANNER, StreamResource.with(new ByteArrayInputStream(content), content.length, "image/png", "banner.png"));
+
+        // Assert
+        Assertions.assertEquals(1, registry.get("media.store").tag("type", "TRAILER").tag("outcome", "success").timer().count());
+        Assertions.assertEquals(1, registry.get("media.store").tag("type", "BANNER").tag("outcome", "success").timer().count());
+    }
+}
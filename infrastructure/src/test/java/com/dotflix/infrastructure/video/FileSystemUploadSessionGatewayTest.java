@@ -0,0 +1,153 @@
+package com.dotflix.infrastructure.video;
+
+import com.dotflix.domain.video.OverlappingChunkException;
+import com.dotflix.domain.video.UploadChunk;
+import com.dotflix.domain.video.UploadSession;
+import com.dotflix.domain.video.VideoMediaType;
+import com.dotflix.infrastructure.video.storage.FileSystemUploadSessionGateway;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.IntStream;
+
+public class FileSystemUploadSessionGatewayTest {
+
+    private static final Duration TTL = Duration.ofHours(24);
+
+    @TempDir
+    private Path root;
+
+    @Test
+    public void createAndFindUploadSessionTest() throws Exception {
+        // Arrange
+        final var gateway = new FileSystemUploadSessionGateway(root.toString(), TTL);
+        final var aSession = UploadSession.newSession("123", VideoMediaType.VIDEO, "video.mp4", "video/mp4", 10, "a".repeat(64));
+
+        // Act
+        gateway.create(aSession);
+        final var actual = gateway.findById(aSession.id()).orElseThrow();
+
+        // Assert
+        Assertions.assertEquals(aSession.id(), actual.id());
+        Assertions.assertEquals("123", actual.videoId());
+        Assertions.assertEquals(VideoMediaType.VIDEO, actual.type());
+        Assertions.assertEquals("video.mp4", actual.name());
+        Assertions.assertEquals("video/mp4", actual.contentType());
+        Assertions.assertEquals(10, actual.length());
+        Assertions.assertEquals(aSession.checksum(), actual.checksum());
+        Assertions.assertEquals(aSession.createdAt(), actual.createdAt());
+        Assertions.assertTrue(gateway.findById("456").isEmpty());
+        Assertions.assertTrue(gateway.findById("../x").isEmpty());
+    }
+
+    @Test
+    public void writeChunksInParallelAndReadThemInOrderTest() throws Exception {
+        // Arrange
+        final var gateway = new FileSystemUploadSessionGateway(root.toString(), TTL);
+        final var content = "0123456789abcdefghijklmnopqrstuvwxyz".getBytes(StandardCharsets.UTF_8);
+        final var aSession = gateway.create(UploadSession.newSession("123", VideoMediaType.VIDEO, "video.mp4", "video/mp4", content.length, "a".repeat(64)));
+
+        // Act
+        IntStream.range(0, 9).parallel().forEach(i ->
+                gateway.writeChunk(aSession.id(), i * 4L, new ByteArrayInputStream(content, i * 4, 4), content.length - i * 4L)
+        );
+
+        // Assert
+        final List<UploadChunk> chunks = gateway.chunks(aSession.id());
+        Assertions.assertEquals(9, chunks.size());
+        Assertions.assertEquals(UploadChunk.with(32, 4), chunks.get(8));
+        Assertions.assertTrue(aSession.isComplete(chunks));
+
+        try (var in = gateway.content(aSession.id()).content()) {
+            Assertions.assertArrayEquals(content, in.readAllBytes());
+        }
+    }
+
+    @Test
+    public void writeChunkLargerThanLimitTest() throws Exception {
+        // Arrange
+        final var gateway = new FileSystemUploadSessionGateway(root.toString(), TTL);
+        final var aSession = gateway.create(UploadSession.newSession("123", VideoMediaType.VIDEO, "video.mp4", "video/mp4", 10, "a".repeat(64)));
+
+        // Act
+        Assertions.assertThrows(IllegalArgumentException.class, () -> gateway.writeChunk(aSession.id(), 8, new ByteArrayInputStream(new byte[3]), 2));
+
+        // Assert
+        Assertions.assertTrue(gateway.chunks(aSession.id()).isEmpty());
+    }
+
+    @Test
+    public void writeEmptyChunkKeepsTheUploadedOneTest() throws Exception {
+        // Arrange
+        final var gateway = new FileSystemUploadSessionGateway(root.toString(), TTL);
+        final var aSession = gateway.create(UploadSession.newSession("123", VideoMediaType.VIDEO, "video.mp4", "video/mp4", 10, "a".repeat(64)));
+        gateway.writeChunk(aSession.id(), 0, new ByteArrayInputStream(new byte[4]), 10);
+
+        // Act
+        final var error = Assertions.assertThrows(IllegalArgumentException.class, () -> gateway.writeChunk(aSession.id(), 0, new ByteArrayInputStream(new byte[0]), 10));
+
+        // Assert
+        Assertions.assertEquals("The chunk at offset 0 is empty", error.getMessage());
+        Assertions.assertEquals(List.of(UploadChunk.with(0, 4)), gateway.chunks(aSession.id()));
+    }
+
+    @Test
+    public void writeOverlappingChunkTest() throws Exception {
+        // Arrange
+        final var gateway = new FileSystemUploadSessionGateway(root.toString(), TTL);
+        final var aSession = gateway.create(UploadSession.newSession("123", VideoMediaType.VIDEO, "video.mp4", "video/mp4", 10, "a".repeat(64)));
+        gateway.writeChunk(aSession.id(), 0, new ByteArrayInputStream(new byte[4]), 10);
+        gateway.writeChunk(aSession.id(), 6, new ByteArrayInputStream(new byte[4]), 4);
+
+        // Act
+        final var inside = Assertions.assertThrows(OverlappingChunkException.class, () -> gateway.writeChunk(aSession.id(), 2, new ByteArrayInputStream(new byte[2]), 8));
+        final var across = Assertions.assertThrows(OverlappingChunkException.class, () -> gateway.writeChunk(aSession.id(), 4, new ByteArrayInputStream(new byte[4]), 6));
+        final var resent = gateway.writeChunk(aSession.id(), 0, new ByteArrayInputStream(new byte[4]), 10);
+
+        // Assert
+        Assertions.assertEquals(0, inside.existing().offset());
+        Assertions.assertEquals(6, across.existing().offset());
+        Assertions.assertEquals(UploadChunk.with(0, 4), resent);
+        Assertions.assertEquals(List.of(UploadChunk.with(0, 4), UploadChunk.with(6, 4)), gateway.chunks(aSession.id()));
+    }
+
+    @Test
+    public void purgeExpiredUploadSessionsTest() throws Exception {
+        // Arrange
+        final var gateway = new FileSystemUploadSessionGateway(root.toString(), Duration.ofHours(1));
+        final var expired = gateway.create(UploadSession.with("expired-1", "123", VideoMediaType.VIDEO, "video.mp4", "video/mp4", 10, "a".repeat(64), Instant.now().minus(Duration.ofHours(2))));
+        final var active = gateway.create(UploadSession.newSession("123", VideoMediaType.VIDEO, "video.mp4", "video/mp4", 10, "a".repeat(64)));
+        gateway.writeChunk(expired.id(), 0, new ByteArrayInputStream(new byte[10]), 10);
+
+        // Act
+        final var found = gateway.findById(expired.id());
+        gateway.purgeExpired();
+
+        // Assert
+        Assertions.assertTrue(found.isEmpty());
+        Assertions.assertFalse(Files.exists(root.resolve("uploads").resolve(expired.id())));
+        Assertions.assertTrue(gateway.findById(active.id()).isPresent());
+    }
+
+    @Test
+    public void deleteUploadSessionTest() throws Exception {
+        // Arrange
+        final var gateway = new FileSystemUploadSessionGateway(root.toString(), TTL);
+        final var aSession = gateway.create(UploadSession.newSession("123", VideoMediaType.VIDEO, "video.mp4", "video/mp4", 10, "a".repeat(64)));
+        gateway.writeChunk(aSession.id(), 0, new ByteArrayInputStream(new byte[10]), 10);
+
+        // Act
+        gateway.delete(aSession.id());
+
+        // Assert
+        Assertions.assertTrue(gateway.findById(aSession.id()).isEmpty());
+        Assertions.assertFalse(Files.exists(root.resolve("uploads").resolve(aSession.id())));
+    }
+}
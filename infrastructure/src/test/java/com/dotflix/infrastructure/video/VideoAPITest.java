@@ -0,0 +1,339 @@
+package com.dotflix.infrastructure.video;
+
+import com.dotflix.application.video.*;
+import com.dotflix.application.video.dto.ByteRange;
+import com.dotflix.application.video.dto.MediaRangeOutputDTO;
+import com.dotflix.application.video.dto.UploadChunkDTO;
+import com.dotflix.application.video.dto.UploadSessionOutputDTO;
+import com.dotflix.application.video.exceptions.InvalidUploadException;
+import com.dotflix.application.video.exceptions.UploadSessionNotFoundException;
+import com.dotflix.application.video.exceptions.RangeNotSatisfiableException;
+import com.dotflix.application.video.exceptions.ResourceNotFoundException;
+import com.dotflix.domain.video.MediaFile;
+import com.dotflix.domain.video.UploadChunk;
+import com.dotflix.domain.video.VideoMediaType;
+import com.dotflix.infrastructure.ApiTest;
+import com.dotflix.infrastructure.ControllerTest;
+import com.dotflix.infrastructure.video.controller.VideoAPI;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+@ActiveProfiles("test")
+@ControllerTest(controllers = VideoAPI.class)
+public class VideoAPITest {
+    @Autowired
+    private MockMvc mvc;
+
+    @MockitoBean
+    private GetMediaUseCase getMediaUseCase;
+
+    @MockitoBean
+    private GetMediaRangeUseCase getMediaRangeUseCase;
+
+    @MockitoBean
+    private CreateUploadSessionUseCase createUploadSessionUseCase;
+
+    @MockitoBean
+    private UploadChunkUseCase uploadChunkUseCase;
+
+    @MockitoBean
+    private GetUploadSessionUseCase getUploadSessionUseCase;
+
+    @MockitoBean
+    private CompleteUploadSessionUseCase completeUploadSessionUseCase;
+
+    @MockitoBean
+    private AbortUploadSessionUseCase abortUploadSessionUseCase;
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    public void getMediaByTypeTest() throws Exception {
+        // Arrange
+        final byte[] content = "conteudo do video".getBytes(StandardCharsets.UTF_8);
+        final Path file = Files.write(dir.resolve("abc"), content);
+
+        Mockito.when(getMediaUseCase.execute(Mockito.any())).thenReturn(MediaFile.with(file, content.length, "abc", "video/mp4", "video.mp4"));
+
+        // Act
+        final var request = MockMvcRequestBuilders.get("/videos/{id}/medias/{type}", "123", "video")
+                .with(ApiTest.VIDEOS_JWT);
+
+        final ResultActions response = this.mvc.perform(request)
+                .andDo(MockMvcResultHandlers.print());
+
+        // Assert
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("Content-Type", "video/mp4"))
+                .andExpect(MockMvcResultMatchers.header().string("Content-Length", String.valueOf(content.length)))
+                .andExpect(MockMvcResultMatchers.header().string("Content-Disposition", "inline; filename=\"video.mp4\""))
+                .andExpect(MockMvcResultMatchers.content().bytes(content));
+
+        Mockito.verify(getMediaUseCase, Mockito.times(1)).execute(Mockito.argThat(cmd ->
+                "123".equals(cmd.videoId()) && "video".equals(cmd.mediaType())
+        ));
+    }
+
+    @Test
+    public void getMediaByTypeWithSendfileTest() throws Exception {
+        // Arrange
+        final byte[] content = "conteudo do video".getBytes(StandardCharsets.UTF_8);
+        final Path file = Files.write(dir.resolve("abc"), content);
+
+        Mockito.when(getMediaUseCase.execute(Mockito.any())).thenReturn(MediaFile.with(file, content.length, "abc", "video/mp4", "video.mp4"));
+
+        // Act
+        final var request = MockMvcRequestBuilders.get("/videos/{id}/medias/{type}", "123", "video")
+                .with(ApiTest.VIDEOS_JWT)
+                .requestAttr("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+
+        final ResultActions response = this.mvc.perform(request)
+                .andDo(MockMvcResultHandlers.print());
+
+        // Assert
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("Content-Length", String.valueOf(content.length)))
+                .andExpect(MockMvcResultMatchers.request().attribute("org.apache.tomcat.sendfile.filename", file.toString()))
+                .andExpect(MockMvcResultMatchers.request().attribute("org.apache.tomcat.sendfile.start", 0L))
+                .andExpect(MockMvcResultMatchers.request().attribute("org.apache.tomcat.sendfile.end", (long) content.length))
+                .andExpect(MockMvcResultMatchers.content().bytes(new byte[0]));
+    }
+
+    @Test
+    public void getMediaByTypeNotFoundTest() throws Exception {
+        // Arrange
+        Mockito.when(getMediaUseCase.execute(Mockito.any())).thenThrow(new ResourceNotFoundException("not found"));
+
+        // Act
+        final var request = MockMvcRequestBuilders.get("/videos/{id}/medias/{type}", "123", "video")
+                .with(ApiTest.VIDEOS_JWT);
+
+        final ResultActions response = this.mvc.perform(request);
+
+        // Assert
+        response.andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    @Test
+    public void getMediaSingleRangeTest() throws Exception {
+        // Arrange
+        final byte[] content = "0123456789".getBytes(StandardCharsets.UTF_8);
+        final Path file = Files.write(dir.resolve("abc"), content);
+        final MediaFile aFile = MediaFile.with(file, content.length, "abc", "video/mp4", "video.mp4");
+
+        Mockito.when(getMediaRangeUseCase.execute(Mockito.any())).thenReturn(MediaRangeOutputDTO.partial(aFile, List.of(ByteRange.of(2, 5))));
+
+        // Act
+        final var request = MockMvcRequestBuilders.get("/videos/{id}/medias/{type}", "123", "video")
+                .with(ApiTest.VIDEOS_JWT)
+                .header("Range", "bytes=2-5")
+                .header("If-Range", "\"abc\"");
+
+        final ResultActions response = this.mvc.perform(request);
+
+        // Assert
+        response.andExpect(MockMvcResultMatchers.status().isPartialContent())
+                .andExpect(MockMvcResultMatchers.header().string("Content-Range", "bytes 2-5/10"))
+                .andExpect(MockMvcResultMatchers.header().string("Content-Length", "4"))
+                .andExpect(MockMvcResultMatchers.header().string("ETag", "\"abc\""))
+                .andExpect(MockMvcResultMatchers.content().string("2345"));
+
+        Mockito.verify(getMediaRangeUseCase, Mockito.times(1)).execute(Mockito.argThat(cmd ->
+                List.of(ByteRange.of(2, 5)).equals(cmd.ranges()) && "\"abc\"".equals(cmd.ifRange())
+        ));
+        Mockito.verifyNoInteractions(getMediaUseCase);
+    }
+
+    @Test
+    public void getMediaMultipleRangesTest() throws Exception {
+        // Arrange
+        final byte[] content = "0123456789".getBytes(StandardCharsets.UTF_8);
+        final Path file = Files.write(dir.resolve("abc"), content);
+        final MediaFile aFile = MediaFile.with(file, content.length, "abc", "video/mp4", "video.mp4");
+
+        Mockito.when(getMediaRangeUseCase.execute(Mockito.any())).thenReturn(MediaRangeOutputDTO.partial(aFile, List.of(ByteRange.of(0, 1), ByteRange.of(8, 9))));
+
+        // Act
+        final var request = MockMvcRequestBuilders.get("/videos/{id}/medias/{type}", "123", "video")
+                .with(ApiTest.VIDEOS_JWT)
+                .header("Range", "bytes=0-1, -2");
+
+        final MvcResult result = this.mvc.perform(request)
+                .andExpect(MockMvcResultMatchers.status().isPartialContent())
+                .andReturn();
+
+        // Assert
+        final String contentType = result.getResponse().getContentType();
+        final String boundary = contentType.substring(contentType.indexOf("boundary=") + "boundary=".length());
+        final String expected = "\r\n--" + boundary + "\r\nContent-Type: video/mp4\r\nContent-Range: bytes 0-1/10\r\n\r\n01"
+                + "\r\n--" + boundary + "\r\nContent-Type: video/mp4\r\nContent-Range: bytes 8-9/10\r\n\r\n89"
+                + "\r\n--" + boundary + "--\r\n";
+
+        Assertions.assertTrue(contentType.startsWith("multipart/byteranges"));
+        Assertions.assertEquals(expected, result.getResponse().getContentAsString());
+        Assertions.assertEquals(expected.length(), result.getResponse().getContentLength());
+
+        Mockito.verify(getMediaRangeUseCase, Mockito.times(1)).execute(Mockito.argThat(cmd ->
+                List.of(ByteRange.of(0, 1), ByteRange.last(2)).equals(cmd.ranges())
+        ));
+    }
+
+    @Test
+    public void getMediaUnsatisfiableRangeTest() throws Exception {
+        // Arrange
+        Mockito.when(getMediaRangeUseCase.execute(Mockito.any())).thenThrow(new RangeNotSatisfiableException("not satisfiable", 10));
+
+        // Act
+        final var request = MockMvcRequestBuilders.get("/videos/{id}/medias/{type}", "123", "video")
+                .with(ApiTest.VIDEOS_JWT)
+                .header("Range", "bytes=20-");
+
+        final ResultActions response = this.mvc.perform(request);
+
+        // Assert
+        response.andExpect(MockMvcResultMatchers.status().isRequestedRangeNotSatisfiable())
+                .andExpect(MockMvcResultMatchers.header().string("Content-Range", "bytes */10"));
+    }
+
+    @Test
+    public void createUploadSessionTest() throws Exception {
+        // Arrange
+        Mockito.when(createUploadSessionUseCase.execute(Mockito.any())).thenReturn(new UploadSessionOutputDTO("abc", "123", VideoMediaType.VIDEO, 100, 0, List.of()));
+
+        final String json = "{\"type\":\"video\",\"name\":\"video.mp4\",\"content_type\":\"video/mp4\",\"length\":100,\"checksum\":\"" + "a".repeat(64) + "\"}";
+
+        // Act
+        final var request = MockMvcRequestBuilders.post("/videos/{id}/uploads", "123")
+                .with(ApiTest.VIDEOS_JWT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json);
+
+        final ResultActions response = this.mvc.perform(request);
+
+        // Assert
+        response.andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.header().string("Location", "/videos/123/uploads/abc"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.id").value("abc"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.received").value(0));
+
+        Mockito.verify(createUploadSessionUseCase, Mockito.times(1)).execute(Mockito.argThat(cmd ->
+                "123".equals(cmd.videoId()) && "video".equals(cmd.mediaType()) && cmd.length() == 100 && "video/mp4".equals(cmd.contentType())
+        ));
+    }
+
+    @Test
+    public void uploadChunkTest() throws Exception {
+        // Arrange
+        final byte[] chunk = "0123".getBytes(StandardCharsets.UTF_8);
+        final var received = new ByteArrayOutputStream();
+
+        Mockito.when(uploadChunkUseCase.execute(Mockito.any())).thenAnswer(it -> {
+            final UploadChunkDTO aCmd = it.getArgument(0);
+            aCmd.content().transferTo(received);
+            return new UploadSessionOutputDTO("abc", "123", VideoMediaType.VIDEO, 100, 4, List.of(UploadChunk.with(40, 4)));
+        });
+
+        // Act
+        final var request = MockMvcRequestBuilders.put("/videos/{id}/uploads/{sessionId}", "123", "abc")
+                .with(ApiTest.VIDEOS_JWT)
+                .param("offset", "40")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .content(chunk);
+
+        final ResultActions response = this.mvc.perform(request);
+
+        // Assert
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.chunks[0].offset").value(40))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.chunks[0].length").value(4));
+
+        Assertions.assertArrayEquals(chunk, received.toByteArray());
+        Mockito.verify(uploadChunkUseCase, Mockito.times(1)).execute(Mockito.argThat(cmd ->
+                "abc".equals(cmd.sessionId()) && cmd.offset() == 40
+        ));
+    }
+
+    @Test
+    public void completeUploadSessionWithWrongChecksumTest() throws Exception {
+        // Arrange
+        Mockito.when(completeUploadSessionUseCase.execute(Mockito.any())).thenThrow(new InvalidUploadException("checksum doesn't match"));
+
+        // Act
+        final var request = MockMvcRequestBuilders.post("/videos/{id}/uploads/{sessionId}/complete", "123", "abc")
+                .with(ApiTest.VIDEOS_JWT);
+
+        final ResultActions response = this.mvc.perform(request);
+
+        // Assert
+        response.andExpect(MockMvcResultMatchers.status().isUnprocessableEntity())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors[0].message").value("checksum doesn't match"));
+    }
+
+    @Test
+    public void createUploadSessionWithInvalidDataTest() throws Exception {
+        // Arrange
+        Mockito.when(createUploadSessionUseCase.execute(Mockito.any())).thenThrow(new Exception("'name' should not be empty"));
+
+        // Act
+        final var request = MockMvcRequestBuilders.post("/videos/{id}/uploads", "123")
+                .with(ApiTest.VIDEOS_JWT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"type\":\"video\",\"name\":\"\",\"content_type\":\"video/mp4\",\"length\":10}");
+
+        final ResultActions response = this.mvc.perform(request);
+
+        // Assert
+        response.andExpect(MockMvcResultMatchers.status().isUnprocessableEntity())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors[0].message").value("'name' should not be empty"));
+    }
+
+    @Test
+    public void completeUploadSessionWithStorageFailureTest() throws Exception {
+        // Arrange
+        Mockito.when(completeUploadSessionUseCase.execute(Mockito.any())).thenThrow(new UncheckedIOException(new IOException("No space left on device")));
+
+        // Act
+        final var request = MockMvcRequestBuilders.post("/videos/{id}/uploads/{sessionId}/complete", "123", "abc")
+                .with(ApiTest.VIDEOS_JWT);
+
+        final ResultActions response = this.mvc.perform(request);
+
+        // Assert
+        response.andExpect(MockMvcResultMatchers.status().isInternalServerError());
+    }
+
+    @Test
+    public void getUnknownUploadSessionTest() throws Exception {
+        // Arrange
+        Mockito.when(getUploadSessionUseCase.execute(Mockito.any())).thenThrow(new UploadSessionNotFoundException("not found"));
+
+        // Act
+        final var request = MockMvcRequestBuilders.get("/videos/{id}/uploads/{sessionId}", "123", "abc")
+                .with(ApiTest.VIDEOS_JWT);
+
+        final ResultActions response = this.mvc.perform(request);
+
+        // Assert
+        response.andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+}
@@ -0,0 +1,301 @@
+package com.dotflix.infrastructure.video;
+
+import com.dotflix.domain.video.AudioVideoMedia;
+import com.dotflix.domain.video.Rating;
+import com.dotflix.domain.video.Video;
+import com.dotflix.domain.video.VideoMediaCreated;
+import com.dotflix.infrastructure.PostgresqlGatewayTest;
+import com.dotflix.infrastructure.events.AcknowledgedEventPublisher;
+import com.dotflix.infrastructure.events.RingBufferEventBus;
+import com.dotflix.infrastructure.events.WaitStrategy;
+import com.dotflix.infrastructure.video.outbox.VideoOutboxRelay;
+import com.dotflix.infrastructure.video.persistence.VideoPostgresqlGateway;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Duration;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@PostgresqlGatewayTest
+public class VideoOutboxTest {
+    private static final AtomicBoolean INITIALIZED = new AtomicBoolean();
+
+    // Não é um DomainEvent; o relay não pode rodar o bloco estático ao ler o tipo da outbox
+    static class NotAnEvent {
+        static {
+            INITIALIZED.set(true);
+        }
+    }
+
+    @Autowired
+    private VideoPostgresqlGateway videoGateway;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Test
+    public void createVideoWithPendingMediaWritesOutboxEventTest() throws Exception {
+        // Arrange
+        final Video aVideo = newVideo()
+                .updateVideoMedia(AudioVideoMedia.with("abc", "video.mp4", "/videos/video.mp4"));
+
+        // Act
+        videoGateway.create(aVideo);
+
+        // Assert
+        final List<Map<String, Object>> rows = jdbcTemplate.queryForList("SELECT aggregate_id, event_type FROM videos_outbox", Map.of());
+        Assertions.assertEquals(1, rows.size());
+        Assertions.assertEquals(aVideo.getId(), rows.get(0).get("AGGREGATE_ID"));
+        Assertions.assertEquals(VideoMediaCreated.class.getName(), rows.get(0).get("EVENT_TYPE"));
+        Assertions.assertTrue(aVideo.getDomainEvents().isEmpty());
+    }
+
+    @Test
+    public void createVideoWithoutMediaWritesNoOutboxEventTest() throws Exception {
+        // Arrange
+        final Video aVideo = newVideo();
+
+        // Act
+        videoGateway.create(aVideo);
+
+        // Assert
+        Assertions.assertEquals(0, countOutbox());
+    }
+
+    @Test
+    public void relayPublishesAndDeletesEventsInBatchesTest() throws Exception {
+        // Arrange
+        final List<Object> published = new ArrayList<>();
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final VideoOutboxRelay relay = new VideoOutboxRelay(jdbcTemplate, transactionManager, acknowledge(published), mapper, registry, 2, Duration.ofSeconds(5), 10, Duration.ofSeconds(1));
+
+        final List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final Video aVideo = newVideo()
+                    .updateVideoMedia(AudioVideoMedia.with("abc" + i, "video.mp4", "/videos/video" + i + ".mp4"));
+            videoGateway.create(aVideo);
+            ids.add(aVideo.getId());
+        }
+
+        // Act
+        final int firstBatch = relay.relayBatch();
+        relay.relay();
+
+        // Assert
+        Assertions.assertEquals(2, firstBatch);
+        Assertions.assertEquals(0, countOutbox());
+        Assertions.assertEquals(3, published.size());
+        Assertions.assertEquals(ids, published.stream().map(e -> ((VideoMediaCreated) e).resourceId()).toList());
+        Assertions.assertEquals("/videos/video0.mp4", ((VideoMediaCreated) published.get(0)).filePath());
+        Assertions.assertEquals(3.0, registry.get("outbox.relay.published").counter().count());
+        Assertions.assertEquals(2, registry.get("outbox.relay.batch.size").summary().count());
+        Assertions.assertEquals(3, registry.get("outbox.relay.lag").timer().count());
+    }
+
+    @Test
+    public void relayDiscardsUnreadableEventsTest() {
+        // Arrange
+        final List<Object> published = new ArrayList<>();
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final VideoOutboxRelay relay = new VideoOutboxRelay(jdbcTemplate, transactionManager, acknowledge(published), mapper, registry, 10, Duration.ofSeconds(5), 10, Duration.ofSeconds(1));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                jdbcTemplate.update("""
+                        INSERT INTO videos_outbox (aggregate_id, event_type, payload, occurred_on, created_at)
+                        VALUES ('x', 'com.dotflix.Missing', '{}', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+                        """, Map.of())
+        );
+
+        // Act
+        final int relayed = relay.relayBatch();
+
+        // Assert
+        Assertions.assertEquals(1, relayed);
+        Assertions.assertEquals(0, countOutbox());
+        Assertions.assertTrue(published.isEmpty());
+        Assertions.assertEquals(1.0, registry.get("outbox.relay.discarded").counter().count());
+    }
+
+    @Test
+    public void relayDoesNotInitializeNonEventTypesTest() {
+        // Arrange
+        final List<Object> published = new ArrayList<>();
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final VideoOutboxRelay relay = new VideoOutboxRelay(jdbcTemplate, transactionManager, acknowledge(published), mapper, registry, 10, Duration.ofSeconds(5), 10, Duration.ofSeconds(1));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                jdbcTemplate.update("""
+                        INSERT INTO videos_outbox (aggregate_id, event_type, payload, occurred_on, created_at)
+                        VALUES ('x', :type, '{}', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+                        """, Map.of("type", NotAnEvent.class.getName()))
+        );
+
+        // Act
+        final int relayed = relay.relayBatch();
+
+        // Assert
+        Assertions.assertEquals(1, relayed);
+        Assertions.assertEquals(0, countOutbox());
+        Assertions.assertTrue(published.isEmpty());
+        Assertions.assertFalse(INITIALIZED.get());
+        Assertions.assertEquals(1.0, registry.get("outbox.relay.discarded").counter().count());
+    }
+
+    @Test
+    public void relayKeepsEventsTheBusHasNotDispatchedTest() throws Exception {
+        // Arrange
+        final CountDownLatch stuck = new CountDownLatch(1);
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        try (RingBufferEventBus bus = new RingBufferEventBus(8, 4, WaitStrategy.BLOCKING)) {
+            try {
+                // Consumidor parado antes de entregar: para o relay é o mesmo que o processo cair com os eventos no buffer
+                bus.subscribe(VideoMediaCreated.class, event -> {
+                    try {
+                        stuck.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+
+                final VideoOutboxRelay relay = new VideoOutboxRelay(jdbcTemplate, transactionManager, bus, mapper, registry, 10, Duration.ofMillis(200), 10, Duration.ofSeconds(1));
+
+                for (int i = 0; i < 2; i++) {
+                    videoGateway.create(newVideo().updateVideoMedia(AudioVideoMedia.with("abc" + i, "video.mp4", "/videos/video" + i + ".mp4")));
+                }
+
+                // Act
+                final int relayed = relay.relayBatch();
+
+                // Assert
+                Assertions.assertEquals(0, relayed);
+                Assertions.assertEquals(2, countOutbox());
+                Assertions.assertEquals(0.0, registry.get("outbox.relay.published").counter().count());
+            } finally {
+                stuck.countDown();
+            }
+        }
+    }
+
+    @Test
+    public void relayKeepsEventsWhoseSubscriberFailedTest() throws Exception {
+        // Arrange
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final VideoOutboxRelay relay = new VideoOutboxRelay(jdbcTemplate, transactionManager, event -> CompletableFuture.failedFuture(new IllegalStateException("closed")), mapper, registry, 10, Duration.ofSeconds(5), 10, Duration.ofSeconds(1));
+
+        videoGateway.create(newVideo().updateVideoMedia(AudioVideoMedia.with("abc", "video.mp4", "/videos/video.mp4")));
+
+        // Act
+        final int relayed = relay.relayBatch();
+
+        // Assert
+        Assertions.assertEquals(0, relayed);
+        Assertions.assertEquals(1, countOutbox());
+    }
+
+    @Test
+    public void relaySkipsEventsWaitingForRetryTest() throws Exception {
+        // Arrange
+        final List<Object> published = new ArrayList<>();
+        final AtomicBoolean failing = new AtomicBoolean(true);
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final VideoOutboxRelay relay = new VideoOutboxRelay(jdbcTemplate, transactionManager, event -> {
+            if (failing.getAndSet(false)) {
+                return CompletableFuture.failedFuture(new IllegalStateException("closed"));
+            }
+
+            published.add(event);
+            return CompletableFuture.completedFuture(null);
+        }, mapper, registry, 1, Duration.ofSeconds(5), 10, Duration.ofMinutes(1));
+
+        final Video poison = newVideo().updateVideoMedia(AudioVideoMedia.with("abc0", "video.mp4", "/videos/video0.mp4"));
+        final Video next = newVideo().updateVideoMedia(AudioVideoMedia.with("abc1", "video.mp4", "/videos/video1.mp4"));
+        videoGateway.create(poison);
+        videoGateway.create(next);
+
+        // Act
+        final int firstBatch = relay.relayBatch();
+        final int secondBatch = relay.relayBatch();
+        final int thirdBatch = relay.relayBatch();
+
+        // Assert
+        Assertions.assertEquals(0, firstBatch);
+        Assertions.assertEquals(1, secondBatch);
+        Assertions.assertEquals(0, thirdBatch);
+        Assertions.assertEquals(List.of(next.getId()), published.stream().map(e -> ((VideoMediaCreated) e).resourceId()).toList());
+
+        final Map<String, Object> waiting = jdbcTemplate.queryForMap("SELECT aggregate_id, attempts, next_attempt_at FROM videos_outbox", Map.of());
+        Assertions.assertEquals(poison.getId(), waiting.get("AGGREGATE_ID"));
+        Assertions.assertEquals(1, ((Number) waiting.get("ATTEMPTS")).intValue());
+        Assertions.assertNotNull(waiting.get("NEXT_ATTEMPT_AT"));
+    }
+
+    @Test
+    public void relayMovesEventsToDeadLetterAfterMaxAttemptsTest() throws Exception {
+        // Arrange
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final VideoOutboxRelay relay = new VideoOutboxRelay(jdbcTemplate, transactionManager, event -> CompletableFuture.failedFuture(new IllegalStateException("closed")), mapper, registry, 10, Duration.ofSeconds(5), 2, Duration.ZERO);
+
+        final Video aVideo = newVideo().updateVideoMedia(AudioVideoMedia.with("abc", "video.mp4", "/videos/video.mp4"));
+        videoGateway.create(aVideo);
+
+        // Act
+        relay.relayBatch();
+        final long afterFirstAttempt = countOutbox();
+        relay.relayBatch();
+
+        // Assert
+        Assertions.assertEquals(1, afterFirstAttempt);
+        Assertions.assertEquals(0, countOutbox());
+
+        final Map<String, Object> dead = jdbcTemplate.queryForMap("SELECT aggregate_id, event_type, attempts FROM videos_outbox_dead_letter", Map.of());
+        Assertions.assertEquals(aVideo.getId(), dead.get("AGGREGATE_ID"));
+        Assertions.assertEquals(VideoMediaCreated.class.getName(), dead.get("EVENT_TYPE"));
+        Assertions.assertEquals(2, ((Number) dead.get("ATTEMPTS")).intValue());
+        Assertions.assertEquals(1.0, registry.get("outbox.relay.discarded").counter().count());
+    }
+
+    private static AcknowledgedEventPublisher acknowledge(final List<Object> published) {
+        return event -> {
+            published.add(event);
+            return CompletableFuture.completedFuture(null);
+        };
+    }
+
+    private long countOutbox() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM videos_outbox", Map.of(), Long.class);
+    }
+
+    private static Video newVideo() throws Exception {
+        return Video.newVideo(
+                "Velozes e Furiosos",
+                "Filme de corrida",
+                Year.of(2001),
+                106.0,
+                true,
+                false,
+                Rating.AGE_14,
+                Set.of(),
+                Set.of(),
+                Set.of()
+        );
+    }
+}
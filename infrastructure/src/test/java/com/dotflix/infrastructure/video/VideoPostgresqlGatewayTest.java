@@ -0,0 +1,303 @@
+package com.dotflix.infrastructure.video;
+
+import com.dotflix.domain.CountMode;
+import com.dotflix.domain.Pagination;
+import com.dotflix.domain.castmember.CastMember;
+import com.dotflix.domain.castmember.CastMemberType;
+import com.dotflix.domain.category.Category;
+import com.dotflix.domain.genre.Genre;
+import com.dotflix.domain.video.*;
+import com.dotflix.infrastructure.PostgresqlGatewayTest;
+import com.dotflix.infrastructure.castmember.persistence.CastMemberPostgresqlGateway;
+import com.dotflix.infrastructure.category.persistence.CategoryPostgresqlGateway;
+import com.dotflix.infrastructure.genre.persistence.GenrePostgresqlGateway;
+import com.dotflix.infrastructure.video.persistence.VideoPostgresqlGateway;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import java.time.Instant;
+import java.time.Year;
+import java.util.List;
+import java.util.Set;
+
+@PostgresqlGatewayTest
+public class VideoPostgresqlGatewayTest {
+    @Autowired
+    private CategoryPostgresqlGateway categoryGateway;
+
+    @Autowired
+    private GenrePostgresqlGateway genreGateway;
+
+    @Autowired
+    private CastMemberPostgresqlGateway castMemberGateway;
+
+    @Autowired
+    private VideoPostgresqlGateway videoGateway;
+
+    @Test
+    public void testDependenciesInjected() {
+        Assertions.assertNotNull(categoryGateway);
+        Assertions.assertNotNull(genreGateway);
+        Assertions.assertNotNull(castMemberGateway);
+        Assertions.assertNotNull(videoGateway);
+    }
+
+    /* CREATE VIDEO TESTS */
+
+    @Test
+    public void createVideoWithAllRelationsAndMediasTest() throws Exception {
+        // Arrange
+        final Category filmes = categoryGateway.create(Category.newCategory("Filmes", null, true));
+        final Genre acao = genreGateway.create(Genre.newGenre("Ação", true));
+        final CastMember vin = castMemberGateway.create(CastMember.newMember("Vin Diesel", CastMemberType.ACTOR));
+
+        final Video aVideo = Video.newVideo(
+                        "Velozes e Furiosos",
+                        "Filme de corrida",
+                        Year.of(2001),
+                        106.0,
+                        true,
+                        false,
+                        Rating.AGE_14,
+                        Set.of(filmes.getId()),
+                        Set.of(acao.getId()),
+                        Set.of(vin.getId())
+                )
+                .updateVideoMedia(AudioVideoMedia.with("abc", "video.mp4", "/videos/video.mp4"))
+                .updateTrailerMedia(AudioVideoMedia.with("def", "trailer.mp4", "/videos/trailer.mp4"))
+                .updateBannerMedia(ImageMedia.with("ghi", "banner.png", "/images/banner.png"))
+                .updateThumbnailMedia(ImageMedia.with("jkl", "thumb.png", "/images/thumb.png"))
+                .updateThumbnailHalfMedia(ImageMedia.with("mno", "half.png", "/images/half.png"));
+
+        // Act
+        videoGateway.create(aVideo);
+        final Video actualVideo = videoGateway.findById(aVideo.getId()).get();
+
+        // Assert
+        Assertions.assertEquals(aVideo.getId(), actualVideo.getId());
+        Assertions.assertEquals(aVideo.getTitle(), actualVideo.getTitle());
+        Assertions.assertEquals(aVideo.getDescription(), actualVideo.getDescription());
+        Assertions.assertEquals(aVideo.getLaunchedAt(), actualVideo.getLaunchedAt());
+        Assertions.assertEquals(aVideo.getDuration(), actualVideo.getDuration());
+        Assertions.assertEquals(aVideo.getRating(), actualVideo.getRating());
+        Assertions.assertEquals(aVideo.getOpened(), actualVideo.getOpened());
+        Assertions.assertEquals(aVideo.getPublished(), actualVideo.getPublished());
+        Assertions.assertEquals(aVideo.getCreatedAt(), actualVideo.getCreatedAt());
+        Assertions.assertEquals(aVideo.getUpdatedAt(), actualVideo.getUpdatedAt());
+        Assertions.assertEquals(aVideo.getCategories(), actualVideo.getCategories());
+        Assertions.assertEquals(aVideo.getGenres(), actualVideo.getGenres());
+        Assertions.assertEquals(aVideo.getCastMembers(), actualVideo.getCastMembers());
+        Assertions.assertEquals(aVideo.getVideo(), actualVideo.getVideo());
+        Assertions.assertEquals(aVideo.getVideo().get().id(), actualVideo.getVideo().get().id());
+        Assertions.assertEquals(MediaStatus.PENDING, actualVideo.getVideo().get().status());
+        Assertions.assertEquals(aVideo.getTrailer(), actualVideo.getTrailer());
+        Assertions.assertEquals(aVideo.getBanner(), actualVideo.getBanner());
+        Assertions.assertEquals(aVideo.getThumbnail(), actualVideo.getThumbnail());
+        Assertions.assertEquals(aVideo.getThumbnailHalf(), actualVideo.getThumbnailHalf());
+    }
+
+    @Test
+    public void createVideoWithoutRelationsTest() throws Exception {
+        // Arrange
+        final Video aVideo = Video.newVideo("Titulo", "Descricao", Year.of(2020), 90.0, false, false, Rating.L, Set.of(), Set.of(), Set.of());
+
+        // Act
+        videoGateway.create(aVideo);
+        final Video actualVideo = videoGateway.findById(aVideo.getId()).get();
+
+        // Assert
+        Assertions.assertEquals(aVideo.getId(), actualVideo.getId());
+        Assertions.assertTrue(actualVideo.getCategories().isEmpty());
+        Assertions.assertTrue(actualVideo.getGenres().isEmpty());
+        Assertions.assertTrue(actualVideo.getCastMembers().isEmpty());
+        Assertions.assertTrue(actualVideo.getVideo().isEmpty());
+        Assertions.assertTrue(actualVideo.getBanner().isEmpty());
+    }
+
+    /* UPDATE VIDEO TESTS */
+
+    @Test
+    public void updateVideoMediaStatusTest() throws Exception {
+        // Arrange
+        final Video aVideo = Video.newVideo("Titulo", "Descricao", Year.of(2020), 90.0, false, false, Rating.L, Set.of(), Set.of(), Set.of())
+                .updateVideoMedia(AudioVideoMedia.with("abc", "video.mp4", "/videos/video.mp4"));
+
+        videoGateway.create(aVideo);
+
+        // Act
+        final Video current = videoGateway.findById(aVideo.getId()).get();
+        videoGateway.update(current.completed(VideoMediaType.VIDEO, "/encoded/video"));
+
+        // Assert
+        final Video actualVideo = videoGateway.findById(aVideo.getId()).get();
+        Assertions.assertEquals(MediaStatus.COMPLETED, actualVideo.getVideo().get().status());
+        Assertions.assertEquals("/encoded/video", actualVideo.getVideo().get().encodedLocation());
+        Assertions.assertEquals(current.getUpdatedAt(), actualVideo.getUpdatedAt());
+    }
+
+    @Test
+    public void updateMediaStatusesTest() throws Exception {
+        // Arrange
+        final Video aVideo = Video.newVideo("Titulo", "Descricao", Year.of(2020), 90.0, false, false, Rating.L, Set.of(), Set.of(), Set.of())
+                .updateVideoMedia(AudioVideoMedia.with("abc", "video.mp4", "/videos/video.mp4"))
+                .updateTrailerMedia(AudioVideoMedia.with("def", "trailer.mp4", "/videos/trailer.mp4"));
+        final String videoMedia = aVideo.getVideo().get().id();
+        final String trailerMedia = aVideo.getTrailer().get().id();
+
+        videoGateway.create(aVideo);
+
+        // Act
+        final List<Boolean> applied = videoGateway.updateMediaStatuses(List.of(
+                MediaStatusChange.with(aVideo.getId(), videoMedia, MediaStatus.PROCESSING, null),
+                MediaStatusChange.with(aVideo.getId(), videoMedia, MediaStatus.COMPLETED, "/encoded/video"),
+                MediaStatusChange.with(aVideo.getId(), trailerMedia, MediaStatus.PROCESSING, null),
+                MediaStatusChange.with("another", trailerMedia, MediaStatus.COMPLETED, "/encoded/trailer")
+        ));
+
+        // Assert
+        Assertions.assertEquals(List.of(true, true, true, false), applied);
+
+        final Video actualVideo = videoGateway.findById(aVideo.getId()).get();
+        Assertions.assertEquals(MediaStatus.COMPLETED, actualVideo.getVideo().get().status());
+        Assertions.assertEquals("/encoded/video", actualVideo.getVideo().get().encodedLocation());
+        Assertions.assertEquals(MediaStatus.PROCESSING, actualVideo.getTrailer().get().status());
+        Assertions.assertEquals("", actualVideo.getTrailer().get().encodedLocation());
+        Assertions.assertEquals(aVideo.getTitle(), actualVideo.getTitle());
+    }
+
+    @Test
+    public void updateMediaStatusOnlyMovesForwardTest() throws Exception {
+        // Arrange
+        final Video aVideo = Video.newVideo("Titulo", "Descricao", Year.of(2020), 90.0, false, false, Rating.L, Set.of(), Set.of(), Set.of())
+                .updateVideoMedia(AudioVideoMedia.with("abc", "video.mp4", "/videos/video.mp4"));
+        final String mediaId = aVideo.getVideo().get().id();
+
+        videoGateway.create(aVideo);
+
+        // Act
+        final boolean completed = videoGateway.updateMediaStatus(MediaStatusChange.with(aVideo.getId(), mediaId, MediaStatus.COMPLETED, "/encoded/video"));
+        final boolean repeated = videoGateway.updateMediaStatus(MediaStatusChange.with(aVideo.getId(), mediaId, MediaStatus.COMPLETED, "/encoded/other"));
+        final boolean late = videoGateway.updateMediaStatus(MediaStatusChange.with(aVideo.getId(), mediaId, MediaStatus.PROCESSING, null));
+
+        // Assert
+        Assertions.assertTrue(completed);
+        Assertions.assertFalse(repeated);
+        Assertions.assertFalse(late);
+
+        final Video actualVideo = videoGateway.findById(aVideo.getId()).get();
+        Assertions.assertEquals(MediaStatus.COMPLETED, actualVideo.getVideo().get().status());
+        Assertions.assertEquals("/encoded/video", actualVideo.getVideo().get().encodedLocation());
+    }
+
+    @Test
+    public void failedMediaCanBeEncodedAgainTest() throws Exception {
+        // Arrange
+        final Video aVideo = Video.newVideo("Titulo", "Descricao", Year.of(2020), 90.0, false, false, Rating.L, Set.of(), Set.of(), Set.of())
+                .updateVideoMedia(AudioVideoMedia.with("abc", "video.mp4", "/videos/video.mp4"));
+        final String mediaId = aVideo.getVideo().get().id();
+
+        videoGateway.create(aVideo);
+        videoGateway.updateMediaStatus(MediaStatusChange.with(aVideo.getId(), mediaId, MediaStatus.ERROR, null));
+
+        // Act
+        final List<Boolean> applied = videoGateway.updateMediaStatuses(List.of(
+                MediaStatusChange.with(aVideo.getId(), mediaId, MediaStatus.PROCESSING, null),
+                MediaStatusChange.with(aVideo.getId(), mediaId, MediaStatus.PENDING, null),
+                MediaStatusChange.with(aVideo.getId(), mediaId, MediaStatus.COMPLETED, "/encoded/video")
+        ));
+
+        // Assert
+        Assertions.assertEquals(List.of(true, false, true), applied);
+
+        final Video actualVideo = videoGateway.findById(aVideo.getId()).get();
+        Assertions.assertEquals(MediaStatus.COMPLETED, actualVideo.getVideo().get().status());
+        Assertions.assertEquals("/encoded/video", actualVideo.getVideo().get().encodedLocation());
+    }
+
+    @Test
+    public void claimAbandonedMediaTest() throws Exception {
+        // Arrange
+        final Video aVideo = Video.newVideo("Titulo", "Descricao", Year.of(2020), 90.0, false, false, Rating.L, Set.of(), Set.of(), Set.of())
+                .updateVideoMedia(AudioVideoMedia.with("abc", "video.mp4", "/videos/video.mp4"));
+        final VideoMediaRef media = VideoMediaRef.with(aVideo.getId(), aVideo.getVideo().get().id());
+
+        videoGateway.create(aVideo);
+        final Instant leaseExpired = Instant.now();
+
+        // Act
+        final List<VideoMediaRef> beforeExpiry = videoGateway.findAbandonedMedia(leaseExpired.minusSeconds(60), 10);
+        final List<VideoMediaRef> afterExpiry = videoGateway.findAbandonedMedia(leaseExpired, 10);
+        final boolean claimed = videoGateway.claimMedia(media, leaseExpired);
+        final boolean claimedAgain = videoGateway.claimMedia(media, leaseExpired);
+        final List<VideoMediaRef> whileClaimed = videoGateway.findAbandonedMedia(leaseExpired, 10);
+
+        videoGateway.releaseMedia(media);
+        final List<VideoMediaRef> released = videoGateway.findAbandonedMedia(Instant.EPOCH, 10);
+
+        // Assert
+        Assertions.assertTrue(beforeExpiry.isEmpty());
+        Assertions.assertEquals(List.of(media), afterExpiry);
+        Assertions.assertTrue(claimed);
+        Assertions.assertFalse(claimedAgain);
+        Assertions.assertTrue(whileClaimed.isEmpty());
+        Assertions.assertEquals(List.of(media), released);
+        Assertions.assertEquals(MediaStatus.PENDING, videoGateway.findById(aVideo.getId()).get().getVideo().get().status());
+    }
+
+    /* DELETE VIDEO TESTS */
+
+    @Test
+    public void deleteVideoTest() throws Exception {
+        // Arrange
+        final Video aVideo = Video.newVideo("Titulo", "Descricao", Year.of(2020), 90.0, false, false, Rating.L, Set.of(), Set.of(), Set.of())
+                .updateBannerMedia(ImageMedia.with("ghi", "banner.png", "/images/banner.png"));
+
+        videoGateway.create(aVideo);
+
+        // Act
+        videoGateway.deleteById(aVideo.getId());
+
+        // Assert
+        Assertions.assertTrue(videoGateway.findById(aVideo.getId()).isEmpty());
+    }
+
+    /* GET ALL VIDEOS TESTS */
+
+    @Test
+    public void getAllVideosFilteringByTermsAndCategoryTest() throws Exception {
+        // Arrange
+        final Category filmes = categoryGateway.create(Category.newCategory("Filmes", null, true));
+
+        videoGateway.create(Video.newVideo("Matrix", "Ficcao", Year.of(1999), 136.0, false, false, Rating.AGE_14, Set.of(filmes.getId()), Set.of(), Set.of()));
+        videoGateway.create(Video.newVideo("Matrix Reloaded", "Ficcao", Year.of(2003), 138.0, false, false, Rating.AGE_14, Set.of(), Set.of(), Set.of()));
+
+        // Act
+        final Pagination<VideoPreview> all = videoGateway.findAll(new VideoSearchQuery(0, 10, "matrix", "title", "asc", Set.of(), Set.of(), Set.of()));
+        final Pagination<VideoPreview> filtered = videoGateway.findAll(new VideoSearchQuery(0, 10, "matrix", "title", "asc", Set.of(), Set.of(filmes.getId()), Set.of()));
+
+        // Assert
+        Assertions.assertEquals(2, all.total());
+        Assertions.assertEquals("Matrix", all.items().get(0).title());
+        Assertions.assertEquals("Matrix Reloaded", all.items().get(1).title());
+
+        Assertions.assertEquals(1, filtered.total());
+        Assertions.assertEquals("Matrix", filtered.items().get(0).title());
+    }
+
+    @Test
+    public void getAllVideosWithoutFiltersCountsTest() throws Exception {
+        // Arrange
+        videoGateway.create(Video.newVideo("Matrix", "Ficcao", Year.of(1999), 136.0, false, false, Rating.AGE_14, Set.of(), Set.of(), Set.of()));
+        videoGateway.create(Video.newVideo("Matrix Reloaded", "Ficcao", Year.of(2003), 138.0, false, false, Rating.AGE_14, Set.of(), Set.of(), Set.of()));
+
+        // Act
+        final Pagination<VideoPreview> exact = videoGateway.findAll(new VideoSearchQuery(0, 1, "", "title", "asc", Set.of(), Set.of(), Set.of(), CountMode.EXACT));
+        final Pagination<VideoPreview> estimated = videoGateway.findAll(new VideoSearchQuery(0, 1, "", "title", "asc", Set.of(), Set.of(), Set.of(), CountMode.ESTIMATED));
+
+        // Assert
+        Assertions.assertEquals(2, exact.total());
+        Assertions.assertEquals(1, exact.items().size());
+        Assertions.assertEquals(2, estimated.total());
+        Assertions.assertEquals(CountMode.ESTIMATED, estimated.countMode());
+    }
+}
@@ -0,0 +1,58 @@
+// Teste de carga para comparar o modo de execução das requisições: threads de plataforma do servidor (padrão) x virtual
+// threads (VIRTUAL_THREADS=true, requer Java 21). A mistura imita o tráfego do catálogo: listagens que usam o banco e
+// downloads parciais de mídia, que seguram a thread durante o I/O.
+//
+// Rodar duas vezes, com a mesma carga, e comparar http_req_duration (p95/p99), http_reqs/s e os erros:
+//   VIRTUAL_THREADS=false ./gradlew :infrastructure:bootRun
+//   k6 run -e TOKEN=<jwt> -e VIDEO_ID=<id de vídeo com mídia> load-test/videos.js
+//   VIRTUAL_THREADS=true ./gradlew :infrastructure:bootRun
+//   k6 run -e TOKEN=<jwt> -e VIDEO_ID=<id de vídeo com mídia> load-test/videos.js
+// Durante cada rodada acompanhe em /actuator/metrics: hikaricp.connections.acquire, hikaricp.connections.pending,
+// jvm.threads.live e, no modo virtual, jvm.threads.virtual.pinned.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const TOKEN = __ENV.TOKEN;
+const VIDEO_ID = __ENV.VIDEO_ID;
+
+export const options = {
+    scenarios: {
+        // Sobe até bem acima do maximum-pool-size do Hikari (20) e do número de threads do servidor
+        ramp: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: 50 },
+                { duration: '1m', target: 200 },
+                { duration: '1m', target: 800 },
+                { duration: '30s', target: 0 },
+            ],
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+        'http_req_duration{kind:list}': ['p(95)<500'],
+        'http_req_duration{kind:media}': ['p(95)<1500'],
+    },
+};
+
+const params = (kind, headers = {}) => ({
+    headers: Object.assign({ Authorization: `Bearer ${TOKEN}` }, headers),
+    tags: { kind },
+});
+
+export default function () {
+    const list = http.get(`${BASE_URL}/categories?perPage=20&count=none`, params('list'));
+    check(list, { 'list 200': (r) => r.status === 200 });
+
+    if (VIDEO_ID) {
+        // 1 MiB a partir de um ponto aleatório dos primeiros 64 MiB
+        const start = Math.floor(Math.random() * 64) * 1024 * 1024;
+        const media = http.get(
+            `${BASE_URL}/videos/${VIDEO_ID}/medias/VIDEO`,
+            params('media', { Range: `bytes=${start}-${start + 1024 * 1024 - 1}` }),
+        );
+        check(media, { 'media 206/200/416': (r) => [200, 206, 416].includes(r.status) });
+    }
+}